@@ -351,6 +351,7 @@ void protobuf_AssignDesc_UserBitShared_2eproto() {
     GOOGLE_PROTOBUF_GENERATED_MESSAGE_FIELD_OFFSET(QueryProfile, verboseerror_),
     GOOGLE_PROTOBUF_GENERATED_MESSAGE_FIELD_OFFSET(QueryProfile, error_id_),
     GOOGLE_PROTOBUF_GENERATED_MESSAGE_FIELD_OFFSET(QueryProfile, error_node_),
+    GOOGLE_PROTOBUF_GENERATED_MESSAGE_FIELD_OFFSET(QueryProfile, planning_json_),
   };
   QueryProfile_reflection_ =
     new ::google::protobuf::internal::GeneratedMessageReflection(
@@ -392,6 +393,7 @@ void protobuf_AssignDesc_UserBitShared_2eproto() {
     GOOGLE_PROTOBUF_GENERATED_MESSAGE_FIELD_OFFSET(MinorFragmentProfile, endpoint_),
     GOOGLE_PROTOBUF_GENERATED_MESSAGE_FIELD_OFFSET(MinorFragmentProfile, last_update_),
     GOOGLE_PROTOBUF_GENERATED_MESSAGE_FIELD_OFFSET(MinorFragmentProfile, last_progress_),
+    GOOGLE_PROTOBUF_GENERATED_MESSAGE_FIELD_OFFSET(MinorFragmentProfile, compile_nanos_),
   };
   MinorFragmentProfile_reflection_ =
     new ::google::protobuf::internal::GeneratedMessageReflection(
@@ -661,7 +663,7 @@ void protobuf_AddDesc_UserBitShared_2eproto() {
     "hDef\"\227\001\n\tQueryInfo\022\r\n\005query\030\001 \001(\t\022\r\n\005sta"
     "rt\030\002 \001(\003\0222\n\005state\030\003 \001(\0162#.exec.shared.Qu"
     "eryResult.QueryState\022\017\n\004user\030\004 \001(\t:\001-\022\'\n"
-    "\007foreman\030\005 \001(\0132\026.exec.DrillbitEndpoint\"\272"
+    "\007foreman\030\005 \001(\0132\026.exec.DrillbitEndpoint\"\321"
     "\003\n\014QueryProfile\022 \n\002id\030\001 \001(\0132\024.exec.share"
     "d.QueryId\022$\n\004type\030\002 \001(\0162\026.exec.shared.Qu"
     "eryType\022\r\n\005start\030\003 \001(\003\022\013\n\003end\030\004 \001(\003\022\r\n\005q"
@@ -673,58 +675,60 @@ void protobuf_AddDesc_UserBitShared_2eproto() {
     "xec.shared.MajorFragmentProfile\022\017\n\004user\030"
     "\014 \001(\t:\001-\022\r\n\005error\030\r \001(\t\022\024\n\014verboseError\030"
     "\016 \001(\t\022\020\n\010error_id\030\017 \001(\t\022\022\n\nerror_node\030\020 "
-    "\001(\t\"t\n\024MajorFragmentProfile\022\031\n\021major_fra"
-    "gment_id\030\001 \001(\005\022A\n\026minor_fragment_profile"
-    "\030\002 \003(\0132!.exec.shared.MinorFragmentProfil"
-    "e\"\350\002\n\024MinorFragmentProfile\022)\n\005state\030\001 \001("
-    "\0162\032.exec.shared.FragmentState\022(\n\005error\030\002"
-    " \001(\0132\031.exec.shared.DrillPBError\022\031\n\021minor"
-    "_fragment_id\030\003 \001(\005\0226\n\020operator_profile\030\004"
-    " \003(\0132\034.exec.shared.OperatorProfile\022\022\n\nst"
-    "art_time\030\005 \001(\003\022\020\n\010end_time\030\006 \001(\003\022\023\n\013memo"
-    "ry_used\030\007 \001(\003\022\027\n\017max_memory_used\030\010 \001(\003\022("
-    "\n\010endpoint\030\t \001(\0132\026.exec.DrillbitEndpoint"
-    "\022\023\n\013last_update\030\n \001(\003\022\025\n\rlast_progress\030\013"
-    " \001(\003\"\377\001\n\017OperatorProfile\0221\n\rinput_profil"
-    "e\030\001 \003(\0132\032.exec.shared.StreamProfile\022\023\n\013o"
-    "perator_id\030\003 \001(\005\022\025\n\roperator_type\030\004 \001(\005\022"
-    "\023\n\013setup_nanos\030\005 \001(\003\022\025\n\rprocess_nanos\030\006 "
-    "\001(\003\022#\n\033peak_local_memory_allocated\030\007 \001(\003"
-    "\022(\n\006metric\030\010 \003(\0132\030.exec.shared.MetricVal"
-    "ue\022\022\n\nwait_nanos\030\t \001(\003\"B\n\rStreamProfile\022"
-    "\017\n\007records\030\001 \001(\003\022\017\n\007batches\030\002 \001(\003\022\017\n\007sch"
-    "emas\030\003 \001(\003\"J\n\013MetricValue\022\021\n\tmetric_id\030\001"
-    " \001(\005\022\022\n\nlong_value\030\002 \001(\003\022\024\n\014double_value"
-    "\030\003 \001(\001\")\n\010Registry\022\035\n\003jar\030\001 \003(\0132\020.exec.s"
-    "hared.Jar\"/\n\003Jar\022\014\n\004name\030\001 \001(\t\022\032\n\022functi"
-    "on_signature\030\002 \003(\t*5\n\nRpcChannel\022\017\n\013BIT_"
-    "CONTROL\020\000\022\014\n\010BIT_DATA\020\001\022\010\n\004USER\020\002*V\n\tQue"
-    "ryType\022\007\n\003SQL\020\001\022\013\n\007LOGICAL\020\002\022\014\n\010PHYSICAL"
-    "\020\003\022\r\n\tEXECUTION\020\004\022\026\n\022PREPARED_STATEMENT\020"
-    "\005*\207\001\n\rFragmentState\022\013\n\007SENDING\020\000\022\027\n\023AWAI"
-    "TING_ALLOCATION\020\001\022\013\n\007RUNNING\020\002\022\014\n\010FINISH"
-    "ED\020\003\022\r\n\tCANCELLED\020\004\022\n\n\006FAILED\020\005\022\032\n\026CANCE"
-    "LLATION_REQUESTED\020\006*\335\005\n\020CoreOperatorType"
-    "\022\021\n\rSINGLE_SENDER\020\000\022\024\n\020BROADCAST_SENDER\020"
-    "\001\022\n\n\006FILTER\020\002\022\022\n\016HASH_AGGREGATE\020\003\022\r\n\tHAS"
-    "H_JOIN\020\004\022\016\n\nMERGE_JOIN\020\005\022\031\n\025HASH_PARTITI"
-    "ON_SENDER\020\006\022\t\n\005LIMIT\020\007\022\024\n\020MERGING_RECEIV"
-    "ER\020\010\022\034\n\030ORDERED_PARTITION_SENDER\020\t\022\013\n\007PR"
-    "OJECT\020\n\022\026\n\022UNORDERED_RECEIVER\020\013\022\020\n\014RANGE"
-    "_SENDER\020\014\022\n\n\006SCREEN\020\r\022\034\n\030SELECTION_VECTO"
-    "R_REMOVER\020\016\022\027\n\023STREAMING_AGGREGATE\020\017\022\016\n\n"
-    "TOP_N_SORT\020\020\022\021\n\rEXTERNAL_SORT\020\021\022\t\n\005TRACE"
-    "\020\022\022\t\n\005UNION\020\023\022\014\n\010OLD_SORT\020\024\022\032\n\026PARQUET_R"
-    "OW_GROUP_SCAN\020\025\022\021\n\rHIVE_SUB_SCAN\020\026\022\025\n\021SY"
-    "STEM_TABLE_SCAN\020\027\022\021\n\rMOCK_SUB_SCAN\020\030\022\022\n\016"
-    "PARQUET_WRITER\020\031\022\023\n\017DIRECT_SUB_SCAN\020\032\022\017\n"
-    "\013TEXT_WRITER\020\033\022\021\n\rTEXT_SUB_SCAN\020\034\022\021\n\rJSO"
-    "N_SUB_SCAN\020\035\022\030\n\024INFO_SCHEMA_SUB_SCAN\020\036\022\023"
-    "\n\017COMPLEX_TO_JSON\020\037\022\025\n\021PRODUCER_CONSUMER"
-    "\020 \022\022\n\016HBASE_SUB_SCAN\020!\022\n\n\006WINDOW\020\"\022\024\n\020NE"
-    "STED_LOOP_JOIN\020#\022\021\n\rAVRO_SUB_SCAN\020$B.\n\033o"
-    "rg.apache.drill.exec.protoB\rUserBitShare"
-    "dH\001", 4563);
+    "\001(\t\022\025\n\rplanning_json\030\022 \001(\t\"t\n\024MajorFragm"
+    "entProfile\022\031\n\021major_fragment_id\030\001 \001(\005\022A\n"
+    "\026minor_fragment_profile\030\002 \003(\0132!.exec.sha"
+    "red.MinorFragmentProfile\"\377\002\n\024MinorFragme"
+    "ntProfile\022)\n\005state\030\001 \001(\0162\032.exec.shared.F"
+    "ragmentState\022(\n\005error\030\002 \001(\0132\031.exec.share"
+    "d.DrillPBError\022\031\n\021minor_fragment_id\030\003 \001("
+    "\005\0226\n\020operator_profile\030\004 \003(\0132\034.exec.share"
+    "d.OperatorProfile\022\022\n\nstart_time\030\005 \001(\003\022\020\n"
+    "\010end_time\030\006 \001(\003\022\023\n\013memory_used\030\007 \001(\003\022\027\n\017"
+    "max_memory_used\030\010 \001(\003\022(\n\010endpoint\030\t \001(\0132"
+    "\026.exec.DrillbitEndpoint\022\023\n\013last_update\030\n"
+    " \001(\003\022\025\n\rlast_progress\030\013 \001(\003\022\025\n\rcompile_n"
+    "anos\030\014 \001(\003\"\377\001\n\017OperatorProfile\0221\n\rinput_"
+    "profile\030\001 \003(\0132\032.exec.shared.StreamProfil"
+    "e\022\023\n\013operator_id\030\003 \001(\005\022\025\n\roperator_type\030"
+    "\004 \001(\005\022\023\n\013setup_nanos\030\005 \001(\003\022\025\n\rprocess_na"
+    "nos\030\006 \001(\003\022#\n\033peak_local_memory_allocated"
+    "\030\007 \001(\003\022(\n\006metric\030\010 \003(\0132\030.exec.shared.Met"
+    "ricValue\022\022\n\nwait_nanos\030\t \001(\003\"B\n\rStreamPr"
+    "ofile\022\017\n\007records\030\001 \001(\003\022\017\n\007batches\030\002 \001(\003\022"
+    "\017\n\007schemas\030\003 \001(\003\"J\n\013MetricValue\022\021\n\tmetri"
+    "c_id\030\001 \001(\005\022\022\n\nlong_value\030\002 \001(\003\022\024\n\014double"
+    "_value\030\003 \001(\001\")\n\010Registry\022\035\n\003jar\030\001 \003(\0132\020."
+    "exec.shared.Jar\"/\n\003Jar\022\014\n\004name\030\001 \001(\t\022\032\n\022"
+    "function_signature\030\002 \003(\t*5\n\nRpcChannel\022\017"
+    "\n\013BIT_CONTROL\020\000\022\014\n\010BIT_DATA\020\001\022\010\n\004USER\020\002*"
+    "V\n\tQueryType\022\007\n\003SQL\020\001\022\013\n\007LOGICAL\020\002\022\014\n\010PH"
+    "YSICAL\020\003\022\r\n\tEXECUTION\020\004\022\026\n\022PREPARED_STAT"
+    "EMENT\020\005*\207\001\n\rFragmentState\022\013\n\007SENDING\020\000\022\027"
+    "\n\023AWAITING_ALLOCATION\020\001\022\013\n\007RUNNING\020\002\022\014\n\010"
+    "FINISHED\020\003\022\r\n\tCANCELLED\020\004\022\n\n\006FAILED\020\005\022\032\n"
+    "\026CANCELLATION_REQUESTED\020\006*\210\006\n\020CoreOperat"
+    "orType\022\021\n\rSINGLE_SENDER\020\000\022\024\n\020BROADCAST_S"
+    "ENDER\020\001\022\n\n\006FILTER\020\002\022\022\n\016HASH_AGGREGATE\020\003\022"
+    "\r\n\tHASH_JOIN\020\004\022\016\n\nMERGE_JOIN\020\005\022\031\n\025HASH_P"
+    "ARTITION_SENDER\020\006\022\t\n\005LIMIT\020\007\022\024\n\020MERGING_"
+    "RECEIVER\020\010\022\034\n\030ORDERED_PARTITION_SENDER\020\t"
+    "\022\013\n\007PROJECT\020\n\022\026\n\022UNORDERED_RECEIVER\020\013\022\020\n"
+    "\014RANGE_SENDER\020\014\022\n\n\006SCREEN\020\r\022\034\n\030SELECTION"
+    "_VECTOR_REMOVER\020\016\022\027\n\023STREAMING_AGGREGATE"
+    "\020\017\022\016\n\nTOP_N_SORT\020\020\022\021\n\rEXTERNAL_SORT\020\021\022\t\n"
+    "\005TRACE\020\022\022\t\n\005UNION\020\023\022\014\n\010OLD_SORT\020\024\022\032\n\026PAR"
+    "QUET_ROW_GROUP_SCAN\020\025\022\021\n\rHIVE_SUB_SCAN\020\026"
+    "\022\025\n\021SYSTEM_TABLE_SCAN\020\027\022\021\n\rMOCK_SUB_SCAN"
+    "\020\030\022\022\n\016PARQUET_WRITER\020\031\022\023\n\017DIRECT_SUB_SCA"
+    "N\020\032\022\017\n\013TEXT_WRITER\020\033\022\021\n\rTEXT_SUB_SCAN\020\034\022"
+    "\021\n\rJSON_SUB_SCAN\020\035\022\030\n\024INFO_SCHEMA_SUB_SC"
+    "AN\020\036\022\023\n\017COMPLEX_TO_JSON\020\037\022\025\n\021PRODUCER_CO"
+    "NSUMER\020 \022\022\n\016HBASE_SUB_SCAN\020!\022\n\n\006WINDOW\020\""
+    "\022\024\n\020NESTED_LOOP_JOIN\020#\022\021\n\rAVRO_SUB_SCAN\020"
+    "$\022\020\n\014SHARED_SPOOL\020%\022\027\n\023SHARED_SPOOL_READ"
+    "ER\020&B.\n\033org.apache.drill.exec.protoB\rUse"
+    "rBitSharedH\001", 4652);
   ::google::protobuf::MessageFactory::InternalRegisterGeneratedFile(
     "UserBitShared.proto", &protobuf_RegisterTypes);
   UserCredentials::default_instance_ = new UserCredentials();
@@ -876,6 +880,8 @@ bool CoreOperatorType_IsValid(int value) {
     case 34:
     case 35:
     case 36:
+    case 37:
+    case 38:
       return true;
     default:
       return false;
@@ -5312,6 +5318,7 @@ const int QueryProfile::kErrorFieldNumber;
 const int QueryProfile::kVerboseErrorFieldNumber;
 const int QueryProfile::kErrorIdFieldNumber;
 const int QueryProfile::kErrorNodeFieldNumber;
+const int QueryProfile::kPlanningJsonFieldNumber;
 #endif  // !_MSC_VER
 
 QueryProfile::QueryProfile()
@@ -5347,6 +5354,7 @@ void QueryProfile::SharedCtor() {
   verboseerror_ = const_cast< ::std::string*>(&::google::protobuf::internal::kEmptyString);
   error_id_ = const_cast< ::std::string*>(&::google::protobuf::internal::kEmptyString);
   error_node_ = const_cast< ::std::string*>(&::google::protobuf::internal::kEmptyString);
+  planning_json_ = const_cast< ::std::string*>(&::google::protobuf::internal::kEmptyString);
   ::memset(_has_bits_, 0, sizeof(_has_bits_));
 }
 
@@ -5376,6 +5384,9 @@ void QueryProfile::SharedDtor() {
   if (error_node_ != &::google::protobuf::internal::kEmptyString) {
     delete error_node_;
   }
+  if (planning_json_ != &::google::protobuf::internal::kEmptyString) {
+    delete planning_json_;
+  }
   if (this != default_instance_) {
     delete id_;
     delete foreman_;
@@ -5455,6 +5466,13 @@ void QueryProfile::Clear() {
       }
     }
   }
+  if (_has_bits_[16 / 32] & (0xffu << (16 % 32))) {
+    if (has_planning_json()) {
+      if (planning_json_ != &::google::protobuf::internal::kEmptyString) {
+        planning_json_->clear();
+      }
+    }
+  }
   fragment_profile_.Clear();
   ::memset(_has_bits_, 0, sizeof(_has_bits_));
   mutable_unknown_fields()->Clear();
@@ -5729,6 +5747,23 @@ bool QueryProfile::MergePartialFromCodedStream(
         } else {
           goto handle_uninterpreted;
         }
+        if (input->ExpectTag(146)) goto parse_planning_json;
+        break;
+      }
+
+      // optional string planning_json = 18;
+      case 18: {
+        if (::google::protobuf::internal::WireFormatLite::GetTagWireType(tag) ==
+            ::google::protobuf::internal::WireFormatLite::WIRETYPE_LENGTH_DELIMITED) {
+         parse_planning_json:
+          DO_(::google::protobuf::internal::WireFormatLite::ReadString(
+                input, this->mutable_planning_json()));
+          ::google::protobuf::internal::WireFormat::VerifyUTF8String(
+            this->planning_json().data(), this->planning_json().length(),
+            ::google::protobuf::internal::WireFormat::PARSE);
+        } else {
+          goto handle_uninterpreted;
+        }
         if (input->ExpectAtEnd()) return true;
         break;
       }
@@ -5864,6 +5899,15 @@ void QueryProfile::SerializeWithCachedSizes(
       16, this->error_node(), output);
   }
 
+  // optional string planning_json = 18;
+  if (has_planning_json()) {
+    ::google::protobuf::internal::WireFormat::VerifyUTF8String(
+      this->planning_json().data(), this->planning_json().length(),
+      ::google::protobuf::internal::WireFormat::SERIALIZE);
+    ::google::protobuf::internal::WireFormatLite::WriteString(
+      18, this->planning_json(), output);
+  }
+
   if (!unknown_fields().empty()) {
     ::google::protobuf::internal::WireFormat::SerializeUnknownFields(
         unknown_fields(), output);
@@ -5995,6 +6039,16 @@ void QueryProfile::SerializeWithCachedSizes(
         16, this->error_node(), target);
   }
 
+  // optional string planning_json = 18;
+  if (has_planning_json()) {
+    ::google::protobuf::internal::WireFormat::VerifyUTF8String(
+      this->planning_json().data(), this->planning_json().length(),
+      ::google::protobuf::internal::WireFormat::SERIALIZE);
+    target =
+      ::google::protobuf::internal::WireFormatLite::WriteStringToArray(
+        18, this->planning_json(), target);
+  }
+
   if (!unknown_fields().empty()) {
     target = ::google::protobuf::internal::WireFormat::SerializeUnknownFieldsToArray(
         unknown_fields(), target);
@@ -6111,6 +6165,15 @@ int QueryProfile::ByteSize() const {
           this->error_node());
     }
 
+  }
+  if (_has_bits_[16 / 32] & (0xffu << (16 % 32))) {
+    // optional string planning_json = 18;
+    if (has_planning_json()) {
+      total_size += 2 +
+        ::google::protobuf::internal::WireFormatLite::StringSize(
+          this->planning_json());
+    }
+
   }
   // repeated .exec.shared.MajorFragmentProfile fragment_profile = 11;
   total_size += 1 * this->fragment_profile_size();
@@ -6195,6 +6258,11 @@ void QueryProfile::MergeFrom(const QueryProfile& from) {
       set_error_node(from.error_node());
     }
   }
+  if (from._has_bits_[16 / 32] & (0xffu << (16 % 32))) {
+    if (from.has_planning_json()) {
+      set_planning_json(from.planning_json());
+    }
+  }
   mutable_unknown_fields()->MergeFrom(from.unknown_fields());
 }
 
@@ -6233,6 +6301,7 @@ void QueryProfile::Swap(QueryProfile* other) {
     std::swap(verboseerror_, other->verboseerror_);
     std::swap(error_id_, other->error_id_);
     std::swap(error_node_, other->error_node_);
+    std::swap(planning_json_, other->planning_json_);
     std::swap(_has_bits_[0], other->_has_bits_[0]);
     _unknown_fields_.Swap(&other->_unknown_fields_);
     std::swap(_cached_size_, other->_cached_size_);
@@ -6510,6 +6579,7 @@ const int MinorFragmentProfile::kMaxMemoryUsedFieldNumber;
 const int MinorFragmentProfile::kEndpointFieldNumber;
 const int MinorFragmentProfile::kLastUpdateFieldNumber;
 const int MinorFragmentProfile::kLastProgressFieldNumber;
+const int MinorFragmentProfile::kCompileNanosFieldNumber;
 #endif  // !_MSC_VER
 
 MinorFragmentProfile::MinorFragmentProfile()
@@ -6540,6 +6610,7 @@ void MinorFragmentProfile::SharedCtor() {
   endpoint_ = NULL;
   last_update_ = GOOGLE_LONGLONG(0);
   last_progress_ = GOOGLE_LONGLONG(0);
+  compile_nanos_ = GOOGLE_LONGLONG(0);
   ::memset(_has_bits_, 0, sizeof(_has_bits_));
 }
 
@@ -6593,6 +6664,7 @@ void MinorFragmentProfile::Clear() {
     }
     last_update_ = GOOGLE_LONGLONG(0);
     last_progress_ = GOOGLE_LONGLONG(0);
+    compile_nanos_ = GOOGLE_LONGLONG(0);
   }
   operator_profile_.Clear();
   ::memset(_has_bits_, 0, sizeof(_has_bits_));
@@ -6776,6 +6848,22 @@ bool MinorFragmentProfile::MergePartialFromCodedStream(
         } else {
           goto handle_uninterpreted;
         }
+        if (input->ExpectTag(96)) goto parse_compile_nanos;
+        break;
+      }
+
+      // optional int64 compile_nanos = 12;
+      case 12: {
+        if (::google::protobuf::internal::WireFormatLite::GetTagWireType(tag) ==
+            ::google::protobuf::internal::WireFormatLite::WIRETYPE_VARINT) {
+         parse_compile_nanos:
+          DO_((::google::protobuf::internal::WireFormatLite::ReadPrimitive<
+                   ::google::protobuf::int64, ::google::protobuf::internal::WireFormatLite::TYPE_INT64>(
+                 input, &compile_nanos_)));
+          set_has_compile_nanos();
+        } else {
+          goto handle_uninterpreted;
+        }
         if (input->ExpectAtEnd()) return true;
         break;
       }
@@ -6857,6 +6945,11 @@ void MinorFragmentProfile::SerializeWithCachedSizes(
     ::google::protobuf::internal::WireFormatLite::WriteInt64(11, this->last_progress(), output);
   }
 
+  // optional int64 compile_nanos = 12;
+  if (has_compile_nanos()) {
+    ::google::protobuf::internal::WireFormatLite::WriteInt64(12, this->compile_nanos(), output);
+  }
+
   if (!unknown_fields().empty()) {
     ::google::protobuf::internal::WireFormat::SerializeUnknownFields(
         unknown_fields(), output);
@@ -6927,6 +7020,11 @@ void MinorFragmentProfile::SerializeWithCachedSizes(
     target = ::google::protobuf::internal::WireFormatLite::WriteInt64ToArray(11, this->last_progress(), target);
   }
 
+  // optional int64 compile_nanos = 12;
+  if (has_compile_nanos()) {
+    target = ::google::protobuf::internal::WireFormatLite::WriteInt64ToArray(12, this->compile_nanos(), target);
+  }
+
   if (!unknown_fields().empty()) {
     target = ::google::protobuf::internal::WireFormat::SerializeUnknownFieldsToArray(
         unknown_fields(), target);
@@ -7009,6 +7107,13 @@ int MinorFragmentProfile::ByteSize() const {
           this->last_progress());
     }
 
+    // optional int64 compile_nanos = 12;
+    if (has_compile_nanos()) {
+      total_size += 1 +
+        ::google::protobuf::internal::WireFormatLite::Int64Size(
+          this->compile_nanos());
+    }
+
   }
   // repeated .exec.shared.OperatorProfile operator_profile = 4;
   total_size += 1 * this->operator_profile_size();
@@ -7077,6 +7182,9 @@ void MinorFragmentProfile::MergeFrom(const MinorFragmentProfile& from) {
     if (from.has_last_progress()) {
       set_last_progress(from.last_progress());
     }
+    if (from.has_compile_nanos()) {
+      set_compile_nanos(from.compile_nanos());
+    }
   }
   mutable_unknown_fields()->MergeFrom(from.unknown_fields());
 }
@@ -7111,6 +7219,7 @@ void MinorFragmentProfile::Swap(MinorFragmentProfile* other) {
     std::swap(endpoint_, other->endpoint_);
     std::swap(last_update_, other->last_update_);
     std::swap(last_progress_, other->last_progress_);
+    std::swap(compile_nanos_, other->compile_nanos_);
     std::swap(_has_bits_[0], other->_has_bits_[0]);
     _unknown_fields_.Swap(&other->_unknown_fields_);
     std::swap(_cached_size_, other->_cached_size_);
@@ -234,11 +234,13 @@ enum CoreOperatorType {
   HBASE_SUB_SCAN = 33,
   WINDOW = 34,
   NESTED_LOOP_JOIN = 35,
-  AVRO_SUB_SCAN = 36
+  AVRO_SUB_SCAN = 36,
+  SHARED_SPOOL = 37,
+  SHARED_SPOOL_READER = 38
 };
 bool CoreOperatorType_IsValid(int value);
 const CoreOperatorType CoreOperatorType_MIN = SINGLE_SENDER;
-const CoreOperatorType CoreOperatorType_MAX = AVRO_SUB_SCAN;
+const CoreOperatorType CoreOperatorType_MAX = SHARED_SPOOL_READER;
 const int CoreOperatorType_ARRAYSIZE = CoreOperatorType_MAX + 1;
 
 const ::google::protobuf::EnumDescriptor* CoreOperatorType_descriptor();
@@ -2046,6 +2048,18 @@ class QueryProfile : public ::google::protobuf::Message {
   inline ::std::string* release_error_node();
   inline void set_allocated_error_node(::std::string* error_node);
 
+  // optional string planning_json = 18;
+  inline bool has_planning_json() const;
+  inline void clear_planning_json();
+  static const int kPlanningJsonFieldNumber = 18;
+  inline const ::std::string& planning_json() const;
+  inline void set_planning_json(const ::std::string& value);
+  inline void set_planning_json(const char* value);
+  inline void set_planning_json(const char* value, size_t size);
+  inline ::std::string* mutable_planning_json();
+  inline ::std::string* release_planning_json();
+  inline void set_allocated_planning_json(::std::string* planning_json);
+
   // @@protoc_insertion_point(class_scope:exec.shared.QueryProfile)
  private:
   inline void set_has_id();
@@ -2078,6 +2092,8 @@ class QueryProfile : public ::google::protobuf::Message {
   inline void clear_has_error_id();
   inline void set_has_error_node();
   inline void clear_has_error_node();
+  inline void set_has_planning_json();
+  inline void clear_has_planning_json();
 
   ::google::protobuf::UnknownFieldSet _unknown_fields_;
 
@@ -2098,9 +2114,10 @@ class QueryProfile : public ::google::protobuf::Message {
   ::std::string* verboseerror_;
   ::std::string* error_id_;
   ::std::string* error_node_;
+  ::std::string* planning_json_;
 
   mutable int _cached_size_;
-  ::google::protobuf::uint32 _has_bits_[(16 + 31) / 32];
+  ::google::protobuf::uint32 _has_bits_[(17 + 31) / 32];
 
   friend void  protobuf_AddDesc_UserBitShared_2eproto();
   friend void protobuf_AssignDesc_UserBitShared_2eproto();
@@ -2346,6 +2363,13 @@ class MinorFragmentProfile : public ::google::protobuf::Message {
   inline ::google::protobuf::int64 last_progress() const;
   inline void set_last_progress(::google::protobuf::int64 value);
 
+  // optional int64 compile_nanos = 12;
+  inline bool has_compile_nanos() const;
+  inline void clear_compile_nanos();
+  static const int kCompileNanosFieldNumber = 12;
+  inline ::google::protobuf::int64 compile_nanos() const;
+  inline void set_compile_nanos(::google::protobuf::int64 value);
+
   // @@protoc_insertion_point(class_scope:exec.shared.MinorFragmentProfile)
  private:
   inline void set_has_state();
@@ -2368,6 +2392,8 @@ class MinorFragmentProfile : public ::google::protobuf::Message {
   inline void clear_has_last_update();
   inline void set_has_last_progress();
   inline void clear_has_last_progress();
+  inline void set_has_compile_nanos();
+  inline void clear_has_compile_nanos();
 
   ::google::protobuf::UnknownFieldSet _unknown_fields_;
 
@@ -2382,9 +2408,10 @@ class MinorFragmentProfile : public ::google::protobuf::Message {
   ::exec::DrillbitEndpoint* endpoint_;
   ::google::protobuf::int64 last_update_;
   ::google::protobuf::int64 last_progress_;
+  ::google::protobuf::int64 compile_nanos_;
 
   mutable int _cached_size_;
-  ::google::protobuf::uint32 _has_bits_[(11 + 31) / 32];
+  ::google::protobuf::uint32 _has_bits_[(12 + 31) / 32];
 
   friend void  protobuf_AddDesc_UserBitShared_2eproto();
   friend void protobuf_AssignDesc_UserBitShared_2eproto();
@@ -5469,6 +5496,76 @@ inline void QueryProfile::set_allocated_error_node(::std::string* error_node) {
   }
 }
 
+// optional string planning_json = 18;
+inline bool QueryProfile::has_planning_json() const {
+  return (_has_bits_[0] & 0x00010000u) != 0;
+}
+inline void QueryProfile::set_has_planning_json() {
+  _has_bits_[0] |= 0x00010000u;
+}
+inline void QueryProfile::clear_has_planning_json() {
+  _has_bits_[0] &= ~0x00010000u;
+}
+inline void QueryProfile::clear_planning_json() {
+  if (planning_json_ != &::google::protobuf::internal::kEmptyString) {
+    planning_json_->clear();
+  }
+  clear_has_planning_json();
+}
+inline const ::std::string& QueryProfile::planning_json() const {
+  return *planning_json_;
+}
+inline void QueryProfile::set_planning_json(const ::std::string& value) {
+  set_has_planning_json();
+  if (planning_json_ == &::google::protobuf::internal::kEmptyString) {
+    planning_json_ = new ::std::string;
+  }
+  planning_json_->assign(value);
+}
+inline void QueryProfile::set_planning_json(const char* value) {
+  set_has_planning_json();
+  if (planning_json_ == &::google::protobuf::internal::kEmptyString) {
+    planning_json_ = new ::std::string;
+  }
+  planning_json_->assign(value);
+}
+inline void QueryProfile::set_planning_json(const char* value, size_t size) {
+  set_has_planning_json();
+  if (planning_json_ == &::google::protobuf::internal::kEmptyString) {
+    planning_json_ = new ::std::string;
+  }
+  planning_json_->assign(reinterpret_cast<const char*>(value), size);
+}
+inline ::std::string* QueryProfile::mutable_planning_json() {
+  set_has_planning_json();
+  if (planning_json_ == &::google::protobuf::internal::kEmptyString) {
+    planning_json_ = new ::std::string;
+  }
+  return planning_json_;
+}
+inline ::std::string* QueryProfile::release_planning_json() {
+  clear_has_planning_json();
+  if (planning_json_ == &::google::protobuf::internal::kEmptyString) {
+    return NULL;
+  } else {
+    ::std::string* temp = planning_json_;
+    planning_json_ = const_cast< ::std::string*>(&::google::protobuf::internal::kEmptyString);
+    return temp;
+  }
+}
+inline void QueryProfile::set_allocated_planning_json(::std::string* planning_json) {
+  if (planning_json_ != &::google::protobuf::internal::kEmptyString) {
+    delete planning_json_;
+  }
+  if (planning_json) {
+    set_has_planning_json();
+    planning_json_ = planning_json;
+  } else {
+    clear_has_planning_json();
+    planning_json_ = const_cast< ::std::string*>(&::google::protobuf::internal::kEmptyString);
+  }
+}
+
 // -------------------------------------------------------------------
 
 // MajorFragmentProfile
@@ -5802,6 +5899,28 @@ inline void MinorFragmentProfile::set_last_progress(::google::protobuf::int64 va
   last_progress_ = value;
 }
 
+// optional int64 compile_nanos = 12;
+inline bool MinorFragmentProfile::has_compile_nanos() const {
+  return (_has_bits_[0] & 0x00000800u) != 0;
+}
+inline void MinorFragmentProfile::set_has_compile_nanos() {
+  _has_bits_[0] |= 0x00000800u;
+}
+inline void MinorFragmentProfile::clear_has_compile_nanos() {
+  _has_bits_[0] &= ~0x00000800u;
+}
+inline void MinorFragmentProfile::clear_compile_nanos() {
+  compile_nanos_ = GOOGLE_LONGLONG(0);
+  clear_has_compile_nanos();
+}
+inline ::google::protobuf::int64 MinorFragmentProfile::compile_nanos() const {
+  return compile_nanos_;
+}
+inline void MinorFragmentProfile::set_compile_nanos(::google::protobuf::int64 value) {
+  set_has_compile_nanos();
+  compile_nanos_ = value;
+}
+
 // -------------------------------------------------------------------
 
 // OperatorProfile
@@ -282,6 +282,28 @@ SqlNode SqlRefreshMetadata() :
     }
 }
 
+/**
+ * Parses an analyze table statement.
+ * ANALYZE TABLE tblname [ (column1, column2, ...) ] COMPUTE STATISTICS
+ */
+SqlNode SqlAnalyzeTable() :
+{
+    SqlParserPos pos;
+    SqlIdentifier tblName;
+    SqlNodeList fieldList;
+}
+{
+    <ANALYZE> { pos = getPos(); }
+    <TABLE>
+    tblName = CompoundIdentifier()
+    fieldList = ParseOptionalFieldList("Table")
+    <COMPUTE>
+    <STATISTICS>
+    {
+        return new SqlAnalyzeTable(pos, tblName, fieldList);
+    }
+}
+
 /**
 * Parses statement
 *   DESCRIBE { SCHEMA | DATABASE } name
@@ -101,6 +101,12 @@ public interface ExecConstants {
   String SCAN_THREADPOOL_SIZE = "drill.exec.scan.threadpool_size";
   // The size of the thread pool used by a scan to decode the data. Used by Parquet
   String SCAN_DECODE_THREADPOOL_SIZE = "drill.exec.scan.decode_threadpool_size";
+  // Number of fragments that run at the same time when fragments are scheduled, 0 for the number of cores.
+  String FRAGMENT_SCHEDULER_SLOTS = "drill.exec.fragment_scheduler.slots";
+  // Time (in ms) a scheduled fragment runs before giving its slot to a waiting fragment.
+  String FRAGMENT_SCHEDULER_TIME_SLICE = "drill.exec.fragment_scheduler.time_slice_ms";
+  // Weights of the scheduler pools, by pool name. Pools not listed weigh 1.
+  String FRAGMENT_SCHEDULER_POOL_WEIGHTS = "drill.exec.fragment_scheduler.pool_weights";
 
   /**
    * Currently if a query is cancelled, but one of the fragments reports the status as FAILED instead of CANCELLED or
@@ -170,6 +176,35 @@ public interface ExecConstants {
   String PARQUET_PAGEREADER_USE_FADVISE = "store.parquet.reader.pagereader.usefadvise";
   OptionValidator PARQUET_PAGEREADER_USE_FADVISE_VALIDATOR = new  BooleanValidator(PARQUET_PAGEREADER_USE_FADVISE, false);
 
+  /**
+   * Number of threads used to list the directories of one level of a directory tree
+   * when a file system table is resolved.
+   */
+  String FS_LISTING_PARALLELISM = "store.dfs.listing.parallelism";
+  PositiveLongValidator FS_LISTING_PARALLELISM_VALIDATOR = new PositiveLongValidator(FS_LISTING_PARALLELISM, 256, 16);
+
+  /**
+   * How long, in milliseconds, a directory listing may be reused by other queries on the same
+   * storage plugin while the directory's modification time is unchanged. Zero disables the listing
+   * cache. Listings of file systems without directory modification times, such as S3, are never cached.
+   */
+  String FS_LISTING_CACHE_TTL = "store.dfs.listing.cache_ttl_ms";
+  LongValidator FS_LISTING_CACHE_TTL_VALIDATOR = new RangeLongValidator(FS_LISTING_CACHE_TTL, 0, 3600 * 1000, 10 * 1000);
+
+  /**
+   * Bytes of batches a shared spool keeps in memory for its slower consumers before it spills
+   * further batches to the sort spill directories.
+   */
+  String SHARED_SPOOL_MEMORY_LIMIT = "exec.shared_spool.memory_limit";
+  LongValidator SHARED_SPOOL_MEMORY_LIMIT_VALIDATOR = new RangeLongValidator(SHARED_SPOOL_MEMORY_LIMIT, 0, Long.MAX_VALUE, 128 * 1024 * 1024);
+
+  /**
+   * Bytes a merge join may hold before it spills the right side batches it keeps to replay a run of equal keys to
+   * the sort spill directories.
+   */
+  String MERGE_JOIN_MEMORY_LIMIT = "exec.merge_join.memory_limit";
+  LongValidator MERGE_JOIN_MEMORY_LIMIT_VALIDATOR = new RangeLongValidator(MERGE_JOIN_MEMORY_LIMIT, 0, Long.MAX_VALUE, 256 * 1024 * 1024);
+
   OptionValidator COMPILE_SCALAR_REPLACEMENT = new BooleanValidator("exec.compile.scalar_replacement", false);
 
   String JSON_ALL_TEXT_MODE = "store.json.all_text_mode";
@@ -254,6 +289,27 @@ public interface ExecConstants {
   String MAX_WIDTH_GLOBAL_KEY = "planner.width.max_per_query";
   OptionValidator MAX_WIDTH_GLOBAL = new PositiveLongValidator(MAX_WIDTH_GLOBAL_KEY, Integer.MAX_VALUE, 1000);
 
+  /**
+   * Computes the width of fragments from the bytes their scans read and the observed throughput of their operators,
+   * caps the width per node by the fragments already running there, and assigns fragments to the least loaded nodes.
+   */
+  String ADAPTIVE_WIDTH_KEY = "planner.width.adaptive";
+  BooleanValidator ADAPTIVE_WIDTH = new BooleanValidator(ADAPTIVE_WIDTH_KEY, false);
+
+  /**
+   * Bytes scanned by one minor fragment when the width is adaptive.
+   */
+  String ADAPTIVE_WIDTH_BYTES_PER_FRAGMENT_KEY = "planner.width.adaptive.bytes_per_fragment";
+  PositiveLongValidator ADAPTIVE_WIDTH_BYTES_PER_FRAGMENT = new PositiveLongValidator(
+      ADAPTIVE_WIDTH_BYTES_PER_FRAGMENT_KEY, Long.MAX_VALUE, 256 * 1024 * 1024L);
+
+  /**
+   * Time (in ms) one minor fragment is estimated to process when the width is adaptive.
+   */
+  String ADAPTIVE_WIDTH_TARGET_FRAGMENT_TIME_KEY = "planner.width.adaptive.target_fragment_time";
+  PositiveLongValidator ADAPTIVE_WIDTH_TARGET_FRAGMENT_TIME = new PositiveLongValidator(
+      ADAPTIVE_WIDTH_TARGET_FRAGMENT_TIME_KEY, Long.MAX_VALUE, 2000);
+
   /**
    * Factor by which a node with endpoint affinity will be favored while creating assignment
    */
@@ -286,6 +342,16 @@ public interface ExecConstants {
   OptionValidator NON_BLOCKING_OPERATORS_MEMORY = new PowerOfTwoLongValidator(
     NON_BLOCKING_OPERATORS_MEMORY_KEY, 1 << 11, 1 << 6);
 
+  /**
+   * Target size, in bytes, of the batches produced by operators that size their output
+   * by the measured width of their rows instead of by a fixed record count.
+   * <p/>
+   * DEFAULT: 16 MB
+   */
+  String OUTPUT_BATCH_SIZE = "exec.memory.operator.output_batch_size";
+  LongValidator OUTPUT_BATCH_SIZE_VALIDATOR = new RangeLongValidator(
+      OUTPUT_BATCH_SIZE, 128, 512 * 1024 * 1024, 16 * 1024 * 1024);
+
   String HASH_JOIN_TABLE_FACTOR_KEY = "planner.memory.hash_join_table_factor";
   OptionValidator HASH_JOIN_TABLE_FACTOR = new DoubleValidator(HASH_JOIN_TABLE_FACTOR_KEY, 1.1d);
 
@@ -303,6 +369,34 @@ public interface ExecConstants {
   LongValidator QUEUE_TIMEOUT = new PositiveLongValidator("exec.queue.timeout_millis",
       Long.MAX_VALUE, 60 * 1000 * 5);
 
+  /**
+   * Whether fragments give up their thread while none of their incoming buffers holds data or any of their outgoing
+   * tunnels is back-pressured, and are resumed once data arrives or a send completes. Fragments only yield between two
+   * batches of their root, which returns without a batch when an unordered receiver feeding it through projects and
+   * filters has no data; other receivers and blocking operators still wait in their thread.
+   */
+  String FRAGMENT_COOPERATIVE_SCHEDULING_KEY = "exec.fragment.cooperative_scheduling";
+  BooleanValidator FRAGMENT_COOPERATIVE_SCHEDULING = new BooleanValidator(FRAGMENT_COOPERATIVE_SCHEDULING_KEY, false);
+
+  /**
+   * Whether fragments share the CPU of each Drillbit between queries and pools by weighted fair queuing, see
+   * {@link org.apache.drill.exec.work.fragment.FragmentScheduler}.
+   */
+  String FRAGMENT_SCHEDULER_ENABLE_KEY = "exec.fragment_scheduler.enable";
+  BooleanValidator FRAGMENT_SCHEDULER_ENABLE = new BooleanValidator(FRAGMENT_SCHEDULER_ENABLE_KEY, false);
+
+  /**
+   * Scheduler pool the queries are charged to. Empty for a pool per user.
+   */
+  String FRAGMENT_SCHEDULER_POOL_KEY = "exec.fragment_scheduler.pool";
+  StringValidator FRAGMENT_SCHEDULER_POOL = new StringValidator(FRAGMENT_SCHEDULER_POOL_KEY, "");
+
+  /**
+   * Weight of the queries within their scheduler pool.
+   */
+  String FRAGMENT_SCHEDULER_WEIGHT_KEY = "exec.fragment_scheduler.weight";
+  PositiveLongValidator FRAGMENT_SCHEDULER_WEIGHT = new PositiveLongValidator(FRAGMENT_SCHEDULER_WEIGHT_KEY, 1000, 1);
+
   String ENABLE_VERBOSE_ERRORS_KEY = "exec.errors.verbose";
   OptionValidator ENABLE_VERBOSE_ERRORS = new BooleanValidator(ENABLE_VERBOSE_ERRORS_KEY, false);
 
@@ -316,6 +410,13 @@ public interface ExecConstants {
   String ENABLE_WINDOW_FUNCTIONS = "window.enable";
   OptionValidator ENABLE_WINDOW_FUNCTIONS_VALIDATOR = new BooleanValidator(ENABLE_WINDOW_FUNCTIONS, true);
 
+  /**
+   * Bytes a window operator may hold before it spills the batches of the partition it is processing to the sort
+   * spill directories.
+   */
+  String WINDOW_MEMORY_LIMIT = "window.memory_limit";
+  LongValidator WINDOW_MEMORY_LIMIT_VALIDATOR = new RangeLongValidator(WINDOW_MEMORY_LIMIT, 0, Long.MAX_VALUE, 256 * 1024 * 1024);
+
   String DRILLBIT_CONTROL_INJECTIONS = "drill.exec.testing.controls";
   OptionValidator DRILLBIT_CONTROLS_VALIDATOR =
     new ExecutionControls.ControlsOptionValidator(DRILLBIT_CONTROL_INJECTIONS, ExecutionControls.DEFAULT_CONTROLS, 1);
@@ -375,6 +476,13 @@ public interface ExecConstants {
   String CODE_GEN_EXP_IN_METHOD_SIZE = "exec.java.compiler.exp_in_method_size";
   LongValidator CODE_GEN_EXP_IN_METHOD_SIZE_VALIDATOR = new LongValidator(CODE_GEN_EXP_IN_METHOD_SIZE, 50);
 
+  /**
+   * Lets Filter, Project and the hash table use pre-compiled, type-specialized kernels for
+   * simple expression shapes instead of generating and compiling code for them.
+   */
+  String PRECOMPILED_KERNELS = "exec.java.compiler.precompiled_kernels";
+  BooleanValidator PRECOMPILED_KERNELS_VALIDATOR = new BooleanValidator(PRECOMPILED_KERNELS, true);
+
   /**
    * Timeout for create prepare statement request. If the request exceeds this timeout, then request is timed out.
    * Default value is 10mins.
@@ -19,11 +19,16 @@ package org.apache.drill.exec.compile;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.drill.common.config.DrillConfig;
 import org.apache.drill.exec.exception.ClassTransformationException;
 import org.apache.drill.exec.expr.CodeGenerator;
+import org.apache.drill.exec.rpc.NamedThreadFactory;
 import org.apache.drill.exec.server.options.OptionManager;
 
 import com.google.common.annotations.VisibleForTesting;
@@ -37,16 +42,23 @@ import com.google.common.collect.Lists;
  * Holds a single cache of generated code (keyed by code source) to
  * prevent compiling identical code multiple times. Supports both
  * the byte-code merging and plain-old Java methods of code
- * generation and compilation.
+ * generation and compilation. Byte-code merged classes may additionally
+ * be kept on disk by a {@link PersistentCodeCache}, enabled with
+ * {@value PersistentCodeCache#ENABLED_CONFIG}.
  */
 
 public class CodeCompiler {
 
   public static final String COMPILE_BASE = "drill.exec.compile";
   public static final String MAX_LOADING_CACHE_SIZE_CONFIG = COMPILE_BASE + ".cache_max_size";
+  public static final String THREADS_CONFIG = COMPILE_BASE + ".threads";
 
+  private final DrillConfig config;
+  private final OptionManager optionManager;
   private final ClassTransformer transformer;
   private final ClassBuilder classBuilder;
+  private final PersistentCodeCache persistentCache;
+  private final ExecutorService compileExecutor;
 
   /**
    * Google Guava loading cache that defers creating a cache
@@ -59,12 +71,17 @@ public class CodeCompiler {
   private final LoadingCache<CodeGenerator<?>, GeneratedClassEntry> cache;
 
   public CodeCompiler(final DrillConfig config, final OptionManager optionManager) {
+    this.config = config;
+    this.optionManager = optionManager;
     transformer = new ClassTransformer(config, optionManager);
     classBuilder = new ClassBuilder(config, optionManager);
     final int cacheMaxSize = config.getInt(MAX_LOADING_CACHE_SIZE_CONFIG);
     cache = CacheBuilder.newBuilder()
         .maximumSize(cacheMaxSize)
         .build(new Loader());
+    persistentCache = PersistentCodeCache.isEnabled(config) ? new PersistentCodeCache(config, optionManager) : null;
+    compileExecutor = Executors.newFixedThreadPool(Math.max(1, config.getInt(THREADS_CONFIG)),
+        new NamedThreadFactory("compile-"));
   }
 
   /**
@@ -91,9 +108,63 @@ public class CodeCompiler {
    * for the Drill compilation chain.
    */
 
-  @SuppressWarnings("unchecked")
   public <T> List<T> createInstances(final CodeGenerator<?> cg, int count) throws ClassTransformationException {
     cg.generate();
+    return getInstances(cg, count);
+  }
+
+  /**
+   * Start creating a single instance of the generated class on the compile
+   * thread pool. The code is generated on the calling thread, since code
+   * generators are not thread-safe; only compilation and instantiation are
+   * handed off. Identical classes requested concurrently, by this or by other
+   * fragments, are still compiled only once: the loading cache makes later
+   * requests wait for the compilation already in flight.
+   *
+   * @param cg code generator for the class to be instantiated.
+   * @return a future holding the instance, failing with a
+   * {@link ClassTransformationException} if compilation fails.
+   */
+
+  public <T> Future<T> createInstanceAsync(final CodeGenerator<?> cg) {
+    cg.generate();
+    return compileExecutor.submit(new Callable<T>() {
+      @Override
+      public T call() throws ClassTransformationException {
+        return CodeCompiler.this.<T>getInstances(cg, 1).get(0);
+      }
+    });
+  }
+
+  /**
+   * Wait for an instance started with {@link #createInstanceAsync(CodeGenerator)}.
+   * If the waiting thread is interrupted, as when its fragment is cancelled, the
+   * compilation is cancelled too and the thread's interrupt status is kept.
+   *
+   * @param pending the future returned by {@link #createInstanceAsync(CodeGenerator)}.
+   * @return an instance of the generated class
+   * @throws ClassTransformationException if compilation failed or the wait was
+   * interrupted.
+   */
+
+  public static <T> T getInstance(final Future<T> pending) throws ClassTransformationException {
+    try {
+      return pending.get();
+    } catch (final InterruptedException e) {
+      pending.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new ClassTransformationException("Interrupted while waiting for generated class", e);
+    } catch (final ExecutionException e) {
+      final Throwable cause = e.getCause();
+      if (cause instanceof ClassTransformationException) {
+        throw (ClassTransformationException) cause;
+      }
+      throw new ClassTransformationException(cause);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T> List<T> getInstances(final CodeGenerator<?> cg, int count) throws ClassTransformationException {
     try {
       final GeneratedClassEntry ce = cache.get(cg);
       List<T> tList = Lists.newArrayList();
@@ -123,14 +194,34 @@ public class CodeCompiler {
 
         c = classBuilder.getImplementationClass(cg);
       } else {
-        // Generate class parts and assemble byte-codes.
-
-        c = transformer.getImplementationClass(cg);
+        c = getMergedClass(cg);
       }
       return new GeneratedClassEntry(c);
     }
   }
 
+  /**
+   * Generate class parts and assemble byte-codes, unless the persistent
+   * cache already holds the result of doing so.
+   */
+
+  private Class<?> getMergedClass(final CodeGenerator<?> cg) throws ClassTransformationException {
+    final String key = persistentCache == null ? null : persistentCache.getKey(cg);
+    if (key != null) {
+      final Class<?> c = persistentCache.load(key, cg);
+      if (c != null) {
+        return c;
+      }
+    }
+    final QueryClassLoader loader = new QueryClassLoader(config, optionManager);
+    final Class<?> c = transformer.getImplementationClass(loader, cg.getDefinition(),
+        cg.getGeneratedCode(), cg.getMaterializedClassName());
+    if (key != null) {
+      persistentCache.store(key, c.getName(), loader.getInjectedByteCode());
+    }
+    return c;
+  }
+
   private class GeneratedClassEntry {
     private final Class<?> clazz;
 
@@ -153,4 +244,11 @@ public class CodeCompiler {
   public void flushCache() {
     cache.invalidateAll();
   }
+
+  /**
+   * Stop the compile thread pool. Compilations already started are allowed to finish.
+   */
+  public void close() {
+    compileExecutor.shutdown();
+  }
 }
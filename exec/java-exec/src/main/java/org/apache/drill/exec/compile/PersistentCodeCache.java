@@ -0,0 +1,227 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.compile;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.drill.common.config.DrillConfig;
+import org.apache.drill.common.util.DrillVersionInfo;
+import org.apache.drill.exec.exception.ClassTransformationException;
+import org.apache.drill.exec.expr.CodeGenerator;
+import org.apache.drill.exec.server.options.OptionManager;
+
+import com.google.common.base.Charsets;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.Sets;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.io.Resources;
+
+/**
+ * Second-level cache of compiled classes stored in a local directory, so that
+ * code compiled once survives a Drillbit restart. Consulted by {@link CodeCompiler}
+ * when its in-memory cache misses, before running the compiler and the byte-code
+ * merge.
+ * <p>
+ * Each entry holds the merged byte codes of one generated class (with its inner
+ * classes) and is named by a hash of everything that determines those byte codes:
+ * the Drill version, the byte codes of the template class, the scalar replacement
+ * option and the generated source with the class name made generic. Entries written
+ * by one Drillbit may be copied to the cache directory of any other Drillbit of the
+ * same version to warm it ahead of time; entries of other versions are never matched
+ * and can be deleted at will.
+ * <p>
+ * Only the byte-code merge path is cached. Classes built as plain-old Java are meant
+ * for debugging generated code and are always compiled.
+ */
+public class PersistentCodeCache {
+  private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(PersistentCodeCache.class);
+
+  public static final String ENABLED_CONFIG = CodeCompiler.COMPILE_BASE + ".persistent_cache.enabled";
+  public static final String DIRECTORY_CONFIG = CodeCompiler.COMPILE_BASE + ".persistent_cache.directory";
+
+  private static final String FILE_SUFFIX = ".classes";
+  private static final int FORMAT_VERSION = 1;
+
+  private final DrillConfig config;
+  private final OptionManager optionManager;
+  private final File directory;
+  private final boolean writable;
+
+  /**
+   * Keys of the entries found in, or written to, the cache directory. Lets a miss
+   * be decided without touching the file system.
+   */
+  private final Set<String> index = Sets.newConcurrentHashSet();
+
+  private final LoadingCache<String, String> templateHashes = CacheBuilder.newBuilder()
+      .maximumSize(1000)
+      .build(new CacheLoader<String, String>() {
+        @Override
+        public String load(String templateClassName) throws IOException {
+          final String path = "/" + templateClassName.replace('.', '/') + ".class";
+          return Hashing.sha256().hashBytes(Resources.toByteArray(Resources.getResource(PersistentCodeCache.class, path))).toString();
+        }
+      });
+
+  public PersistentCodeCache(final DrillConfig config, final OptionManager optionManager) {
+    this.config = config;
+    this.optionManager = optionManager;
+    directory = new File(config.getString(DIRECTORY_CONFIG));
+    writable = directory.isDirectory() || directory.mkdirs();
+    if (!writable) {
+      logger.warn("Unable to create code cache directory {}; compiled classes will not be persisted.", directory);
+      return;
+    }
+    final File[] files = directory.listFiles();
+    if (files != null) {
+      for (File file : files) {
+        final String name = file.getName();
+        if (name.endsWith(FILE_SUFFIX)) {
+          index.add(name.substring(0, name.length() - FILE_SUFFIX.length()));
+        }
+      }
+    }
+    logger.info("Found {} compiled classes in code cache directory {}.", index.size(), directory);
+  }
+
+  public static boolean isEnabled(final DrillConfig config) {
+    return config.hasPath(ENABLED_CONFIG) && config.getBoolean(ENABLED_CONFIG);
+  }
+
+  /**
+   * Compute the key under which the classes of the given generator are stored.
+   * The generator must already have generated its code.
+   *
+   * @return the key, or null if the generator cannot be cached
+   */
+  public String getKey(final CodeGenerator<?> cg) {
+    if (cg.isPlainOldJava() || cg.getGenerifiedCode() == null) {
+      return null;
+    }
+    final String templateHash;
+    try {
+      templateHash = templateHashes.getUnchecked(cg.getDefinition().getTemplateClassName());
+    } catch (RuntimeException e) {
+      logger.debug("Unable to read template class {}; not caching.", cg.getDefinition().getTemplateClassName(), e);
+      return null;
+    }
+    final Hasher hasher = Hashing.sha256().newHasher()
+        .putString(DrillVersionInfo.getVersion(), Charsets.UTF_8)
+        .putString(templateHash, Charsets.UTF_8)
+        .putString(optionManager.getOption(ClassTransformer.SCALAR_REPLACEMENT_VALIDATOR), Charsets.UTF_8)
+        .putString(cg.getGenerifiedCode(), Charsets.UTF_8);
+    return hasher.hash().toString();
+  }
+
+  /**
+   * Load the classes stored under the given key into a new class loader.
+   *
+   * @return the main class of the entry, or null if there is no usable entry
+   */
+  public Class<?> load(final String key, final CodeGenerator<?> cg) {
+    if (!index.contains(key)) {
+      return null;
+    }
+    final File file = getFile(key);
+    try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+      if (in.readInt() != FORMAT_VERSION) {
+        throw new IOException("Unsupported code cache format");
+      }
+      final String mainClassName = in.readUTF();
+      final QueryClassLoader loader = new QueryClassLoader(config, optionManager);
+      final int classCount = in.readInt();
+      for (int i = 0; i < classCount; i++) {
+        final String className = in.readUTF();
+        final byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        loader.injectByteCode(className, bytes);
+      }
+      final Class<?> c = loader.findClass(mainClassName);
+      if (!cg.getDefinition().getExternalInterface().isAssignableFrom(c)) {
+        throw new ClassTransformationException("The cached class did not implement the expected interface.");
+      }
+      logger.debug("Loaded {} from code cache entry {}.", mainClassName, key);
+      return c;
+    } catch (IOException | ClassNotFoundException | ClassTransformationException | LinkageError e) {
+      logger.warn("Discarding unusable code cache entry {}.", file, e);
+      index.remove(key);
+      if (!file.delete()) {
+        logger.debug("Unable to delete code cache entry {}.", file);
+      }
+      return null;
+    }
+  }
+
+  /**
+   * Store the given classes under the given key. The entry is written to a
+   * temporary file and renamed into place so that readers, including other
+   * Drillbits sharing the directory, never see a partial entry. Failures are
+   * logged and otherwise ignored: the cache is an optimization only.
+   *
+   * @param key key from {@link #getKey(CodeGenerator)}
+   * @param mainClassName dotted name of the class to return on load
+   * @param classes byte codes of the main class and its inner classes, keyed by dotted name
+   */
+  public void store(final String key, final String mainClassName, final Map<String, byte[]> classes) {
+    if (!writable || index.contains(key)) {
+      return;
+    }
+    final File target = getFile(key);
+    File temp = null;
+    try {
+      temp = File.createTempFile(key, ".tmp", directory);
+      try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+        out.writeInt(FORMAT_VERSION);
+        out.writeUTF(mainClassName);
+        out.writeInt(classes.size());
+        for (Map.Entry<String, byte[]> entry : classes.entrySet()) {
+          out.writeUTF(entry.getKey());
+          out.writeInt(entry.getValue().length);
+          out.write(entry.getValue());
+        }
+      }
+      if (!temp.renameTo(target)) {
+        throw new IOException("Unable to rename " + temp + " to " + target);
+      }
+      temp = null;
+      index.add(key);
+    } catch (IOException e) {
+      logger.warn("Unable to write code cache entry {}.", target, e);
+    } finally {
+      if (temp != null && !temp.delete()) {
+        logger.debug("Unable to delete temporary file {}.", temp);
+      }
+    }
+  }
+
+  private File getFile(final String key) {
+    return new File(directory, key + FILE_SUFFIX);
+  }
+}
@@ -20,6 +20,8 @@ package org.apache.drill.exec.compile;
 import java.io.IOException;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.util.Collections;
+import java.util.Map;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -60,6 +62,13 @@ public class QueryClassLoader extends URLClassLoader {
     customClasses.put(className, classBytes);
   }
 
+  /**
+   * @return the byte codes injected into this loader so far, keyed by dotted class name
+   */
+  public Map<String, byte[]> getInjectedByteCode() {
+    return Collections.unmodifiableMap(customClasses);
+  }
+
   @Override
   protected Class<?> findClass(String className) throws ClassNotFoundException {
     byte[] ba = customClasses.get(className);
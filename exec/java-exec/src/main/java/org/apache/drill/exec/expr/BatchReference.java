@@ -0,0 +1,67 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.expr;
+
+import com.google.common.base.Objects;
+
+/**
+ * Names the container and the read index a {@link ValueVectorReadExpression} reads from in the generated code,
+ * for expressions over several incoming batches, which the single incoming batch and read index of a
+ * {@link org.apache.drill.exec.compile.sig.MappingSet} cannot express. The nested loop join for instance
+ * evaluates its condition over a record of the left batch and one of the right hyper container.
+ */
+public class BatchReference {
+
+  private final String batchName;
+  private final String batchIndex;
+
+  public BatchReference(String batchName, String batchIndex) {
+    this.batchName = batchName;
+    this.batchIndex = batchIndex;
+  }
+
+  public String getBatchName() {
+    return batchName;
+  }
+
+  public String getBatchIndex() {
+    return batchIndex;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hashCode(batchName, batchIndex);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (obj == null || getClass() != obj.getClass()) {
+      return false;
+    }
+    final BatchReference other = (BatchReference) obj;
+    return batchName.equals(other.batchName) && batchIndex.equals(other.batchIndex);
+  }
+
+  @Override
+  public String toString() {
+    return "BatchReference [batchName=" + batchName + ", batchIndex=" + batchIndex + "]";
+  }
+}
@@ -178,6 +178,14 @@ public class CodeGenerator<T> {
     return generatedCode;
   }
 
+  /**
+   * @return the generated code with the materialized class name replaced by a
+   * fixed placeholder; identical for any two generators that produce the same class
+   */
+  public String getGenerifiedCode() {
+    return generifiedCode;
+  }
+
   public TemplateClassDefinition<T> getDefinition() {
     return definition;
   }
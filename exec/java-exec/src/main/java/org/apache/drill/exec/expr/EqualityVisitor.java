@@ -17,6 +17,7 @@
  */
 package org.apache.drill.exec.expr;
 
+import com.google.common.base.Objects;
 import com.google.common.collect.Lists;
 import org.apache.drill.common.expression.BooleanOperator;
 import org.apache.drill.common.expression.CastExpression;
@@ -302,7 +303,8 @@ class EqualityVisitor extends AbstractExprVisitor<Boolean,LogicalExpression,Runt
   }
 
   private Boolean visitValueVectorReadExpression(ValueVectorReadExpression e, ValueVectorReadExpression value) {
-    return e.getTypedFieldId().equals(value.getTypedFieldId());
+    return e.getTypedFieldId().equals(value.getTypedFieldId())
+        && Objects.equal(e.getBatchRef(), value.getBatchRef());
   }
 
 
@@ -397,9 +397,12 @@ public class EvaluationVisitor {
         throws RuntimeException {
       // declare value vector
 
-      JExpression vv1 = generator.declareVectorValueSetupAndMember(generator.getMappingSet().getIncoming(),
-          e.getFieldId());
-      JExpression indexVariable = generator.getMappingSet().getValueReadIndex();
+      final BatchReference batchRef = e.getBatchRef();
+      final DirectExpression batchName = batchRef == null ? generator.getMappingSet().getIncoming()
+          : DirectExpression.direct(batchRef.getBatchName());
+      JExpression vv1 = generator.declareVectorValueSetupAndMember(batchName, e.getFieldId());
+      JExpression indexVariable = batchRef == null ? generator.getMappingSet().getValueReadIndex()
+          : DirectExpression.direct(batchRef.getBatchIndex());
 
       JExpression componentVariable = indexVariable.shrz(JExpr.lit(16));
       if (e.isSuperReader()) {
@@ -128,7 +128,24 @@ public class ExpressionTreeMaterializer {
 
   public static LogicalExpression materialize(LogicalExpression expr, VectorAccessible batch, ErrorCollector errorCollector, FunctionLookupContext functionLookupContext,
       boolean allowComplexWriterExpr, boolean unionTypeEnabled) {
-    LogicalExpression out =  expr.accept(new MaterializeVisitor(batch, errorCollector, allowComplexWriterExpr, unionTypeEnabled), functionLookupContext);
+    return materialize(expr, new MaterializeVisitor(batch, errorCollector, allowComplexWriterExpr, unionTypeEnabled),
+        errorCollector, functionLookupContext);
+  }
+
+  /**
+   * Materializes an expression over several batches. Each field is read from the first batch, in the iteration
+   * order of the map, that has it, through the batch reference the batch is mapped to.
+   */
+  public static LogicalExpression materializeOverBatches(LogicalExpression expr,
+      Map<VectorAccessible, BatchReference> batches, ErrorCollector errorCollector,
+      FunctionLookupContext functionLookupContext) {
+    return materialize(expr, new MultiBatchMaterializeVisitor(batches, errorCollector), errorCollector,
+        functionLookupContext);
+  }
+
+  private static LogicalExpression materialize(LogicalExpression expr, AbstractMaterializeVisitor visitor,
+      ErrorCollector errorCollector, FunctionLookupContext functionLookupContext) {
+    LogicalExpression out =  expr.accept(visitor, functionLookupContext);
 
     if (!errorCollector.hasErrors()) {
       out = out.accept(ConditionalExprOptimizer.INSTANCE, null);
@@ -246,6 +263,27 @@ public class ExpressionTreeMaterializer {
     }
   }
 
+  private static class MultiBatchMaterializeVisitor extends AbstractMaterializeVisitor {
+    private final Map<VectorAccessible, BatchReference> batches;
+
+    public MultiBatchMaterializeVisitor(Map<VectorAccessible, BatchReference> batches, ErrorCollector errorCollector) {
+      super(errorCollector, false, false);
+      this.batches = batches;
+    }
+
+    @Override
+    public LogicalExpression visitSchemaPath(SchemaPath path, FunctionLookupContext functionLookupContext) {
+      for (Map.Entry<VectorAccessible, BatchReference> batch : batches.entrySet()) {
+        TypedFieldId tfId = batch.getKey().getValueVectorId(path);
+        if (tfId != null) {
+          return new ValueVectorReadExpression(tfId, batch.getValue());
+        }
+      }
+      logger.warn("Unable to find value vector of path {}, returning null instance.", path);
+      return NullExpression.INSTANCE;
+    }
+  }
+
   private static class FilterMaterializeVisitor extends AbstractMaterializeVisitor {
     private final Map<SchemaPath, ColumnStatistics> stats;
 
@@ -32,10 +32,20 @@ public class ValueVectorReadExpression implements LogicalExpression{
   static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(ValueVectorReadExpression.class);
 
   private final TypedFieldId fieldId;
+  private final BatchReference batchRef;
 
 
   public ValueVectorReadExpression(TypedFieldId tfId){
+    this(tfId, null);
+  }
+
+  /**
+   * @param batchRef the batch to read from, instead of the incoming batch of the mapping set the expression is
+   *   generated with; may be null
+   */
+  public ValueVectorReadExpression(TypedFieldId tfId, BatchReference batchRef){
     this.fieldId = tfId;
+    this.batchRef = batchRef;
   }
 
   public boolean hasReadPath(){
@@ -67,6 +77,10 @@ public class ValueVectorReadExpression implements LogicalExpression{
     return fieldId;
   }
 
+  public BatchReference getBatchRef() {
+    return batchRef;
+  }
+
   @Override
   public ExpressionPosition getPosition() {
     return ExpressionPosition.UNKNOWN;
@@ -89,7 +103,7 @@ public class ValueVectorReadExpression implements LogicalExpression{
 
   @Override
   public String toString() {
-    return "ValueVectorReadExpression [fieldId=" + fieldId + "]";
+    return "ValueVectorReadExpression [fieldId=" + fieldId + (batchRef == null ? "" : ", batchRef=" + batchRef) + "]";
   }
 
 }
@@ -34,16 +34,43 @@ public class AccountingDataTunnel {
   private final DataTunnel tunnel;
   private final SendingAccountor sendingAccountor;
   private final RpcOutcomeListener<Ack> statusHandler;
+  private final FragmentContext context;
 
-  public AccountingDataTunnel(DataTunnel tunnel, SendingAccountor sendingAccountor, RpcOutcomeListener<Ack> statusHandler) {
+  public AccountingDataTunnel(DataTunnel tunnel, SendingAccountor sendingAccountor, RpcOutcomeListener<Ack> statusHandler,
+      FragmentContext context) {
     this.tunnel = tunnel;
     this.sendingAccountor = sendingAccountor;
     this.statusHandler = statusHandler;
+    this.context = context;
   }
 
   public void sendRecordBatch(FragmentWritableBatch batch) {
     sendingAccountor.increment();
-    tunnel.sendRecordBatch(statusHandler, batch);
+    if (!tunnel.isSendBlocked()) {
+      tunnel.sendRecordBatch(statusHandler, batch);
+      return;
+    }
+    // the send waits for an earlier one to complete, which may need the receiver to run
+    context.waitStarted();
+    try {
+      tunnel.sendRecordBatch(statusHandler, batch);
+    } finally {
+      context.waitEnded();
+    }
+  }
+
+  /**
+   * See {@link DataTunnel#setSendCompletedListener(Runnable)}.
+   */
+  public void setSendCompletedListener(Runnable sendCompletedListener) {
+    tunnel.setSendCompletedListener(sendCompletedListener);
+  }
+
+  /**
+   * See {@link DataTunnel#isSendBlocked()}.
+   */
+  public boolean isSendBlocked() {
+    return tunnel.isSendBlocked();
   }
 
   /**
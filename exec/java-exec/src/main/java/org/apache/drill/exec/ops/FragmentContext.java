@@ -24,6 +24,7 @@ import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
 
 import org.apache.calcite.schema.SchemaPlus;
 import org.apache.drill.common.config.DrillConfig;
@@ -31,6 +32,7 @@ import org.apache.drill.common.exceptions.ExecutionSetupException;
 import org.apache.drill.common.exceptions.UserException;
 import org.apache.drill.common.types.TypeProtos.MinorType;
 import org.apache.drill.exec.ExecConstants;
+import org.apache.drill.exec.compile.CodeCompiler;
 import org.apache.drill.exec.exception.ClassTransformationException;
 import org.apache.drill.exec.exception.OutOfMemoryException;
 import org.apache.drill.exec.expr.ClassGenerator;
@@ -39,6 +41,8 @@ import org.apache.drill.exec.expr.fn.FunctionImplementationRegistry;
 import org.apache.drill.exec.expr.holders.ValueHolder;
 import org.apache.drill.exec.memory.BufferAllocator;
 import org.apache.drill.exec.physical.base.PhysicalOperator;
+import org.apache.drill.exec.physical.impl.RuntimeFilter;
+import org.apache.drill.exec.physical.impl.spool.SharedSpoolBuffer;
 import org.apache.drill.exec.planner.physical.PlannerSettings;
 import org.apache.drill.exec.proto.BitControl.PlanFragment;
 import org.apache.drill.exec.proto.CoordinationProtos.DrillbitEndpoint;
@@ -58,6 +62,8 @@ import org.apache.drill.exec.store.SchemaConfig;
 import org.apache.drill.exec.testing.ExecutionControls;
 import org.apache.drill.exec.util.ImpersonationUtil;
 import org.apache.drill.exec.work.batch.IncomingBuffers;
+import org.apache.drill.exec.work.fragment.FragmentScheduler;
+import org.apache.drill.exec.work.fragment.FragmentScheduler.Ticket;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
@@ -86,6 +92,11 @@ public class FragmentContext implements AutoCloseable, UdfUtilities {
   private final BufferManager bufferManager;
   private ExecutorState executorState;
   private final ExecutionControls executionControls;
+  private Ticket schedulerTicket;
+  // whether the executor gives up the thread while the fragment is blocked, set each time it runs the fragment
+  private boolean yieldEnabled;
+  // set by a receiver that returned NOT_YET for lack of data, cleared once the executor checked it
+  private boolean waitingForInput;
 
 
   private final SendingAccountor sendingAccountor = new SendingAccountor();
@@ -108,6 +119,8 @@ public class FragmentContext implements AutoCloseable, UdfUtilities {
   private final AccountingUserConnection accountingUserConnection;
   /** Stores constants and their holders by type */
   private final Map<String, Map<MinorType, ValueHolder>> constantValueHolderCache;
+  private final Map<Integer, RuntimeFilter> runtimeFilters = Maps.newHashMap();
+  private final Map<Integer, SharedSpoolBuffer> sharedSpoolBuffers = Maps.newHashMap();
 
   /**
    * Create a FragmentContext instance for non-root fragment.
@@ -219,6 +232,84 @@ public class FragmentContext implements AutoCloseable, UdfUtilities {
     return executorState.shouldContinue();
   }
 
+  /**
+   * Sets the ticket through which the fragment shares the CPU with the fragments of other queries, see
+   * {@link FragmentScheduler}.
+   */
+  public void setSchedulerTicket(final Ticket schedulerTicket) {
+    this.schedulerTicket = schedulerTicket;
+  }
+
+  /**
+   * Gives the fragment's scheduler slot up while it waits on other fragments, which may need a slot to make the
+   * progress it waits for. Must be followed by {@link #waitEnded()}.
+   */
+  public void waitStarted() {
+    if (schedulerTicket != null) {
+      schedulerTicket.release();
+    }
+  }
+
+  /**
+   * Takes a scheduler slot again after a wait started by {@link #waitStarted()}.
+   */
+  public void waitEnded() {
+    if (schedulerTicket != null) {
+      schedulerTicket.acquire();
+    }
+  }
+
+  /**
+   * Resumes the fragment if it gave up its thread while it was blocked. Called from the threads delivering incoming
+   * data and completing sends.
+   */
+  public void wakeUp() {
+    if (executorState != null) {
+      executorState.wakeUp();
+    }
+  }
+
+  /**
+   * Whether the fragment is run by an executor that gives up the thread while the fragment is blocked, in which case
+   * receivers may return NOT_YET instead of waiting for data.
+   */
+  public boolean isYieldEnabled() {
+    return yieldEnabled;
+  }
+
+  public void setYieldEnabled(final boolean yieldEnabled) {
+    this.yieldEnabled = yieldEnabled;
+  }
+
+  /**
+   * Called by a receiver that returned NOT_YET because none of its buffers holds data, so that the executor yields
+   * even though other incoming buffers of the fragment may hold data.
+   */
+  public void setWaitingForInput() {
+    waitingForInput = true;
+  }
+
+  /**
+   * Whether the fragment is unlikely to make progress right now: a receiver returned NOT_YET for lack of data since
+   * the last check, none of its incoming buffers holds data, or one of its outgoing tunnels has all its sending slots
+   * taken.
+   */
+  public boolean isBlocked() {
+    if (waitingForInput) {
+      waitingForInput = false;
+      return true;
+    }
+    if (buffers != null && !buffers.isReady()) {
+      return true;
+    }
+    for (final AccountingDataTunnel tunnel : tunnels.values()) {
+      if (tunnel.isSendBlocked()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   public DrillbitContext getDrillbitContext() {
     return context;
   }
@@ -313,7 +404,12 @@ public class FragmentContext implements AutoCloseable, UdfUtilities {
 
   public <T> T getImplementationClass(final CodeGenerator<T> cg)
       throws ClassTransformationException, IOException {
-    return context.getCompiler().createInstance(cg);
+    final long start = System.nanoTime();
+    try {
+      return context.getCompiler().createInstance(cg);
+    } finally {
+      stats.addCompileNanos(System.nanoTime() - start);
+    }
   }
 
   public <T> List<T> getImplementationClass(final ClassGenerator<T> cg, final int instanceCount) throws ClassTransformationException, IOException {
@@ -321,7 +417,40 @@ public class FragmentContext implements AutoCloseable, UdfUtilities {
   }
 
   public <T> List<T> getImplementationClass(final CodeGenerator<T> cg, final int instanceCount) throws ClassTransformationException, IOException {
-    return context.getCompiler().createInstances(cg, instanceCount);
+    final long start = System.nanoTime();
+    try {
+      return context.getCompiler().createInstances(cg, instanceCount);
+    } finally {
+      stats.addCompileNanos(System.nanoTime() - start);
+    }
+  }
+
+  /**
+   * Generates the code for the given generator and starts compiling it on the
+   * shared compile thread pool, so that the caller can do other setup work,
+   * including compiling other classes, in the meantime. Pass the returned future
+   * to {@link #getImplementationClass(Future)} to wait for the instance.
+   */
+  public <T> Future<T> getImplementationClassAsync(final CodeGenerator<T> cg) {
+    final long start = System.nanoTime();
+    try {
+      return context.getCompiler().createInstanceAsync(cg);
+    } finally {
+      stats.addCompileNanos(System.nanoTime() - start);
+    }
+  }
+
+  /**
+   * Waits for a class started with {@link #getImplementationClassAsync(CodeGenerator)}.
+   * Only the time spent waiting is counted as compile time of this fragment.
+   */
+  public <T> T getImplementationClass(final Future<T> pending) throws ClassTransformationException {
+    final long start = System.nanoTime();
+    try {
+      return CodeCompiler.getInstance(pending);
+    } finally {
+      stats.addCompileNanos(System.nanoTime() - start);
+    }
   }
 
   public AccountingUserConnection getUserDataTunnel() {
@@ -336,7 +465,14 @@ public class FragmentContext implements AutoCloseable, UdfUtilities {
   public AccountingDataTunnel getDataTunnel(final DrillbitEndpoint endpoint) {
     AccountingDataTunnel tunnel = tunnels.get(endpoint);
     if (tunnel == null) {
-      tunnel = new AccountingDataTunnel(context.getDataConnectionsPool().getTunnel(endpoint), sendingAccountor, statusHandler);
+      tunnel = new AccountingDataTunnel(context.getDataConnectionsPool().getTunnel(endpoint), sendingAccountor,
+          statusHandler, this);
+      tunnel.setSendCompletedListener(new Runnable() {
+        @Override
+        public void run() {
+          wakeUp();
+        }
+      });
       tunnels.put(endpoint, tunnel);
     }
     return tunnel;
@@ -411,6 +547,11 @@ public class FragmentContext implements AutoCloseable, UdfUtilities {
       suppressingClose(opContext);
     }
 
+    // the spools keep batches in the fragment allocator
+    for (SharedSpoolBuffer spoolBuffer : sharedSpoolBuffers.values()) {
+      suppressingClose(spoolBuffer);
+    }
+
     suppressingClose(bufferManager);
     suppressingClose(buffers);
     suppressingClose(allocator);
@@ -439,6 +580,34 @@ public class FragmentContext implements AutoCloseable, UdfUtilities {
     return bufferManager.getManagedBuffer(size);
   }
 
+  /**
+   * Publishes a filter to the scan with the given operator id. Both the publishing operator and the
+   * scan run in this fragment, so no synchronization is needed.
+   */
+  public void setRuntimeFilter(int scanOperatorId, RuntimeFilter filter) {
+    runtimeFilters.put(scanOperatorId, filter);
+  }
+
+  /**
+   * @return the filter published to the scan with the given operator id, or null if there is none (yet)
+   */
+  public RuntimeFilter getRuntimeFilter(int scanOperatorId) {
+    return runtimeFilters.get(scanOperatorId);
+  }
+
+  /**
+   * @return the buffer through which the consumers of the shared spool with the given id read its batches,
+   *         created by the first of them to ask for it
+   */
+  public SharedSpoolBuffer getSharedSpoolBuffer(int spoolId, int consumerCount) {
+    SharedSpoolBuffer buffer = sharedSpoolBuffers.get(spoolId);
+    if (buffer == null) {
+      buffer = new SharedSpoolBuffer(this, spoolId, consumerCount);
+      sharedSpoolBuffers.put(spoolId, buffer);
+    }
+    return buffer;
+  }
+
   @Override
   public PartitionExplorer getPartitionExplorer() {
     throw new UnsupportedOperationException(String.format("The partition explorer interface can only be used " +
@@ -469,7 +638,12 @@ public class FragmentContext implements AutoCloseable, UdfUtilities {
    * Wait for ack that all outgoing batches have been sent
    */
   public void waitForSendComplete() {
-    sendingAccountor.waitForSendComplete();
+    waitStarted();
+    try {
+      sendingAccountor.waitForSendComplete();
+    } finally {
+      waitEnded();
+    }
   }
 
   public interface ExecutorState {
@@ -488,6 +662,11 @@ public class FragmentContext implements AutoCloseable, UdfUtilities {
      */
     public void fail(final Throwable t);
 
+    /**
+     * Inform the executor that the fragment may be able to make progress again: data arrived or a send completed.
+     */
+    public void wakeUp();
+
     @VisibleForTesting
     @Deprecated
     public boolean isFailed();
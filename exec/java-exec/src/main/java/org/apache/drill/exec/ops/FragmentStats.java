@@ -18,6 +18,7 @@
 package org.apache.drill.exec.ops;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.drill.exec.memory.BufferAllocator;
 import org.apache.drill.exec.proto.CoordinationProtos.DrillbitEndpoint;
@@ -35,6 +36,7 @@ public class FragmentStats {
   private final long startTime;
   private final DrillbitEndpoint endpoint;
   private final BufferAllocator allocator;
+  private final AtomicLong compileNanos = new AtomicLong();
 
   public FragmentStats(BufferAllocator allocator, DrillbitEndpoint endpoint) {
     this.startTime = System.currentTimeMillis();
@@ -47,6 +49,7 @@ public class FragmentStats {
     prfB.setMaxMemoryUsed(allocator.getPeakMemoryAllocation());
     prfB.setEndTime(System.currentTimeMillis());
     prfB.setEndpoint(endpoint);
+    prfB.setCompileNanos(compileNanos.get());
     for(OperatorStats o : operators){
       prfB.addOperatorProfile(o.getProfile());
     }
@@ -71,4 +74,14 @@ public class FragmentStats {
     operators.add(stats);
   }
 
+  /**
+   * Records time spent obtaining generated classes: code generation, compilation
+   * and byte-code merging, or just the cache lookup when the class was already compiled.
+   *
+   * @param nanos elapsed time in nanoseconds
+   */
+  public void addCompileNanos(long nanos) {
+    compileNanos.addAndGet(nanos);
+  }
+
 }
@@ -74,6 +74,12 @@ public abstract class AbstractGroupScan extends AbstractBase implements GroupSca
     return 1;
   }
 
+  @Override
+  @JsonIgnore
+  public long getScanBytes() {
+    return -1;
+  }
+
   @Override
   public ScanStats getScanStats(PlannerSettings settings) {
     return getScanStats();
@@ -59,6 +59,14 @@ public interface GroupScan extends Scan, HasAffinity{
   @JsonIgnore
   public int getMinParallelizationWidth();
 
+  /**
+   * Bytes this GroupScan reads, summed over its units of work.
+   * Currently, this is used in {@link org.apache.drill.exec.planner.fragment.AdaptiveParallelization}
+   * @return the bytes read, or -1 if not known
+   */
+  @JsonIgnore
+  public long getScanBytes();
+
   /**
    * Check if GroupScan enforces width to be maximum parallelization width.
    * Currently, this is used in {@link org.apache.drill.exec.planner.physical.visitor.ExcessiveExchangeIdentifier}
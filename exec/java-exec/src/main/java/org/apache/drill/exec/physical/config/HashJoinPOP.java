@@ -29,6 +29,8 @@ import org.apache.drill.exec.proto.UserBitShared.CoreOperatorType;
 import org.apache.calcite.rel.core.JoinRelType;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 import com.google.common.base.Preconditions;
@@ -44,19 +46,27 @@ public class HashJoinPOP extends AbstractBase {
     private final PhysicalOperator right;
     private final List<JoinCondition> conditions;
     private final JoinRelType joinType;
+    private final RuntimePartitionFilterDef runtimePartitionFilter;
+
+    public HashJoinPOP(PhysicalOperator left, PhysicalOperator right, List<JoinCondition> conditions,
+                       JoinRelType joinType) {
+        this(left, right, conditions, joinType, null);
+    }
 
     @JsonCreator
     public HashJoinPOP(
             @JsonProperty("left") PhysicalOperator left,
             @JsonProperty("right") PhysicalOperator right,
             @JsonProperty("conditions") List<JoinCondition> conditions,
-            @JsonProperty("joinType") JoinRelType joinType
+            @JsonProperty("joinType") JoinRelType joinType,
+            @JsonProperty("runtimePartitionFilter") RuntimePartitionFilterDef runtimePartitionFilter
     ) {
         this.left = left;
         this.right = right;
         this.conditions = conditions;
         Preconditions.checkArgument(joinType != null, "Join type is missing!");
         this.joinType = joinType;
+        this.runtimePartitionFilter = runtimePartitionFilter;
     }
 
     @Override
@@ -67,7 +77,7 @@ public class HashJoinPOP extends AbstractBase {
     @Override
     public PhysicalOperator getNewWithChildren(List<PhysicalOperator> children) {
         Preconditions.checkArgument(children.size() == 2);
-        return new HashJoinPOP(children.get(0), children.get(1), conditions, joinType);
+        return new HashJoinPOP(children.get(0), children.get(1), conditions, joinType, runtimePartitionFilter);
     }
 
     @Override
@@ -91,6 +101,14 @@ public class HashJoinPOP extends AbstractBase {
         return conditions;
     }
 
+    /**
+     * @return the partition filter to publish to the probe side scan, or null if there is none
+     */
+    @JsonInclude(Include.NON_NULL)
+    public RuntimePartitionFilterDef getRuntimePartitionFilter() {
+        return runtimePartitionFilter;
+    }
+
     public HashJoinPOP flipIfRight(){
         if(joinType == JoinRelType.RIGHT){
             List<JoinCondition> flippedConditions = Lists.newArrayList();
@@ -34,26 +34,60 @@ import com.fasterxml.jackson.annotation.JsonTypeName;
 public class HashPartitionSender extends AbstractSender {
   static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(HashPartitionSender.class);
 
+  /**
+   * How the sender deals with keys whose rows would overload the receiver their hash maps to. The receiver a row is
+   * sent to is the one its hash maps to, the home receiver, or one of the next fanout - 1 receivers.
+   */
+  public enum SkewHandling {
+    /** Every row goes to its home receiver. */
+    NONE,
+    /** Rows of the keys found to be hot in a sample go round robin to their home receiver or one of the next ones. */
+    SPREAD,
+    /** Every row goes to its home receiver and to each of the next ones, so that the other side can be spread. */
+    REPLICATE
+  }
+
   private final LogicalExpression expr;
+  private final SkewHandling skewHandling;
+  private final int skewFanout;
+
+  public HashPartitionSender(int oppositeMajorFragmentId,
+                             PhysicalOperator child,
+                             LogicalExpression expr,
+                             List<MinorFragmentEndpoint> endpoints) {
+    this(oppositeMajorFragmentId, child, expr, endpoints, SkewHandling.NONE, 1);
+  }
 
   @JsonCreator
   public HashPartitionSender(@JsonProperty("receiver-major-fragment") int oppositeMajorFragmentId,
                              @JsonProperty("child") PhysicalOperator child,
                              @JsonProperty("expr") LogicalExpression expr,
-                             @JsonProperty("destinations") List<MinorFragmentEndpoint> endpoints) {
+                             @JsonProperty("destinations") List<MinorFragmentEndpoint> endpoints,
+                             @JsonProperty("skewHandling") SkewHandling skewHandling,
+                             @JsonProperty("skewFanout") int skewFanout) {
     super(oppositeMajorFragmentId, child, endpoints);
     this.expr = expr;
+    this.skewHandling = skewHandling == null ? SkewHandling.NONE : skewHandling;
+    this.skewFanout = Math.max(1, skewFanout);
   }
 
   @Override
   protected PhysicalOperator getNewWithChild(PhysicalOperator child) {
-    return new HashPartitionSender(oppositeMajorFragmentId, child, expr, destinations);
+    return new HashPartitionSender(oppositeMajorFragmentId, child, expr, destinations, skewHandling, skewFanout);
   }
 
   public LogicalExpression getExpr() {
     return expr;
   }
 
+  public SkewHandling getSkewHandling() {
+    return skewHandling;
+  }
+
+  public int getSkewFanout() {
+    return skewFanout;
+  }
+
   @Override
   public <T, X, E extends Throwable> T accept(PhysicalVisitor<T, X, E> physicalVisitor, X value) throws E {
     return physicalVisitor.visitHashPartitionSender(this, value);
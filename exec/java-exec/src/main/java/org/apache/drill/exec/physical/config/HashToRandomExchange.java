@@ -25,6 +25,7 @@ import org.apache.drill.exec.physical.base.PhysicalOperator;
 import org.apache.drill.exec.physical.base.PhysicalOperatorUtil;
 import org.apache.drill.exec.physical.base.Receiver;
 import org.apache.drill.exec.physical.base.Sender;
+import org.apache.drill.exec.physical.config.HashPartitionSender.SkewHandling;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
@@ -41,17 +42,27 @@ public class HashToRandomExchange extends AbstractExchange{
   }
 
   private final LogicalExpression expr;
+  private final SkewHandling skewHandling;
+  private final int skewFanout;
+
+  public HashToRandomExchange(PhysicalOperator child, LogicalExpression expr) {
+    this(child, expr, SkewHandling.NONE, 1);
+  }
 
   @JsonCreator
-  public HashToRandomExchange(@JsonProperty("child") PhysicalOperator child, @JsonProperty("expr") LogicalExpression expr) {
+  public HashToRandomExchange(@JsonProperty("child") PhysicalOperator child, @JsonProperty("expr") LogicalExpression expr,
+                              @JsonProperty("skewHandling") SkewHandling skewHandling,
+                              @JsonProperty("skewFanout") int skewFanout) {
     super(child);
     this.expr = expr;
+    this.skewHandling = skewHandling == null ? SkewHandling.NONE : skewHandling;
+    this.skewFanout = Math.max(1, skewFanout);
   }
 
   @Override
   public Sender getSender(int minorFragmentId, PhysicalOperator child) {
     return new HashPartitionSender(receiverMajorFragmentId, child, expr,
-        PhysicalOperatorUtil.getIndexOrderedEndpoints(receiverLocations));
+        PhysicalOperatorUtil.getIndexOrderedEndpoints(receiverLocations), skewHandling, skewFanout);
   }
 
   @Override
@@ -61,11 +72,19 @@ public class HashToRandomExchange extends AbstractExchange{
 
   @Override
   protected PhysicalOperator getNewWithChild(PhysicalOperator child) {
-    return new HashToRandomExchange(child, expr);
+    return new HashToRandomExchange(child, expr, skewHandling, skewFanout);
   }
 
   @JsonProperty("expr")
   public LogicalExpression getExpression(){
     return expr;
   }
+
+  public SkewHandling getSkewHandling() {
+    return skewHandling;
+  }
+
+  public int getSkewFanout() {
+    return skewFanout;
+  }
 }
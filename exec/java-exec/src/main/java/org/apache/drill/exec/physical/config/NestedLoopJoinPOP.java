@@ -21,6 +21,7 @@ package org.apache.drill.exec.physical.config;
 import java.util.Iterator;
 import java.util.List;
 
+import org.apache.drill.common.expression.LogicalExpression;
 import org.apache.drill.common.logical.data.JoinCondition;
 import org.apache.drill.exec.physical.base.AbstractBase;
 import org.apache.drill.exec.physical.base.PhysicalOperator;
@@ -29,6 +30,8 @@ import org.apache.drill.exec.proto.UserBitShared.CoreOperatorType;
 import org.apache.calcite.rel.core.JoinRelType;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 import com.google.common.base.Preconditions;
@@ -51,18 +54,28 @@ public class NestedLoopJoinPOP extends AbstractBase {
   private final List<JoinCondition> conditions;
   private final JoinRelType joinType;
 
+  /*
+   * Condition evaluated for every pair of left and right records, only the pairs for which it is true are emitted.
+   * Null when every pair is emitted. Only set for inner joins.
+   */
+  private final LogicalExpression condition;
+
   @JsonCreator
   public NestedLoopJoinPOP(
       @JsonProperty("left") PhysicalOperator left,
       @JsonProperty("right") PhysicalOperator right,
       @JsonProperty("conditions") List<JoinCondition> conditions,
-      @JsonProperty("joinType") JoinRelType joinType
+      @JsonProperty("joinType") JoinRelType joinType,
+      @JsonProperty("condition") LogicalExpression condition
   ) {
     this.left = left;
     this.right = right;
     this.conditions = conditions;
     Preconditions.checkArgument(joinType != null, "Join type is missing!");
     this.joinType = joinType;
+    Preconditions.checkArgument(condition == null || joinType == JoinRelType.INNER,
+        "Only inner nested loop joins can have a condition");
+    this.condition = condition;
   }
 
   @Override
@@ -73,7 +86,7 @@ public class NestedLoopJoinPOP extends AbstractBase {
   @Override
   public PhysicalOperator getNewWithChildren(List<PhysicalOperator> children) {
     Preconditions.checkArgument(children.size() == 2);
-    return new NestedLoopJoinPOP(children.get(0), children.get(1), conditions, joinType);
+    return new NestedLoopJoinPOP(children.get(0), children.get(1), conditions, joinType, condition);
   }
 
   @Override
@@ -97,6 +110,11 @@ public class NestedLoopJoinPOP extends AbstractBase {
     return conditions;
   }
 
+  @JsonInclude(Include.NON_NULL)
+  public LogicalExpression getCondition() {
+    return condition;
+  }
+
   @Override
   public int getOperatorType() {
     return CoreOperatorType.NESTED_LOOP_JOIN_VALUE;
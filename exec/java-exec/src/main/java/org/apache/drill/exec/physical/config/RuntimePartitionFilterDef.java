@@ -0,0 +1,70 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.physical.config;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Describes a partition filter that a hash join publishes to a file system scan on its probe side
+ * once the build side has been read: the scan skips the files whose value of the partition column
+ * (e.g. dir0) does not occur among the build side values of one of the join keys.
+ */
+public class RuntimePartitionFilterDef {
+
+  private final int scanOperatorId;
+  private final int conditionIndex;
+  private final String partitionColumn;
+
+  @JsonCreator
+  public RuntimePartitionFilterDef(
+      @JsonProperty("scanOperatorId") int scanOperatorId,
+      @JsonProperty("conditionIndex") int conditionIndex,
+      @JsonProperty("partitionColumn") String partitionColumn) {
+    this.scanOperatorId = scanOperatorId;
+    this.conditionIndex = conditionIndex;
+    this.partitionColumn = partitionColumn;
+  }
+
+  /**
+   * @return operator id, within the fragment, of the probe side scan the filter applies to
+   */
+  public int getScanOperatorId() {
+    return scanOperatorId;
+  }
+
+  /**
+   * @return index of the join condition whose build side values make up the filter
+   */
+  public int getConditionIndex() {
+    return conditionIndex;
+  }
+
+  /**
+   * @return name of the scan's partition column the probe side key refers to
+   */
+  public String getPartitionColumn() {
+    return partitionColumn;
+  }
+
+  @Override
+  public String toString() {
+    return "RuntimePartitionFilterDef[scanOperatorId=" + scanOperatorId + ", conditionIndex=" + conditionIndex
+        + ", partitionColumn=" + partitionColumn + "]";
+  }
+}
@@ -0,0 +1,70 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.physical.config;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Describes the threshold that a TopN publishes to a Parquet scan in its fragment once it holds N
+ * records: the scan skips the row groups whose statistics of the first ordering key show that none
+ * of their records can be ordered before the Nth key so far.
+ */
+public class RuntimeThresholdFilterDef {
+
+  private final int scanOperatorId;
+  private final String column;
+  private final boolean descending;
+
+  @JsonCreator
+  public RuntimeThresholdFilterDef(
+      @JsonProperty("scanOperatorId") int scanOperatorId,
+      @JsonProperty("column") String column,
+      @JsonProperty("descending") boolean descending) {
+    this.scanOperatorId = scanOperatorId;
+    this.column = column;
+    this.descending = descending;
+  }
+
+  /**
+   * @return operator id, within the fragment, of the scan the filter applies to
+   */
+  public int getScanOperatorId() {
+    return scanOperatorId;
+  }
+
+  /**
+   * @return name of the scan's column the first ordering key refers to
+   */
+  public String getColumn() {
+    return column;
+  }
+
+  /**
+   * @return whether the first ordering key is descending
+   */
+  public boolean isDescending() {
+    return descending;
+  }
+
+  @Override
+  public String toString() {
+    return "RuntimeThresholdFilterDef[scanOperatorId=" + scanOperatorId + ", column=" + column
+        + ", descending=" + descending + "]";
+  }
+}
@@ -0,0 +1,74 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.physical.config;
+
+import org.apache.drill.exec.physical.base.AbstractSingle;
+import org.apache.drill.exec.physical.base.PhysicalOperator;
+import org.apache.drill.exec.physical.base.PhysicalVisitor;
+import org.apache.drill.exec.proto.UserBitShared.CoreOperatorType;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+
+/**
+ * Computes its child once for several consumers in the same fragment. This operator is the first
+ * consumer; the others are {@link SharedSpoolReader}s with the same spool id, which read the batches
+ * of the child that this operator keeps (or spills) for them.
+ */
+@JsonTypeName("shared-spool")
+public class SharedSpool extends AbstractSingle {
+  static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(SharedSpool.class);
+
+  private final int spoolId;
+  private final int consumerCount;
+
+  @JsonCreator
+  public SharedSpool(@JsonProperty("child") PhysicalOperator child, @JsonProperty("spoolId") int spoolId,
+      @JsonProperty("consumerCount") int consumerCount) {
+    super(child);
+    this.spoolId = spoolId;
+    this.consumerCount = consumerCount;
+  }
+
+  @Override
+  public <T, X, E extends Throwable> T accept(PhysicalVisitor<T, X, E> physicalVisitor, X value) throws E {
+    return physicalVisitor.visitOp(this, value);
+  }
+
+  @Override
+  protected PhysicalOperator getNewWithChild(PhysicalOperator child) {
+    return new SharedSpool(child, spoolId, consumerCount);
+  }
+
+  public int getSpoolId() {
+    return spoolId;
+  }
+
+  /**
+   * @return number of consumers of the spool, including this operator
+   */
+  public int getConsumerCount() {
+    return consumerCount;
+  }
+
+  @Override
+  public int getOperatorType() {
+    return CoreOperatorType.SHARED_SPOOL_VALUE;
+  }
+}
@@ -0,0 +1,92 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.physical.config;
+
+import java.util.Iterator;
+import java.util.List;
+
+import org.apache.drill.common.exceptions.ExecutionSetupException;
+import org.apache.drill.exec.physical.base.AbstractBase;
+import org.apache.drill.exec.physical.base.Leaf;
+import org.apache.drill.exec.physical.base.PhysicalOperator;
+import org.apache.drill.exec.physical.base.PhysicalVisitor;
+import org.apache.drill.exec.proto.UserBitShared.CoreOperatorType;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import com.google.common.collect.Iterators;
+
+/**
+ * Reads the output of the child of the {@link SharedSpool} with the same spool id, in the same fragment.
+ */
+@JsonTypeName("shared-spool-reader")
+public class SharedSpoolReader extends AbstractBase implements Leaf {
+  static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(SharedSpoolReader.class);
+
+  private final int spoolId;
+  private final int consumerIndex;
+  private final int consumerCount;
+
+  @JsonCreator
+  public SharedSpoolReader(@JsonProperty("spoolId") int spoolId, @JsonProperty("consumerIndex") int consumerIndex,
+      @JsonProperty("consumerCount") int consumerCount) {
+    this.spoolId = spoolId;
+    this.consumerIndex = consumerIndex;
+    this.consumerCount = consumerCount;
+  }
+
+  public int getSpoolId() {
+    return spoolId;
+  }
+
+  /**
+   * @return index of this reader among the consumers of the spool, the {@link SharedSpool} itself being 0
+   */
+  public int getConsumerIndex() {
+    return consumerIndex;
+  }
+
+  /**
+   * @return number of consumers of the spool, including the {@link SharedSpool}
+   */
+  public int getConsumerCount() {
+    return consumerCount;
+  }
+
+  @Override
+  public <T, X, E extends Throwable> T accept(PhysicalVisitor<T, X, E> physicalVisitor, X value) throws E {
+    return physicalVisitor.visitOp(this, value);
+  }
+
+  @Override
+  public PhysicalOperator getNewWithChildren(List<PhysicalOperator> children) throws ExecutionSetupException {
+    assert children.isEmpty();
+    return new SharedSpoolReader(spoolId, consumerIndex, consumerCount);
+  }
+
+  @Override
+  public int getOperatorType() {
+    return CoreOperatorType.SHARED_SPOOL_READER_VALUE;
+  }
+
+  @Override
+  public Iterator<PhysicalOperator> iterator() {
+    return Iterators.emptyIterator();
+  }
+}
@@ -25,6 +25,8 @@ import org.apache.drill.exec.physical.base.PhysicalVisitor;
 import org.apache.drill.exec.proto.UserBitShared.CoreOperatorType;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 
@@ -33,11 +35,18 @@ public class TopN extends Sort {
   static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(TopN.class);
 
   private final int limit;
+  private final RuntimeThresholdFilterDef runtimeThresholdFilter;
+
+  public TopN(PhysicalOperator child, List<Ordering> orderings, boolean reverse, int limit) {
+    this(child, orderings, reverse, limit, null);
+  }
 
   @JsonCreator
-  public TopN(@JsonProperty("child") PhysicalOperator child, @JsonProperty("orderings") List<Ordering> orderings, @JsonProperty("reverse") boolean reverse, @JsonProperty("limit") int limit) {
+  public TopN(@JsonProperty("child") PhysicalOperator child, @JsonProperty("orderings") List<Ordering> orderings, @JsonProperty("reverse") boolean reverse, @JsonProperty("limit") int limit,
+      @JsonProperty("runtimeThresholdFilter") RuntimeThresholdFilterDef runtimeThresholdFilter) {
     super(child, orderings, reverse);
     this.limit = limit;
+    this.runtimeThresholdFilter = runtimeThresholdFilter;
   }
 
   @Override
@@ -54,6 +63,14 @@ public class TopN extends Sort {
     return limit;
   }
 
+  /**
+   * @return the threshold filter to publish to the scan feeding this TopN, or null if there is none
+   */
+  @JsonInclude(Include.NON_NULL)
+  public RuntimeThresholdFilterDef getRuntimeThresholdFilter() {
+    return runtimeThresholdFilter;
+  }
+
   @Override
   public <T, X, E extends Throwable> T accept(PhysicalVisitor<T, X, E> physicalVisitor, X value) throws E{
     return physicalVisitor.visitSort(this, value);
@@ -61,7 +78,7 @@ public class TopN extends Sort {
 
   @Override
   protected PhysicalOperator getNewWithChild(PhysicalOperator child) {
-    return new TopN(child, orderings, reverse, limit);
+    return new TopN(child, orderings, reverse, limit, runtimeThresholdFilter);
   }
 
   @Override
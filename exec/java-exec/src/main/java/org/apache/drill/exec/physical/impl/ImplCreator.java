@@ -19,6 +19,7 @@ package org.apache.drill.exec.physical.impl;
 
 import java.io.IOException;
 import java.security.PrivilegedExceptionAction;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
@@ -29,6 +30,12 @@ import org.apache.drill.common.exceptions.ExecutionSetupException;
 import org.apache.drill.exec.ops.FragmentContext;
 import org.apache.drill.exec.physical.base.FragmentRoot;
 import org.apache.drill.exec.physical.base.PhysicalOperator;
+import org.apache.drill.exec.physical.config.Filter;
+import org.apache.drill.exec.physical.config.IteratorValidator;
+import org.apache.drill.exec.physical.config.Project;
+import org.apache.drill.exec.physical.config.SelectionVectorRemover;
+import org.apache.drill.exec.physical.config.UnorderedReceiver;
+import org.apache.drill.exec.physical.impl.unorderedreceiver.UnorderedReceiverBatch;
 import org.apache.drill.exec.physical.impl.validate.IteratorValidatorInjector;
 import org.apache.drill.exec.record.CloseableRecordBatch;
 import org.apache.drill.exec.record.RecordBatch;
@@ -47,6 +54,8 @@ public class ImplCreator {
   private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(ImplCreator.class);
 
   private final LinkedList<CloseableRecordBatch> operators = Lists.newLinkedList();
+  // the receiver allowed to return NOT_YET to the root, see getYieldingReceiver()
+  private UnorderedReceiver yieldingReceiver;
 
   private ImplCreator() {}
 
@@ -98,6 +107,7 @@ public class ImplCreator {
 
   /** Create RootExec and its children (RecordBatches) for given FragmentRoot */
   private RootExec getRootExec(final FragmentRoot root, final FragmentContext context) throws ExecutionSetupException {
+    yieldingReceiver = getYieldingReceiver(root);
     final List<RecordBatch> childRecordBatches = getChildren(root, context);
 
     if (context.isImpersonationEnabled()) {
@@ -120,13 +130,48 @@ public class ImplCreator {
   }
 
 
+  /**
+   * Returns the unordered receiver that feeds the root through operators that pass NOT_YET on as soon as they get it,
+   * or null if there is none. The roots keep running on NOT_YET, so this receiver may return it instead of waiting
+   * for data when the fragment runs with cooperative scheduling.
+   */
+  private static UnorderedReceiver getYieldingReceiver(final FragmentRoot root) {
+    PhysicalOperator op = root;
+    while (true) {
+      final Iterator<PhysicalOperator> children = op.iterator();
+      if (!children.hasNext()) {
+        return null;
+      }
+      op = children.next();
+      if (children.hasNext()) {
+        return null;
+      }
+      if (op instanceof UnorderedReceiver) {
+        return (UnorderedReceiver) op;
+      }
+      if (!(op instanceof Project || op instanceof Filter || op instanceof SelectionVectorRemover
+          || op instanceof IteratorValidator)) {
+        return null;
+      }
+    }
+  }
+
   /** Create a RecordBatch and its children for given PhysicalOperator */
   @VisibleForTesting
   public RecordBatch getRecordBatch(final PhysicalOperator op, final FragmentContext context) throws ExecutionSetupException {
     Preconditions.checkNotNull(op);
 
     final List<RecordBatch> childRecordBatches = getChildren(op, context);
+    if (op == yieldingReceiver) {
+      final UnorderedReceiverBatch receiver = (UnorderedReceiverBatch) createBatch(op, context, childRecordBatches);
+      receiver.setYieldWhenEmpty(true);
+      return receiver;
+    }
+    return createBatch(op, context, childRecordBatches);
+  }
 
+  private RecordBatch createBatch(final PhysicalOperator op, final FragmentContext context,
+      final List<RecordBatch> childRecordBatches) throws ExecutionSetupException {
     if (context.isImpersonationEnabled()) {
       final UserGroupInformation proxyUgi = ImpersonationUtil.createProxyUgi(op.getUserName(), context.getQueryUserName());
       try {
@@ -0,0 +1,37 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.physical.impl;
+
+import java.util.Map;
+
+import org.apache.drill.exec.store.RecordReader;
+
+/**
+ * Filter that an operator publishes at run time to a scan of its fragment, through
+ * {@link org.apache.drill.exec.ops.FragmentContext#setRuntimeFilter(int, RuntimeFilter)}. The scan
+ * asks it about each reader before setting the reader up, and skips the readers it rejects.
+ */
+public interface RuntimeFilter {
+
+  /**
+   * @param reader a reader of the scan, not set up yet
+   * @param implicitValues implicit column values of the reader, keyed by column name, or null
+   * @return true if the reader may produce rows that pass the filter
+   */
+  boolean accepts(RecordReader reader, Map<String, String> implicitValues);
+}
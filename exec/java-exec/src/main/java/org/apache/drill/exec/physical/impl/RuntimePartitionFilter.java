@@ -0,0 +1,72 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.physical.impl;
+
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.drill.exec.store.RecordReader;
+
+/**
+ * Set of partition values published at run time, typically by a hash join once its build side has
+ * been read, to the scan feeding its probe side. The scan uses it to skip readers whose partition
+ * value cannot produce a join match.
+ *
+ * @see org.apache.drill.exec.physical.config.RuntimePartitionFilterDef
+ */
+public class RuntimePartitionFilter implements RuntimeFilter {
+
+  private final String partitionColumn;
+  private final Set<String> values;
+
+  public RuntimePartitionFilter(String partitionColumn, Set<String> values) {
+    this.partitionColumn = partitionColumn;
+    this.values = values;
+  }
+
+  public String getPartitionColumn() {
+    return partitionColumn;
+  }
+
+  public Set<String> getValues() {
+    return values;
+  }
+
+  @Override
+  public boolean accepts(RecordReader reader, Map<String, String> implicitValues) {
+    return accepts(implicitValues);
+  }
+
+  /**
+   * @param implicitValues implicit column values of a reader, keyed by column name
+   * @return true if the reader may produce rows that pass the filter
+   */
+  public boolean accepts(Map<String, String> implicitValues) {
+    if (implicitValues == null || !implicitValues.containsKey(partitionColumn)) {
+      return true;
+    }
+    final String value = implicitValues.get(partitionColumn);
+    // a null key never matches an equality join condition
+    return value != null && values.contains(value);
+  }
+
+  @Override
+  public String toString() {
+    return "RuntimePartitionFilter[" + partitionColumn + " in " + values + "]";
+  }
+}
@@ -0,0 +1,85 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.physical.impl;
+
+import java.util.Map;
+
+import org.apache.drill.exec.store.RecordReader;
+import org.apache.drill.exec.store.parquet.columnreaders.ParquetRecordReader;
+import org.apache.parquet.column.statistics.Statistics;
+
+/**
+ * Threshold that a TopN publishes at run time to the Parquet scan feeding it, once it holds N
+ * records: only records whose first ordering key is ordered before the Nth key so far can still
+ * make the top N. The scan skips the row groups whose minimum (or maximum, for a descending order)
+ * of the key column cannot beat the threshold. The TopN lowers the threshold as better records
+ * arrive. Nulls are not covered by the statistics, so the TopN only publishes it for keys whose
+ * nulls sort last.
+ *
+ * @see org.apache.drill.exec.physical.config.RuntimeThresholdFilterDef
+ */
+public class RuntimeThresholdFilter implements RuntimeFilter {
+
+  private final String column;
+  private final boolean descending;
+  private long threshold;
+
+  public RuntimeThresholdFilter(String column, boolean descending, long threshold) {
+    this.column = column;
+    this.descending = descending;
+    this.threshold = threshold;
+  }
+
+  public long getThreshold() {
+    return threshold;
+  }
+
+  public void setThreshold(long threshold) {
+    this.threshold = threshold;
+  }
+
+  @Override
+  public boolean accepts(RecordReader reader, Map<String, String> implicitValues) {
+    if (!(reader instanceof ParquetRecordReader)) {
+      return true;
+    }
+    return accepts(((ParquetRecordReader) reader).getIntegerColumnStatistics(column));
+  }
+
+  /**
+   * @param statistics statistics of the key column in a row group, or null if there are none
+   * @return false if no record of the row group can be ordered before the threshold
+   */
+  public boolean accepts(Statistics<?> statistics) {
+    if (statistics == null || statistics.isEmpty()) {
+      return true;
+    }
+    final Object bound = descending ? statistics.genericGetMax() : statistics.genericGetMin();
+    if (!(bound instanceof Integer || bound instanceof Long)) {
+      return true;
+    }
+    // records equal to the threshold do not enter the TopN either, but are kept on the safe side
+    final long value = ((Number) bound).longValue();
+    return descending ? value >= threshold : value <= threshold;
+  }
+
+  @Override
+  public String toString() {
+    return "RuntimeThresholdFilter[" + column + (descending ? " >= " : " <= ") + threshold + "]";
+  }
+}
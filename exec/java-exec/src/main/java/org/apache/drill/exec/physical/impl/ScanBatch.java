@@ -83,12 +83,18 @@ public class ScanBatch implements CloseableRecordBatch {
   private Map<String, ValueVector> implicitVectors;
   private Iterator<Map<String, String>> implicitColumns;
   private Map<String, String> implicitValues;
+  private final int operatorId;
+  /** Next reader to set up and its implicit values, once {@link #hasNextReader()} has looked ahead. */
+  private RecordReader nextReader;
+  private Map<String, String> nextImplicitValues;
+  private int skippedReaders;
 
   public ScanBatch(PhysicalOperator subScanConfig, FragmentContext context,
                    OperatorContext oContext, Iterator<RecordReader> readers,
                    List<Map<String, String>> implicitColumns) throws ExecutionSetupException {
     this.context = context;
     this.readers = readers;
+    this.operatorId = subScanConfig == null ? -1 : subScanConfig.getOperatorId();
     if (!readers.hasNext()) {
       throw new ExecutionSetupException("A scan batch must contain at least one reader.");
     }
@@ -177,7 +183,7 @@ public class ScanBatch implements CloseableRecordBatch {
       }
       while ((recordCount = currentReader.next()) == 0) {
         try {
-          if (!readers.hasNext()) {
+          if (!hasNextReader()) {
             // We're on the last reader, and it has no (more) rows.
             currentReader.close();
             releaseAssets();
@@ -207,8 +213,10 @@ public class ScanBatch implements CloseableRecordBatch {
           }
 
           currentReader.close();
-          currentReader = readers.next();
-          implicitValues = implicitColumns.hasNext() ? implicitColumns.next() : null;
+          currentReader = nextReader;
+          implicitValues = nextImplicitValues;
+          nextReader = null;
+          nextImplicitValues = null;
           currentReader.setup(oContext, mutator);
           try {
             currentReader.allocate(fieldVectorMap);
@@ -257,6 +265,27 @@ public class ScanBatch implements CloseableRecordBatch {
     }
   }
 
+  /**
+   * Looks ahead for the next reader to set up. Readers rejected by a {@link RuntimeFilter} published
+   * to this scan (e.g. by a hash join on a partition column, or by a TopN whose threshold the row
+   * group statistics cannot beat) are skipped without being set up.
+   */
+  private boolean hasNextReader() {
+    while (nextReader == null && readers.hasNext()) {
+      final RecordReader reader = readers.next();
+      final Map<String, String> values = implicitColumns.hasNext() ? implicitColumns.next() : null;
+      final RuntimeFilter filter = context.getRuntimeFilter(operatorId);
+      if (filter != null && !filter.accepts(reader, values)) {
+        logger.debug("Skipping reader with partition values {} rejected by {}", values, filter);
+        skippedReaders++;
+        continue;
+      }
+      nextReader = reader;
+      nextImplicitValues = values;
+    }
+    return nextReader != null;
+  }
+
   private void addImplicitVectors() throws ExecutionSetupException {
     try {
       if (implicitVectors != null) {
@@ -405,6 +434,9 @@ public class ScanBatch implements CloseableRecordBatch {
 
   @Override
   public void close() throws Exception {
+    if (skippedReaders > 0) {
+      logger.info("Skipped {} readers using run time filters", skippedReaders);
+    }
     container.clear();
     for (final ValueVector v : implicitVectors.values()) {
       v.clear();
@@ -121,6 +121,9 @@ public class ScreenCreator implements RootCreator<Screen> {
         }
         firstBatch = false;
 
+        return true;
+      case NOT_YET:
+        // no incoming data yet: the fragment gives up its thread until some arrives
         return true;
       default:
         throw new UnsupportedOperationException();
@@ -131,6 +131,8 @@ public class SingleSenderCreator implements RootCreator<SingleSender>{
         return true;
 
       case NOT_YET:
+        // no incoming data yet: the fragment gives up its thread until some arrives
+        return true;
       default:
         throw new IllegalStateException();
       }
@@ -26,11 +26,23 @@ import org.apache.drill.exec.record.VectorContainer;
 import org.apache.drill.exec.record.selection.SelectionVector4;
 
 public interface PriorityQueue {
-  public void add(FragmentContext context, RecordBatchData batch) throws SchemaChangeException;
+  /**
+   * Adds the records of a batch to the queue.
+   *
+   * @return false if none of the records made it into the queue, in which case the queue does not hold on to the
+   *         batch and the caller has to release it
+   */
+  public boolean add(FragmentContext context, RecordBatchData batch) throws SchemaChangeException;
   public void init(int limit, FragmentContext context, BufferAllocator allocator, boolean hasSv2) throws SchemaChangeException;
   public void generate() throws SchemaChangeException;
   public VectorContainer getHyperBatch();
   public SelectionVector4 getHeapSv4();
+
+  /**
+   * @return index in the hyper batch of the record at the root of the heap, the Nth one in order so far, or -1 while
+   *         the queue holds fewer than N records
+   */
+  public int getNthRecordIndex();
   public SelectionVector4 getFinalSv4();
   public boolean validate();
   public void resetQueue(VectorContainer container, SelectionVector4 vector4) throws SchemaChangeException;
@@ -88,7 +88,7 @@ public abstract class PriorityQueueTemplate implements PriorityQueue {
   }
 
   @Override
-  public void add(FragmentContext context, RecordBatchData batch) throws SchemaChangeException{
+  public boolean add(FragmentContext context, RecordBatchData batch) throws SchemaChangeException{
     Stopwatch watch = Stopwatch.createStarted();
     if (hyperBatch == null) {
       hyperBatch = new ExpandableHyperContainer(batch.getContainer());
@@ -99,6 +99,7 @@ public abstract class PriorityQueueTemplate implements PriorityQueue {
     doSetup(context, hyperBatch, null); // may not need to do this every time
 
     int count = 0;
+    boolean accepted = queueSize < limit;
     SelectionVector2 sv2 = null;
     if (hasSv2) {
       sv2 = batch.getSv2();
@@ -110,16 +111,30 @@ public abstract class PriorityQueueTemplate implements PriorityQueue {
     }
     for (; count < batch.getRecordCount(); count++) {
       heapSv4.set(limit, batchCount, hasSv2 ? sv2.getIndex(count) : count);
+      // the root of the heap is the Nth record so far: only records ordered before it can make the top N
       if (compare(limit, 0) < 0) {
         swap(limit, 0);
         siftDown();
+        accepted = true;
       }
     }
-    batchCount++;
     if (hasSv2) {
       sv2.clear();
     }
     logger.debug("Took {} us to add {} records", watch.elapsed(TimeUnit.MICROSECONDS), count);
+    if (!accepted && batchCount > 0) {
+      // the heap does not point to the batch, so there is no need to keep it until the next purge
+      hyperBatch.removeLastBatch();
+      doSetup(context, hyperBatch, null);
+      return false;
+    }
+    batchCount++;
+    return true;
+  }
+
+  @Override
+  public int getNthRecordIndex() {
+    return limit == 0 || queueSize < limit ? -1 : heapSv4.get(0);
   }
 
   @Override
@@ -41,7 +41,10 @@ import org.apache.drill.exec.expr.ExpressionTreeMaterializer;
 import org.apache.drill.exec.expr.TypeHelper;
 import org.apache.drill.exec.expr.fn.FunctionGenerationHelper;
 import org.apache.drill.exec.ops.FragmentContext;
+import org.apache.drill.exec.ops.MetricDef;
+import org.apache.drill.exec.physical.config.RuntimeThresholdFilterDef;
 import org.apache.drill.exec.physical.config.TopN;
+import org.apache.drill.exec.physical.impl.RuntimeThresholdFilter;
 import org.apache.drill.exec.physical.impl.sort.RecordBatchData;
 import org.apache.drill.exec.physical.impl.sort.SortRecordBatchBuilder;
 import org.apache.drill.exec.physical.impl.svremover.Copier;
@@ -70,6 +73,18 @@ public class TopNBatch extends AbstractRecordBatch<TopN> {
   static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(TopNBatch.class);
 
   private  final int batchPurgeThreshold;
+  private static final long PURGE_RECORD_RATIO = 10;
+  private static final long MIN_PURGE_RECORD_THRESHOLD = 64 * 1024;
+
+  public enum Metric implements MetricDef {
+    BATCHES_DROPPED, // incoming batches none of whose records made the top N so far
+    PURGES;          // compactions of the held batches to the top N records
+
+    @Override
+    public int metricId() {
+      return ordinal();
+    }
+  }
 
   public final MappingSet MAIN_MAPPING = new MappingSet( (String) null, null, ClassGenerator.DEFAULT_SCALAR_MAP, ClassGenerator.DEFAULT_SCALAR_MAP);
   public final MappingSet LEFT_MAPPING = new MappingSet("leftIndex", null, ClassGenerator.DEFAULT_SCALAR_MAP, ClassGenerator.DEFAULT_SCALAR_MAP);
@@ -84,6 +99,9 @@ public class TopNBatch extends AbstractRecordBatch<TopN> {
   SelectionVector4 sv4;
   private long countSincePurge;
   private int batchCount;
+  private long heldRecordCount; // records of the batches the priority queue holds
+  private final RuntimeThresholdFilterDef thresholdFilterDef;
+  private RuntimeThresholdFilter thresholdFilter;
   private Copier copier;
   private boolean first = true;
   private int recordCount = 0;
@@ -92,6 +110,7 @@ public class TopNBatch extends AbstractRecordBatch<TopN> {
     super(popConfig, context);
     this.incoming = incoming;
     this.config = popConfig;
+    this.thresholdFilterDef = popConfig.getRuntimeThresholdFilter();
     batchPurgeThreshold = context.getConfig().getInt(ExecConstants.BATCH_PURGE_THRESHOLD);
   }
 
@@ -225,7 +244,6 @@ public class TopNBatch extends AbstractRecordBatch<TopN> {
             break;
           }
           countSincePurge += incoming.getRecordCount();
-          batchCount++;
           RecordBatchData batch;
           if (schemaChanged) {
             batch = new RecordBatchData(SchemaUtil.coerceContainer(incoming, this.schema, oContext), oContext.getAllocator());
@@ -239,12 +257,24 @@ public class TopNBatch extends AbstractRecordBatch<TopN> {
               assert !schemaChanged;
               priorityQueue = createNewPriorityQueue(context, config.getOrderings(), new ExpandableHyperContainer(batch.getContainer()), MAIN_MAPPING, LEFT_MAPPING, RIGHT_MAPPING);
             }
-            priorityQueue.add(context, batch);
-            if (countSincePurge > config.getLimit() && batchCount > batchPurgeThreshold) {
+            if (!priorityQueue.add(context, batch)) {
+              // no record of the batch is ordered before the current Nth one
+              stats.addLongStat(Metric.BATCHES_DROPPED, 1);
+              batch.clear();
+              success = true;
+              break;
+            }
+            batchCount++;
+            heldRecordCount += batch.getRecordCount();
+            if (countSincePurge > config.getLimit()
+                && (batchCount > batchPurgeThreshold || heldRecordCount > getPurgeRecordThreshold())) {
               purge();
+              stats.addLongStat(Metric.PURGES, 1);
               countSincePurge = 0;
               batchCount = 0;
+              heldRecordCount = config.getLimit();
             }
+            publishThreshold();
             success = true;
           } finally {
             if (!success) {
@@ -282,6 +312,48 @@ public class TopNBatch extends AbstractRecordBatch<TopN> {
     }
   }
 
+  /**
+   * Publishes the first ordering key of the Nth record so far to the scan feeding this TopN, or lowers
+   * the threshold published before, so that the scan skips the row groups that cannot beat it.
+   */
+  private void publishThreshold() {
+    if (thresholdFilterDef == null || !(config.getOrderings().get(0).getExpr() instanceof SchemaPath)) {
+      return;
+    }
+    final int index = priorityQueue.getNthRecordIndex();
+    if (index < 0) {
+      return;
+    }
+    final VectorContainer hyperBatch = priorityQueue.getHyperBatch();
+    final TypedFieldId fieldId = hyperBatch.getValueVectorId((SchemaPath) config.getOrderings().get(0).getExpr());
+    if (fieldId == null) {
+      return;
+    }
+    final ValueVector[] vectors =
+        hyperBatch.getValueAccessorById(ValueVector.class, fieldId.getFieldIds()).getValueVectors();
+    final Object value = vectors[index >>> 16].getAccessor().getObject(index & 65535);
+    if (!(value instanceof Integer || value instanceof Long)) {
+      return;
+    }
+    final long threshold = ((Number) value).longValue();
+    if (thresholdFilter == null) {
+      thresholdFilter = new RuntimeThresholdFilter(thresholdFilterDef.getColumn(), thresholdFilterDef.isDescending(),
+          threshold);
+      logger.debug("Publishing {} to scan {}", thresholdFilter, thresholdFilterDef.getScanOperatorId());
+      context.setRuntimeFilter(thresholdFilterDef.getScanOperatorId(), thresholdFilter);
+    } else {
+      thresholdFilter.setThreshold(threshold);
+    }
+  }
+
+  /**
+   * @return number of records the held batches may have before they are compacted to the N records of the queue, so
+   *         that batches contributing a few records each do not pile up until {@link ExecConstants#BATCH_PURGE_THRESHOLD}
+   */
+  private long getPurgeRecordThreshold() {
+    return Math.max(PURGE_RECORD_RATIO * config.getLimit(), MIN_PURGE_RECORD_THRESHOLD);
+  }
+
   private void purge() throws SchemaChangeException {
     Stopwatch watch = Stopwatch.createStarted();
     VectorContainer c = priorityQueue.getHyperBatch();
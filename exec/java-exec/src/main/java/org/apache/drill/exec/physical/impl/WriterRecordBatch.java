@@ -127,9 +127,24 @@ public class WriterRecordBatch extends AbstractRecordBatch<Writer> {
 
     closeWriter();
 
+    try {
+      commit();
+    } catch(IOException ex) {
+      logger.error("Failure during query", ex);
+      context.fail(ex);
+      return IterOutcome.STOP;
+    }
+
     return IterOutcome.OK_NEW_SCHEMA;
   }
 
+  /**
+   * Called once all the incoming records have been written and the writer has been closed
+   * successfully. Writers whose output must only become visible once complete publish it here.
+   */
+  protected void commit() throws IOException {
+  }
+
   private void addOutputContainerData() {
     final VarCharVector fragmentIdVector = (VarCharVector) container.getValueAccessorById(
         VarCharVector.class,
@@ -19,6 +19,7 @@ package org.apache.drill.exec.physical.impl.aggregate;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.Future;
 
 import com.google.common.collect.Lists;
 import org.apache.drill.common.exceptions.ExecutionSetupException;
@@ -42,6 +43,7 @@ import org.apache.drill.exec.expr.ValueVectorWriteExpression;
 import org.apache.drill.exec.ops.FragmentContext;
 import org.apache.drill.exec.physical.config.HashAggregate;
 import org.apache.drill.exec.physical.impl.aggregate.HashAggregator.AggOutcome;
+import org.apache.drill.exec.physical.impl.common.ChainedHashTable;
 import org.apache.drill.exec.physical.impl.common.Comparator;
 import org.apache.drill.exec.physical.impl.common.HashTable;
 import org.apache.drill.exec.physical.impl.common.HashTableConfig;
@@ -247,21 +249,34 @@ public class HashAggBatch extends AbstractRecordBatch<HashAggregate> {
     cg.getBlock("resetValues")._return(JExpr.TRUE);
 
     container.buildSchema(SelectionVectorMode.NONE);
-    HashAggregator agg = context.getImplementationClass(top);
+    // The aggregator and its hash table are independent classes: compile the aggregator on the
+    // compile thread pool while the hash table is set up here.
+    final Future<HashAggregator> pending = context.getImplementationClassAsync(top);
 
     HashTableConfig htConfig =
         // TODO - fix the validator on this option
         new HashTableConfig((int)context.getOptions().getOption(ExecConstants.MIN_HASH_TABLE_SIZE),
             HashTable.DEFAULT_LOAD_FACTOR, popConfig.getGroupByExprs(), null /* no probe exprs */, comparators);
+    final ChainedHashTable ht =
+        new ChainedHashTable(htConfig, context, oContext.getAllocator(), incoming, null /* no incoming probe */, this);
+    final HashTable htable = ht.createAndSetupHashTable(groupByOutFieldIds);
 
-    agg.setup(popConfig, htConfig, context, this.stats,
-        oContext.getAllocator(), incoming, this,
-        aggrExprs,
-        cgInner.getWorkspaceTypes(),
-        groupByOutFieldIds,
-        this.container);
-
-    return agg;
+    boolean success = false;
+    try {
+      HashAggregator agg = context.getImplementationClass(pending);
+      agg.setup(popConfig, htable, context, this.stats,
+          oContext.getAllocator(), incoming, this,
+          aggrExprs,
+          cgInner.getWorkspaceTypes(),
+          groupByOutFieldIds,
+          this.container);
+      success = true;
+      return agg;
+    } finally {
+      if (!success) {
+        htable.clear();
+      }
+    }
   }
 
   private void setupUpdateAggrValues(ClassGenerator<HashAggregator> cg) {
@@ -126,33 +126,18 @@ public abstract class StreamingAggTemplate implements StreamingAggregator {
       }
 
       outside: while(true) {
-      // loop through existing records, adding as necessary.
-        for (; underlyingIndex < incoming.getRecordCount(); incIndex()) {
+      // loop through existing records a run of rows with the same keys at a time, adding as necessary.
+        // whether the current row is known to differ from the previous one, as the end of the run before it
+        boolean runEnded = false;
+        while (underlyingIndex < incoming.getRecordCount()) {
           if (EXTRA_DEBUG) {
             logger.debug("Doing loop with values underlying {}, current {}", underlyingIndex, currentIndex);
           }
-          if (previousIndex == -1) {
-            if (EXTRA_DEBUG) {
-              logger.debug("Adding the initial row's keys and values.");
-            }
-            addRecordInc(currentIndex);
-          }
-          else if (isSame( previousIndex, currentIndex )) {
-            if (EXTRA_DEBUG) {
-              logger.debug("Values were found the same, adding.");
-            }
-            addRecordInc(currentIndex);
-          } else {
+          if (previousIndex != -1 && (runEnded || !isSame(previousIndex, currentIndex))) {
             if (EXTRA_DEBUG) {
               logger.debug("Values were different, outputting previous batch.");
             }
-            if(!outputToBatch(previousIndex)) {
-              // There is still space in outgoing container, so proceed to the next input.
-              if (EXTRA_DEBUG) {
-                logger.debug("Output successful.");
-              }
-              addRecordInc(currentIndex);
-            } else {
+            if (outputToBatch(previousIndex)) {
               if (EXTRA_DEBUG) {
                 logger.debug("Output container has reached its capacity. Flushing it.");
               }
@@ -162,7 +147,17 @@ public abstract class StreamingAggTemplate implements StreamingAggregator {
               return setOkAndReturn();
             }
           }
-          previousIndex = currentIndex;
+          // the current row starts a group or continues the previous one: add all its rows in this batch
+          final int runEnd = findRunEnd(underlyingIndex);
+          if (EXTRA_DEBUG) {
+            logger.debug("Adding {} rows with the same values.", runEnd - underlyingIndex);
+          }
+          addRecords(underlyingIndex, runEnd);
+          // the search stopped at a row with other keys, unless it reached the end of the batch
+          runEnded = true;
+          underlyingIndex = runEnd - 1;
+          previousIndex = getVectorIndex(underlyingIndex);
+          incIndex();
         }
 
         InternalBatch previous = new InternalBatch(incoming, context);
@@ -330,6 +325,47 @@ public abstract class StreamingAggTemplate implements StreamingAggregator {
     return outputCount == OUTPUT_BATCH_SIZE;
   }
 
+  /**
+   * Finds the end of the run of rows of the incoming batch with the same keys as the row at start. The input is
+   * sorted on the keys, so the rows after the run never have them again: the end is found by exponential then
+   * binary search rather than by comparing every row with the previous one. A row with other keys than the next one
+   * costs a single comparison, which also tells the caller that the next row starts a new group.
+   *
+   * @param start index of the first row of the run
+   * @return index of the first row after the run, or the record count of the batch
+   */
+  private int findRunEnd(int start) {
+    final int recordCount = incoming.getRecordCount();
+    final int startIndex = getVectorIndex(start);
+    // rows from start to low are in the run, high is the end of the batch or not in the run
+    int low = start;
+    int high = start + 1;
+    int step = 1;
+    while (high < recordCount && isSame(startIndex, getVectorIndex(high))) {
+      low = high;
+      step <<= 1;
+      high = start + step;
+    }
+    high = Math.min(high, recordCount);
+    while (high - low > 1) {
+      final int middle = (low + high) >>> 1;
+      if (isSame(startIndex, getVectorIndex(middle))) {
+        low = middle;
+      } else {
+        high = middle;
+      }
+    }
+    return high;
+  }
+
+  // Adds the rows of a run to the aggregate values, with no comparison or outcome handling per row.
+  private void addRecords(int start, int end) {
+    for (int i = start; i < end; i++) {
+      addRecord(getVectorIndex(i));
+    }
+    addedRecordCount += end - start;
+  }
+
   private void addRecordInc(int index) {
     addRecord(index);
     this.addedRecordCount++;
@@ -18,6 +18,7 @@
 package org.apache.drill.exec.physical.impl.broadcastsender;
 
 import java.util.List;
+import java.util.Set;
 
 import org.apache.drill.exec.exception.OutOfMemoryException;
 import org.apache.drill.exec.ops.AccountingDataTunnel;
@@ -33,6 +34,7 @@ import org.apache.drill.exec.record.RecordBatch;
 import org.apache.drill.exec.record.WritableBatch;
 
 import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.Sets;
 
 /**
  * Broadcast Sender broadcasts incoming batches to all receivers (one or more).
@@ -47,6 +49,9 @@ public class BroadcastSenderRootExec extends BaseRootExec {
   private final ExecProtos.FragmentHandle handle;
   private volatile boolean ok;
   private final RecordBatch incoming;
+  // minor fragments of the receivers that do not need more batches
+  private final Set<Integer> finishedReceivers = Sets.newConcurrentHashSet();
+  private volatile boolean done;
 
   public enum Metric implements MetricDef {
     N_RECEIVERS,
@@ -92,7 +97,13 @@ public class BroadcastSenderRootExec extends BaseRootExec {
 
   @Override
   public boolean innerNext() {
-    RecordBatch.IterOutcome out = next(incoming);
+    RecordBatch.IterOutcome out;
+    if (!done) {
+      out = next(incoming);
+    } else {
+      incoming.kill(true);
+      out = RecordBatch.IterOutcome.NONE;
+    }
     logger.debug("Outcome of sender next {}", out);
     switch(out){
       case OUT_OF_MEMORY:
@@ -142,6 +153,8 @@ public class BroadcastSenderRootExec extends BaseRootExec {
         return ok;
 
       case NOT_YET:
+        // no incoming data yet: the fragment gives up its thread until some arrives
+        return true;
       default:
         throw new IllegalStateException();
     }
@@ -151,4 +164,16 @@ public class BroadcastSenderRootExec extends BaseRootExec {
     stats.setLongStat(Metric.N_RECEIVERS, tunnels.length);
     stats.addLongStat(Metric.BYTES_SENT, writableBatch.getByteCount());
   }
+
+  /**
+   * Stops reading from the incoming batch once every receiver has finished, for instance because a limit above
+   * each of them was met.
+   */
+  @Override
+  public void receivingFragmentFinished(ExecProtos.FragmentHandle handle) {
+    if (finishedReceivers.add(handle.getMinorFragmentId())
+        && finishedReceivers.size() == config.getDestinations().size()) {
+      done = true;
+    }
+  }
 }
@@ -0,0 +1,92 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.physical.impl.common;
+
+import org.apache.drill.exec.record.TypedFieldId;
+import org.apache.drill.exec.vector.BigIntVector;
+import org.apache.drill.exec.vector.NullableBigIntVector;
+import org.apache.drill.exec.vector.ValueVector;
+
+/**
+ * Pre-compiled hash table for a single BIGINT key, required or nullable, which
+ * {@link ChainedHashTable} uses in place of a generated {@link HashTableTemplate}
+ * subclass when the key is a column of the incoming batches, of the same type on
+ * the build and probe sides. Only reads and writes the BIGINT vectors; hashing and
+ * lookups are done by {@link OpenAddressingHashTable}.
+ */
+public class BigIntKeyHashTable extends OpenAddressingHashTable {
+
+  /**
+   * @see OpenAddressingHashTable#OpenAddressingHashTable(TypedFieldId, TypedFieldId, TypedFieldId, TypedFieldId, boolean)
+   */
+  public BigIntKeyHashTable(TypedFieldId buildKeyId, TypedFieldId probeKeyId, TypedFieldId htKeyId,
+      TypedFieldId outKeyId, boolean nullsEqual) {
+    super(buildKeyId, probeKeyId, htKeyId, outKeyId, nullsEqual);
+  }
+
+  @Override
+  KeyVector wrap(ValueVector vector) {
+    return new BigIntKeys(vector);
+  }
+
+  private static class BigIntKeys extends KeyVector {
+    private final BigIntVector.Accessor values;
+    private final NullableBigIntVector.Accessor nulls;
+    private final BigIntVector.Mutator mutator;
+    private final NullableBigIntVector.Mutator nullableMutator;
+
+    private BigIntKeys(ValueVector vector) {
+      if (vector instanceof NullableBigIntVector) {
+        final NullableBigIntVector nullable = (NullableBigIntVector) vector;
+        values = nullable.getValuesVector().getAccessor();
+        nulls = nullable.getAccessor();
+        mutator = null;
+        nullableMutator = nullable.getMutator();
+      } else {
+        values = ((BigIntVector) vector).getAccessor();
+        nulls = null;
+        mutator = ((BigIntVector) vector).getMutator();
+        nullableMutator = null;
+      }
+    }
+
+    @Override
+    boolean isNull(int index) {
+      return nulls != null && nulls.isSet(index) == 0;
+    }
+
+    @Override
+    long get(int index) {
+      return values.get(index);
+    }
+
+    @Override
+    void set(int index, long value) {
+      if (mutator != null) {
+        mutator.set(index, value);
+      } else {
+        nullableMutator.set(index, value);
+      }
+    }
+
+    @Override
+    void setNull(int index) {
+      nullableMutator.setNull(index);
+    }
+  }
+}
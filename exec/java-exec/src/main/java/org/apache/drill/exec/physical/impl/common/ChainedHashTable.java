@@ -25,7 +25,10 @@ import org.apache.drill.common.expression.ErrorCollector;
 import org.apache.drill.common.expression.ErrorCollectorImpl;
 import org.apache.drill.common.expression.LogicalExpression;
 import org.apache.drill.common.logical.data.NamedExpression;
+import org.apache.drill.common.types.TypeProtos.DataMode;
+import org.apache.drill.common.types.TypeProtos.MajorType;
 import org.apache.drill.common.types.Types;
+import org.apache.drill.exec.ExecConstants;
 import org.apache.drill.exec.compile.sig.GeneratorMapping;
 import org.apache.drill.exec.compile.sig.MappingSet;
 import org.apache.drill.exec.exception.ClassTransformationException;
@@ -194,6 +197,14 @@ public class ChainedHashTable {
     }
 
 
+    if (context.getOptions().getOption(ExecConstants.PRECOMPILED_KERNELS_VALIDATOR)) {
+      final HashTable ht = createPrecompiledHashTable(keyExprsBuild, keyExprsProbe, htKeyFieldIds, outKeyFieldIds);
+      if (ht != null) {
+        ht.setup(htConfig, context, allocator, incomingBuild, incomingProbe, outgoing, htContainerOrig);
+        return ht;
+      }
+    }
+
     // generate code for isKeyMatch(), setValue(), getHash() and outputRecordKeys()
     setupIsKeyMatchInternal(cgInner, KeyMatchIncomingBuildMapping, KeyMatchHtableMapping, keyExprsBuild,
         htConfig.getComparators(), htKeyFieldIds);
@@ -219,6 +230,57 @@ public class ChainedHashTable {
   }
 
 
+  /**
+   * Returns a pre-compiled hash table if the table has a single INT or BIGINT key read
+   * directly from the incoming batches, or null if the table must be generated.
+   */
+  private HashTable createPrecompiledHashTable(LogicalExpression[] keyExprsBuild, LogicalExpression[] keyExprsProbe,
+      TypedFieldId[] htKeyFieldIds, TypedFieldId[] outKeyFieldIds) {
+    if (keyExprsBuild.length != 1 || (keyExprsProbe != null && keyExprsProbe.length != 1)) {
+      return null;
+    }
+    final TypedFieldId buildKeyId = getSimpleKeyFieldId(keyExprsBuild[0]);
+    if (buildKeyId == null) {
+      return null;
+    }
+    final MajorType keyType = keyExprsBuild[0].getMajorType();
+    TypedFieldId probeKeyId = null;
+    if (keyExprsProbe != null) {
+      probeKeyId = getSimpleKeyFieldId(keyExprsProbe[0]);
+      if (probeKeyId == null || keyExprsProbe[0].getMajorType().getMinorType() != keyType.getMinorType()) {
+        return null;
+      }
+    }
+    TypedFieldId outKeyId = null;
+    if (outgoing != null && outKeyFieldIds != null && outKeyFieldIds.length > 0) {
+      outKeyId = outKeyFieldIds[0];
+      if (outKeyId.isHyperReader() || outKeyId.hasRemainder() || !outKeyId.getFinalType().equals(keyType)) {
+        return null;
+      }
+    }
+    final boolean nullsEqual = htConfig.getComparators().get(0) != Comparator.EQUALS;
+    switch (keyType.getMinorType()) {
+    case INT:
+      return new IntKeyHashTable(buildKeyId, probeKeyId, htKeyFieldIds[0], outKeyId, nullsEqual);
+    case BIGINT:
+      return new BigIntKeyHashTable(buildKeyId, probeKeyId, htKeyFieldIds[0], outKeyId, nullsEqual);
+    default:
+      return null;
+    }
+  }
+
+  private static TypedFieldId getSimpleKeyFieldId(LogicalExpression expr) {
+    if (!(expr instanceof ValueVectorReadExpression)) {
+      return null;
+    }
+    final ValueVectorReadExpression read = (ValueVectorReadExpression) expr;
+    final TypedFieldId fieldId = read.getFieldId();
+    if (read.hasReadPath() || fieldId.isHyperReader() || read.getMajorType().getMode() == DataMode.REPEATED) {
+      return null;
+    }
+    return fieldId;
+  }
+
   private void setupIsKeyMatchInternal(ClassGenerator<HashTable> cg, MappingSet incomingMapping, MappingSet htableMapping,
       LogicalExpression[] keyExprs, List<Comparator> comparators, TypedFieldId[] htKeyFieldIds)
       throws SchemaChangeException {
@@ -118,7 +118,7 @@ public abstract class HashTableTemplate implements HashTable {
 
     private int batchIndex = 0;
 
-    private BatchHolder(int idx) {
+    protected BatchHolder(int idx) {
 
       this.batchIndex = idx;
 
@@ -144,8 +144,10 @@ public abstract class HashTableTemplate implements HashTable {
           htContainer.add(vv);
         }
 
-        links = allocMetadataVector(HashTable.BATCH_SIZE, EMPTY_SLOT);
-        hashValues = allocMetadataVector(HashTable.BATCH_SIZE, 0);
+        if (isChained()) {
+          links = allocMetadataVector(HashTable.BATCH_SIZE, EMPTY_SLOT);
+          hashValues = allocMetadataVector(HashTable.BATCH_SIZE, 0);
+        }
         success = true;
       } finally {
         if (!success) {
@@ -226,6 +228,12 @@ public abstract class HashTableTemplate implements HashTable {
       }
     }
 
+    // Insert the key of an incoming record at the specified index, outside of any hash chain
+    private void insertKey(int incomingRowIdx, int currentIdxWithinBatch) {
+      setValue(incomingRowIdx, currentIdxWithinBatch);
+      maxOccupiedIdx = Math.max(maxOccupiedIdx, currentIdxWithinBatch);
+    }
+
     private void updateLinks(int lastEntryIdxWithinBatch, int currentIdx) {
       links.getMutator().setSafe(lastEntryIdxWithinBatch, currentIdx);
     }
@@ -382,8 +390,10 @@ public abstract class HashTableTemplate implements HashTable {
 
     private void clear() {
       htContainer.clear();
-      links.clear();
-      hashValues.clear();
+      if (links != null) {
+        links.clear();
+        hashValues.clear();
+      }
     }
 
     // Only used for internal debugging. Get the value vector at a particular index from the htContainer.
@@ -469,7 +479,9 @@ public abstract class HashTableTemplate implements HashTable {
 
     dummyIntField = MaterializedField.create("dummy", Types.required(MinorType.INT));
 
-    startIndices = allocMetadataVector(tableSize, EMPTY_SLOT);
+    if (isChained()) {
+      startIndices = allocMetadataVector(tableSize, EMPTY_SLOT);
+    }
 
     // Create the first batch holder
     batchHolders = new ArrayList<BatchHolder>();
@@ -488,7 +500,7 @@ public abstract class HashTableTemplate implements HashTable {
   }
 
   public int numBuckets() {
-    return startIndices.getAccessor().getValueCount();
+    return startIndices == null ? 0 : startIndices.getAccessor().getValueCount();
   }
 
   public int numResizing() {
@@ -519,7 +531,9 @@ public abstract class HashTableTemplate implements HashTable {
       batchHolders.clear();
       batchHolders = null;
     }
-    startIndices.clear();
+    if (startIndices != null) {
+      startIndices.clear();
+    }
     currentIdxHolder = null;
     numEntries = 0;
   }
@@ -528,7 +542,7 @@ public abstract class HashTableTemplate implements HashTable {
     return hash & (numBuckets - 1);
   }
 
-  private static int roundUpToPowerOf2(int number) {
+  static int roundUpToPowerOf2(int number) {
     int rounded = number >= MAXIMUM_CAPACITY
         ? MAXIMUM_CAPACITY
         : (rounded = Integer.highestOneBit(number)) != 0
@@ -662,6 +676,16 @@ public abstract class HashTableTemplate implements HashTable {
     return found ? currentIdxHolder.value : -1;
   }
 
+  // Store the key of an incoming record in the next free entry without linking it into a hash chain, and return the
+  // global index of the entry. Only used by subclasses that keep their own index of the entries.
+  protected int insertKey(int incomingRowIdx) {
+    int currentIdx = freeIndex++;
+    addBatchIfNeeded(currentIdx);
+    batchHolders.get((currentIdx >>> 16) & BATCH_MASK).insertKey(incomingRowIdx, currentIdx & BATCH_MASK);
+    numEntries++;
+    return currentIdx;
+  }
+
   // Add a new BatchHolder to the list of batch holders if needed. This is based on the supplied
   // currentIdx; since each BatchHolder can hold up to BATCH_SIZE entries, if the currentIdx exceeds
   // the capacity, we will add a new BatchHolder.
@@ -680,7 +704,7 @@ public abstract class HashTableTemplate implements HashTable {
   }
 
   private BatchHolder addBatchHolder() {
-    BatchHolder bh = new BatchHolder(batchHolders.size());
+    BatchHolder bh = newBatchHolder(batchHolders.size());
     batchHolders.add(bh);
     bh.setup();
     return bh;
@@ -762,6 +786,17 @@ public abstract class HashTableTemplate implements HashTable {
     return vector;
   }
 
+  // Overridden by pre-compiled hash tables, which cannot rely on code generation to replace BatchHolder
+  protected BatchHolder newBatchHolder(int index) {
+    return new BatchHolder(index);
+  }
+
+  // Whether entries are linked into hash chains. Subclasses that keep their own index of the entries return false, so
+  // that no chain metadata is allocated, and must then override put() and containsKey().
+  protected boolean isChained() {
+    return true;
+  }
+
   public void addNewKeyBatch() {
     int numberOfBatches = batchHolders.size();
     this.addBatchHolder();
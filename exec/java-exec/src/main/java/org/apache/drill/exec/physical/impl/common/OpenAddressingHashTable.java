@@ -0,0 +1,328 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.physical.impl.common;
+
+import io.netty.buffer.DrillBuf;
+
+import org.apache.drill.exec.memory.BufferAllocator;
+import org.apache.drill.exec.ops.FragmentContext;
+import org.apache.drill.exec.record.RecordBatch;
+import org.apache.drill.exec.record.TypedFieldId;
+import org.apache.drill.exec.record.VectorAccessible;
+import org.apache.drill.exec.record.VectorContainer;
+import org.apache.drill.exec.vector.ValueVector;
+
+/**
+ * Hash table for a single fixed-width key that fits in a long. Instead of hash chains, the entries are indexed by an
+ * open-addressing table with linear probing, kept in two off-heap arrays: the key of each slot, and the global index
+ * of its entry plus one, zero marking an empty slot. A lookup compares the keys in the slot array directly, without
+ * going through the batch holders, which only store the keys for the output. A null key is kept out of the slot
+ * array: when nulls are equal it has a single entry, otherwise each null key gets its own entry and never matches.
+ * <p>
+ * Subclasses only provide a {@link KeyVector} to read and write the vectors of their key type.
+ */
+public abstract class OpenAddressingHashTable extends HashTableTemplate {
+
+  // Fibonacci hashing multiplier; the top bits of the product spread consecutive keys over the table
+  private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+  // Linear probing degrades quickly as the table fills up, so the configured load factor is capped
+  private static final float MAX_LOAD_FACTOR = 0.75f;
+
+  // Keeps the shift that picks the slot from the hash below 64
+  private static final int MINIMUM_SLOTS = 16;
+
+  // Keeps the byte offsets into the slot arrays within an int
+  private static final int MAXIMUM_SLOTS = 1 << 27;
+
+  private final TypedFieldId buildKeyId;
+  private final TypedFieldId probeKeyId;
+  private final TypedFieldId htKeyId;
+  private final TypedFieldId outKeyId;
+  private final boolean nullsEqual;
+
+  private KeyVector buildKeys;
+  private KeyVector probeKeys;
+
+  private BufferAllocator allocator;
+  private float loadFactor;
+
+  private DrillBuf slotKeys;
+  private DrillBuf slotEntries;
+  private int capacity;
+  private int shift;
+  private int threshold;
+  private int occupied;
+  private int nullEntry = -1;
+
+  private int numResizing = 0;
+  private int resizingTime = 0;
+
+  /**
+   * @param buildKeyId key column of the build side
+   * @param probeKeyId key column of the probe side, or null if the table is never probed
+   * @param htKeyId key column of the table's own containers
+   * @param outKeyId column of the outgoing batch the keys are written to, or null if none
+   * @param nullsEqual whether a null key matches a null key (IS NOT DISTINCT FROM)
+   */
+  protected OpenAddressingHashTable(TypedFieldId buildKeyId, TypedFieldId probeKeyId, TypedFieldId htKeyId,
+      TypedFieldId outKeyId, boolean nullsEqual) {
+    this.buildKeyId = buildKeyId;
+    this.probeKeyId = probeKeyId;
+    this.htKeyId = htKeyId;
+    this.outKeyId = outKeyId;
+    this.nullsEqual = nullsEqual;
+  }
+
+  /**
+   * Reads and writes the keys of a vector of the key type, required or nullable. Keys are widened to longs.
+   */
+  abstract static class KeyVector {
+    abstract boolean isNull(int index);
+
+    abstract long get(int index);
+
+    abstract void set(int index, long value);
+
+    abstract void setNull(int index);
+  }
+
+  /**
+   * @return the keys of the given vector, of the key type of the table
+   */
+  abstract KeyVector wrap(ValueVector vector);
+
+  private static ValueVector getVector(VectorAccessible batch, TypedFieldId fieldId) {
+    return batch.getValueAccessorById(ValueVector.class, fieldId.getFieldIds()).getValueVector();
+  }
+
+  private static void copyKey(KeyVector from, int fromIndex, KeyVector to, int toIndex) {
+    if (from.isNull(fromIndex)) {
+      to.setNull(toIndex);
+    } else {
+      to.set(toIndex, from.get(fromIndex));
+    }
+  }
+
+  private boolean isKeyNull(int incomingRowIdx, boolean isProbe) {
+    return (isProbe ? probeKeys : buildKeys).isNull(incomingRowIdx);
+  }
+
+  private long getKey(int incomingRowIdx, boolean isProbe) {
+    return (isProbe ? probeKeys : buildKeys).get(incomingRowIdx);
+  }
+
+  @Override
+  protected void doSetup(RecordBatch incomingBuild, RecordBatch incomingProbe) {
+    buildKeys = wrap(getVector(incomingBuild, buildKeyId));
+    if (probeKeyId != null && incomingProbe != null) {
+      probeKeys = wrap(getVector(incomingProbe, probeKeyId));
+    }
+  }
+
+  @Override
+  protected BatchHolder newBatchHolder(int index) {
+    return new KeyBatchHolder(index);
+  }
+
+  /**
+   * Stores the keys of the table in its own containers, and writes them to the outgoing batch.
+   */
+  private class KeyBatchHolder extends BatchHolder {
+    private KeyVector htKeys;
+    private KeyVector outKeys;
+
+    private KeyBatchHolder(int index) {
+      super(index);
+    }
+
+    @Override
+    protected void setupInterior(RecordBatch incomingBuild, RecordBatch incomingProbe, RecordBatch outgoing,
+        VectorContainer htContainer) {
+      htKeys = wrap(getVector(htContainer, htKeyId));
+      outKeys = outKeyId != null && outgoing != null ? wrap(getVector(outgoing, outKeyId)) : null;
+    }
+
+    @Override
+    protected void setValue(int incomingRowIdx, int htRowIdx) {
+      copyKey(buildKeys, incomingRowIdx, htKeys, htRowIdx);
+    }
+
+    @Override
+    protected void outputRecordKeys(int htRowIdx, int outRowIdx) {
+      if (outKeys != null) {
+        copyKey(htKeys, htRowIdx, outKeys, outRowIdx);
+      }
+    }
+  }
+
+  @Override
+  public void setup(HashTableConfig htConfig, FragmentContext context, BufferAllocator allocator,
+      RecordBatch incomingBuild, RecordBatch incomingProbe, RecordBatch outgoing, VectorContainer htContainerOrig) {
+    super.setup(htConfig, context, allocator, incomingBuild, incomingProbe, outgoing, htContainerOrig);
+    this.allocator = allocator;
+    this.loadFactor = Math.min(htConfig.getLoadFactor(), MAX_LOAD_FACTOR);
+    allocateSlots(Math.min(Math.max(roundUpToPowerOf2(htConfig.getInitialCapacity()), MINIMUM_SLOTS), MAXIMUM_SLOTS));
+  }
+
+  @Override
+  protected boolean isChained() {
+    return false;
+  }
+
+  private void allocateSlots(int newCapacity) {
+    final DrillBuf keys = allocator.buffer(newCapacity * 8);
+    final DrillBuf entries;
+    try {
+      entries = allocator.buffer(newCapacity * 4);
+    } catch (RuntimeException e) {
+      keys.release();
+      throw e;
+    }
+    entries.setZero(0, newCapacity * 4);
+    slotKeys = keys;
+    slotEntries = entries;
+    capacity = newCapacity;
+    shift = 64 - Integer.numberOfTrailingZeros(capacity);
+    threshold = (int) Math.ceil(capacity * loadFactor);
+  }
+
+  private int getSlot(long key) {
+    return (int) ((key * HASH_MULTIPLIER) >>> shift);
+  }
+
+  // Return the slot holding the key, or the empty slot where it belongs
+  private int findSlot(long key) {
+    final int mask = capacity - 1;
+    int slot = getSlot(key);
+    while (slotEntries.getInt(slot * 4) != 0 && slotKeys.getLong(slot * 8) != key) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  @Override
+  public void put(int incomingRowIdx, IndexPointer htIdxHolder, int retryCount) {
+    if (isKeyNull(incomingRowIdx, false)) {
+      if (!nullsEqual) {
+        htIdxHolder.value = insertKey(incomingRowIdx);
+        return;
+      }
+      if (nullEntry == -1) {
+        nullEntry = insertKey(incomingRowIdx);
+      }
+      htIdxHolder.value = nullEntry;
+      return;
+    }
+
+    final long key = getKey(incomingRowIdx, false);
+    final int slot = findSlot(key);
+    final int entry = slotEntries.getInt(slot * 4);
+    if (entry != 0) {
+      htIdxHolder.value = entry - 1;
+      return;
+    }
+
+    final int currentIdx = insertKey(incomingRowIdx);
+    slotKeys.setLong(slot * 8, key);
+    slotEntries.setInt(slot * 4, currentIdx + 1);
+    htIdxHolder.value = currentIdx;
+    if (++occupied >= threshold) {
+      resize();
+    }
+  }
+
+  // Return -1 if key is not found in the hash table. Otherwise, return the global index of the key
+  @Override
+  public int containsKey(int incomingRowIdx, boolean isProbe) {
+    if (isProbe && probeKeys == null) {
+      return -1;
+    }
+    if (isKeyNull(incomingRowIdx, isProbe)) {
+      return nullsEqual ? nullEntry : -1;
+    }
+    return slotEntries.getInt(findSlot(getKey(incomingRowIdx, isProbe)) * 4) - 1;
+  }
+
+  private void resize() {
+    if (capacity == MAXIMUM_SLOTS) {
+      throw new IllegalStateException(String.format("Hash table cannot hold more than %d keys", threshold));
+    }
+
+    final long t0 = System.currentTimeMillis();
+    final int oldCapacity = capacity;
+    final DrillBuf oldKeys = slotKeys;
+    final DrillBuf oldEntries = slotEntries;
+    allocateSlots(oldCapacity * 2);
+    for (int i = 0; i < oldCapacity; i++) {
+      final int entry = oldEntries.getInt(i * 4);
+      if (entry != 0) {
+        final long key = oldKeys.getLong(i * 8);
+        final int slot = findSlot(key);
+        slotKeys.setLong(slot * 8, key);
+        slotEntries.setInt(slot * 4, entry);
+      }
+    }
+    oldKeys.release();
+    oldEntries.release();
+    resizingTime += System.currentTimeMillis() - t0;
+    numResizing++;
+  }
+
+  @Override
+  public int numBuckets() {
+    return capacity;
+  }
+
+  @Override
+  public int numResizing() {
+    return numResizing;
+  }
+
+  @Override
+  public void getStats(HashTableStats stats) {
+    super.getStats(stats);
+    stats.numResizing = numResizing;
+    stats.resizingTime = resizingTime;
+  }
+
+  // Only called by the chained put and containsKey, which are overridden
+  @Override
+  protected int getHashBuild(int incomingRowIdx) {
+    throw new IllegalStateException("getHashBuild is unreachable: put and containsKey are overridden");
+  }
+
+  @Override
+  protected int getHashProbe(int incomingRowIdx) {
+    throw new IllegalStateException("getHashProbe is unreachable: put and containsKey are overridden");
+  }
+
+  @Override
+  public void clear() {
+    super.clear();
+    if (slotKeys != null) {
+      slotKeys.release();
+      slotEntries.release();
+      slotKeys = null;
+      slotEntries = null;
+    }
+    occupied = 0;
+    nullEntry = -1;
+  }
+
+}
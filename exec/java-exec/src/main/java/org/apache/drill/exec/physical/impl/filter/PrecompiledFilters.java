@@ -0,0 +1,301 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.physical.impl.filter;
+
+import org.apache.drill.common.expression.FunctionHolderExpression;
+import org.apache.drill.common.expression.LogicalExpression;
+import org.apache.drill.common.expression.ValueExpressions.IntExpression;
+import org.apache.drill.common.expression.ValueExpressions.LongExpression;
+import org.apache.drill.common.types.TypeProtos.DataMode;
+import org.apache.drill.common.types.TypeProtos.MajorType;
+import org.apache.drill.common.types.TypeProtos.MinorType;
+import org.apache.drill.exec.expr.ValueVectorReadExpression;
+import org.apache.drill.exec.ops.FragmentContext;
+import org.apache.drill.exec.record.RecordBatch;
+import org.apache.drill.exec.record.TypedFieldId;
+import org.apache.drill.exec.vector.BigIntVector;
+import org.apache.drill.exec.vector.IntVector;
+import org.apache.drill.exec.vector.NullableBigIntVector;
+import org.apache.drill.exec.vector.NullableIntVector;
+import org.apache.drill.exec.vector.ValueVector;
+
+/**
+ * Pre-compiled filters for the most common predicate shape: a comparison of an
+ * INT or BIGINT column with a literal. Using one of these skips code generation
+ * and compilation of a {@link FilterTemplate2} subclass, which dominates the
+ * setup time of short queries.
+ * <p>
+ * Every comparison with a literal is turned into a closed range of accepted
+ * values, optionally negated (for {@code <>}), so a single evaluation loop serves
+ * all six operators. Nulls never pass, as with the generated
+ * {@code NULL_IF_NULL} comparison functions.
+ */
+public class PrecompiledFilters {
+
+  private PrecompiledFilters() {
+  }
+
+  /**
+   * Returns a pre-compiled filter for the given materialized filter expression,
+   * or null if the expression is not of a supported shape and must be compiled.
+   */
+  public static Filterer create(LogicalExpression expr) {
+    if (!(expr instanceof FunctionHolderExpression)) {
+      return null;
+    }
+    final FunctionHolderExpression call = (FunctionHolderExpression) expr;
+    if (call.args.size() != 2) {
+      return null;
+    }
+    String op = normalize(call.getName());
+    if (op == null) {
+      return null;
+    }
+    LogicalExpression column = call.args.get(0);
+    LogicalExpression literal = call.args.get(1);
+    if (!(column instanceof ValueVectorReadExpression)) {
+      column = call.args.get(1);
+      literal = call.args.get(0);
+      op = reverse(op);
+    }
+    if (!(column instanceof ValueVectorReadExpression)) {
+      return null;
+    }
+    final ValueVectorReadExpression read = (ValueVectorReadExpression) column;
+    final TypedFieldId fieldId = read.getFieldId();
+    if (read.hasReadPath() || fieldId.isHyperReader()) {
+      return null;
+    }
+    final MajorType type = read.getMajorType();
+    if (type.getMode() == DataMode.REPEATED) {
+      return null;
+    }
+    final Long value = getLiteral(literal, type.getMinorType());
+    if (value == null) {
+      return null;
+    }
+
+    final long min = type.getMinorType() == MinorType.INT ? Integer.MIN_VALUE : Long.MIN_VALUE;
+    final long max = type.getMinorType() == MinorType.INT ? Integer.MAX_VALUE : Long.MAX_VALUE;
+    long lower = min;
+    long upper = max;
+    boolean negate = false;
+    switch (op) {
+    case "less_than":
+      if (value == min) {
+        return new EmptyFilter();
+      }
+      upper = value - 1;
+      break;
+    case "less_than_or_equal_to":
+      upper = value;
+      break;
+    case "greater_than":
+      if (value == max) {
+        return new EmptyFilter();
+      }
+      lower = value + 1;
+      break;
+    case "greater_than_or_equal_to":
+      lower = value;
+      break;
+    case "equal":
+      lower = value;
+      upper = value;
+      break;
+    case "not_equal":
+      lower = value;
+      upper = value;
+      negate = true;
+      break;
+    default:
+      return null;
+    }
+
+    switch (type.getMinorType()) {
+    case INT:
+      return new IntRangeFilter(fieldId, (int) lower, (int) upper, negate);
+    case BIGINT:
+      return new BigIntRangeFilter(fieldId, lower, upper, negate);
+    default:
+      return null;
+    }
+  }
+
+  private static String normalize(String name) {
+    switch (name) {
+    case "less_than":
+    case "<":
+      return "less_than";
+    case "less_than_or_equal_to":
+    case "<=":
+      return "less_than_or_equal_to";
+    case "greater_than":
+    case ">":
+      return "greater_than";
+    case "greater_than_or_equal_to":
+    case ">=":
+      return "greater_than_or_equal_to";
+    case "equal":
+    case "==":
+    case "=":
+      return "equal";
+    case "not_equal":
+    case "<>":
+    case "!=":
+      return "not_equal";
+    default:
+      return null;
+    }
+  }
+
+  /**
+   * Operator to use when the operands are swapped: {@code 5 < a} is {@code a > 5}.
+   */
+  private static String reverse(String op) {
+    switch (op) {
+    case "less_than":
+      return "greater_than";
+    case "less_than_or_equal_to":
+      return "greater_than_or_equal_to";
+    case "greater_than":
+      return "less_than";
+    case "greater_than_or_equal_to":
+      return "less_than_or_equal_to";
+    default:
+      return op;
+    }
+  }
+
+  /**
+   * Value of an integer literal compared with a column of the given type. An INT
+   * literal compared with a BIGINT column arrives wrapped in the implicit cast
+   * added by the materializer.
+   */
+  private static Long getLiteral(LogicalExpression literal, MinorType columnType) {
+    if (columnType == MinorType.INT) {
+      return literal instanceof IntExpression ? Long.valueOf(((IntExpression) literal).getInt()) : null;
+    }
+    if (columnType != MinorType.BIGINT) {
+      return null;
+    }
+    if (literal instanceof FunctionHolderExpression) {
+      final FunctionHolderExpression cast = (FunctionHolderExpression) literal;
+      if (!"castBIGINT".equals(cast.getName()) || cast.args.size() != 1) {
+        return null;
+      }
+      literal = cast.args.get(0);
+      if (literal instanceof IntExpression) {
+        return Long.valueOf(((IntExpression) literal).getInt());
+      }
+    }
+    return literal instanceof LongExpression ? Long.valueOf(((LongExpression) literal).getLong()) : null;
+  }
+
+  private static ValueVector getVector(RecordBatch incoming, TypedFieldId fieldId) {
+    return incoming.getValueAccessorById(ValueVector.class, fieldId.getFieldIds()).getValueVector();
+  }
+
+  /**
+   * Filter for a comparison that no value can satisfy, such as {@code a < Integer.MIN_VALUE}.
+   */
+  static class EmptyFilter extends FilterTemplate2 {
+    @Override
+    public void doSetup(FragmentContext context, RecordBatch incoming, RecordBatch outgoing) {
+    }
+
+    @Override
+    public boolean doEval(int inIndex, int outIndex) {
+      return false;
+    }
+  }
+
+  static class IntRangeFilter extends FilterTemplate2 {
+    private final TypedFieldId fieldId;
+    private final int lower;
+    private final int upper;
+    private final boolean negate;
+    private IntVector.Accessor values;
+    private NullableIntVector.Accessor nulls;
+
+    IntRangeFilter(TypedFieldId fieldId, int lower, int upper, boolean negate) {
+      this.fieldId = fieldId;
+      this.lower = lower;
+      this.upper = upper;
+      this.negate = negate;
+    }
+
+    @Override
+    public void doSetup(FragmentContext context, RecordBatch incoming, RecordBatch outgoing) {
+      final ValueVector vector = getVector(incoming, fieldId);
+      if (vector instanceof NullableIntVector) {
+        nulls = ((NullableIntVector) vector).getAccessor();
+        values = ((NullableIntVector) vector).getValuesVector().getAccessor();
+      } else {
+        nulls = null;
+        values = ((IntVector) vector).getAccessor();
+      }
+    }
+
+    @Override
+    public boolean doEval(int inIndex, int outIndex) {
+      if (nulls != null && nulls.isSet(inIndex) == 0) {
+        return false;
+      }
+      final int value = values.get(inIndex);
+      return (value >= lower && value <= upper) != negate;
+    }
+  }
+
+  static class BigIntRangeFilter extends FilterTemplate2 {
+    private final TypedFieldId fieldId;
+    private final long lower;
+    private final long upper;
+    private final boolean negate;
+    private BigIntVector.Accessor values;
+    private NullableBigIntVector.Accessor nulls;
+
+    BigIntRangeFilter(TypedFieldId fieldId, long lower, long upper, boolean negate) {
+      this.fieldId = fieldId;
+      this.lower = lower;
+      this.upper = upper;
+      this.negate = negate;
+    }
+
+    @Override
+    public void doSetup(FragmentContext context, RecordBatch incoming, RecordBatch outgoing) {
+      final ValueVector vector = getVector(incoming, fieldId);
+      if (vector instanceof NullableBigIntVector) {
+        nulls = ((NullableBigIntVector) vector).getAccessor();
+        values = ((NullableBigIntVector) vector).getValuesVector().getAccessor();
+      } else {
+        nulls = null;
+        values = ((BigIntVector) vector).getAccessor();
+      }
+    }
+
+    @Override
+    public boolean doEval(int inIndex, int outIndex) {
+      if (nulls != null && nulls.isSet(inIndex) == 0) {
+        return false;
+      }
+      final long value = values.get(inIndex);
+      return (value >= lower && value <= upper) != negate;
+    }
+  }
+}
@@ -27,6 +27,7 @@ import org.apache.drill.common.expression.FieldReference;
 import org.apache.drill.common.expression.LogicalExpression;
 import org.apache.drill.common.expression.SchemaPath;
 import org.apache.drill.common.logical.data.NamedExpression;
+import org.apache.drill.exec.ExecConstants;
 import org.apache.drill.exec.exception.ClassTransformationException;
 import org.apache.drill.exec.exception.OutOfMemoryException;
 import org.apache.drill.exec.exception.SchemaChangeException;
@@ -44,6 +45,8 @@ import org.apache.drill.exec.record.AbstractSingleRecordBatch;
 import org.apache.drill.exec.record.BatchSchema.SelectionVectorMode;
 import org.apache.drill.exec.record.MaterializedField;
 import org.apache.drill.exec.record.RecordBatch;
+import org.apache.drill.exec.record.RecordBatchSizer;
+import org.apache.drill.exec.record.RecordBatchSizer.ColumnSize;
 import org.apache.drill.exec.record.TransferPair;
 import org.apache.drill.exec.record.TypedFieldId;
 import org.apache.drill.exec.record.VectorContainer;
@@ -68,6 +71,7 @@ public class FlattenRecordBatch extends AbstractSingleRecordBatch<FlattenPOP> {
   private boolean hasRemainder = false;
   private int remainderIndex = 0;
   private int recordCount;
+  private final long outputBatchSize;
 
   private final Flattener.Monitor monitor = new Flattener.Monitor() {
     @Override
@@ -96,6 +100,7 @@ public class FlattenRecordBatch extends AbstractSingleRecordBatch<FlattenPOP> {
 
   public FlattenRecordBatch(FlattenPOP pop, RecordBatch incoming, FragmentContext context) throws OutOfMemoryException {
     super(pop, context, incoming);
+    outputBatchSize = context.getOptions().getOption(ExecConstants.OUTPUT_BATCH_SIZE_VALIDATOR);
   }
 
   @Override
@@ -157,6 +162,7 @@ public class FlattenRecordBatch extends AbstractSingleRecordBatch<FlattenPOP> {
     // we call this in setupSchema, but we also need to call it here so we have a reference to the appropriate vector
     // inside of the the flattener for the current batch
     setFlattenVector();
+    setOutputCount(incomingRecordCount);
 
     int childCount = incomingRecordCount == 0 ? 0 : flattener.getFlattenField().getAccessor().getInnerValueCount();
     int outputRecords = childCount == 0 ? 0: flattener.flattenRecords(incomingRecordCount, 0, monitor);
@@ -183,6 +189,26 @@ public class FlattenRecordBatch extends AbstractSingleRecordBatch<FlattenPOP> {
     return IterOutcome.OK;
   }
 
+  /**
+   * Sizes the outgoing batches from the width of the incoming rows. Each output row
+   * holds one value of the flattened column plus a copy of every other column of the
+   * row the value came from.
+   */
+  private void setOutputCount(int incomingRecordCount) {
+    final int innerValueCount = incomingRecordCount == 0 ? 0 : flattener.getFlattenField().getAccessor().getInnerValueCount();
+    if (innerValueCount == 0) {
+      return;
+    }
+    final RecordBatchSizer sizer = new RecordBatchSizer(incoming);
+    final ColumnSize flattenColumn = sizer.getColumn(popConfig.getColumn().getAsUnescapedPath());
+    int outputRowWidth = sizer.getNetRowWidth();
+    if (flattenColumn != null) {
+      outputRowWidth += (int) (flattenColumn.getDataSize() / innerValueCount) - flattenColumn.getEstimatedWidth();
+    }
+    flattener.setOutputCount(RecordBatchSizer.getRowCountForTarget(outputBatchSize, outputRowWidth,
+        RecordBatchSizer.MAX_ROW_COUNT));
+  }
+
   private void handleRemainder() {
     int remainingRecordCount = flattener.getFlattenField().getAccessor().getInnerValueCount() - remainderIndex;
     if (!doAlloc()) {
@@ -51,8 +51,9 @@ public abstract class FlattenTemplate implements Flattener {
   private int bigRecordsBufferSize;
 
   /**
-   * The output batch limit starts at OUTPUT_BATCH_SIZE, but may be decreased
-   * if records are found to be large.
+   * The output batch limit starts at OUTPUT_BATCH_SIZE, is then set from the
+   * measured width of the incoming rows (see {@link #setOutputCount(int)}), and
+   * may be decreased further if records are found to be large.
    */
   private int outputLimit = OUTPUT_BATCH_SIZE;
 
@@ -71,6 +72,12 @@ public abstract class FlattenTemplate implements Flattener {
     this.accessor = RepeatedValueVector.RepeatedAccessor.class.cast(flattenField.getAccessor());
   }
 
+  @Override
+  public void setOutputCount(int outputCount) {
+    // once big records have been seen, only ever tighten the limit
+    outputLimit = bigRecords ? Math.min(outputLimit, outputCount) : outputCount;
+  }
+
   public RepeatedValueVector getFlattenField() {
     return fieldToFlatten;
   }
@@ -42,6 +42,13 @@ public interface Flattener {
 
   public int flattenRecords(int recordCount, int firstOutputIndex, Monitor monitor);
 
+  /**
+   * Set the number of records the flattener should aim to produce in one outgoing batch.
+   *
+   * @param outputCount target number of output records
+   */
+  public void setOutputCount(int outputCount);
+
   public void setFlattenField(RepeatedValueVector repeatedColumn);
   public RepeatedValueVector getFlattenField();
   public void resetGroupIndex();
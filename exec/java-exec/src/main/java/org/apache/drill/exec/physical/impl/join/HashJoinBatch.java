@@ -20,9 +20,15 @@ package org.apache.drill.exec.physical.impl.join;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Future;
 
+import com.google.common.base.Charsets;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
 import org.apache.drill.common.expression.FieldReference;
+import org.apache.drill.common.expression.LogicalExpression;
+import org.apache.drill.common.expression.SchemaPath;
 import org.apache.drill.common.logical.data.JoinCondition;
 import org.apache.drill.common.logical.data.NamedExpression;
 import org.apache.drill.common.types.TypeProtos;
@@ -40,6 +46,8 @@ import org.apache.drill.exec.expr.CodeGenerator;
 import org.apache.drill.exec.ops.FragmentContext;
 import org.apache.drill.exec.ops.MetricDef;
 import org.apache.drill.exec.physical.config.HashJoinPOP;
+import org.apache.drill.exec.physical.config.RuntimePartitionFilterDef;
+import org.apache.drill.exec.physical.impl.RuntimePartitionFilter;
 import org.apache.drill.exec.physical.impl.common.ChainedHashTable;
 import org.apache.drill.exec.physical.impl.common.HashTable;
 import org.apache.drill.exec.physical.impl.common.HashTableConfig;
@@ -53,6 +61,7 @@ import org.apache.drill.exec.record.BatchSchema.SelectionVectorMode;
 import org.apache.drill.exec.record.ExpandableHyperContainer;
 import org.apache.drill.exec.record.MaterializedField;
 import org.apache.drill.exec.record.RecordBatch;
+import org.apache.drill.exec.record.RecordBatchSizer;
 import org.apache.drill.exec.record.TypedFieldId;
 import org.apache.drill.exec.record.VectorContainer;
 import org.apache.drill.exec.record.VectorWrapper;
@@ -110,6 +119,17 @@ public class HashJoinBatch extends AbstractRecordBatch<HashJoinPOP> {
   // Schema of the build side
   private BatchSchema rightSchema = null;
 
+  // Data size and record count of all build side batches, used to size the output batches
+  private long buildDataSize = 0;
+  private long buildRecordCount = 0;
+
+  // Largest number of distinct build side keys published as a run time partition filter
+  private static final int MAX_PARTITION_FILTER_VALUES = 10000;
+
+  // Partition filter to publish to the probe side scan, and the build side key values collected for it
+  private final RuntimePartitionFilterDef partitionFilterDef;
+  private Set<String> partitionFilterValues;
+
 
   // Generator mapping for the build side
   // Generator mapping for the build side : scalar
@@ -198,8 +218,11 @@ public class HashJoinBatch extends AbstractRecordBatch<HashJoinPOP> {
       hyperContainer = new ExpandableHyperContainer(vectors);
       hjHelper.addNewBatch(0);
       buildBatchIndex++;
+      // The probe and the hash table are independent classes: compile the probe on the
+      // compile thread pool while the hash table is generated and compiled here.
+      final Future<HashJoinProbe> probe = context.getImplementationClassAsync(generateHashJoinProbe());
       setupHashTable();
-      hashJoinProbe = setupHashJoinProbe();
+      hashJoinProbe = context.getImplementationClass(probe);
       // Build the container schema and set the counts
       for (final VectorWrapper<?> w : container) {
         w.getValueVector().allocateNew();
@@ -220,9 +243,11 @@ public class HashJoinBatch extends AbstractRecordBatch<HashJoinPOP> {
       if (state == BatchState.FIRST) {
         // Build the hash table, using the build side record batches.
         executeBuildPhase();
+        publishPartitionFilter();
         //                IterOutcome next = next(HashJoinHelper.LEFT_INPUT, left);
         hashJoinProbe.setupHashJoinProbe(context, hyperContainer, left, left.getRecordCount(), this, hashTable,
             hjHelper, joinType);
+        hashJoinProbe.setTargetOutputCount(getTargetOutputCount());
 
         // Update the hash table related stats for the operator
         updateStats(this.hashTable);
@@ -352,11 +377,14 @@ public class HashJoinBatch extends AbstractRecordBatch<HashJoinPOP> {
         // Fall through
       case OK:
         final int currentRecordCount = right.getRecordCount();
+        buildDataSize += new RecordBatchSizer(right).getNetBatchSize();
+        buildRecordCount += currentRecordCount;
 
                     /* For every new build batch, we store some state in the helper context
                      * Add new state to the helper context
                      */
         hjHelper.addNewBatch(currentRecordCount);
+        collectPartitionFilterValues(currentRecordCount);
 
         // Holder contains the global index where the key is hashed into using the hash table
         final IndexPointer htIndex = new IndexPointer();
@@ -400,7 +428,82 @@ public class HashJoinBatch extends AbstractRecordBatch<HashJoinPOP> {
     }
   }
 
+  /**
+   * Adds the build side key values of the current build batch to the run time partition filter.
+   * Gives up on the filter if the key cannot be found or has too many distinct values.
+   */
+  private void collectPartitionFilterValues(int recordCount) {
+    if (partitionFilterValues == null) {
+      return;
+    }
+    final LogicalExpression key = conditions.get(partitionFilterDef.getConditionIndex()).getRight();
+    final TypedFieldId id = key instanceof SchemaPath ? right.getValueVectorId((SchemaPath) key) : null;
+    if (id == null) {
+      partitionFilterValues = null;
+      return;
+    }
+    final ValueVector vector = right.getValueAccessorById(ValueVector.class, id.getFieldIds()).getValueVector();
+    final MajorType type = vector.getField().getType();
+    if (type.getMode() == DataMode.REPEATED
+        || (type.getMinorType() != TypeProtos.MinorType.VARCHAR
+            && type.getMinorType() != TypeProtos.MinorType.VARBINARY)) {
+      // partition values are strings; a key of another type would only match them through a cast
+      partitionFilterValues = null;
+      return;
+    }
+    final ValueVector.Accessor accessor = vector.getAccessor();
+    for (int i = 0; i < recordCount; i++) {
+      if (accessor.isNull(i)) {
+        continue;
+      }
+      // VARCHAR values are read as Text and VARBINARY values as bytes, both decoded as UTF-8 like the
+      // directory names the partition values come from
+      final Object value = accessor.getObject(i);
+      partitionFilterValues.add(value instanceof byte[] ? new String((byte[]) value, Charsets.UTF_8) : value.toString());
+      if (partitionFilterValues.size() > MAX_PARTITION_FILTER_VALUES) {
+        partitionFilterValues = null;
+        return;
+      }
+    }
+  }
+
+  /**
+   * Hands the build side key values to the probe side scan, which then skips the readers of
+   * partitions that cannot have a match.
+   */
+  private void publishPartitionFilter() {
+    if (partitionFilterValues == null) {
+      return;
+    }
+    final RuntimePartitionFilter filter =
+        new RuntimePartitionFilter(partitionFilterDef.getPartitionColumn(), partitionFilterValues);
+    logger.debug("Publishing {} to scan {}", filter, partitionFilterDef.getScanOperatorId());
+    context.setRuntimeFilter(partitionFilterDef.getScanOperatorId(), filter);
+    partitionFilterValues = null;
+  }
+
+  /**
+   * Each output row is made of one build side row and one probe side row, so the output
+   * row width is estimated as the average width of the build side rows plus the width
+   * of the rows of the first probe side batch (if there is one).
+   */
+  private int getTargetOutputCount() {
+    int outputRowWidth = 0;
+    if (leftUpstream == IterOutcome.OK_NEW_SCHEMA || leftUpstream == IterOutcome.OK) {
+      outputRowWidth += new RecordBatchSizer(left).getNetRowWidth();
+    }
+    if (buildRecordCount > 0) {
+      outputRowWidth += (int) (buildDataSize / buildRecordCount);
+    }
+    final long outputBatchSize = context.getOptions().getOption(ExecConstants.OUTPUT_BATCH_SIZE_VALIDATOR);
+    return RecordBatchSizer.getRowCountForTarget(outputBatchSize, outputRowWidth, RecordBatchSizer.MAX_ROW_COUNT);
+  }
+
   public HashJoinProbe setupHashJoinProbe() throws ClassTransformationException, IOException {
+    return context.getImplementationClass(generateHashJoinProbe());
+  }
+
+  private CodeGenerator<HashJoinProbe> generateHashJoinProbe() {
     final CodeGenerator<HashJoinProbe> cg = CodeGenerator.get(HashJoinProbe.TEMPLATE_DEFINITION, context.getFunctionRegistry(), context.getOptions());
     final ClassGenerator<HashJoinProbe> g = cg.getRoot();
 
@@ -478,8 +581,7 @@ public class HashJoinBatch extends AbstractRecordBatch<HashJoinPOP> {
       }
     }
 
-    final HashJoinProbe hj = context.getImplementationClass(cg);
-    return hj;
+    return cg;
   }
 
   private void allocateVectors() {
@@ -495,6 +597,10 @@ public class HashJoinBatch extends AbstractRecordBatch<HashJoinPOP> {
     this.right = right;
     joinType = popConfig.getJoinType();
     conditions = popConfig.getConditions();
+    partitionFilterDef = joinType == JoinRelType.INNER ? popConfig.getRuntimePartitionFilter() : null;
+    if (partitionFilterDef != null) {
+      partitionFilterValues = Sets.newHashSet();
+    }
 
     comparators = Lists.newArrayListWithExpectedSize(conditions.size());
     for (int i=0; i<conditions.size(); i++) {
@@ -49,6 +49,9 @@ public abstract class HashJoinProbeTemplate implements HashJoinProbe {
 
   private static final int TARGET_RECORDS_PER_BATCH = 4000;
 
+  // Number of records to put in an output batch, sized by the join from the width of its inputs
+  private int targetOutputRecords = TARGET_RECORDS_PER_BATCH;
+
   /* Helper class
    * Maintains linked list of build side records with the same key
    * Keeps information about which build records have a corresponding
@@ -97,8 +100,13 @@ public abstract class HashJoinProbeTemplate implements HashJoinProbe {
     doSetup(context, buildBatch, probeBatch, outgoing);
   }
 
+  @Override
+  public void setTargetOutputCount(int targetOutputCount) {
+    this.targetOutputRecords = targetOutputCount;
+  }
+
   public void executeProjectRightPhase() {
-    while (outputRecords < TARGET_RECORDS_PER_BATCH && recordsProcessed < recordsToProcess) {
+    while (outputRecords < targetOutputRecords && recordsProcessed < recordsToProcess) {
       projectBuildRecord(unmatchedBuildIndexes.get(recordsProcessed), outputRecords);
       recordsProcessed++;
       outputRecords++;
@@ -106,7 +114,7 @@ public abstract class HashJoinProbeTemplate implements HashJoinProbe {
   }
 
   public void executeProbePhase() throws SchemaChangeException {
-    while (outputRecords < TARGET_RECORDS_PER_BATCH && probeState != ProbeState.DONE && probeState != ProbeState.PROJECT_RIGHT) {
+    while (outputRecords < targetOutputRecords && probeState != ProbeState.DONE && probeState != ProbeState.PROJECT_RIGHT) {
 
       // Check if we have processed all records in this batch we need to invoke next
       if (recordsProcessed == recordsToProcess) {
@@ -109,6 +109,10 @@ public final class JoinStatus {
     ++outputPosition;
   }
 
+  public final int getRemainingOutputCount() {
+    return OUTPUT_BATCH_SIZE - outputPosition;
+  }
+
   public void disableMarking() {
     allowMarking = false;
   }
@@ -22,11 +22,16 @@ import javax.inject.Named;
 import org.apache.drill.exec.exception.SchemaChangeException;
 import org.apache.drill.exec.ops.FragmentContext;
 import org.apache.drill.exec.physical.config.MergeJoinPOP;
+import org.apache.drill.exec.record.RecordIterator;
 import org.apache.drill.exec.record.VectorContainer;
 import org.apache.calcite.rel.core.JoinRelType;
 
 /**
  * Merge Join implementation using RecordIterator.
+ * <p>
+ * When the current keys differ, the side with the lower key skips all its rows below the other key in the current
+ * batch at once, found by exponential then binary search, rather than comparing them one at a time. Unmatched left
+ * rows of a left join are copied as one run.
  */
 public abstract class JoinTemplate implements JoinWorker {
 
@@ -63,14 +68,21 @@ public abstract class JoinTemplate implements JoinWorker {
       }
       final int comparison = Integer.signum(doCompare(status.left.getCurrentPosition(), status.right.getCurrentPosition()));
       switch (comparison) {
-        case -1:
+        case -1: {
           // left key < right key
+          final int leftPosition = status.left.getCurrentPosition();
+          int count = gallop(status.left, status.right.getCurrentPosition(), true);
           if (isLeftJoin) {
-            doCopyLeft(status.left.getCurrentPosition(), status.getOutPosition());
-            status.incOutputPos();
+            count = Math.min(count, status.getRemainingOutputCount());
+            for (int i = 0; i < count; i++) {
+              doCopyLeft(leftPosition + i, status.getOutPosition());
+              status.incOutputPos();
+            }
           }
+          status.left.skip(count - 1);
           status.left.next();
           continue;
+        }
 
         case 0:
           // left key == right key
@@ -115,6 +127,7 @@ public abstract class JoinTemplate implements JoinWorker {
           continue;
         case 1:
           // left key > right key
+          status.right.skip(gallop(status.right, status.left.getCurrentPosition(), false) - 1);
           status.right.next();
           continue;
 
@@ -125,6 +138,43 @@ public abstract class JoinTemplate implements JoinWorker {
     return true;
   }
 
+  /**
+   * Counts the rows of the current batch of one side, from its current row on, that are below the current row of the
+   * other side. The current row of the side must be below it.
+   *
+   * @param side  iterator of the side with the lower key
+   * @param otherIndex  position of the current row of the other side
+   * @param isLeft  whether side is the left side
+   * @return  the number of rows to skip, at least 1
+   */
+  private int gallop(final RecordIterator side, final int otherIndex, final boolean isLeft) {
+    final int start = side.getCurrentPosition();
+    final int end = side.getInnerRecordCount();
+    // rows from start to low are below, high is the end of the batch or not below
+    int low = start;
+    int high = start + 1;
+    int step = 1;
+    while (high < end && isBelow(high, otherIndex, isLeft)) {
+      low = high;
+      step <<= 1;
+      high = start + step;
+    }
+    high = Math.min(high, end);
+    while (high - low > 1) {
+      final int middle = (low + high) >>> 1;
+      if (isBelow(middle, otherIndex, isLeft)) {
+        low = middle;
+      } else {
+        high = middle;
+      }
+    }
+    return high - start;
+  }
+
+  private boolean isBelow(final int index, final int otherIndex, final boolean isLeft) {
+    return isLeft ? doCompare(index, otherIndex) < 0 : doCompare(otherIndex, index) > 0;
+  }
+
   // Generated Methods
 
   public abstract void doSetup(@Named("context") FragmentContext context,
@@ -33,6 +33,7 @@ import org.apache.drill.common.types.TypeProtos.DataMode;
 import org.apache.drill.common.types.TypeProtos.MajorType;
 import org.apache.drill.common.types.TypeProtos.MinorType;
 import org.apache.drill.common.types.Types;
+import org.apache.drill.exec.ExecConstants;
 import org.apache.drill.exec.compile.sig.MappingSet;
 import org.apache.drill.exec.exception.ClassTransformationException;
 import org.apache.drill.exec.exception.OutOfMemoryException;
@@ -116,6 +117,9 @@ public class MergeJoinBatch extends AbstractRecordBatch<MergeJoinPOP> {
     this.leftIterator = new RecordIterator(left, this, oContext, 0, false);
     this.right = right;
     this.rightIterator = new RecordIterator(right, this, oContext, 1);
+    // the right side batches held to replay a run of equal keys spill when they do not fit in memory
+    this.rightIterator.enableSpilling(context, "mergejoin" + popConfig.getOperatorId(),
+        context.getOptions().getOption(ExecConstants.MERGE_JOIN_MEMORY_LIMIT_VALIDATOR));
     this.joinType = popConfig.getJoinType();
     this.status = new JoinStatus(leftIterator, rightIterator, this);
     this.conditions = popConfig.getConditions();
@@ -45,6 +45,10 @@ public interface NestedLoopJoin {
   // Project the record from the hyper container given the batch index and the record within the batch at 'outIndex'
   public void emitRight(int batchIndex, int recordIndexWithinBatch, int outIndex);
 
+  // Evaluate the join condition over the record 'leftIndex' of the left batch and the record of the hyper container
+  // at the composite index 'rightCompositeIndex', before either is projected
+  public boolean doEval(int leftIndex, int rightCompositeIndex);
+
   // Setup the input/output value vector references
   public void doSetup(FragmentContext context, VectorContainer rightContainer, RecordBatch leftBatch, RecordBatch outgoing);
 }
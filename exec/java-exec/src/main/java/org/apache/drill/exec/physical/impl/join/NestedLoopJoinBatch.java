@@ -19,18 +19,25 @@ package org.apache.drill.exec.physical.impl.join;
 
 import java.io.IOException;
 import java.util.LinkedList;
+import java.util.Map;
 
 import org.apache.drill.common.exceptions.DrillRuntimeException;
+import org.apache.drill.common.expression.ErrorCollector;
+import org.apache.drill.common.expression.ErrorCollectorImpl;
+import org.apache.drill.common.expression.LogicalExpression;
 import org.apache.drill.common.types.TypeProtos;
 import org.apache.drill.exec.compile.sig.GeneratorMapping;
 import org.apache.drill.exec.compile.sig.MappingSet;
 import org.apache.drill.exec.exception.ClassTransformationException;
 import org.apache.drill.exec.exception.OutOfMemoryException;
 import org.apache.drill.exec.exception.SchemaChangeException;
+import org.apache.drill.exec.expr.BatchReference;
 import org.apache.drill.exec.expr.ClassGenerator;
 import org.apache.drill.exec.expr.CodeGenerator;
+import org.apache.drill.exec.expr.ExpressionTreeMaterializer;
 import org.apache.drill.exec.ops.FragmentContext;
 import org.apache.drill.exec.physical.config.NestedLoopJoinPOP;
+import org.apache.drill.exec.physical.impl.filter.ReturnValueExpression;
 import org.apache.drill.exec.physical.impl.sort.RecordBatchData;
 import org.apache.drill.exec.record.AbstractRecordBatch;
 import org.apache.drill.exec.record.BatchSchema;
@@ -38,10 +45,12 @@ import org.apache.drill.exec.record.ExpandableHyperContainer;
 import org.apache.drill.exec.record.MaterializedField;
 import org.apache.drill.exec.record.RecordBatch;
 import org.apache.drill.exec.record.TypedFieldId;
+import org.apache.drill.exec.record.VectorAccessible;
 import org.apache.drill.exec.record.VectorWrapper;
 import org.apache.drill.exec.vector.AllocationHelper;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.Maps;
 import com.sun.codemodel.JExpr;
 import com.sun.codemodel.JExpression;
 import com.sun.codemodel.JVar;
@@ -109,6 +118,24 @@ public class NestedLoopJoinBatch extends AbstractRecordBatch<NestedLoopJoinPOP>
       null /* reset */, null /* cleanup */);
 
 
+  // Generator mapping for the join condition
+  private static final GeneratorMapping EVAL_CONDITION =
+      GeneratorMapping.create("doSetup" /* setup method */, "doEval" /* eval method */, null /* reset */,
+          null /* cleanup */);
+  // Generator mapping for the join condition : constant
+  private static final GeneratorMapping EVAL_CONDITION_CONSTANT = GeneratorMapping.create("doSetup" /* setup method */,
+      "doSetup" /* eval method */,
+      null /* reset */, null /* cleanup */);
+
+  // Mapping set for the join condition, evaluated over a record of the left batch and one of the hyper container
+  // before they are copied to the output batch. Each field read names the side it reads from.
+  private static final MappingSet evalConditionMapping = new MappingSet("leftIndex" /* read index */,
+      "outIndex" /* write index */, "leftBatch" /* read container */, "outgoing" /* write container */,
+      EVAL_CONDITION_CONSTANT, EVAL_CONDITION);
+
+  private static final BatchReference LEFT_BATCH_REF = new BatchReference("leftBatch", "leftIndex");
+  private static final BatchReference RIGHT_BATCH_REF = new BatchReference("rightContainer", "rightCompositeIndex");
+
   // Mapping set for the right side
   private static final MappingSet emitRightMapping =
       new MappingSet("rightCompositeIndex" /* read index */, "outIndex" /* write index */, "rightContainer" /* read container */,
@@ -214,14 +241,16 @@ public class NestedLoopJoinBatch extends AbstractRecordBatch<NestedLoopJoinPOP>
 
   /**
    * Method generates the runtime code needed for NLJ. Other than the setup method to set the input and output value
-   * vector references we implement two more methods
+   * vector references we implement three more methods
    * 1. emitLeft()  -> Project record from the left side
    * 2. emitRight() -> Project record from the right side (which is a hyper container)
+   * 3. doEval()    -> Evaluate the join condition over a record of each side, always true without a condition
    * @return the runtime generated class that implements the NestedLoopJoin interface
    * @throws IOException
    * @throws ClassTransformationException
+   * @throws SchemaChangeException
    */
-  private NestedLoopJoin setupWorker() throws IOException, ClassTransformationException {
+  private NestedLoopJoin setupWorker() throws IOException, ClassTransformationException, SchemaChangeException {
     final CodeGenerator<NestedLoopJoin> nLJCodeGenerator = CodeGenerator.get(NestedLoopJoin.TEMPLATE_DEFINITION, context.getFunctionRegistry(), context.getOptions());
     final ClassGenerator<NestedLoopJoin> nLJClassGenerator = nLJCodeGenerator.getRoot();
 
@@ -272,6 +301,25 @@ public class NestedLoopJoinBatch extends AbstractRecordBatch<NestedLoopJoinPOP>
       outputFieldId++;
     }
 
+    nLJClassGenerator.setMappingSet(evalConditionMapping);
+    final LogicalExpression condition = popConfig.getCondition();
+    if (condition == null) {
+      nLJClassGenerator.getEvalBlock()._return(JExpr.TRUE);
+    } else {
+      // the condition refers to the fields of both sides by name, which are unique across the two sides
+      final Map<VectorAccessible, BatchReference> batches = Maps.newLinkedHashMap();
+      batches.put(left, LEFT_BATCH_REF);
+      batches.put(rightContainer, RIGHT_BATCH_REF);
+      final ErrorCollector collector = new ErrorCollectorImpl();
+      final LogicalExpression materializedCondition = ExpressionTreeMaterializer.materializeOverBatches(condition,
+          batches, collector, context.getFunctionRegistry());
+      if (collector.hasErrors()) {
+        throw new SchemaChangeException(String.format("Failure while trying to materialize join condition. Errors:\n %s.",
+            collector.toErrorString()));
+      }
+      nLJClassGenerator.addExpr(new ReturnValueExpression(materializedCondition), ClassGenerator.BlkCreateMode.FALSE);
+    }
+
     return context.getImplementationClass(nLJCodeGenerator);
   }
 
@@ -77,7 +77,7 @@ public abstract class NestedLoopJoinTemplate implements NestedLoopJoin {
 
   /**
    * This method is the core of the nested loop join. For every record on the right we go over
-   * the left batch and produce the cross product output
+   * the left batch and produce the cross product output, keeping only the pairs that satisfy the join condition
    * @param outputIndex index to start emitting records at
    * @return final outputIndex after producing records in the output batch
    */
@@ -108,7 +108,10 @@ public abstract class NestedLoopJoinTemplate implements NestedLoopJoin {
         for (; localNextRightRecordToProcess < rightRecordCount; localNextRightRecordToProcess++) { // for every record in this right batch
           for (; localNextLeftRecordToProcess < localLeftRecordCount; localNextLeftRecordToProcess++) { // for every record in the left batch
 
-            // project records from the left and right batches
+            // evaluate the join condition on the input records, and only project the pairs that satisfy it
+            if (!doEval(localNextLeftRecordToProcess, compositeIndexPart | localNextRightRecordToProcess)) {
+              continue;
+            }
             emitLeft(localNextLeftRecordToProcess, outputIndex);
             emitRight(localNextRightBatchToProcess, localNextRightRecordToProcess, outputIndex);
             outputIndex++;
@@ -192,4 +195,7 @@ public abstract class NestedLoopJoinTemplate implements NestedLoopJoin {
                                  @Named("outIndex") int outIndex);
 
   public abstract void emitLeft(@Named("leftIndex") int leftIndex, @Named("outIndex") int outIndex);
+
+  public abstract boolean doEval(@Named("leftIndex") int leftIndex,
+                                 @Named("rightCompositeIndex") int rightCompositeIndex);
 }
@@ -42,6 +42,7 @@ public class LimitRecordBatch extends AbstractSingleRecordBatch<Limit> {
   private final boolean noEndLimit;
   private boolean skipBatch;
   private boolean first = true;
+  private boolean upstreamKilled;
   private final List<TransferPair> transfers = Lists.newArrayList();
 
   public LimitRecordBatch(Limit popConfig, FragmentContext context, RecordBatch incoming)
@@ -91,7 +92,7 @@ public class LimitRecordBatch extends AbstractSingleRecordBatch<Limit> {
   @Override
   public IterOutcome innerNext() {
     if(!first && !noEndLimit && recordsLeft <= 0) {
-      incoming.kill(true);
+      killUpstream();
 
       IterOutcome upStream = next(incoming);
       if (upStream == IterOutcome.OUT_OF_MEMORY) {
@@ -140,11 +141,23 @@ public class LimitRecordBatch extends AbstractSingleRecordBatch<Limit> {
     } else {
       outgoingSv.allocateNew(recordCount);
       limit(recordCount);
+      if (!noEndLimit && recordsLeft <= 0) {
+        // the batch holds the last records needed: stop the upstream operators, and through the receivers the
+        // senders of other fragments, now rather than when the next batch is asked for
+        killUpstream();
+      }
     }
 
     return IterOutcome.OK;
   }
 
+  private void killUpstream() {
+    if (!upstreamKilled) {
+      upstreamKilled = true;
+      incoming.kill(true);
+    }
+  }
+
   private void limit(int recordCount) {
     final int offset = Math.max(0, Math.min(recordCount - 1, recordsToSkip));
     recordsToSkip -= offset;
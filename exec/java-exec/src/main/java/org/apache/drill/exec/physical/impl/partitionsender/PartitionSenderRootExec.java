@@ -52,9 +52,6 @@ import org.apache.drill.exec.vector.CopyUtil;
 
 import com.carrotsearch.hppc.IntArrayList;
 import com.google.common.annotations.VisibleForTesting;
-import com.sun.codemodel.JExpr;
-import com.sun.codemodel.JExpression;
-import com.sun.codemodel.JType;
 
 public class PartitionSenderRootExec extends BaseRootExec {
   private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(PartitionSenderRootExec.class);
@@ -214,6 +211,8 @@ public class PartitionSenderRootExec extends BaseRootExec {
         }
         return true;
       case NOT_YET:
+        // no incoming data yet: the fragment gives up its thread until some arrives
+        return true;
       default:
         throw new IllegalStateException();
     }
@@ -275,13 +274,9 @@ public class PartitionSenderRootExec extends BaseRootExec {
           collector.toErrorString()));
     }
 
-    // generate code to copy from an incoming value vector to the destination partition's outgoing value vector
-    JExpression bucket = JExpr.direct("bucket");
-
-    // generate evaluate expression to determine the hash
+    // generate evaluate expression to determine the hash, which the partitioner maps to the destination partitions
     ClassGenerator.HoldingContainer exprHolder = cg.addExpr(materializedExpr);
-    cg.getEvalBlock().decl(JType.parse(cg.getModel(), "int"), "bucket", exprHolder.getValue().mod(JExpr.lit(outGoingBatchCount)));
-    cg.getEvalBlock()._return(cg.getModel().ref(Math.class).staticInvoke("abs").arg(bucket));
+    cg.getEvalBlock()._return(exprHolder.getValue());
 
     CopyUtil.generateCopies(cgInner, incoming, incoming.getSchema().getSelectionVectorMode() == SelectionVectorMode.FOUR_BYTE);
 
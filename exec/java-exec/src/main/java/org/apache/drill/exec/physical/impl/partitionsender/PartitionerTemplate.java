@@ -17,13 +17,18 @@
  */
 package org.apache.drill.exec.physical.impl.partitionsender;
 
+import io.netty.buffer.DrillBuf;
+
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 import javax.inject.Named;
 
 import org.apache.drill.common.expression.SchemaPath;
+import org.apache.drill.exec.ExecConstants;
 import org.apache.drill.exec.compile.sig.RuntimeOverridden;
 import org.apache.drill.exec.exception.SchemaChangeException;
 import org.apache.drill.exec.expr.TypeHelper;
@@ -34,7 +39,9 @@ import org.apache.drill.exec.ops.OperatorContext;
 import org.apache.drill.exec.ops.OperatorStats;
 import org.apache.drill.exec.physical.MinorFragmentEndpoint;
 import org.apache.drill.exec.physical.config.HashPartitionSender;
+import org.apache.drill.exec.physical.config.HashPartitionSender.SkewHandling;
 import org.apache.drill.exec.physical.impl.partitionsender.PartitionSenderRootExec.Metric;
+import org.apache.drill.exec.physical.impl.svremover.BulkCopier2;
 import org.apache.drill.exec.proto.ExecProtos.FragmentHandle;
 import org.apache.drill.exec.record.BatchSchema;
 import org.apache.drill.exec.record.BatchSchema.SelectionVectorMode;
@@ -47,9 +54,12 @@ import org.apache.drill.exec.record.VectorWrapper;
 import org.apache.drill.exec.record.WritableBatch;
 import org.apache.drill.exec.record.selection.SelectionVector2;
 import org.apache.drill.exec.record.selection.SelectionVector4;
+import org.apache.drill.exec.vector.BulkCopyableVector;
 import org.apache.drill.exec.vector.ValueVector;
 
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.primitives.Ints;
 
 public abstract class PartitionerTemplate implements Partitioner {
   static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(PartitionerTemplate.class);
@@ -67,6 +77,20 @@ public abstract class PartitionerTemplate implements Partitioner {
 
   private int outgoingRecordBatchSize = DEFAULT_RECORD_BATCH_SIZE;
 
+  // Rows sampled to find the hot keys of a SkewHandling.SPREAD partitioning
+  private static final int SKEW_SAMPLE_SIZE = 1 << 12;
+
+  private int partitionCount;
+  private SkewHandling skewHandling;
+  private int skewFanout;
+  private Map<Integer, int[]> sampledKeys = Maps.newHashMap(); // rows of each key hash in the sample
+  private int sampledRows;
+  private int[] hotKeys = new int[0]; // sorted hashes of the hot keys
+  private int spreadOffset;
+
+  // Whether rows may be gathered per receiver and copied a column at a time, instead of a row at a time
+  private boolean bulkCopy;
+
   public PartitionerTemplate() throws SchemaChangeException {
   }
 
@@ -95,6 +119,11 @@ public abstract class PartitionerTemplate implements Partitioner {
     this.stats = stats;
     this.start = start;
     this.end = end;
+    this.partitionCount = popConfig.getDestinations().size();
+    this.skewHandling = popConfig.getSkewHandling();
+    this.skewFanout = Math.min(popConfig.getSkewFanout(), partitionCount);
+    this.bulkCopy = context.getOptions().getOption(ExecConstants.PRECOMPILED_KERNELS_VALIDATOR)
+        && incoming.getSchema().getSelectionVectorMode() != SelectionVectorMode.FOUR_BYTE;
     doSetup(context, incoming, null);
 
     // Half the outgoing record batch size if the number of senders exceeds 1000 to reduce the total amount of memory
@@ -194,6 +223,13 @@ public abstract class PartitionerTemplate implements Partitioner {
       default:
         throw new UnsupportedOperationException("Unknown selection vector mode: " + svMode.toString());
     }
+
+    // the rows gathered for bulk copies refer to this batch, so they must be copied before the next one arrives
+    if (bulkCopy) {
+      for (OutgoingRecordBatch outgoingBatch : outgoingBatches) {
+        outgoingBatch.copySelection();
+      }
+    }
   }
 
   /**
@@ -202,13 +238,68 @@ public abstract class PartitionerTemplate implements Partitioner {
    * @throws IOException
    */
   private void doCopy(int svIndex) throws IOException {
-    int index = doEval(svIndex);
+    final int hash = doEval(svIndex);
+    final int index = Math.abs(hash % partitionCount);
+    switch (skewHandling) {
+      case SPREAD:
+        if (isHot(hash)) {
+          copyTo((index + spreadOffset) % partitionCount, svIndex);
+          spreadOffset = (spreadOffset + 1) % skewFanout;
+        } else {
+          copyTo(index, svIndex);
+        }
+        break;
+
+      case REPLICATE:
+        for (int i = 0; i < skewFanout; i++) {
+          copyTo((index + i) % partitionCount, svIndex);
+        }
+        break;
+
+      default:
+        copyTo(index, svIndex);
+    }
+  }
+
+  private void copyTo(int index, int svIndex) throws IOException {
     if ( index >= start && index < end) {
       OutgoingRecordBatch outgoingBatch = outgoingBatches.get(index - start);
       outgoingBatch.copy(svIndex);
     }
   }
 
+  /**
+   * Whether a key is hot. The first rows are sampled and sent to their home receiver; once the sample is complete,
+   * the keys with more rows in it than the fair share of a receiver are hot. Every partitioner of the sender sees
+   * the same rows in the same order, so they all agree on the hot keys and on where each row of them goes.
+   *
+   * @param hash hash of the key
+   */
+  private boolean isHot(int hash) {
+    if (sampledRows < SKEW_SAMPLE_SIZE) {
+      final int[] count = sampledKeys.get(hash);
+      if (count == null) {
+        sampledKeys.put(hash, new int[] {1});
+      } else {
+        count[0]++;
+      }
+      if (++sampledRows == SKEW_SAMPLE_SIZE) {
+        final List<Integer> hot = Lists.newArrayList();
+        for (Map.Entry<Integer, int[]> entry : sampledKeys.entrySet()) {
+          if ((long) entry.getValue()[0] * partitionCount > sampledRows) {
+            hot.add(entry.getKey());
+          }
+        }
+        hotKeys = Ints.toArray(hot);
+        Arrays.sort(hotKeys);
+        sampledKeys = null;
+        logger.debug("Found {} hot keys in a sample of {} rows", hotKeys.length, sampledRows);
+      }
+      return false;
+    }
+    return hotKeys.length > 0 && Arrays.binarySearch(hotKeys, hash) >= 0;
+  }
+
   @Override
   public void clear() {
     for (OutgoingRecordBatch outgoingRecordBatch : outgoingBatches) {
@@ -217,6 +308,9 @@ public abstract class PartitionerTemplate implements Partitioner {
   }
 
   public abstract void doSetup(@Named("context") FragmentContext context, @Named("incoming") RecordBatch incoming, @Named("outgoing") OutgoingRecordBatch[] outgoing) throws SchemaChangeException;
+  /**
+   * @return hash of the partitioning key of a row
+   */
   public abstract int doEval(@Named("inIndex") int inIndex);
 
   public class OutgoingRecordBatch implements PartitionOutgoingBatch, VectorAccessible {
@@ -234,6 +328,12 @@ public abstract class PartitionerTemplate implements Partitioner {
     private int recordCount;
     private int totalRecords;
 
+    // Incoming rows waiting to be bulk copied to this batch, as two-byte indexes; null when copying row by row
+    private DrillBuf selection;
+    private int selectionCount;
+    private final List<BulkCopyableVector> from = Lists.newArrayList();
+    private final List<BulkCopyableVector> to = Lists.newArrayList();
+
     public OutgoingRecordBatch(OperatorStats stats, HashPartitionSender operator, AccountingDataTunnel tunnel,
                                FragmentContext context, BufferAllocator allocator, int oppositeMinorFragmentId) {
       this.context = context;
@@ -245,6 +345,13 @@ public abstract class PartitionerTemplate implements Partitioner {
     }
 
     protected void copy(int inIndex) throws IOException {
+      if (selection != null) {
+        selection.setChar(selectionCount * SelectionVector2.RECORD_SIZE, inIndex);
+        if (++selectionCount + recordCount == outgoingRecordBatchSize) {
+          copySelection();
+        }
+        return;
+      }
       doEval(inIndex, recordCount);
       recordCount++;
       totalRecords++;
@@ -253,6 +360,24 @@ public abstract class PartitionerTemplate implements Partitioner {
       }
     }
 
+    /**
+     * Copy the incoming rows gathered for this batch, one column at a time, and flush the batch if it is full.
+     */
+    protected void copySelection() throws IOException {
+      if (selectionCount == 0) {
+        return;
+      }
+      for (int i = 0; i < to.size(); i++) {
+        to.get(i).copySelectionSafe(selection, 0, selectionCount, recordCount, from.get(i));
+      }
+      recordCount += selectionCount;
+      totalRecords += selectionCount;
+      selectionCount = 0;
+      if (recordCount == outgoingRecordBatchSize) {
+        flush(false);
+      }
+    }
+
     @Override
     public void terminate() {
       // receiver already terminated, don't send anything to it from now on
@@ -348,20 +473,44 @@ public abstract class PartitionerTemplate implements Partitioner {
      * Initialize the OutgoingBatch based on the current schema in incoming RecordBatch
      */
     public void initializeBatch() {
+      boolean sameClasses = true;
       for (VectorWrapper<?> v : incoming) {
         // create new vector
         ValueVector outgoingVector = TypeHelper.getNewVector(v.getField(), allocator);
         outgoingVector.setInitialCapacity(outgoingRecordBatchSize);
         vectorContainer.add(outgoingVector);
+        sameClasses &= outgoingVector.getClass() == v.getValueVector().getClass();
       }
       allocateOutgoingRecordBatch();
       doSetup(incoming, vectorContainer);
+
+      if (bulkCopy && sameClasses && BulkCopier2.canCopy(incoming)) {
+        final Iterator<VectorWrapper<?>> outgoingWrappers = vectorContainer.iterator();
+        for (VectorWrapper<?> v : incoming) {
+          from.add((BulkCopyableVector) v.getValueVector());
+          to.add((BulkCopyableVector) outgoingWrappers.next().getValueVector());
+        }
+        if (selection == null) {
+          selection = allocator.buffer(outgoingRecordBatchSize * SelectionVector2.RECORD_SIZE);
+        }
+      }
     }
 
     public void resetBatch() {
       isLast = false;
       recordCount = 0;
       vectorContainer.clear();
+      from.clear();
+      to.clear();
+      releaseSelection();
+    }
+
+    private void releaseSelection() {
+      if (selection != null) {
+        selection.release();
+        selection = null;
+      }
+      selectionCount = 0;
     }
 
     public void setIsLast() {
@@ -415,6 +564,7 @@ public abstract class PartitionerTemplate implements Partitioner {
 
     public void clear(){
       vectorContainer.clear();
+      releaseSelection();
     }
 
   }
@@ -37,6 +37,7 @@ import org.apache.drill.common.expression.fn.CastFunctions;
 import org.apache.drill.common.logical.data.NamedExpression;
 import org.apache.drill.common.types.TypeProtos.MinorType;
 import org.apache.drill.common.types.Types;
+import org.apache.drill.exec.ExecConstants;
 import org.apache.drill.exec.exception.ClassTransformationException;
 import org.apache.drill.exec.exception.OutOfMemoryException;
 import org.apache.drill.exec.exception.SchemaChangeException;
@@ -56,6 +57,7 @@ import org.apache.drill.exec.record.AbstractSingleRecordBatch;
 import org.apache.drill.exec.record.BatchSchema.SelectionVectorMode;
 import org.apache.drill.exec.record.MaterializedField;
 import org.apache.drill.exec.record.RecordBatch;
+import org.apache.drill.exec.record.RecordBatchSizer;
 import org.apache.drill.exec.record.TransferPair;
 import org.apache.drill.exec.record.TypedFieldId;
 import org.apache.drill.exec.record.VectorContainer;
@@ -81,6 +83,9 @@ public class ProjectRecordBatch extends AbstractSingleRecordBatch<Project> {
   private boolean hasRemainder = false;
   private int remainderIndex = 0;
   private int recordCount;
+  private final long outputBatchSize;
+  // width of the rows of the last outgoing batch, 0 until a batch has been produced
+  private int outputRowWidth;
 
   private static final String EMPTY_STRING = "";
   private boolean first = true;
@@ -107,6 +112,7 @@ public class ProjectRecordBatch extends AbstractSingleRecordBatch<Project> {
 
   public ProjectRecordBatch(final Project pop, final RecordBatch incoming, final FragmentContext context) throws OutOfMemoryException {
     super(pop, context, incoming);
+    outputBatchSize = context.getOptions().getOption(ExecConstants.OUTPUT_BATCH_SIZE_VALIDATOR);
   }
 
   @Override
@@ -191,12 +197,13 @@ public class ProjectRecordBatch extends AbstractSingleRecordBatch<Project> {
 
     container.zeroVectors();
 
-    if (!doAlloc(incomingRecordCount)) {
+    final int maxRecords = getOutputRecordLimit(incomingRecordCount);
+    if (!doAlloc(maxRecords)) {
       outOfMemory = true;
       return IterOutcome.OUT_OF_MEMORY;
     }
 
-    final int outputRecords = projector.projectRecords(0, incomingRecordCount, 0);
+    final int outputRecords = projector.projectRecords(0, maxRecords, 0);
     if (outputRecords < incomingRecordCount) {
       setValueCount(outputRecords);
       hasRemainder = true;
@@ -214,17 +221,19 @@ public class ProjectRecordBatch extends AbstractSingleRecordBatch<Project> {
     if (complexWriters != null) {
       container.buildSchema(SelectionVectorMode.NONE);
     }
+    updateOutputRowWidth();
 
     return IterOutcome.OK;
   }
 
   private void handleRemainder() {
     final int remainingRecordCount = incoming.getRecordCount() - remainderIndex;
-    if (!doAlloc(remainingRecordCount)) {
+    final int maxRecords = getOutputRecordLimit(remainingRecordCount);
+    if (!doAlloc(maxRecords)) {
       outOfMemory = true;
       return;
     }
-    final int projRecords = projector.projectRecords(remainderIndex, remainingRecordCount, 0);
+    final int projRecords = projector.projectRecords(remainderIndex, maxRecords, 0);
     if (projRecords < remainingRecordCount) {
       setValueCount(projRecords);
       this.recordCount = projRecords;
@@ -243,6 +252,28 @@ public class ProjectRecordBatch extends AbstractSingleRecordBatch<Project> {
     if (complexWriters != null) {
       container.buildSchema(SelectionVectorMode.NONE);
     }
+    updateOutputRowWidth();
+  }
+
+  /**
+   * Returns how many of the given number of incoming records to project into the next
+   * outgoing batch. Only evaluated columns allocate memory (transferred columns are handed
+   * over as they are), so when every column is a transfer the whole incoming batch is used.
+   * Otherwise the outgoing row width is taken as the wider of the incoming rows and the
+   * rows of the last outgoing batch, and the count is chosen to hit the memory target.
+   */
+  private int getOutputRecordLimit(int recordCount) {
+    if (allocationVectors.isEmpty() && complexWriters == null) {
+      return recordCount;
+    }
+    final int rowWidth = Math.max(outputRowWidth, new RecordBatchSizer(incoming).getNetRowWidth());
+    return RecordBatchSizer.getRowCountForTarget(outputBatchSize, rowWidth, recordCount);
+  }
+
+  private void updateOutputRowWidth() {
+    if (recordCount > 0) {
+      outputRowWidth = new RecordBatchSizer(container).getNetRowWidth();
+    }
   }
 
   public void addComplexWriter(final ComplexWriter writer) {
@@ -481,7 +512,12 @@ public class ProjectRecordBatch extends AbstractSingleRecordBatch<Project> {
     }
 
     try {
-      this.projector = context.getImplementationClass(cg.getCodeGenerator());
+      if (allocationVectors.isEmpty() && complexWriters == null
+          && context.getOptions().getOption(ExecConstants.PRECOMPILED_KERNELS_VALIDATOR)) {
+        this.projector = new TransferProjector();
+      } else {
+        this.projector = context.getImplementationClass(cg.getCodeGenerator());
+      }
       projector.setup(context, incoming, this, transfers);
     } catch (ClassTransformationException | IOException e) {
       throw new SchemaChangeException("Failure while attempting to load generated class", e);
@@ -38,6 +38,7 @@ public abstract class ProjectorTemplate implements Projector {
   private SelectionVector2 vector2;
   private SelectionVector4 vector4;
   private SelectionVectorMode svMode;
+  private RecordBatch incoming;
 
   public ProjectorTemplate() throws SchemaChangeException {
   }
@@ -51,7 +52,7 @@ public abstract class ProjectorTemplate implements Projector {
     case TWO_BYTE:
       final int count = recordCount;
       for (int i = 0; i < count; i++, firstOutputIndex++) {
-        doEval(vector2.getIndex(i), firstOutputIndex);
+        doEval(vector2.getIndex(startIndex + i), firstOutputIndex);
       }
       return recordCount;
 
@@ -61,7 +62,8 @@ public abstract class ProjectorTemplate implements Projector {
       for (i = startIndex; i < startIndex + countN; i++, firstOutputIndex++) {
         doEval(i, firstOutputIndex);
       }
-      if (i < startIndex + recordCount || startIndex > 0) {
+      // only part of the incoming batch was projected: hand over just that range
+      if (startIndex > 0 || countN < incoming.getRecordCount()) {
         for (TransferPair t : transfers) {
           t.splitAndTransfer(startIndex, i - startIndex);
         }
@@ -80,6 +82,7 @@ public abstract class ProjectorTemplate implements Projector {
   @Override
   public final void setup(FragmentContext context, RecordBatch incoming, RecordBatch outgoing, List<TransferPair> transfers)  throws SchemaChangeException{
 
+    this.incoming = incoming;
     this.svMode = incoming.getSchema().getSelectionVectorMode();
     switch (svMode) {
     case FOUR_BYTE:
@@ -0,0 +1,41 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.physical.impl.project;
+
+import org.apache.drill.exec.exception.SchemaChangeException;
+import org.apache.drill.exec.ops.FragmentContext;
+import org.apache.drill.exec.record.RecordBatch;
+
+/**
+ * Pre-compiled projector for projections that only pass columns through: every
+ * output column is a transfer from the incoming batch, so there is nothing to
+ * evaluate per record and no code needs to be generated or compiled.
+ */
+public class TransferProjector extends ProjectorTemplate {
+
+  public TransferProjector() throws SchemaChangeException {
+  }
+
+  @Override
+  public void doSetup(FragmentContext context, RecordBatch incoming, RecordBatch outgoing) {
+  }
+
+  @Override
+  public void doEval(int inIndex, int outIndex) {
+  }
+}
@@ -0,0 +1,161 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.physical.impl.spool;
+
+import java.io.IOException;
+import java.util.Iterator;
+
+import org.apache.drill.common.expression.SchemaPath;
+import org.apache.drill.exec.exception.OutOfMemoryException;
+import org.apache.drill.exec.exception.SchemaChangeException;
+import org.apache.drill.exec.ops.FragmentContext;
+import org.apache.drill.exec.ops.OperatorContext;
+import org.apache.drill.exec.ops.OperatorStats;
+import org.apache.drill.exec.physical.base.PhysicalOperator;
+import org.apache.drill.exec.record.BatchSchema;
+import org.apache.drill.exec.record.CloseableRecordBatch;
+import org.apache.drill.exec.record.RecordBatchLoader;
+import org.apache.drill.exec.record.TypedFieldId;
+import org.apache.drill.exec.record.VectorContainer;
+import org.apache.drill.exec.record.VectorWrapper;
+import org.apache.drill.exec.record.WritableBatch;
+import org.apache.drill.exec.record.selection.SelectionVector2;
+import org.apache.drill.exec.record.selection.SelectionVector4;
+
+/**
+ * One consumer of a {@link SharedSpoolBuffer}: the batches it returns are loaded from the buffer, the
+ * same way a receiver loads the batches it gets from the network.
+ */
+public class SharedSpoolBatch implements CloseableRecordBatch {
+  private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(SharedSpoolBatch.class);
+
+  private final FragmentContext context;
+  private final OperatorContext oContext;
+  private final OperatorStats stats;
+  private final SharedSpoolBuffer buffer;
+  private final int consumer;
+  private final RecordBatchLoader batchLoader;
+  private BatchSchema schema;
+
+  public SharedSpoolBatch(FragmentContext context, PhysicalOperator config, SharedSpoolBuffer buffer, int consumer)
+      throws OutOfMemoryException {
+    this.context = context;
+    this.oContext = context.newOperatorContext(config);
+    this.stats = oContext.getStats();
+    this.buffer = buffer;
+    this.consumer = consumer;
+    this.batchLoader = new RecordBatchLoader(oContext.getAllocator());
+  }
+
+  @Override
+  public FragmentContext getContext() {
+    return context;
+  }
+
+  @Override
+  public BatchSchema getSchema() {
+    return schema;
+  }
+
+  @Override
+  public int getRecordCount() {
+    return batchLoader.getRecordCount();
+  }
+
+  @Override
+  public void kill(boolean sendUpstream) {
+    buffer.kill(consumer, sendUpstream);
+  }
+
+  @Override
+  public Iterator<VectorWrapper<?>> iterator() {
+    return batchLoader.iterator();
+  }
+
+  @Override
+  public SelectionVector2 getSelectionVector2() {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public SelectionVector4 getSelectionVector4() {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public TypedFieldId getValueVectorId(SchemaPath path) {
+    return batchLoader.getValueVectorId(path);
+  }
+
+  @Override
+  public VectorWrapper<?> getValueAccessorById(Class<?> clazz, int... ids) {
+    return batchLoader.getValueAccessorById(clazz, ids);
+  }
+
+  @Override
+  public IterOutcome next() {
+    batchLoader.resetRecordCount();
+    stats.startProcessing();
+    try {
+      final IterOutcome outcome;
+      try {
+        // the producer runs in this call when this consumer is the first to need its next batch
+        stats.startWait();
+        outcome = buffer.next(consumer, batchLoader);
+      } finally {
+        stats.stopWait();
+      }
+      switch (outcome) {
+      case OK_NEW_SCHEMA:
+        schema = batchLoader.getSchema();
+        stats.batchReceived(0, batchLoader.getRecordCount(), true);
+        break;
+      case OK:
+        stats.batchReceived(0, batchLoader.getRecordCount(), false);
+        break;
+      case NONE:
+      case STOP:
+        batchLoader.clear();
+        break;
+      default:
+        break;
+      }
+      return outcome;
+    } catch (SchemaChangeException | IOException ex) {
+      context.fail(ex);
+      return IterOutcome.STOP;
+    } finally {
+      stats.stopProcessing();
+    }
+  }
+
+  @Override
+  public WritableBatch getWritableBatch() {
+    return batchLoader.getWritableBatch();
+  }
+
+  @Override
+  public void close() {
+    batchLoader.clear();
+  }
+
+  @Override
+  public VectorContainer getOutgoingContainer() {
+    throw new UnsupportedOperationException(String.format(" You should not call getOutgoingContainer() for class %s", this.getClass().getCanonicalName()));
+  }
+}
@@ -0,0 +1,249 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.physical.impl.spool;
+
+import io.netty.buffer.DrillBuf;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.apache.drill.exec.ExecConstants;
+import org.apache.drill.exec.exception.SchemaChangeException;
+import org.apache.drill.exec.memory.BufferAllocator;
+import org.apache.drill.exec.ops.FragmentContext;
+import org.apache.drill.exec.proto.UserBitShared.RecordBatchDef;
+import org.apache.drill.exec.record.RecordBatch;
+import org.apache.drill.exec.record.RecordBatch.IterOutcome;
+import org.apache.drill.exec.record.RecordBatchLoader;
+import org.apache.drill.exec.record.SpillFile;
+import org.apache.drill.exec.record.WritableBatch;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
+
+/**
+ * Batches of one producer, shared by several consumers in the same fragment. Consumers read the
+ * batches in order, each at its own pace: whichever consumer first asks for a batch that has not been
+ * produced yet pulls it from the producer, and the batch is kept until every consumer has read it.
+ * <p>
+ * Consumers load the kept batches with their own {@link RecordBatchLoader}s from one shared, read-only
+ * buffer per batch, like receivers load the batches they get from the network. When the kept batches
+ * exceed {@link ExecConstants#SHARED_SPOOL_MEMORY_LIMIT} bytes, further batches are written to a
+ * {@link SpillFile} and read back by each consumer that reaches them.
+ * <p>
+ * Everything runs in the fragment's thread, so no synchronization is needed.
+ */
+public class SharedSpoolBuffer implements AutoCloseable {
+  static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(SharedSpoolBuffer.class);
+
+  private static class Entry {
+    final IterOutcome outcome;
+    final RecordBatchDef def;
+    final int length;
+    DrillBuf body;
+    long spillOffset = -1;
+    int unread;
+
+    Entry(IterOutcome outcome, RecordBatchDef def, DrillBuf body, int length, int unread) {
+      this.outcome = outcome;
+      this.def = def;
+      this.body = body;
+      this.length = length;
+      this.unread = unread;
+    }
+  }
+
+  private final FragmentContext context;
+  private final int spoolId;
+  private final BufferAllocator allocator;
+  private final long memoryLimit;
+  private final List<Entry> entries = Lists.newArrayList();
+  // index of the next entry each consumer reads
+  private final int[] positions;
+  private final boolean[] finished;
+  private RecordBatch producer;
+  private long memoryUsed;
+  private SpillFile spillFile; // created when the first batch is spilled
+
+  public SharedSpoolBuffer(FragmentContext context, int spoolId, int consumerCount) {
+    this.context = context;
+    this.spoolId = spoolId;
+    this.allocator = context.getAllocator();
+    this.memoryLimit = context.getOptions().getOption(ExecConstants.SHARED_SPOOL_MEMORY_LIMIT_VALIDATOR);
+    this.positions = new int[consumerCount];
+    this.finished = new boolean[consumerCount];
+  }
+
+  public void setProducer(RecordBatch producer) {
+    Preconditions.checkState(this.producer == null, "Shared spool %s already has a producer", spoolId);
+    this.producer = producer;
+  }
+
+  /**
+   * Loads the next batch of the producer for a consumer.
+   *
+   * @param consumer index of the consumer
+   * @param loader loader of the consumer, holding the batch when the outcome is OK or OK_NEW_SCHEMA
+   */
+  public IterOutcome next(int consumer, RecordBatchLoader loader) throws IOException, SchemaChangeException {
+    Preconditions.checkState(producer != null, "Shared spool %s has no producer", spoolId);
+    if (finished[consumer]) {
+      return IterOutcome.NONE;
+    }
+    if (positions[consumer] == entries.size()) {
+      final IterOutcome outcome = pull();
+      if (outcome == IterOutcome.NOT_YET) {
+        return outcome;
+      }
+    }
+
+    final Entry entry = entries.get(positions[consumer]++);
+    if (entry.def == null) {
+      // NONE, STOP or OUT_OF_MEMORY, which ends the stream for every consumer
+      finished[consumer] = true;
+      read(entry);
+      return entry.outcome;
+    }
+
+    DrillBuf body = entry.body;
+    if (body == null && entry.length > 0) {
+      body = spillFile.read(entry.spillOffset, entry.length);
+    }
+    final boolean schemaChanged;
+    try {
+      schemaChanged = loader.load(entry.def, body);
+    } finally {
+      if (body != null && body != entry.body) {
+        body.release();
+      }
+      read(entry);
+    }
+    return schemaChanged || entry.outcome == IterOutcome.OK_NEW_SCHEMA ? IterOutcome.OK_NEW_SCHEMA : IterOutcome.OK;
+  }
+
+  /**
+   * Stops a consumer from reading further batches. The producer is killed once no consumer is left.
+   */
+  public void kill(int consumer, boolean sendUpstream) {
+    if (finished[consumer]) {
+      return;
+    }
+    finished[consumer] = true;
+    for (int i = positions[consumer]; i < entries.size(); i++) {
+      read(entries.get(i));
+    }
+    positions[consumer] = entries.size();
+    for (boolean consumerFinished : finished) {
+      if (!consumerFinished) {
+        return;
+      }
+    }
+    producer.kill(sendUpstream);
+  }
+
+  private IterOutcome pull() throws IOException {
+    final IterOutcome outcome = producer.next();
+    final int unread = getActiveConsumerCount();
+    switch (outcome) {
+    case OK:
+    case OK_NEW_SCHEMA:
+      // the producer's vectors give their buffers up to the batch, so it must not be used afterwards
+      final WritableBatch batch = WritableBatch.getBatchNoHVWrap(producer.getRecordCount(), producer, false);
+      DrillBuf body = null;
+      int length = 0;
+      try {
+        for (DrillBuf buf : batch.getBuffers()) {
+          length += buf.capacity();
+        }
+        if (length > 0) {
+          body = allocator.buffer(length);
+          int offset = 0;
+          for (DrillBuf buf : batch.getBuffers()) {
+            body.setBytes(offset, buf);
+            offset += buf.capacity();
+          }
+          body.writerIndex(length);
+        }
+      } finally {
+        batch.clear();
+      }
+      final Entry entry = new Entry(outcome, batch.getDef(), body, length, unread);
+      if (body != null && memoryUsed + length > memoryLimit) {
+        spill(entry);
+      } else {
+        memoryUsed += length;
+      }
+      entries.add(entry);
+      break;
+    case NOT_YET:
+      break;
+    default:
+      entries.add(new Entry(outcome, null, null, 0, unread));
+    }
+    return outcome;
+  }
+
+  private int getActiveConsumerCount() {
+    int count = 0;
+    for (boolean consumerFinished : finished) {
+      if (!consumerFinished) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Marks an entry as read by one more consumer, releasing its batch once every consumer has read it.
+   */
+  private void read(Entry entry) {
+    if (--entry.unread == 0 && entry.body != null) {
+      entry.body.release();
+      entry.body = null;
+      memoryUsed -= entry.length;
+    }
+  }
+
+  private void spill(Entry entry) throws IOException {
+    if (spillFile == null) {
+      spillFile = new SpillFile(context, allocator, "spool" + spoolId);
+    }
+    try {
+      entry.spillOffset = spillFile.write(entry.body, entry.length);
+    } finally {
+      entry.body.release();
+      entry.body = null;
+    }
+  }
+
+  @Override
+  public void close() throws Exception {
+    for (Entry entry : entries) {
+      if (entry.body != null) {
+        entry.body.release();
+        entry.body = null;
+      }
+    }
+    entries.clear();
+    memoryUsed = 0;
+    if (spillFile != null) {
+      spillFile.close();
+      spillFile = null;
+    }
+  }
+}
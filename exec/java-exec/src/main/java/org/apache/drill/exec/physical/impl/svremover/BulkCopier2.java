@@ -0,0 +1,95 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.physical.impl.svremover;
+
+import java.util.Iterator;
+import java.util.List;
+
+import org.apache.drill.common.types.TypeProtos.MajorType;
+import org.apache.drill.common.types.Types;
+import org.apache.drill.exec.exception.SchemaChangeException;
+import org.apache.drill.exec.ops.FragmentContext;
+import org.apache.drill.exec.record.RecordBatch;
+import org.apache.drill.exec.record.VectorAccessible;
+import org.apache.drill.exec.record.VectorWrapper;
+import org.apache.drill.exec.record.selection.SelectionVector2;
+import org.apache.drill.exec.vector.AllocationHelper;
+import org.apache.drill.exec.vector.BulkCopyableVector;
+import org.apache.drill.exec.vector.ValueVector;
+
+import com.google.common.collect.Lists;
+
+/**
+ * Copier for batches with a two-byte selection vector that copies one column at a time with
+ * {@link BulkCopyableVector#copySelectionSafe}, rather than one row at a time through generated
+ * code. Usable when every column of the incoming batch is a {@link BulkCopyableVector}.
+ */
+public class BulkCopier2 implements Copier {
+  static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(BulkCopier2.class);
+
+  private SelectionVector2 sv2;
+  private RecordBatch outgoing;
+  private final List<BulkCopyableVector> from = Lists.newArrayList();
+  private final List<BulkCopyableVector> to = Lists.newArrayList();
+
+  /**
+   * @return true if every column of the given batch supports bulk copies
+   */
+  public static boolean canCopy(VectorAccessible incoming) {
+    for (VectorWrapper<?> w : incoming) {
+      if (!(w.getValueVector() instanceof BulkCopyableVector)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public void setupRemover(FragmentContext context, RecordBatch incoming, RecordBatch outgoing) throws SchemaChangeException {
+    this.sv2 = incoming.getSelectionVector2();
+    this.outgoing = outgoing;
+    from.clear();
+    to.clear();
+    final Iterator<VectorWrapper<?>> outgoingWrappers = outgoing.iterator();
+    for (VectorWrapper<?> in : incoming) {
+      final ValueVector out = outgoingWrappers.next().getValueVector();
+      if (!(in.getValueVector() instanceof BulkCopyableVector) || in.getValueVector().getClass() != out.getClass()) {
+        throw new SchemaChangeException(String.format("Column %s cannot be bulk copied", in.getField().getPath()));
+      }
+      from.add((BulkCopyableVector) in.getValueVector());
+      to.add((BulkCopyableVector) out);
+    }
+  }
+
+  @Override
+  public int copyRecords(int index, int recordCount) {
+    for (VectorWrapper<?> out : outgoing) {
+      MajorType type = out.getField().getType();
+      if (!Types.isFixedWidthType(type) || Types.isRepeated(type)) {
+        out.getValueVector().allocateNew();
+      } else {
+        AllocationHelper.allocate(out.getValueVector(), recordCount, 1);
+      }
+    }
+
+    for (int i = 0; i < from.size(); i++) {
+      to.get(i).copySelectionSafe(sv2.getBuffer(false), index, recordCount, 0, from.get(i));
+    }
+    return recordCount;
+  }
+}
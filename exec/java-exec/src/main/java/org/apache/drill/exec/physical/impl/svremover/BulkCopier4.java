@@ -0,0 +1,118 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.physical.impl.svremover;
+
+import java.util.Iterator;
+import java.util.List;
+
+import org.apache.drill.common.types.TypeProtos.MajorType;
+import org.apache.drill.common.types.Types;
+import org.apache.drill.exec.exception.SchemaChangeException;
+import org.apache.drill.exec.ops.FragmentContext;
+import org.apache.drill.exec.record.RecordBatch;
+import org.apache.drill.exec.record.VectorAccessible;
+import org.apache.drill.exec.record.VectorWrapper;
+import org.apache.drill.exec.record.selection.SelectionVector4;
+import org.apache.drill.exec.vector.AllocationHelper;
+import org.apache.drill.exec.vector.BulkCopyableVector;
+import org.apache.drill.exec.vector.ValueVector;
+
+import com.google.common.collect.Lists;
+
+/**
+ * Copier for batches with a four-byte selection vector. Consecutive entries of the selection
+ * vector that refer to adjacent records of the same batch are copied as one range with
+ * {@link BulkCopyableVector#copyRangeSafe}, so sorted or merged runs move a block at a time.
+ * Usable when every column of the incoming batch is a {@link BulkCopyableVector}.
+ */
+public class BulkCopier4 implements Copier {
+  static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(BulkCopier4.class);
+
+  private SelectionVector4 sv4;
+  private RecordBatch outgoing;
+  private final List<ValueVector[]> from = Lists.newArrayList();
+  private final List<BulkCopyableVector> to = Lists.newArrayList();
+
+  /**
+   * @return true if every column of the given (hyper) batch supports bulk copies
+   */
+  public static boolean canCopy(VectorAccessible incoming) {
+    for (VectorWrapper<?> w : incoming) {
+      for (ValueVector v : w.getValueVectors()) {
+        if (!(v instanceof BulkCopyableVector)) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public void setupRemover(FragmentContext context, RecordBatch incoming, RecordBatch outgoing) throws SchemaChangeException {
+    this.sv4 = incoming.getSelectionVector4();
+    this.outgoing = outgoing;
+    from.clear();
+    to.clear();
+    final Iterator<VectorWrapper<?>> outgoingWrappers = outgoing.iterator();
+    for (VectorWrapper<?> in : incoming) {
+      final ValueVector out = outgoingWrappers.next().getValueVector();
+      if (!(out instanceof BulkCopyableVector)) {
+        throw new SchemaChangeException(String.format("Column %s cannot be bulk copied", in.getField().getPath()));
+      }
+      for (ValueVector v : in.getValueVectors()) {
+        if (!(v instanceof BulkCopyableVector) || v.getClass() != out.getClass()) {
+          throw new SchemaChangeException(String.format("Column %s cannot be bulk copied", in.getField().getPath()));
+        }
+      }
+      from.add(in.getValueVectors());
+      to.add((BulkCopyableVector) out);
+    }
+  }
+
+  @Override
+  public int copyRecords(int index, int recordCount) {
+    for (VectorWrapper<?> out : outgoing) {
+      MajorType type = out.getField().getType();
+      if (!Types.isFixedWidthType(type) || Types.isRepeated(type)) {
+        out.getValueVector().allocateNew();
+      } else {
+        AllocationHelper.allocate(out.getValueVector(), recordCount, 1);
+      }
+    }
+
+    final int end = index + recordCount;
+    int outgoingPosition = 0;
+    int svIndex = index;
+    while (svIndex < end) {
+      final int compound = sv4.get(svIndex);
+      final int batchIndex = compound >>> 16;
+      final int recordIndex = compound & 65535;
+      int runLength = 1;
+      while (svIndex + runLength < end && recordIndex + runLength <= 65535
+          && sv4.get(svIndex + runLength) == compound + runLength) {
+        runLength++;
+      }
+      for (int i = 0; i < to.size(); i++) {
+        to.get(i).copyRangeSafe(recordIndex, outgoingPosition, runLength, from.get(i)[batchIndex]);
+      }
+      outgoingPosition += runLength;
+      svIndex += runLength;
+    }
+    return outgoingPosition;
+  }
+}
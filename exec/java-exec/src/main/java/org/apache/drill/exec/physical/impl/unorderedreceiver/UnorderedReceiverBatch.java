@@ -38,7 +38,6 @@ import org.apache.drill.exec.proto.UserBitShared.RecordBatchDef;
 import org.apache.drill.exec.record.BatchSchema;
 import org.apache.drill.exec.record.CloseableRecordBatch;
 import org.apache.drill.exec.record.RawFragmentBatch;
-import org.apache.drill.exec.record.RawFragmentBatchProvider;
 import org.apache.drill.exec.record.RecordBatchLoader;
 import org.apache.drill.exec.record.TypedFieldId;
 import org.apache.drill.exec.record.VectorContainer;
@@ -50,23 +49,27 @@ import org.apache.drill.exec.rpc.RpcException;
 import org.apache.drill.exec.rpc.RpcOutcomeListener;
 import org.apache.drill.exec.testing.ControlsInjector;
 import org.apache.drill.exec.testing.ControlsInjectorFactory;
+import org.apache.drill.exec.work.batch.RawBatchBuffer;
 
 public class UnorderedReceiverBatch implements CloseableRecordBatch {
   private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(UnorderedReceiverBatch.class);
   private static final ControlsInjector injector = ControlsInjectorFactory.getInjector(UnorderedReceiverBatch.class);
 
   private final RecordBatchLoader batchLoader;
-  private final RawFragmentBatchProvider fragProvider;
+  private final RawBatchBuffer fragProvider;
   private final FragmentContext context;
   private BatchSchema schema;
   private final OperatorStats stats;
   private boolean first = true;
   private final UnorderedReceiver config;
   private final OperatorContext oContext;
+  // whether next() returns NOT_YET instead of waiting for data, see setYieldWhenEmpty()
+  private boolean yieldWhenEmpty;
 
   public enum Metric implements MetricDef {
     BYTES_RECEIVED,
-    NUM_SENDERS;
+    NUM_SENDERS,
+    NUM_YIELDS;
 
     @Override
     public int metricId() {
@@ -74,7 +77,7 @@ public class UnorderedReceiverBatch implements CloseableRecordBatch {
     }
   }
 
-  public UnorderedReceiverBatch(final FragmentContext context, final RawFragmentBatchProvider fragProvider, final UnorderedReceiver config) throws OutOfMemoryException {
+  public UnorderedReceiverBatch(final FragmentContext context, final RawBatchBuffer fragProvider, final UnorderedReceiver config) throws OutOfMemoryException {
     this.fragProvider = fragProvider;
     this.context = context;
     // In normal case, batchLoader does not require an allocator. However, in case of splitAndTransfer of a value vector,
@@ -87,6 +90,15 @@ public class UnorderedReceiverBatch implements CloseableRecordBatch {
     this.config = config;
   }
 
+  /**
+   * Lets {@link #next()} return NOT_YET rather than wait while no batch is queued, once the schema was returned and if
+   * the fragment runs with cooperative scheduling, so that the fragment gives up its thread until data arrives. Only
+   * set for a receiver whose consumers up to the root return NOT_YET as they get it.
+   */
+  public void setYieldWhenEmpty(final boolean yieldWhenEmpty) {
+    this.yieldWhenEmpty = yieldWhenEmpty;
+  }
+
   @Override
   public FragmentContext getContext() {
     return context;
@@ -156,11 +168,17 @@ public class UnorderedReceiverBatch implements CloseableRecordBatch {
       RawFragmentBatch batch;
       try {
         stats.startWait();
+        if (shouldYield()) {
+          return yieldUntilReady();
+        }
         batch = getNextBatch();
 
         // skip over empty batches. we do this since these are basically control messages.
         while (batch != null && batch.getHeader().getDef().getRecordCount() == 0
             && (!first || batch.getHeader().getDef().getFieldCount() == 0)) {
+          if (shouldYield()) {
+            return yieldUntilReady();
+          }
           batch = getNextBatch();
         }
       } finally {
@@ -207,6 +225,16 @@ public class UnorderedReceiverBatch implements CloseableRecordBatch {
     }
   }
 
+  private boolean shouldYield() {
+    return yieldWhenEmpty && !first && context.isYieldEnabled() && !fragProvider.isReady();
+  }
+
+  private IterOutcome yieldUntilReady() {
+    stats.addLongStat(Metric.NUM_YIELDS, 1);
+    context.setWaitingForInput();
+    return IterOutcome.NOT_YET;
+  }
+
   @Override
   public WritableBatch getWritableBatch() {
     return batchLoader.getWritableBatch();
@@ -224,6 +224,7 @@ public abstract class FrameSupportTemplate implements WindowFramer {
         break;
       }
 
+      evict(batch);
       row = 0;
     }
 
@@ -256,6 +257,8 @@ public abstract class FrameSupportTemplate implements WindowFramer {
 
     // a single frame can include rows from multiple batches
     // start processing first batch and, if necessary, move to next batches
+    // once a row is not part of the frame, the rows of the following batches are not either
+    outer:
     for (WindowDataBatch batch : batches) {
       setupEvaluatePeer(batch, container);
       final int recordCount = batch.getRecordCount();
@@ -264,11 +267,11 @@ public abstract class FrameSupportTemplate implements WindowFramer {
       for (int row = (batch == current) ? start : 0; row < recordCount; row++, length++) {
         if (unboundedFollowing) {
           if (length >= remainingRows) {
-            break;
+            break outer;
           }
         } else {
           if (!isPeer(start, current, row, batch)) {
-            break;
+            break outer;
           }
         }
 
@@ -276,6 +279,8 @@ public abstract class FrameSupportTemplate implements WindowFramer {
         last = batch;
         frameLastRow = row;
       }
+
+      evict(batch);
     }
 
     setupReadLastValue(last, container);
@@ -283,6 +288,15 @@ public abstract class FrameSupportTemplate implements WindowFramer {
     return length;
   }
 
+  /**
+   * releases the memory of a batch that was read back from the spill file, once the framer is done with it
+   */
+  private void evict(final WindowDataBatch batch) {
+    if (batch != current) {
+      batch.evict();
+    }
+  }
+
   @Override
   public int getOutputCount() {
     return outputCount;
@@ -228,6 +228,7 @@ public abstract class NoFrameSupportTemplate implements WindowFramer {
         break;
       }
 
+      evict(batch);
       row = 0;
     }
 
@@ -252,20 +253,33 @@ public abstract class NoFrameSupportTemplate implements WindowFramer {
 
     // a single frame can include rows from multiple batches
     // start processing first batch and, if necessary, move to next batches
+    // once a row is not a peer, the rows of the following batches are not either
+    outer:
     for (WindowDataBatch batch : batches) {
       final int recordCount = batch.getRecordCount();
 
       // for every remaining row in the partition, count it if it's a peer row
       for (int row = (batch == current) ? start : 0; row < recordCount; row++, length++) {
         if (!isPeer(start, current, row, batch)) {
-          break;
+          break outer;
         }
       }
+
+      evict(batch);
     }
 
     return length;
   }
 
+  /**
+   * releases the memory of a batch that was read back from the spill file, once the framer is done with it
+   */
+  private void evict(final WindowDataBatch batch) {
+    if (batch != current) {
+      batch.evict();
+    }
+  }
+
   @Override
   public int getOutputCount() {
     return outputCount;
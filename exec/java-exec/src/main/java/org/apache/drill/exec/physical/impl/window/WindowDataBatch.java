@@ -18,9 +18,11 @@
 package org.apache.drill.exec.physical.impl.window;
 
 import com.google.common.collect.Lists;
+import org.apache.drill.common.exceptions.UserException;
 import org.apache.drill.common.expression.SchemaPath;
 import org.apache.drill.exec.ops.OperatorContext;
 import org.apache.drill.exec.record.BatchSchema;
+import org.apache.drill.exec.record.SpillFile;
 import org.apache.drill.exec.record.TransferPair;
 import org.apache.drill.exec.record.TypedFieldId;
 import org.apache.drill.exec.record.VectorAccessible;
@@ -30,14 +32,25 @@ import org.apache.drill.exec.record.selection.SelectionVector2;
 import org.apache.drill.exec.record.selection.SelectionVector4;
 import org.apache.drill.exec.vector.ValueVector;
 
+import java.io.IOException;
 import java.util.Iterator;
 import java.util.List;
 
+/**
+ * A batch held by the window operator. When the partition being processed does not fit in memory, the batch can be
+ * {@link #spill(SpillFile) spilled}: its vectors are emptied and filled again from the spill file the next time
+ * they are accessed, so references to them remain valid. A batch read back can be {@link #evict() evicted} again
+ * once it has been used, without being written twice.
+ */
 public class WindowDataBatch implements VectorAccessible {
+  static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(WindowDataBatch.class);
 
   private final OperatorContext oContext;
   private final VectorContainer container;
   private final int recordCount;
+  private SpillFile spillFile;
+  private long spillOffset = -1;
+  private boolean loaded = true;
 
   public WindowDataBatch(final VectorAccessible batch, final OperatorContext oContext) {
     this.oContext = oContext;
@@ -65,6 +78,7 @@ public class WindowDataBatch implements VectorAccessible {
   }
 
   public VectorContainer getContainer() {
+    load();
     return container;
   }
 
@@ -75,6 +89,7 @@ public class WindowDataBatch implements VectorAccessible {
 
   @Override
   public VectorWrapper<?> getValueAccessorById(Class<?> clazz, int... fieldIds) {
+    load();
     return container.getValueAccessorById(clazz, fieldIds);
   }
 
@@ -90,6 +105,7 @@ public class WindowDataBatch implements VectorAccessible {
 
   @Override
   public Iterator<VectorWrapper<?>> iterator() {
+    load();
     return container.iterator();
   }
 
@@ -103,7 +119,49 @@ public class WindowDataBatch implements VectorAccessible {
     throw new UnsupportedOperationException();
   }
 
+  /**
+   * Writes the batch to the spill file, unless it was already, and releases its vectors' memory.
+   */
+  public void spill(SpillFile file) throws IOException {
+    if (!loaded) {
+      return;
+    }
+    if (spillOffset < 0) {
+      spillOffset = file.write(container);
+      spillFile = file;
+    } else {
+      container.zeroVectors();
+    }
+    loaded = false;
+  }
+
+  /**
+   * Releases the memory of a batch that was spilled and read back since. Batches that were never spilled stay in
+   * memory.
+   */
+  public void evict() {
+    if (loaded && spillOffset >= 0) {
+      container.zeroVectors();
+      loaded = false;
+    }
+  }
+
+  private void load() {
+    if (loaded) {
+      return;
+    }
+    try {
+      spillFile.read(spillOffset, container);
+    } catch (IOException e) {
+      throw UserException.dataReadError(e)
+          .message("Failed to read a spilled window batch")
+          .build(logger);
+    }
+    loaded = true;
+  }
+
   public void clear() {
     container.clear();
+    loaded = true;
   }
 }
@@ -28,6 +28,7 @@ import org.apache.drill.common.expression.FunctionCall;
 import org.apache.drill.common.expression.LogicalExpression;
 import org.apache.drill.common.logical.data.NamedExpression;
 import org.apache.drill.common.logical.data.Order;
+import org.apache.drill.exec.ExecConstants;
 import org.apache.drill.exec.compile.TemplateClassDefinition;
 import org.apache.drill.exec.compile.sig.GeneratorMapping;
 import org.apache.drill.exec.compile.sig.MappingSet;
@@ -43,6 +44,7 @@ import org.apache.drill.exec.physical.config.WindowPOP;
 import org.apache.drill.exec.record.AbstractRecordBatch;
 import org.apache.drill.exec.record.BatchSchema;
 import org.apache.drill.exec.record.RecordBatch;
+import org.apache.drill.exec.record.SpillFile;
 import org.apache.drill.exec.record.TransferPair;
 import org.apache.drill.exec.record.VectorAccessible;
 import org.apache.drill.exec.record.VectorWrapper;
@@ -70,10 +72,14 @@ public class WindowFrameRecordBatch extends AbstractRecordBatch<WindowPOP> {
 
   private boolean shouldStop; // true if we received an early termination request
 
+  private final long memoryLimit;
+  private SpillFile spillFile; // created when the first batch is spilled
+
   public WindowFrameRecordBatch(WindowPOP popConfig, FragmentContext context, RecordBatch incoming) throws OutOfMemoryException {
     super(popConfig, context);
     this.incoming = incoming;
     batches = Lists.newArrayList();
+    memoryLimit = context.getOptions().getOption(ExecConstants.WINDOW_MEMORY_LIMIT_VALIDATOR);
   }
 
   /**
@@ -128,6 +134,7 @@ public class WindowFrameRecordBatch extends AbstractRecordBatch<WindowPOP> {
         case OK:
           if (incoming.getRecordCount() > 0) {
             batches.add(new WindowDataBatch(incoming, oContext));
+            spillBatches();
           }
           break;
         default:
@@ -144,6 +151,7 @@ public class WindowFrameRecordBatch extends AbstractRecordBatch<WindowPOP> {
     // process first saved batch, then release it
     try {
       doWork();
+      spillBatches();
     } catch (DrillException e) {
       context.fail(e);
       cleanup();
@@ -192,6 +200,26 @@ public class WindowFrameRecordBatch extends AbstractRecordBatch<WindowPOP> {
     logger.trace("doWork() END");
   }
 
+  /**
+   * Spills held batches, from the most recent one backwards, while the operator uses more memory than
+   * {@link ExecConstants#WINDOW_MEMORY_LIMIT} allows. The current batch and the last one, which the framers and
+   * {@link #canDoWork()} look at first, are never spilled; the others are read back when the framers reach them.
+   */
+  private void spillBatches() {
+    for (int i = batches.size() - 2; i > 0 && oContext.getAllocator().getAllocatedMemory() > memoryLimit; i--) {
+      try {
+        if (spillFile == null) {
+          spillFile = new SpillFile(context, oContext.getAllocator(), "window" + popConfig.getOperatorId());
+        }
+        batches.get(i).spill(spillFile);
+      } catch (IOException e) {
+        throw UserException.dataWriteError(e)
+            .message("Failed to spill window batches")
+            .build(logger);
+      }
+    }
+  }
+
   /**
    * @return true when all window functions are ready to process the current batch (it's the first batch currently
    * held in memory)
@@ -398,6 +426,15 @@ public class WindowFrameRecordBatch extends AbstractRecordBatch<WindowPOP> {
       }
       batches = null;
     }
+
+    if (spillFile != null) {
+      try {
+        spillFile.close();
+      } catch (IOException e) {
+        logger.warn("Failed to delete window spill file", e);
+      }
+      spillFile = null;
+    }
   }
 
   @Override
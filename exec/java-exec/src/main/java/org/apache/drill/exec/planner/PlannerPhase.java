@@ -38,10 +38,12 @@ import org.apache.calcite.rel.rules.UnionToDistinctRule;
 import org.apache.calcite.tools.RuleSet;
 import org.apache.calcite.tools.RuleSets;
 import org.apache.drill.exec.ops.OptimizerRulesContext;
+import org.apache.drill.exec.planner.logical.DrillAggregateJoinTransposeRule;
 import org.apache.drill.exec.planner.logical.DrillAggregateRule;
 import org.apache.drill.exec.planner.logical.DrillFilterAggregateTransposeRule;
 import org.apache.drill.exec.planner.logical.DrillFilterJoinRules;
 import org.apache.drill.exec.planner.logical.DrillFilterRule;
+import org.apache.drill.exec.planner.logical.DrillJoinEnumerationRule;
 import org.apache.drill.exec.planner.logical.DrillJoinRel;
 import org.apache.drill.exec.planner.logical.DrillJoinRule;
 import org.apache.drill.exec.planner.logical.DrillLimitRule;
@@ -129,7 +131,11 @@ public enum PlannerPhase {
       return PlannerPhase.mergedRuleSets(
           RuleSets.ofList(
               DRILL_JOIN_TO_MULTIJOIN_RULE,
+              // orders inner multi-joins by cost; LOPT handles the ones it does not match
+              DrillJoinEnumerationRule.INSTANCE,
               DRILL_LOPT_OPTIMIZE_JOIN_RULE,
+              DrillAggregateJoinTransposeRule.INSTANCE,
+              DrillAggregateJoinTransposeRule.PROJECT_INSTANCE,
               ProjectRemoveRule.INSTANCE),
           getStorageRules(context, plugins, this)
           );
@@ -0,0 +1,201 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.planner;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.calcite.plan.RelOptListener;
+import org.apache.calcite.plan.RelOptPlanner;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+/**
+ * Where the planning time of a query goes: the wall time of each planning phase with the number of rule
+ * calls the planner made in it (for the Volcano planner, its number of iterations), the number of calls
+ * and time of the rules, and the time spent reading Parquet metadata cache files. It is stored as JSON
+ * in the query profile and shown in the Web UI.
+ * <p>
+ * The planner runs in the Foreman thread, while the profile may be read by another thread for a running
+ * query, so access is synchronized.
+ */
+public class PlanningProfile {
+
+  /**
+   * Number of rules, those that took the longest, kept in the query profile.
+   */
+  public static final int TOP_RULE_COUNT = 20;
+
+  private final List<Phase> phases = Lists.newArrayList();
+  private final Map<String, Rule> rules = Maps.newHashMap();
+  private final Set<RelOptPlanner> planners = Sets.newIdentityHashSet();
+  private final RuleListener listener = new RuleListener();
+  private long ruleCallCount;
+  private long metadataCacheReadNanos;
+
+  /**
+   * Times the rule calls of a planner, unless they are already.
+   */
+  public synchronized void listenTo(RelOptPlanner planner) {
+    if (planners.add(planner)) {
+      planner.addListener(listener);
+    }
+  }
+
+  /**
+   * @return the number of rule calls made so far, to compute the calls of a phase
+   */
+  public synchronized long getRuleCallCount() {
+    return ruleCallCount;
+  }
+
+  public synchronized void addPhase(String name, long millis, long ruleCalls) {
+    phases.add(new Phase(name, millis, ruleCalls));
+  }
+
+  public synchronized void addMetadataCacheReadNanos(long nanos) {
+    metadataCacheReadNanos += nanos;
+  }
+
+  private synchronized void ruleCalled(String name, long nanos) {
+    Rule rule = rules.get(name);
+    if (rule == null) {
+      rule = new Rule(name);
+      rules.put(name, rule);
+    }
+    rule.calls++;
+    rule.nanos += nanos;
+    ruleCallCount++;
+  }
+
+  /**
+   * @return the profile as JSON, with the {@link #TOP_RULE_COUNT} rules that took the longest
+   */
+  public synchronized String toJson(ObjectMapper mapper) throws JsonProcessingException {
+    final List<Rule> topRules = Lists.newArrayList(rules.values());
+    Collections.sort(topRules, new Comparator<Rule>() {
+      @Override
+      public int compare(Rule r1, Rule r2) {
+        return Long.compare(r2.nanos, r1.nanos);
+      }
+    });
+    final List<RuleSummary> summaries = Lists.newArrayList();
+    for (Rule rule : topRules.subList(0, Math.min(TOP_RULE_COUNT, topRules.size()))) {
+      summaries.add(new RuleSummary(rule.name, rule.calls, TimeUnit.NANOSECONDS.toMillis(rule.nanos)));
+    }
+    return mapper.writeValueAsString(new Summary(Lists.newArrayList(phases), summaries,
+        TimeUnit.NANOSECONDS.toMillis(metadataCacheReadNanos)));
+  }
+
+  private static class Rule {
+    final String name;
+    long calls;
+    long nanos;
+
+    Rule(String name) {
+      this.name = name;
+    }
+  }
+
+  /**
+   * Times the calls of rules. Planners call rules one at a time, so the calls never nest.
+   */
+  private class RuleListener implements RelOptListener {
+    private long start;
+
+    @Override
+    public void ruleAttempted(RuleAttemptedEvent event) {
+      if (event.isBefore()) {
+        start = System.nanoTime();
+      } else {
+        ruleCalled(event.getRuleCall().getRule().toString(), System.nanoTime() - start);
+      }
+    }
+
+    @Override
+    public void relEquivalenceFound(RelEquivalenceEvent event) {
+    }
+
+    @Override
+    public void ruleProductionSucceeded(RuleProductionEvent event) {
+    }
+
+    @Override
+    public void relDiscarded(RelDiscardedEvent event) {
+    }
+
+    @Override
+    public void relChosen(RelChosenEvent event) {
+    }
+  }
+
+  /**
+   * Planning profile as stored in the query profile.
+   */
+  public static class Summary {
+    public final List<Phase> phases;
+    public final List<RuleSummary> rules;
+    public final long metadataCacheReadMillis;
+
+    @JsonCreator
+    public Summary(@JsonProperty("phases") List<Phase> phases, @JsonProperty("rules") List<RuleSummary> rules,
+        @JsonProperty("metadataCacheReadMillis") long metadataCacheReadMillis) {
+      this.phases = phases == null ? Collections.<Phase>emptyList() : phases;
+      this.rules = rules == null ? Collections.<RuleSummary>emptyList() : rules;
+      this.metadataCacheReadMillis = metadataCacheReadMillis;
+    }
+  }
+
+  public static class Phase {
+    public final String name;
+    public final long millis;
+    public final long ruleCalls;
+
+    @JsonCreator
+    public Phase(@JsonProperty("name") String name, @JsonProperty("millis") long millis,
+        @JsonProperty("ruleCalls") long ruleCalls) {
+      this.name = name;
+      this.millis = millis;
+      this.ruleCalls = ruleCalls;
+    }
+  }
+
+  public static class RuleSummary {
+    public final String name;
+    public final long calls;
+    public final long millis;
+
+    @JsonCreator
+    public RuleSummary(@JsonProperty("name") String name, @JsonProperty("calls") long calls,
+        @JsonProperty("millis") long millis) {
+      this.name = name;
+      this.calls = calls;
+      this.millis = millis;
+    }
+  }
+}
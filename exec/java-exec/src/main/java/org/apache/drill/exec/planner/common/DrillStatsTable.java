@@ -0,0 +1,261 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.planner.common;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.UUID;
+
+import org.apache.calcite.plan.hep.HepRelVertex;
+import org.apache.calcite.plan.volcano.RelSubset;
+import org.apache.calcite.rel.RelNode;
+import org.apache.drill.exec.planner.logical.DrillTable;
+import org.apache.drill.exec.planner.physical.PlannerSettings;
+import org.apache.drill.exec.planner.physical.PrelUtil;
+import org.apache.drill.exec.planner.physical.ScanPrel;
+import org.apache.drill.exec.store.dfs.DrillFileSystem;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.Path;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.Maps;
+
+/**
+ * Statistics of a file system table, collected by ANALYZE TABLE and stored as JSON in the
+ * {@link #STATS_DIRECTORY} directory under the table's root directory.
+ * <p>
+ * ANALYZE TABLE writes a single record with the table's row count under {@link #ROW_COUNT} and,
+ * for each analyzed column, fields named after the column with the suffixes {@link #NON_NULL_COUNT},
+ * {@link #NDV}, {@link #MIN} and {@link #MAX}.
+ */
+public class DrillStatsTable {
+  static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(DrillStatsTable.class);
+
+  public static final String STATS_DIRECTORY = ".stats.drill";
+
+  public static final String ROW_COUNT = "rowcount";
+  public static final String NON_NULL_COUNT = "$nonnullcount";
+  public static final String NDV = "$ndv";
+  public static final String MIN = "$min";
+  public static final String MAX = "$max";
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  /**
+   * Statistics of one column. Counts that were not collected are null.
+   */
+  public static class ColumnStatistics {
+    private Double nonNullCount;
+    private Double ndv;
+    private Object min;
+    private Object max;
+
+    public Double getNonNullCount() {
+      return nonNullCount;
+    }
+
+    public Double getNdv() {
+      return ndv;
+    }
+
+    /**
+     * @return smallest value of the column, as read from JSON (a number, string or boolean), or null
+     */
+    public Object getMin() {
+      return min;
+    }
+
+    public Object getMax() {
+      return max;
+    }
+  }
+
+  private final double rowCount;
+  private final Map<String, ColumnStatistics> columns;
+
+  private DrillStatsTable(double rowCount, Map<String, ColumnStatistics> columns) {
+    this.rowCount = rowCount;
+    this.columns = columns;
+  }
+
+  /**
+   * @return number of rows of the table when it was analyzed
+   */
+  public double getRowCount() {
+    return rowCount;
+  }
+
+  /**
+   * @param column name of a top-level column, compared case-insensitively
+   * @return statistics of the column, or null if the column was not analyzed
+   */
+  public ColumnStatistics getColumn(String column) {
+    return columns.get(column.toLowerCase());
+  }
+
+  /**
+   * @return number of distinct non-null values of the column, or null if unknown
+   */
+  public Double getNdv(String column) {
+    final ColumnStatistics stats = getColumn(column);
+    return stats == null ? null : stats.getNdv();
+  }
+
+  /**
+   * @return fraction of the rows of the table in which the column is null, or null if unknown
+   */
+  public Double getNullFraction(String column) {
+    final ColumnStatistics stats = getColumn(column);
+    if (stats == null || stats.getNonNullCount() == null || rowCount <= 0) {
+      return null;
+    }
+    return Math.max(0, rowCount - stats.getNonNullCount()) / rowCount;
+  }
+
+  /**
+   * @return path of the directory that holds the statistics of the table rooted at the given directory
+   */
+  public static Path getStatsPath(String tableRoot) {
+    return new Path(tableRoot, STATS_DIRECTORY);
+  }
+
+  /**
+   * @return path of a new hidden directory in which ANALYZE TABLE writes the statistics of the table
+   *         rooted at the given directory, before they replace the current ones
+   */
+  public static Path getStagingPath(String tableRoot) {
+    return new Path(tableRoot, STATS_DIRECTORY + "_" + UUID.randomUUID());
+  }
+
+  /**
+   * Reads the statistics of the table rooted at the given directory.
+   *
+   * @return the statistics, or null if the table has not been analyzed
+   */
+  public static DrillStatsTable read(DrillFileSystem fs, String tableRoot) throws IOException {
+    final Path statsPath = getStatsPath(tableRoot);
+    if (!fs.exists(statsPath)) {
+      return null;
+    }
+    Map<String, Object> record = null;
+    for (FileStatus status : fs.listStatus(statsPath)) {
+      final String name = status.getPath().getName();
+      if (status.isDirectory() || name.startsWith(DrillFileSystem.DOT_FILE_PREFIX)
+          || name.startsWith(DrillFileSystem.HIDDEN_FILE_PREFIX)) {
+        continue;
+      }
+      try (InputStream is = fs.open(status.getPath())) {
+        final MappingIterator<Map<String, Object>> it =
+            MAPPER.readValues(MAPPER.getFactory().createParser(is), new TypeReference<Map<String, Object>>() {});
+        if (it.hasNext()) {
+          record = it.next();
+          break;
+        }
+      }
+    }
+    return record == null ? null : fromRecord(record);
+  }
+
+  /**
+   * Builds the statistics from the record written by ANALYZE TABLE.
+   */
+  public static DrillStatsTable fromRecord(Map<String, Object> record) {
+    final Number rowCount = (Number) record.get(ROW_COUNT);
+    final Map<String, ColumnStatistics> columns = Maps.newHashMap();
+    for (Map.Entry<String, Object> entry : record.entrySet()) {
+      final String key = entry.getKey();
+      final int suffix = key.lastIndexOf('$');
+      if (suffix <= 0 || entry.getValue() == null) {
+        continue;
+      }
+      final String column = key.substring(0, suffix).toLowerCase();
+      ColumnStatistics stats = columns.get(column);
+      if (stats == null) {
+        stats = new ColumnStatistics();
+        columns.put(column, stats);
+      }
+      final Object value = entry.getValue();
+      switch (key.substring(suffix)) {
+      case NON_NULL_COUNT:
+        stats.nonNullCount = ((Number) value).doubleValue();
+        break;
+      case NDV:
+        stats.ndv = ((Number) value).doubleValue();
+        break;
+      case MIN:
+        stats.min = value;
+        break;
+      case MAX:
+        stats.max = value;
+        break;
+      default:
+        logger.debug("Ignoring unknown statistic {}", key);
+      }
+    }
+    return new DrillStatsTable(rowCount == null ? 0 : rowCount.doubleValue(), columns);
+  }
+
+  /**
+   * Finds the statistics of the table read by the given scan, looking through planner
+   * subsets and vertices.
+   *
+   * @return the statistics, or null if the node is not a scan of an analyzed table or
+   *         if the use of statistics is disabled
+   */
+  public static DrillStatsTable getStatsTable(RelNode rel) {
+    final PlannerSettings settings = PrelUtil.getPlannerSettings(rel.getCluster());
+    if (settings == null || !settings.isStatisticsEnabled()) {
+      return null;
+    }
+    return findStatsTable(rel);
+  }
+
+  private static DrillStatsTable findStatsTable(RelNode rel) {
+    if (rel instanceof DrillScanRelBase || rel instanceof ScanPrel) {
+      final DrillTable table = getDrillTable(rel);
+      return table == null ? null : table.getStatsTable();
+    } else if (rel instanceof HepRelVertex) {
+      return findStatsTable(((HepRelVertex) rel).getCurrentRel());
+    } else if (rel instanceof RelSubset) {
+      for (RelNode member : ((RelSubset) rel).getRelList()) {
+        if (member instanceof DrillScanRelBase || member instanceof ScanPrel) {
+          final DrillStatsTable stats = findStatsTable(member);
+          if (stats != null) {
+            return stats;
+          }
+        }
+      }
+    }
+    return null;
+  }
+
+  /**
+   * @return the table read by the given logical or physical scan, or null if unknown
+   */
+  public static DrillTable getDrillTable(RelNode scan) {
+    if (scan instanceof DrillScanRelBase) {
+      return ((DrillScanRelBase) scan).getDrillTable();
+    } else if (scan instanceof ScanPrel) {
+      return ((ScanPrel) scan).getDrillTable();
+    }
+    return null;
+  }
+}
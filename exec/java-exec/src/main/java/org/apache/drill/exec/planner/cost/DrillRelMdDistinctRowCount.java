@@ -17,14 +17,19 @@
  ******************************************************************************/
 package org.apache.drill.exec.planner.cost;
 
+import java.util.List;
+
 import org.apache.calcite.rel.RelNode;
 import org.apache.calcite.rel.metadata.ReflectiveRelMetadataProvider;
 import org.apache.calcite.rel.metadata.RelMdDistinctRowCount;
 import org.apache.calcite.rel.metadata.RelMetadataProvider;
+import org.apache.calcite.rel.metadata.RelMetadataQuery;
 import org.apache.calcite.rex.RexNode;
 import org.apache.calcite.util.BuiltInMethod;
 import org.apache.calcite.util.ImmutableBitSet;
+import org.apache.drill.exec.planner.common.DrillStatsTable;
 import org.apache.drill.exec.planner.logical.DrillScanRel;
+import org.apache.drill.exec.planner.physical.ScanPrel;
 
 public class DrillRelMdDistinctRowCount extends RelMdDistinctRowCount{
   private static final DrillRelMdDistinctRowCount INSTANCE =
@@ -36,6 +41,12 @@ public class DrillRelMdDistinctRowCount extends RelMdDistinctRowCount{
 
   @Override
   public Double getDistinctRowCount(RelNode rel, ImmutableBitSet groupKey, RexNode predicate) {
+    if (rel instanceof DrillScanRel || rel instanceof ScanPrel) {
+      final Double distinctRowCount = getDistinctRowCountFromStatistics(rel, groupKey);
+      if (distinctRowCount != null) {
+        return distinctRowCount;
+      }
+    }
     if (rel instanceof DrillScanRel) {
       return getDistinctRowCount((DrillScanRel) rel, groupKey, predicate);
     } else {
@@ -48,4 +59,28 @@ public class DrillRelMdDistinctRowCount extends RelMdDistinctRowCount{
     return scan.getRows() * 0.1;
   }
 
+  /**
+   * Estimates the number of distinct values of the group key of a scan as the product of the
+   * number of distinct values of its columns, as collected by ANALYZE TABLE, bounded by the
+   * row count of the scan.
+   *
+   * @return the estimate, or null if a column of the key has no statistics
+   */
+  private Double getDistinctRowCountFromStatistics(RelNode scan, ImmutableBitSet groupKey) {
+    final DrillStatsTable stats = DrillStatsTable.getStatsTable(scan);
+    if (stats == null || groupKey.isEmpty()) {
+      return null;
+    }
+    final List<String> fieldNames = scan.getRowType().getFieldNames();
+    double distinctRowCount = 1.0;
+    for (int field : groupKey) {
+      final Double ndv = field < fieldNames.size() ? stats.getNdv(fieldNames.get(field)) : null;
+      if (ndv == null) {
+        return null;
+      }
+      distinctRowCount *= Math.max(ndv, 1.0);
+    }
+    return Math.min(distinctRowCount, RelMetadataQuery.getRowCount(scan));
+  }
+
 }
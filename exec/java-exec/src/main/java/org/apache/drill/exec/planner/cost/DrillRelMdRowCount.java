@@ -17,6 +17,9 @@
  ******************************************************************************/
 package org.apache.drill.exec.planner.cost;
 
+import java.io.IOException;
+
+import org.apache.calcite.rel.RelNode;
 import org.apache.calcite.rel.core.Aggregate;
 import org.apache.calcite.rel.core.Filter;
 import org.apache.calcite.rel.metadata.ReflectiveRelMetadataProvider;
@@ -24,8 +27,16 @@ import org.apache.calcite.rel.metadata.RelMdRowCount;
 import org.apache.calcite.rel.metadata.RelMetadataProvider;
 import org.apache.calcite.util.BuiltInMethod;
 import org.apache.calcite.util.ImmutableBitSet;
+import org.apache.drill.exec.physical.base.GroupScan;
+import org.apache.drill.exec.physical.base.ScanStats;
+import org.apache.drill.exec.planner.common.DrillStatsTable;
+import org.apache.drill.exec.planner.logical.DrillScanRel;
+import org.apache.drill.exec.planner.physical.PlannerSettings;
+import org.apache.drill.exec.planner.physical.PrelUtil;
+import org.apache.drill.exec.planner.physical.ScanPrel;
 
 public class DrillRelMdRowCount extends RelMdRowCount{
+  private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(DrillRelMdRowCount.class);
   private static final DrillRelMdRowCount INSTANCE = new DrillRelMdRowCount();
 
   public static final RelMetadataProvider SOURCE = ReflectiveRelMetadataProvider.reflectiveSource(BuiltInMethod.ROW_COUNT.method, INSTANCE);
@@ -45,4 +56,35 @@ public class DrillRelMdRowCount extends RelMdRowCount{
   public Double getRowCount(Filter rel) {
     return rel.getRows();
   }
+
+  public Double getRowCount(DrillScanRel rel) {
+    return getScanRowCount(rel, rel.getGroupScan());
+  }
+
+  public Double getRowCount(ScanPrel rel) {
+    return getScanRowCount(rel, rel.getGroupScan());
+  }
+
+  /**
+   * Group scans that cannot count their rows exactly (e.g. text and JSON files) only estimate
+   * them from the size of their files. When the table was analyzed, use its row count instead,
+   * scaled by the share of the table that the (possibly pruned) scan still reads.
+   */
+  private Double getScanRowCount(RelNode scan, GroupScan groupScan) {
+    final PlannerSettings settings = PrelUtil.getPlannerSettings(scan.getCluster());
+    final ScanStats scanStats = groupScan.getScanStats(settings);
+    if (!scanStats.getGroupScanProperty().hasExactRowCount()) {
+      final DrillStatsTable stats = DrillStatsTable.getStatsTable(scan);
+      if (stats != null) {
+        try {
+          final double tableEstimate = DrillStatsTable.getDrillTable(scan).getGroupScan().getScanStats(settings).getRecordCount();
+          final double share = tableEstimate <= 0 ? 1.0 : Math.min(1.0, scanStats.getRecordCount() / tableEstimate);
+          return stats.getRowCount() * share;
+        } catch (IOException e) {
+          logger.debug("Unable to get the scan of table {}, ignoring its statistics", scan, e);
+        }
+      }
+    }
+    return (double) scanStats.getRecordCount();
+  }
 }
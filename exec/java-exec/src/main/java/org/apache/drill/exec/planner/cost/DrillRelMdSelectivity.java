@@ -0,0 +1,191 @@
+/*******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.apache.drill.exec.planner.cost;
+
+import java.util.List;
+
+import org.apache.calcite.plan.RelOptUtil;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.metadata.ReflectiveRelMetadataProvider;
+import org.apache.calcite.rel.metadata.RelMdSelectivity;
+import org.apache.calcite.rel.metadata.RelMdUtil;
+import org.apache.calcite.rel.metadata.RelMetadataProvider;
+import org.apache.calcite.rex.RexCall;
+import org.apache.calcite.rex.RexInputRef;
+import org.apache.calcite.rex.RexLiteral;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.sql.SqlKind;
+import org.apache.calcite.util.BuiltInMethod;
+import org.apache.drill.exec.planner.common.DrillStatsTable;
+import org.apache.drill.exec.planner.common.DrillStatsTable.ColumnStatistics;
+
+/**
+ * Estimates the selectivity of predicates on scans of tables analyzed with ANALYZE TABLE:
+ * equality from the number of distinct values, IS [NOT] NULL from the null count and
+ * numeric ranges from the column's minimum and maximum. Predicates the statistics cannot
+ * answer fall back to Calcite's guesses.
+ */
+public class DrillRelMdSelectivity extends RelMdSelectivity {
+  private static final DrillRelMdSelectivity INSTANCE = new DrillRelMdSelectivity();
+
+  public static final RelMetadataProvider SOURCE = ReflectiveRelMetadataProvider.reflectiveSource(BuiltInMethod.SELECTIVITY.method, INSTANCE);
+
+  @Override
+  public Double getSelectivity(RelNode rel, RexNode predicate) {
+    final DrillStatsTable stats = predicate == null ? null : DrillStatsTable.getStatsTable(rel);
+    if (stats == null) {
+      return super.getSelectivity(rel, predicate);
+    }
+    final List<String> fieldNames = rel.getRowType().getFieldNames();
+    double selectivity = 1.0;
+    for (RexNode conjunct : RelOptUtil.conjunctions(predicate)) {
+      selectivity *= getSelectivity(stats, fieldNames, conjunct);
+    }
+    return selectivity;
+  }
+
+  private double getSelectivity(DrillStatsTable stats, List<String> fieldNames, RexNode predicate) {
+    if (predicate instanceof RexCall) {
+      final RexCall call = (RexCall) predicate;
+      final Double selectivity;
+      switch (call.getKind()) {
+      case IS_NULL:
+      case IS_NOT_NULL:
+        selectivity = getNullSelectivity(stats, getColumn(fieldNames, call.getOperands().get(0)),
+            call.getKind() == SqlKind.IS_NULL);
+        break;
+      case EQUALS:
+      case NOT_EQUALS:
+      case LESS_THAN:
+      case LESS_THAN_OR_EQUAL:
+      case GREATER_THAN:
+      case GREATER_THAN_OR_EQUAL:
+        selectivity = getComparisonSelectivity(stats, fieldNames, call);
+        break;
+      default:
+        selectivity = null;
+      }
+      if (selectivity != null) {
+        return selectivity;
+      }
+    }
+    return RelMdUtil.guessSelectivity(predicate);
+  }
+
+  private Double getNullSelectivity(DrillStatsTable stats, String column, boolean isNull) {
+    final Double nullFraction = column == null ? null : stats.getNullFraction(column);
+    if (nullFraction == null) {
+      return null;
+    }
+    return isNull ? nullFraction : 1.0 - nullFraction;
+  }
+
+  private Double getComparisonSelectivity(DrillStatsTable stats, List<String> fieldNames, RexCall call) {
+    final RexNode left = call.getOperands().get(0);
+    final RexNode right = call.getOperands().get(1);
+    final String column;
+    final RexLiteral literal;
+    SqlKind kind = call.getKind();
+    if (left instanceof RexInputRef && right instanceof RexLiteral) {
+      column = getColumn(fieldNames, left);
+      literal = (RexLiteral) right;
+    } else if (right instanceof RexInputRef && left instanceof RexLiteral) {
+      column = getColumn(fieldNames, right);
+      literal = (RexLiteral) left;
+      kind = reverse(kind);
+    } else {
+      return null;
+    }
+    final ColumnStatistics columnStats = column == null ? null : stats.getColumn(column);
+    if (columnStats == null) {
+      return null;
+    }
+    // comparisons never match nulls
+    final Double nullFraction = stats.getNullFraction(column);
+    final double nonNullFraction = nullFraction == null ? 1.0 : 1.0 - nullFraction;
+
+    switch (kind) {
+    case EQUALS:
+    case NOT_EQUALS:
+      final Double ndv = columnStats.getNdv();
+      if (ndv == null || ndv <= 0) {
+        return null;
+      }
+      return nonNullFraction * (kind == SqlKind.EQUALS ? 1.0 / ndv : 1.0 - 1.0 / ndv);
+    default:
+      final Double rangeFraction = getRangeFraction(columnStats, kind, literal);
+      return rangeFraction == null ? null : nonNullFraction * rangeFraction;
+    }
+  }
+
+  /**
+   * Fraction of the non-null values that satisfy the range comparison, assuming values are
+   * spread uniformly between the column's minimum and maximum.
+   */
+  private Double getRangeFraction(ColumnStatistics columnStats, SqlKind kind, RexLiteral literal) {
+    if (!(columnStats.getMin() instanceof Number) || !(columnStats.getMax() instanceof Number)
+        || !(literal.getValue() instanceof Number)) {
+      return null;
+    }
+    final double min = ((Number) columnStats.getMin()).doubleValue();
+    final double max = ((Number) columnStats.getMax()).doubleValue();
+    final double value = ((Number) literal.getValue()).doubleValue();
+    if (max <= min) {
+      return null;
+    }
+    final double below = Math.min(1.0, Math.max(0.0, (value - min) / (max - min)));
+    switch (kind) {
+    case LESS_THAN:
+    case LESS_THAN_OR_EQUAL:
+      return below;
+    case GREATER_THAN:
+    case GREATER_THAN_OR_EQUAL:
+      return 1.0 - below;
+    default:
+      return null;
+    }
+  }
+
+  /**
+   * @return the comparison to apply when the operands of {@code kind} are swapped
+   */
+  private static SqlKind reverse(SqlKind kind) {
+    switch (kind) {
+    case LESS_THAN:
+      return SqlKind.GREATER_THAN;
+    case LESS_THAN_OR_EQUAL:
+      return SqlKind.GREATER_THAN_OR_EQUAL;
+    case GREATER_THAN:
+      return SqlKind.LESS_THAN;
+    case GREATER_THAN_OR_EQUAL:
+      return SqlKind.LESS_THAN_OR_EQUAL;
+    default:
+      return kind;
+    }
+  }
+
+  private String getColumn(List<String> fieldNames, RexNode node) {
+    if (node instanceof RexInputRef) {
+      final int index = ((RexInputRef) node).getIndex();
+      if (index < fieldNames.size()) {
+        return fieldNames.get(index);
+      }
+    }
+    return null;
+  }
+}
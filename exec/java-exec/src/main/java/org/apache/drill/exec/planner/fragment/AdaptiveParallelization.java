@@ -0,0 +1,144 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.planner.fragment;
+
+import java.util.Collection;
+import java.util.Map;
+
+import org.apache.drill.exec.ExecConstants;
+import org.apache.drill.exec.proto.CoordinationProtos.DrillbitEndpoint;
+import org.apache.drill.exec.server.options.OptionManager;
+
+import com.google.common.collect.Maps;
+
+/**
+ * Parallelization of a query based on what is known of its work and of the cluster rather than on estimated row
+ * counts alone:
+ * <ul>
+ *   <li>a fragment that scans gets one minor fragment per {@link ExecConstants#ADAPTIVE_WIDTH_BYTES_PER_FRAGMENT}
+ *   bytes of its units of work,</li>
+ *   <li>a fragment whose operators were seen in earlier queries gets one minor fragment per
+ *   {@link ExecConstants#ADAPTIVE_WIDTH_TARGET_FRAGMENT_TIME} of work, the work being estimated from the rows its
+ *   operators process and their {@link OperatorThroughput},</li>
+ *   <li>a Drillbit takes at most as many minor fragments of a major fragment as the width per node leaves free
+ *   besides the fragments already running there (but at least one),</li>
+ *   <li>minor fragments without endpoint affinity go to the least loaded Drillbits, counting the fragments already
+ *   running there and those of this query already assigned.</li>
+ * </ul>
+ * The fragments running on other Drillbits are those of the queries this Drillbit is the foreman of.
+ */
+public class AdaptiveParallelization {
+  static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(AdaptiveParallelization.class);
+
+  private final long bytesPerFragment;
+  private final double targetFragmentNanos;
+  private final Map<DrillbitEndpoint, Integer> runningFragments;
+  private final OperatorThroughput throughput;
+  private final Map<DrillbitEndpoint, Integer> assignedFragments = Maps.newHashMap();
+
+  public AdaptiveParallelization(OptionManager options, Map<DrillbitEndpoint, Integer> runningFragments,
+      OperatorThroughput throughput) {
+    this(options.getOption(ExecConstants.ADAPTIVE_WIDTH_BYTES_PER_FRAGMENT),
+        options.getOption(ExecConstants.ADAPTIVE_WIDTH_TARGET_FRAGMENT_TIME), runningFragments, throughput);
+  }
+
+  public AdaptiveParallelization(long bytesPerFragment, long targetFragmentMillis,
+      Map<DrillbitEndpoint, Integer> runningFragments, OperatorThroughput throughput) {
+    this.bytesPerFragment = bytesPerFragment;
+    this.targetFragmentNanos = targetFragmentMillis * 1e6;
+    this.runningFragments = runningFragments;
+    this.throughput = throughput;
+  }
+
+  /**
+   * @return the width of the fragment with the given stats, or -1 if neither the bytes it scans nor the throughput
+   *         of its operators are known
+   */
+  public int getWidth(Stats stats) {
+    double width = -1;
+
+    final long scanBytes = stats.getScanBytes();
+    if (scanBytes >= 0) {
+      width = Math.ceil((double) scanBytes / bytesPerFragment);
+    }
+
+    // operators of a fragment run one after the other in its thread, so their times add up
+    double nanos = 0;
+    boolean hasThroughput = false;
+    for (Map.Entry<Integer, Double> entry : stats.getInputRowsByOperatorType().entrySet()) {
+      final double recordsPerSecond = throughput.getRecordsPerSecond(entry.getKey());
+      if (recordsPerSecond > 0) {
+        nanos += entry.getValue() / recordsPerSecond * 1e9;
+        hasThroughput = true;
+      }
+    }
+    if (hasThroughput) {
+      width = Math.max(width, Math.ceil(nanos / targetFragmentNanos));
+    }
+
+    logger.debug("Adaptive width {} for {} scanned bytes and {} ms of estimated work", width, scanBytes,
+        hasThroughput ? nanos / 1e6 : "unknown");
+    return (int) Math.min(width, Integer.MAX_VALUE);
+  }
+
+  /**
+   * @return the number of minor fragments of a major fragment the given Drillbits can take
+   */
+  public int getCapacity(Collection<DrillbitEndpoint> endpoints, int maxWidthPerNode) {
+    long capacity = 0;
+    for (DrillbitEndpoint endpoint : endpoints) {
+      capacity += Math.max(1, maxWidthPerNode - getCount(runningFragments, endpoint));
+    }
+    return (int) Math.min(capacity, Integer.MAX_VALUE);
+  }
+
+  /**
+   * @param fragmentAssignments number of minor fragments of the fragment being parallelized assigned to each Drillbit
+   * @return the least loaded of the given Drillbits
+   */
+  public DrillbitEndpoint getLeastLoaded(Collection<DrillbitEndpoint> endpoints,
+      Map<DrillbitEndpoint, Integer> fragmentAssignments) {
+    DrillbitEndpoint leastLoaded = null;
+    int minLoad = Integer.MAX_VALUE;
+    for (DrillbitEndpoint endpoint : endpoints) {
+      final int load = getCount(runningFragments, endpoint) + getCount(assignedFragments, endpoint)
+          + getCount(fragmentAssignments, endpoint);
+      if (load < minLoad) {
+        leastLoaded = endpoint;
+        minLoad = load;
+      }
+    }
+    return leastLoaded;
+  }
+
+  /**
+   * Counts a minor fragment of this query as assigned to the given Drillbit.
+   */
+  public void addAssignment(DrillbitEndpoint endpoint) {
+    increment(assignedFragments, endpoint);
+  }
+
+  static void increment(Map<DrillbitEndpoint, Integer> counts, DrillbitEndpoint endpoint) {
+    counts.put(endpoint, getCount(counts, endpoint) + 1);
+  }
+
+  private static int getCount(Map<DrillbitEndpoint, Integer> counts, DrillbitEndpoint endpoint) {
+    final Integer count = counts.get(endpoint);
+    return count == null ? 0 : count;
+  }
+}
@@ -0,0 +1,105 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.planner.fragment;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.drill.exec.proto.UserBitShared.MajorFragmentProfile;
+import org.apache.drill.exec.proto.UserBitShared.MinorFragmentProfile;
+import org.apache.drill.exec.proto.UserBitShared.OperatorProfile;
+import org.apache.drill.exec.proto.UserBitShared.QueryProfile;
+import org.apache.drill.exec.proto.UserBitShared.StreamProfile;
+
+import com.google.common.collect.Maps;
+
+/**
+ * Throughput of each operator type observed in the profiles of the queries this Drillbit was the foreman of, in
+ * records processed per second by one minor fragment. Each query contributes the records and processing time of all
+ * the instances of an operator type, and the rate of a type is an exponentially weighted average over the queries,
+ * so that it follows changes of the data and of the cluster.
+ * <p>
+ * Used by {@link AdaptiveParallelization} to estimate how long a fragment would run.
+ */
+public class OperatorThroughput {
+  static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(OperatorThroughput.class);
+
+  /**
+   * Weight of the rate observed in the latest query.
+   */
+  static final double WEIGHT = 0.2;
+
+  /**
+   * Operators that processed for a shorter time in a query are not taken into account, their rates being dominated
+   * by setup costs.
+   */
+  static final long MIN_PROCESS_NANOS = 1000 * 1000;
+
+  private final ConcurrentMap<Integer, Double> recordsPerSecond = Maps.newConcurrentMap();
+
+  /**
+   * Adds the operator rates observed in the given (final) query profile.
+   */
+  public void addProfile(QueryProfile profile) {
+    final Map<Integer, long[]> totals = Maps.newHashMap();
+    for (MajorFragmentProfile major : profile.getFragmentProfileList()) {
+      for (MinorFragmentProfile minor : major.getMinorFragmentProfileList()) {
+        for (OperatorProfile operator : minor.getOperatorProfileList()) {
+          long records = 0;
+          for (StreamProfile input : operator.getInputProfileList()) {
+            records += input.getRecords();
+          }
+          long[] total = totals.get(operator.getOperatorType());
+          if (total == null) {
+            total = new long[2];
+            totals.put(operator.getOperatorType(), total);
+          }
+          total[0] += records;
+          total[1] += operator.getProcessNanos();
+        }
+      }
+    }
+
+    for (Map.Entry<Integer, long[]> entry : totals.entrySet()) {
+      final long records = entry.getValue()[0];
+      final long nanos = entry.getValue()[1];
+      if (records > 0 && nanos >= MIN_PROCESS_NANOS) {
+        add(entry.getKey(), records * 1e9 / nanos);
+      }
+    }
+  }
+
+  void add(int operatorType, double rate) {
+    while (true) {
+      final Double current = recordsPerSecond.putIfAbsent(operatorType, rate);
+      if (current == null
+          || recordsPerSecond.replace(operatorType, current, current + WEIGHT * (rate - current))) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * @return the number of records an operator of the given type processes per second in one minor fragment, or -1
+   *         if no query used that operator yet
+   */
+  public double getRecordsPerSecond(int operatorType) {
+    final Double rate = recordsPerSecond.get(operatorType);
+    return rate == null ? -1 : rate;
+  }
+}
@@ -41,4 +41,9 @@ public interface ParallelizationParameters {
    * @return Factor by which a node with endpoint affinity will be favored while creating assignment.
    */
   double getAffinityFactor();
+
+  /**
+   * @return Adaptive parallelization to use, or null if the width of fragments is based on their cost only.
+   */
+  AdaptiveParallelization getAdaptiveParallelization();
 }
@@ -67,6 +67,7 @@ public class SimpleParallelizer implements ParallelizationParameters {
   private final int maxWidthPerNode;
   private final int maxGlobalWidth;
   private final double affinityFactor;
+  private AdaptiveParallelization adaptiveParallelization;
 
   public SimpleParallelizer(QueryContext context) {
     OptionManager optionManager = context.getOptions();
@@ -104,6 +105,15 @@ public class SimpleParallelizer implements ParallelizationParameters {
     return affinityFactor;
   }
 
+  @Override
+  public AdaptiveParallelization getAdaptiveParallelization() {
+    return adaptiveParallelization;
+  }
+
+  public void setAdaptiveParallelization(AdaptiveParallelization adaptiveParallelization) {
+    this.adaptiveParallelization = adaptiveParallelization;
+  }
+
   /**
    * Generate a set of assigned fragments based on the provided fragment tree. Do not allow parallelization stages
    * to go beyond the global max width.
@@ -251,6 +261,12 @@ public class SimpleParallelizer implements ParallelizationParameters {
     fragmentWrapper.getStats().getDistributionAffinity()
         .getFragmentParallelizer()
         .parallelizeFragment(fragmentWrapper, this, activeEndpoints);
+
+    if (adaptiveParallelization != null) {
+      for (DrillbitEndpoint endpoint : fragmentWrapper.getAssignedEndpoints()) {
+        adaptiveParallelization.addAssignment(endpoint);
+      }
+    }
   }
 
   protected QueryWorkUnit generateWorkUnit(OptionList options, DrillbitEndpoint foremanNode, QueryId queryId,
@@ -19,6 +19,7 @@ package org.apache.drill.exec.planner.fragment;
 
 import com.google.common.collect.Iterators;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.google.common.collect.Ordering;
 import org.apache.drill.exec.physical.EndpointAffinity;
 import org.apache.drill.exec.physical.PhysicalOperatorSetupException;
@@ -63,11 +64,26 @@ public class SoftAffinityFragmentParallelizer implements FragmentParallelizer {
     //    with the calculation that ExcessiveExchangeRemover uses.
     int width = (int) Math.ceil(stats.getMaxCost() / parameters.getSliceTarget());
 
+    //    With adaptive parallelization, use the bytes to scan and the observed throughput of operators instead, when
+    //    known.
+    final AdaptiveParallelization adaptive = parameters.getAdaptiveParallelization();
+    if (adaptive != null) {
+      final int adaptiveWidth = adaptive.getWidth(stats);
+      if (adaptiveWidth >= 0) {
+        width = adaptiveWidth;
+      }
+    }
+
     // 2. Cap the parallelization width by fragment level width limit and system level per query width limit
     width = Math.min(width, Math.min(parallelizationInfo.getMaxWidth(), parameters.getMaxGlobalWidth()));
 
-    // 3. Cap the parallelization width by system level per node width limit
-    width = Math.min(width, parameters.getMaxWidthPerNode() * activeEndpoints.size());
+    // 3. Cap the parallelization width by system level per node width limit, less the fragments already running on
+    //    the nodes with adaptive parallelization
+    if (adaptive != null) {
+      width = Math.min(width, adaptive.getCapacity(activeEndpoints, parameters.getMaxWidthPerNode()));
+    } else {
+      width = Math.min(width, parameters.getMaxWidthPerNode() * activeEndpoints.size());
+    }
 
     // 4. Make sure width is at least the min width enforced by operators
     width = Math.max(parallelizationInfo.getMinWidth(), width);
@@ -153,12 +169,28 @@ public class SoftAffinityFragmentParallelizer implements FragmentParallelizer {
         // support immutable copy as input.
       }
 
-      // round robin with random start.
-      Collections.shuffle(endpointsWithNoAffinity, ThreadLocalRandom.current());
-      Iterator<DrillbitEndpoint> otherEPItr =
-          Iterators.cycle(endpointsWithNoAffinity.size() > 0 ? endpointsWithNoAffinity : endpointsWithAffinity);
-      while (endpoints.size() < width) {
-        endpoints.add(otherEPItr.next());
+      final AdaptiveParallelization adaptive = parameters.getAdaptiveParallelization();
+      if (adaptive != null) {
+        // least loaded first, counting the minor fragments of this fragment assigned so far.
+        final Collection<DrillbitEndpoint> candidates =
+            endpointsWithNoAffinity.size() > 0 ? endpointsWithNoAffinity : endpointsWithAffinity;
+        final Map<DrillbitEndpoint, Integer> assigned = Maps.newHashMap();
+        for (DrillbitEndpoint ep : endpoints) {
+          AdaptiveParallelization.increment(assigned, ep);
+        }
+        while (endpoints.size() < width) {
+          final DrillbitEndpoint ep = adaptive.getLeastLoaded(candidates, assigned);
+          AdaptiveParallelization.increment(assigned, ep);
+          endpoints.add(ep);
+        }
+      } else {
+        // round robin with random start.
+        Collections.shuffle(endpointsWithNoAffinity, ThreadLocalRandom.current());
+        Iterator<DrillbitEndpoint> otherEPItr =
+            Iterators.cycle(endpointsWithNoAffinity.size() > 0 ? endpointsWithNoAffinity : endpointsWithAffinity);
+        while (endpoints.size() < width) {
+          endpoints.add(otherEPItr.next());
+        }
       }
     }
 
@@ -21,11 +21,19 @@ import org.apache.drill.exec.physical.EndpointAffinity;
 import org.apache.drill.exec.planner.fragment.ParallelizationInfo.ParallelizationInfoCollector;
 
 import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.Maps;
 
 public class Stats {
   private final ParallelizationInfoCollector collector = new ParallelizationInfoCollector();
   private double maxCost = 0.0;
   private DistributionAffinity distributionAffinity = DistributionAffinity.NONE;
+  // estimated rows processed by the operators of each type, used with the observed operator throughput
+  private final Map<Integer, Double> inputRowsByOperatorType = Maps.newHashMap();
+  private long scanBytes = 0;
+  private boolean hasScan = false;
+  private boolean scanBytesUnknown = false;
 
   public void addParallelizationInfo(ParallelizationInfo parallelizationInfo) {
     collector.add(parallelizationInfo);
@@ -35,6 +43,23 @@ public class Stats {
     maxCost = Math.max(maxCost, cost);
   }
 
+  public void addOperatorInputRows(int operatorType, double rows) {
+    final Double inputRows = inputRowsByOperatorType.get(operatorType);
+    inputRowsByOperatorType.put(operatorType, inputRows == null ? rows : inputRows + rows);
+  }
+
+  /**
+   * @param bytes bytes read by a scan of the fragment, or -1 if not known
+   */
+  public void addScanBytes(long bytes) {
+    hasScan = true;
+    if (bytes < 0) {
+      scanBytesUnknown = true;
+    } else {
+      scanBytes += bytes;
+    }
+  }
+
   public void addMaxWidth(int maxWidth) {
     collector.addMaxWidth(maxWidth);
   }
@@ -66,6 +91,18 @@ public class Stats {
     return maxCost;
   }
 
+  public Map<Integer, Double> getInputRowsByOperatorType() {
+    return inputRowsByOperatorType;
+  }
+
+  /**
+   * @return bytes read by the scans of the fragment, or -1 if the fragment has no scan or the bytes read by one of
+   *         its scans are not known
+   */
+  public long getScanBytes() {
+    return hasScan && !scanBytesUnknown ? scanBytes : -1;
+  }
+
   public DistributionAffinity getDistributionAffinity() {
     return distributionAffinity;
   }
@@ -88,6 +88,7 @@ public class StatsCollector extends AbstractOpWrapperVisitor<Void, RuntimeExcept
     final Stats stats = wrapper.getStats();
     stats.addMaxWidth(groupScan.getMaxParallelizationWidth());
     stats.addMinWidth(groupScan.getMinParallelizationWidth());
+    stats.addScanBytes(groupScan.getScanBytes());
     return super.visitGroupScan(groupScan, wrapper);
   }
 
@@ -106,9 +107,32 @@ public class StatsCollector extends AbstractOpWrapperVisitor<Void, RuntimeExcept
       stats.setDistributionAffinity(hasAffinity.getDistributionAffinity());
     }
     stats.addCost(op.getCost());
+    final int operatorType = getOperatorType(op);
+    if (operatorType >= 0) {
+      // the cost of an operator is the number of rows it outputs, so it processes those of its inputs
+      double inputRows = 0;
+      boolean hasInputs = false;
+      for (PhysicalOperator child : op) {
+        inputRows += child.getCost();
+        hasInputs = true;
+      }
+      stats.addOperatorInputRows(operatorType, hasInputs ? inputRows : op.getCost());
+    }
     for (PhysicalOperator child : op) {
       child.accept(this, wrapper);
     }
     return null;
   }
+
+  private static int getOperatorType(PhysicalOperator op) {
+    if (op instanceof Exchange || op instanceof GroupScan) {
+      // they only get an operator type once materialized
+      return -1;
+    }
+    try {
+      return op.getOperatorType();
+    } catch (UnsupportedOperationException e) {
+      return -1;
+    }
+  }
 }
@@ -0,0 +1,268 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.planner.logical;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.calcite.plan.RelOptRule;
+import org.apache.calcite.plan.RelOptRuleCall;
+import org.apache.calcite.plan.RelOptRuleOperand;
+import org.apache.calcite.plan.RelOptUtil;
+import org.apache.calcite.plan.hep.HepRelVertex;
+import org.apache.calcite.rel.InvalidRelException;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.core.Aggregate;
+import org.apache.calcite.rel.core.AggregateCall;
+import org.apache.calcite.rel.core.JoinRelType;
+import org.apache.calcite.rel.metadata.RelMetadataQuery;
+import org.apache.calcite.rex.RexInputRef;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.sql.SqlAggFunction;
+import org.apache.calcite.sql.fun.SqlSumEmptyIsZeroAggFunction;
+import org.apache.calcite.util.ImmutableBitSet;
+import org.apache.drill.exec.planner.physical.PlannerSettings;
+import org.apache.drill.exec.planner.physical.PrelUtil;
+import org.apache.drill.exec.planner.sql.DrillCalciteSqlAggFunctionWrapper;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+
+/**
+ * Eager aggregation: pushes a partial aggregate below an inner join when all the aggregate functions
+ * are computed over the fields of one input of the join. The partial aggregate groups that input by its
+ * fields that are grouping keys of the aggregate or are used by the join condition, and computes the
+ * aggregate functions per group; the aggregate above the join then combines the partial results (the
+ * counts are summed, sums, minimums and maximums are aggregated again). Each row entering the join from
+ * that side then stands for a whole group of rows, which in a fact to dimension rollup shrinks the
+ * probe side of the join by the ratio of fact rows to distinct (dimension key, grouping key) values.
+ * <p>
+ * The partial aggregate is only added when the number of distinct values of its keys is estimated to be
+ * at most {@link #MAX_GROUP_RATIO} of the rows of the input, so that it pays for itself. When the input
+ * is itself a join the rule applies again to the partial aggregate, moving it further down.
+ */
+public class DrillAggregateJoinTransposeRule extends RelOptRule {
+  static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(DrillAggregateJoinTransposeRule.class);
+
+  public static final RelOptRule INSTANCE = new DrillAggregateJoinTransposeRule(
+      RelOptHelper.some(DrillAggregateRel.class, RelOptHelper.any(DrillJoinRel.class)),
+      "DrillAggregateJoinTransposeRule");
+
+  public static final RelOptRule PROJECT_INSTANCE = new DrillAggregateJoinTransposeRule(
+      RelOptHelper.some(DrillAggregateRel.class, RelOptHelper.some(DrillProjectRel.class, RelOptHelper.any(DrillJoinRel.class))),
+      "DrillAggregateJoinTransposeRule:project");
+
+  /**
+   * Largest ratio of the number of groups of the partial aggregate to the number of rows of its input.
+   */
+  static final double MAX_GROUP_RATIO = 0.5;
+
+  private DrillAggregateJoinTransposeRule(RelOptRuleOperand operand, String description) {
+    super(operand, description);
+  }
+
+  @Override
+  public void onMatch(RelOptRuleCall call) {
+    final PlannerSettings settings = PrelUtil.getPlannerSettings(call.getPlanner());
+    final DrillAggregateRel aggregate = call.rel(0);
+    final DrillProjectRel project = call.rels.length == 3 ? (DrillProjectRel) call.rel(1) : null;
+    final DrillJoinRel join = call.rel(call.rels.length - 1);
+
+    if (!settings.isAggregateJoinTransposeEnabled()
+        || join.getJoinType() != JoinRelType.INNER
+        || aggregate.indicator
+        || aggregate.getGroupSets().size() != 1
+        || aggregate.getGroupSet().isEmpty()) {
+      // without grouping keys the aggregate returns a row even when the join returns none
+      return;
+    }
+
+    // the field of the join each input field of the aggregate is
+    final int[] joinFields = getJoinFields(project, join);
+    if (joinFields == null) {
+      return;
+    }
+
+    final int leftCount = join.getLeft().getRowType().getFieldCount();
+    boolean argsInLeft = true;
+    boolean argsInRight = true;
+    for (AggregateCall aggCall : aggregate.getAggCallList()) {
+      if (aggCall.isDistinct() || !isDecomposable(aggCall)) {
+        return;
+      }
+      for (int arg : aggCall.getArgList()) {
+        argsInLeft &= joinFields[arg] < leftCount;
+        argsInRight &= joinFields[arg] >= leftCount;
+      }
+    }
+    if (!argsInLeft && !argsInRight) {
+      return;
+    }
+
+    final boolean pushLeft;
+    if (argsInLeft && argsInRight) {
+      // only COUNT(*): aggregate the larger input
+      pushLeft = RelMetadataQuery.getRowCount(unwrap(join.getLeft())) >= RelMetadataQuery.getRowCount(unwrap(join.getRight()));
+    } else {
+      pushLeft = argsInLeft;
+    }
+
+    final RelNode side = pushLeft ? join.getLeft() : join.getRight();
+    if (unwrap(side) instanceof Aggregate) {
+      return;
+    }
+    final int sideStart = pushLeft ? 0 : leftCount;
+    final int sideCount = side.getRowType().getFieldCount();
+
+    // group the input by its fields that are grouping keys or join keys
+    final ImmutableBitSet.Builder keyBuilder = ImmutableBitSet.builder();
+    for (int group : aggregate.getGroupSet()) {
+      if (joinFields[group] >= sideStart && joinFields[group] < sideStart + sideCount) {
+        keyBuilder.set(joinFields[group] - sideStart);
+      }
+    }
+    for (int field : RelOptUtil.InputFinder.bits(join.getCondition())) {
+      if (field >= sideStart && field < sideStart + sideCount) {
+        keyBuilder.set(field - sideStart);
+      }
+    }
+    final ImmutableBitSet keys = keyBuilder.build();
+    if (keys.isEmpty()) {
+      return;
+    }
+
+    final double rowCount = RelMetadataQuery.getRowCount(unwrap(side));
+    final Double groupCount = RelMetadataQuery.getDistinctRowCount(unwrap(side), keys, null);
+    if (groupCount == null || groupCount > rowCount * MAX_GROUP_RATIO) {
+      logger.debug("Not aggregating below join: {} groups for {} rows", groupCount, rowCount);
+      return;
+    }
+
+    final List<AggregateCall> partialCalls = Lists.newArrayList();
+    final List<AggregateCall> finalCalls = Lists.newArrayList();
+    for (AggregateCall aggCall : aggregate.getAggCallList()) {
+      final List<Integer> args = Lists.newArrayList();
+      for (int arg : aggCall.getArgList()) {
+        args.add(joinFields[arg] - sideStart);
+      }
+      partialCalls.add(new AggregateCall(aggCall.getAggregation(), false, args, aggCall.getType(), aggCall.getName()));
+
+      final SqlAggFunction finalFunction;
+      if (aggCall.getAggregation().getName().equals("COUNT")) {
+        // the partial counts are summed, and every group of the join has at least one of them
+        finalFunction = settings.isTypeInferenceEnabled()
+            ? new DrillCalciteSqlAggFunctionWrapper(new SqlSumEmptyIsZeroAggFunction(), aggCall.getType())
+            : new SqlSumEmptyIsZeroAggFunction();
+      } else {
+        finalFunction = aggCall.getAggregation();
+      }
+      finalCalls.add(new AggregateCall(finalFunction, false,
+          Collections.singletonList(sideStart + keys.cardinality() + partialCalls.size() - 1),
+          aggCall.getType(), aggCall.getName()));
+    }
+
+    try {
+      final RelNode partialAggregate = new DrillAggregateRel(aggregate.getCluster(), aggregate.getTraitSet(), side,
+          false, keys, ImmutableList.of(keys), partialCalls);
+      final int partialCount = partialAggregate.getRowType().getFieldCount();
+
+      // position of each field of the old join in the new one, -1 for fields aggregated away
+      final int[] mapping = new int[join.getRowType().getFieldCount()];
+      Arrays.fill(mapping, -1);
+      int keyPosition = sideStart;
+      for (int key : keys) {
+        mapping[sideStart + key] = keyPosition++;
+      }
+      for (int field = 0; field < mapping.length; field++) {
+        if (field < sideStart) {
+          mapping[field] = field;
+        } else if (field >= sideStart + sideCount) {
+          mapping[field] = field - sideCount + partialCount;
+        }
+      }
+
+      final RelNode newJoin = DrillRelFactories.DRILL_LOGICAL_JOIN_FACTORY.createJoin(
+          pushLeft ? partialAggregate : join.getLeft(),
+          pushLeft ? join.getRight() : partialAggregate,
+          join.getCondition().accept(new InputRefRemapper(mapping)),
+          JoinRelType.INNER, Collections.<String>emptySet(), false);
+
+      final ImmutableBitSet.Builder groupBuilder = ImmutableBitSet.builder();
+      for (int group : aggregate.getGroupSet()) {
+        groupBuilder.set(mapping[joinFields[group]]);
+      }
+      final ImmutableBitSet groupSet = groupBuilder.build();
+      final RelNode finalAggregate = new DrillAggregateRel(aggregate.getCluster(), aggregate.getTraitSet(), newJoin,
+          false, groupSet, ImmutableList.of(groupSet), finalCalls);
+
+      // the grouping keys may come out of the new aggregate in a different order
+      final List<RexNode> exprs = Lists.newArrayList();
+      for (int group : aggregate.getGroupSet()) {
+        int position = 0;
+        for (int newGroup : groupSet) {
+          if (newGroup < mapping[joinFields[group]]) {
+            position++;
+          }
+        }
+        exprs.add(new RexInputRef(position, finalAggregate.getRowType().getFieldList().get(position).getType()));
+      }
+      for (int i = 0; i < finalCalls.size(); i++) {
+        final int position = groupSet.cardinality() + i;
+        exprs.add(new RexInputRef(position, finalAggregate.getRowType().getFieldList().get(position).getType()));
+      }
+      call.transformTo(DrillRelFactories.DRILL_LOGICAL_PROJECT_FACTORY.createProject(finalAggregate, exprs,
+          aggregate.getRowType().getFieldNames()));
+    } catch (InvalidRelException e) {
+      logger.debug("Failed to aggregate below join", e);
+    }
+  }
+
+  private static RelNode unwrap(RelNode rel) {
+    return rel instanceof HepRelVertex ? ((HepRelVertex) rel).getCurrentRel() : rel;
+  }
+
+  private static boolean isDecomposable(AggregateCall aggCall) {
+    final String name = aggCall.getAggregation().getName();
+    return name.equals("SUM") || name.equals("$SUM0") || name.equals("MIN") || name.equals("MAX")
+        || name.equals("COUNT");
+  }
+
+  /**
+   * @return for each field of the project (or of the join, if there is no project), the field of the
+   *         join it is, or null if the project computes any expression
+   */
+  private static int[] getJoinFields(DrillProjectRel project, DrillJoinRel join) {
+    if (project == null) {
+      final int[] fields = new int[join.getRowType().getFieldCount()];
+      for (int i = 0; i < fields.length; i++) {
+        fields[i] = i;
+      }
+      return fields;
+    }
+    final List<RexNode> exprs = project.getProjects();
+    final int[] fields = new int[exprs.size()];
+    for (int i = 0; i < fields.length; i++) {
+      if (!(exprs.get(i) instanceof RexInputRef)) {
+        return null;
+      }
+      fields[i] = ((RexInputRef) exprs.get(i)).getIndex();
+    }
+    return fields;
+  }
+}
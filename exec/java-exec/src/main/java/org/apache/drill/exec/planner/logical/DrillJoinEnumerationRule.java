@@ -0,0 +1,476 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.planner.logical;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.calcite.plan.RelOptCost;
+import org.apache.calcite.plan.RelOptRule;
+import org.apache.calcite.plan.RelOptRuleCall;
+import org.apache.calcite.plan.RelOptUtil;
+import org.apache.calcite.plan.hep.HepRelVertex;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.core.JoinRelType;
+import org.apache.calcite.rel.metadata.RelMdUtil;
+import org.apache.calcite.rel.metadata.RelMetadataQuery;
+import org.apache.calcite.rel.rules.MultiJoin;
+import org.apache.calcite.rex.RexBuilder;
+import org.apache.calcite.rex.RexCall;
+import org.apache.calcite.rex.RexInputRef;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.rex.RexShuttle;
+import org.apache.calcite.rex.RexUtil;
+import org.apache.calcite.sql.SqlKind;
+import org.apache.calcite.util.ImmutableBitSet;
+import org.apache.drill.exec.planner.cost.DrillCostBase;
+import org.apache.drill.exec.planner.cost.DrillCostBase.DrillCostFactory;
+import org.apache.drill.exec.planner.physical.PlannerSettings;
+import org.apache.drill.exec.planner.physical.PrelUtil;
+
+import com.google.common.collect.Lists;
+
+/**
+ * Orders the inputs of an inner {@link MultiJoin} by estimated cost. Joins of up to
+ * {@link PlannerSettings#JOIN_ENUMERATION_DP_THRESHOLD} inputs are enumerated exhaustively by dynamic
+ * programming over the subsets of the inputs; larger joins are built greedily by repeatedly joining the
+ * pair of (partial) plans that is cheapest to join. Both consider bushy trees as well as left-deep ones.
+ * <p>
+ * The cardinality of a join is estimated from the number of distinct values of the join keys (which come
+ * from ANALYZE TABLE statistics when they are available) and the cost of a join includes the cost of
+ * distributing its inputs: either broadcasting the build side or hash distributing the inputs that are
+ * not already distributed on the join key. This favors plans that keep a large input in place and join
+ * several smaller inputs against it on the same key over plans that shuffle it once per join.
+ * <p>
+ * The rule leaves outer joins, and multi-joins it can not order, to {@link org.apache.calcite.rel.rules.LoptOptimizeJoinRule},
+ * which runs after it in the same planning phase.
+ */
+public class DrillJoinEnumerationRule extends RelOptRule {
+  static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(DrillJoinEnumerationRule.class);
+
+  public static final RelOptRule INSTANCE = new DrillJoinEnumerationRule();
+
+  private DrillJoinEnumerationRule() {
+    super(RelOptHelper.any(MultiJoin.class), "DrillJoinEnumerationRule");
+  }
+
+  @Override
+  public boolean matches(RelOptRuleCall call) {
+    final MultiJoin multiJoin = call.rel(0);
+    if (!PrelUtil.getPlannerSettings(call.getPlanner()).isJoinEnumerationEnabled()
+        || multiJoin.isFullOuterJoin()
+        || multiJoin.getInputs().size() < 3
+        || multiJoin.getInputs().size() >= Long.SIZE) {
+      return false;
+    }
+    for (JoinRelType joinType : multiJoin.getJoinTypes()) {
+      if (joinType != JoinRelType.INNER) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public void onMatch(RelOptRuleCall call) {
+    final MultiJoin multiJoin = call.rel(0);
+    final PlannerSettings settings = PrelUtil.getPlannerSettings(call.getPlanner());
+    final JoinEnumerator enumerator = new JoinEnumerator(multiJoin, settings);
+
+    JoinPlan best;
+    if (multiJoin.getInputs().size() <= settings.getJoinEnumerationDpThreshold()) {
+      best = enumerator.enumerate(false);
+      if (best == null) {
+        // the join graph is not connected, so some inputs have to be joined by a cartesian product
+        best = enumerator.enumerate(true);
+      }
+    } else {
+      best = enumerator.greedy();
+    }
+    logger.debug("Ordered {} join inputs, estimated cost {}", multiJoin.getInputs().size(), best.cost);
+    call.transformTo(enumerator.toRel(best));
+  }
+
+  /**
+   * A (partial) join plan: either a single input of the multi-join or a join of two plans over disjoint
+   * sets of inputs.
+   */
+  private static class JoinPlan {
+    final long factors;
+    final int factor;
+    final JoinPlan probe;
+    final JoinPlan build;
+    final double rowCount;
+    final RelOptCost cost;
+    // fields the output is hash distributed on, empty if the distribution is not known
+    final ImmutableBitSet distributionFields;
+
+    JoinPlan(int factor, double rowCount, RelOptCost cost) {
+      this.factors = 1L << factor;
+      this.factor = factor;
+      this.probe = null;
+      this.build = null;
+      this.rowCount = rowCount;
+      this.cost = cost;
+      this.distributionFields = ImmutableBitSet.of();
+    }
+
+    JoinPlan(JoinPlan probe, JoinPlan build, double rowCount, RelOptCost cost, ImmutableBitSet distributionFields) {
+      this.factors = probe.factors | build.factors;
+      this.factor = -1;
+      this.probe = probe;
+      this.build = build;
+      this.rowCount = rowCount;
+      this.cost = cost;
+      this.distributionFields = distributionFields;
+    }
+  }
+
+  /**
+   * Join graph of a multi-join: its inputs ("factors"), the conjuncts of its join condition and the
+   * inputs each conjunct references.
+   */
+  private static class JoinEnumerator {
+    private final MultiJoin multiJoin;
+    private final PlannerSettings settings;
+    private final DrillCostFactory costFactory = new DrillCostFactory();
+    private final int factorCount;
+    // first field of each factor in the row type of the multi-join, plus the total field count
+    private final int[] fieldStart;
+    private final double[] factorRowCounts;
+
+    private final List<RexNode> joinFilters = Lists.newArrayList();
+    private final List<Long> joinFilterFactors = Lists.newArrayList();
+    private final List<Double> joinFilterSelectivities = Lists.newArrayList();
+    // for equality conditions between two fields, the two fields; null otherwise
+    private final List<int[]> joinFilterKeys = Lists.newArrayList();
+    // conditions on a single input (or none), applied on top of the joins
+    private final List<RexNode> residualFilters = Lists.newArrayList();
+
+    JoinEnumerator(MultiJoin multiJoin, PlannerSettings settings) {
+      this.multiJoin = multiJoin;
+      this.settings = settings;
+      this.factorCount = multiJoin.getInputs().size();
+      this.fieldStart = new int[factorCount + 1];
+      this.factorRowCounts = new double[factorCount];
+      for (int i = 0; i < factorCount; i++) {
+        final RelNode input = multiJoin.getInputs().get(i);
+        fieldStart[i + 1] = fieldStart[i] + input.getRowType().getFieldCount();
+        factorRowCounts[i] = Math.max(1.0, RelMetadataQuery.getRowCount(unwrap(input)));
+      }
+
+      for (RexNode filter : RelOptUtil.conjunctions(multiJoin.getJoinFilter())) {
+        long factors = 0;
+        for (int field : RelOptUtil.InputFinder.bits(filter)) {
+          factors |= 1L << factorOf(field);
+        }
+        if (Long.bitCount(factors) < 2) {
+          residualFilters.add(filter);
+          continue;
+        }
+        final int[] keys = getEquiJoinKeys(filter);
+        joinFilters.add(filter);
+        joinFilterFactors.add(factors);
+        joinFilterKeys.add(keys);
+        joinFilterSelectivities.add(keys != null ? getEquiJoinSelectivity(keys) : RelMdUtil.guessSelectivity(filter));
+      }
+    }
+
+    private static RelNode unwrap(RelNode rel) {
+      return rel instanceof HepRelVertex ? ((HepRelVertex) rel).getCurrentRel() : rel;
+    }
+
+    private int factorOf(int field) {
+      int factor = 0;
+      while (fieldStart[factor + 1] <= field) {
+        factor++;
+      }
+      return factor;
+    }
+
+    /**
+     * @return the two fields compared by an equality condition between input fields of two different
+     *         inputs, or null if the condition is not one
+     */
+    private int[] getEquiJoinKeys(RexNode filter) {
+      if (filter.getKind() != SqlKind.EQUALS) {
+        return null;
+      }
+      final List<RexNode> operands = ((RexCall) filter).getOperands();
+      if (!(operands.get(0) instanceof RexInputRef) || !(operands.get(1) instanceof RexInputRef)) {
+        return null;
+      }
+      final int left = ((RexInputRef) operands.get(0)).getIndex();
+      final int right = ((RexInputRef) operands.get(1)).getIndex();
+      return factorOf(left) == factorOf(right) ? null : new int[] { left, right };
+    }
+
+    /**
+     * Selectivity of an equality condition, assuming the values of the key with fewer distinct values
+     * all appear in the other key: 1 / max(ndv(left key), ndv(right key)).
+     */
+    private double getEquiJoinSelectivity(int[] keys) {
+      double ndv = 1.0;
+      for (int field : keys) {
+        final int factor = factorOf(field);
+        final Double distinctCount = RelMetadataQuery.getDistinctRowCount(unwrap(multiJoin.getInputs().get(factor)),
+            ImmutableBitSet.of(field - fieldStart[factor]), null);
+        ndv = Math.max(ndv, distinctCount != null ? Math.min(distinctCount, factorRowCounts[factor]) : factorRowCounts[factor]);
+      }
+      return 1.0 / ndv;
+    }
+
+    private JoinPlan leaf(int factor) {
+      return new JoinPlan(factor, factorRowCounts[factor], costFactory.makeZeroCost());
+    }
+
+    private double getRowWidth(JoinPlan plan) {
+      int fieldCount = 0;
+      for (int i = 0; i < factorCount; i++) {
+        if ((plan.factors & (1L << i)) != 0) {
+          fieldCount += fieldStart[i + 1] - fieldStart[i];
+        }
+      }
+      return fieldCount * DrillCostBase.AVG_FIELD_WIDTH;
+    }
+
+    /**
+     * Joins two plans over disjoint sets of inputs, using the smaller one as the build side.
+     *
+     * @param allowCartesian whether plans that no join condition connects may be joined
+     * @return the joined plan, or null if the plans are not connected and cartesian joins are not allowed
+     */
+    private JoinPlan join(JoinPlan a, JoinPlan b, boolean allowCartesian) {
+      final long factors = a.factors | b.factors;
+      double selectivity = 1.0;
+      boolean connected = false;
+      int keyCount = 0;
+      int[] firstKey = null;
+      for (int i = 0; i < joinFilters.size(); i++) {
+        final long filterFactors = joinFilterFactors.get(i);
+        if ((filterFactors & ~factors) != 0 || (filterFactors & ~a.factors) == 0 || (filterFactors & ~b.factors) == 0) {
+          continue;
+        }
+        connected = true;
+        selectivity *= joinFilterSelectivities.get(i);
+        if (joinFilterKeys.get(i) != null) {
+          keyCount++;
+          if (firstKey == null) {
+            firstKey = joinFilterKeys.get(i);
+          }
+        }
+      }
+      if (!connected && !allowCartesian) {
+        return null;
+      }
+
+      final JoinPlan probe = a.rowCount >= b.rowCount ? a : b;
+      final JoinPlan build = probe == a ? b : a;
+      final double rowCount = Math.max(1.0, probe.rowCount * build.rowCount * selectivity);
+      final double buildWidth = getRowWidth(build);
+
+      double cpu;
+      final double memory = build.rowCount * buildWidth;
+      if (keyCount == 0) {
+        // nested loop join, every probe row is compared with every build row
+        cpu = DrillCostBase.COMPARE_CPU_COST * probe.rowCount * build.rowCount;
+      } else {
+        cpu = DrillCostBase.HASH_CPU_COST * keyCount * (probe.rowCount + build.rowCount)
+            + DrillCostBase.COMPARE_CPU_COST * keyCount * probe.rowCount;
+      }
+
+      double network = 0;
+      ImmutableBitSet distributionFields = ImmutableBitSet.of();
+      if (!settings.isSingleMode() && settings.numEndPoints() > 1) {
+        final double broadcastNetwork = settings.getBroadcastFactor() * DrillCostBase.BYTE_NETWORK_COST
+            * build.rowCount * buildWidth * settings.numEndPoints();
+        final double broadcastCpu = settings.getBroadcastFactor() * DrillCostBase.SVR_CPU_COST * build.rowCount;
+        final boolean canBroadcast = keyCount == 0
+            || (settings.isBroadcastJoinEnabled() && build.rowCount < settings.getBroadcastThreshold());
+
+        double hashNetwork = Double.MAX_VALUE;
+        double hashCpu = 0;
+        if (keyCount > 0) {
+          // rows that are already distributed on their side of the join key stay in place
+          final boolean firstInProbe = (probe.factors & (1L << factorOf(firstKey[0]))) != 0;
+          final int probeKey = firstInProbe ? firstKey[0] : firstKey[1];
+          final int buildKey = firstInProbe ? firstKey[1] : firstKey[0];
+          hashNetwork = 0;
+          for (JoinPlan input : new JoinPlan[] { probe, build }) {
+            if (!input.distributionFields.get(input == probe ? probeKey : buildKey)) {
+              hashNetwork += DrillCostBase.BYTE_NETWORK_COST * input.rowCount * getRowWidth(input);
+              hashCpu += DrillCostBase.HASH_CPU_COST * input.rowCount;
+            }
+          }
+          distributionFields = ImmutableBitSet.of(probeKey, buildKey);
+        }
+
+        if (canBroadcast && broadcastNetwork + broadcastCpu <= hashNetwork + hashCpu) {
+          network = broadcastNetwork;
+          cpu += broadcastCpu;
+          distributionFields = probe.distributionFields;
+        } else {
+          network = hashNetwork;
+          cpu += hashCpu;
+        }
+      }
+
+      final RelOptCost cost = probe.cost.plus(build.cost)
+          .plus(costFactory.makeCost(rowCount, cpu, 0, network, memory));
+      return new JoinPlan(probe, build, rowCount, cost, distributionFields);
+    }
+
+    /**
+     * Finds the cheapest plan by dynamic programming over all subsets of the inputs, considering every
+     * split of a subset into two non-empty parts, so bushy plans are found as well as left-deep ones.
+     *
+     * @return the cheapest plan, or null if the inputs can not be joined without cartesian joins and
+     *         those are not allowed
+     */
+    JoinPlan enumerate(boolean allowCartesian) {
+      final JoinPlan[] best = new JoinPlan[1 << factorCount];
+      for (int i = 0; i < factorCount; i++) {
+        best[1 << i] = leaf(i);
+      }
+      for (int set = 1; set < best.length; set++) {
+        if (Integer.bitCount(set) < 2) {
+          continue;
+        }
+        for (int subset = (set - 1) & set; subset > 0; subset = (subset - 1) & set) {
+          final int rest = set ^ subset;
+          // each split is visited twice, once from each side
+          if (subset < rest || best[subset] == null || best[rest] == null) {
+            continue;
+          }
+          final JoinPlan plan = join(best[subset], best[rest], allowCartesian);
+          if (plan != null && (best[set] == null || plan.cost.isLt(best[set].cost))) {
+            best[set] = plan;
+          }
+        }
+      }
+      return best[best.length - 1];
+    }
+
+    /**
+     * Builds a plan greedily: starting from the single inputs, repeatedly replaces the two plans that are
+     * cheapest to join by their join, preferring plans that a join condition connects.
+     */
+    JoinPlan greedy() {
+      final List<JoinPlan> plans = Lists.newArrayList();
+      for (int i = 0; i < factorCount; i++) {
+        plans.add(leaf(i));
+      }
+      while (plans.size() > 1) {
+        JoinPlan best = null;
+        for (boolean allowCartesian : new boolean[] { false, true }) {
+          for (int i = 0; i < plans.size(); i++) {
+            for (int j = i + 1; j < plans.size(); j++) {
+              final JoinPlan plan = join(plans.get(i), plans.get(j), allowCartesian);
+              if (plan != null && (best == null || plan.cost.isLt(best.cost))) {
+                best = plan;
+              }
+            }
+          }
+          if (best != null) {
+            break;
+          }
+        }
+        plans.remove(best.probe);
+        plans.remove(best.build);
+        plans.add(best);
+      }
+      return plans.get(0);
+    }
+
+    /**
+     * Converts a plan to joins of the inputs of the multi-join, topped by a projection that restores the
+     * field order of the multi-join and the conditions that are not join conditions.
+     */
+    RelNode toRel(JoinPlan plan) {
+      final List<Integer> factorOrder = Lists.newArrayList();
+      RelNode rel = toRel(plan, factorOrder);
+
+      final int[] mapping = getFieldMapping(factorOrder);
+      final List<RexNode> exprs = Lists.newArrayList();
+      for (int field = 0; field < mapping.length; field++) {
+        exprs.add(new RexInputRef(mapping[field], rel.getRowType().getFieldList().get(mapping[field]).getType()));
+      }
+      rel = DrillRelFactories.DRILL_LOGICAL_PROJECT_FACTORY.createProject(rel, exprs,
+          multiJoin.getRowType().getFieldNames());
+
+      final List<RexNode> filters = Lists.newArrayList(residualFilters);
+      if (multiJoin.getPostJoinFilter() != null) {
+        filters.add(multiJoin.getPostJoinFilter());
+      }
+      if (!filters.isEmpty()) {
+        rel = DrillRelFactories.DRILL_LOGICAL_FILTER_FACTORY.createFilter(rel,
+            RexUtil.composeConjunction(multiJoin.getCluster().getRexBuilder(), filters, false));
+      }
+      return rel;
+    }
+
+    /**
+     * Converts a plan to joins of the inputs of the multi-join.
+     *
+     * @param factorOrder receives the inputs of the plan, in the order of their fields in the returned rel
+     */
+    private RelNode toRel(JoinPlan plan, List<Integer> factorOrder) {
+      if (plan.factor >= 0) {
+        factorOrder.add(plan.factor);
+        return multiJoin.getInputs().get(plan.factor);
+      }
+      // the conditions of this join refer to the fields of its own inputs only
+      final List<Integer> joinFactorOrder = Lists.newArrayList();
+      final RelNode left = toRel(plan.probe, joinFactorOrder);
+      final RelNode right = toRel(plan.build, joinFactorOrder);
+      factorOrder.addAll(joinFactorOrder);
+
+      final List<RexNode> conditions = Lists.newArrayList();
+      final RexShuttle remapper = new InputRefRemapper(getFieldMapping(joinFactorOrder));
+      for (int i = 0; i < joinFilters.size(); i++) {
+        final long filterFactors = joinFilterFactors.get(i);
+        if ((filterFactors & ~plan.factors) == 0
+            && (filterFactors & ~plan.probe.factors) != 0
+            && (filterFactors & ~plan.build.factors) != 0) {
+          conditions.add(joinFilters.get(i).accept(remapper));
+        }
+      }
+      final RexBuilder rexBuilder = multiJoin.getCluster().getRexBuilder();
+      return DrillRelFactories.DRILL_LOGICAL_JOIN_FACTORY.createJoin(left, right,
+          RexUtil.composeConjunction(rexBuilder, conditions, false), JoinRelType.INNER,
+          Collections.<String>emptySet(), false);
+    }
+
+    /**
+     * @return for each field of the multi-join, its position in the concatenation of the given inputs,
+     *         or -1 if its input is not one of them
+     */
+    private int[] getFieldMapping(List<Integer> factorOrder) {
+      final int[] mapping = new int[fieldStart[factorCount]];
+      Arrays.fill(mapping, -1);
+      int position = 0;
+      for (int factor : factorOrder) {
+        for (int field = fieldStart[factor]; field < fieldStart[factor + 1]; field++) {
+          mapping[field] = position++;
+        }
+      }
+      return mapping;
+    }
+  }
+}
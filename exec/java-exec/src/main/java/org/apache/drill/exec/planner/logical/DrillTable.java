@@ -28,10 +28,15 @@ import org.apache.calcite.schema.Table;
 import org.apache.drill.common.JSONOptions;
 import org.apache.drill.common.logical.StoragePluginConfig;
 import org.apache.drill.exec.physical.base.GroupScan;
+import org.apache.drill.exec.planner.common.DrillStatsTable;
 import org.apache.drill.exec.store.StoragePlugin;
+import org.apache.drill.exec.store.dfs.DrillFileSystem;
+import org.apache.drill.exec.store.dfs.FileSystemPlugin;
+import org.apache.drill.exec.store.dfs.FormatSelection;
 import org.apache.drill.exec.util.ImpersonationUtil;
 
 public abstract class DrillTable implements Table {
+  private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(DrillTable.class);
 
   private final String storageEngineName;
   private final StoragePluginConfig storageEngineConfig;
@@ -40,6 +45,8 @@ public abstract class DrillTable implements Table {
   private final StoragePlugin plugin;
   private final String userName;
   private GroupScan scan;
+  private DrillStatsTable statsTable;
+  private boolean statsTableLoaded;
 
   /**
    * Creates a DrillTable instance for a @{code TableType#Table} table.
@@ -87,6 +94,31 @@ public abstract class DrillTable implements Table {
     return scan;
   }
 
+  /**
+   * Statistics collected for this table by ANALYZE TABLE. Only directory-based file system
+   * tables can be analyzed; the statistics are read once per table instance.
+   *
+   * @return the statistics, or null if the table has none
+   */
+  public DrillStatsTable getStatsTable() {
+    if (!statsTableLoaded) {
+      statsTableLoaded = true;
+      if (plugin instanceof FileSystemPlugin && selection instanceof FormatSelection) {
+        final FormatSelection formatSelection = (FormatSelection) selection;
+        final String selectionRoot = formatSelection.getSelection().selectionRoot;
+        if (selectionRoot != null) {
+          try {
+            final DrillFileSystem fs = ImpersonationUtil.createFileSystem(userName, ((FileSystemPlugin) plugin).getFsConf());
+            statsTable = DrillStatsTable.read(fs, selectionRoot);
+          } catch (IOException | RuntimeException e) {
+            logger.warn("Unable to read statistics of table {}", selectionRoot, e);
+          }
+        }
+      }
+    }
+    return statsTable;
+  }
+
   public StoragePluginConfig getStorageEngineConfig() {
     return storageEngineConfig;
   }
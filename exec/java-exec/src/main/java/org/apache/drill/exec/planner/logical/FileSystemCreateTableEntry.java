@@ -29,6 +29,8 @@ import org.apache.drill.exec.physical.base.Writer;
 import org.apache.drill.exec.store.StoragePluginRegistry;
 import org.apache.drill.exec.store.dfs.FileSystemConfig;
 import org.apache.drill.exec.store.dfs.FormatPlugin;
+import org.apache.drill.exec.store.dfs.easy.EasyFormatPlugin;
+import org.apache.drill.exec.store.dfs.easy.EasyWriter;
 
 import com.fasterxml.jackson.annotation.JacksonInject;
 import com.fasterxml.jackson.annotation.JsonCreator;
@@ -46,18 +48,21 @@ public class FileSystemCreateTableEntry implements CreateTableEntry {
   private FileSystemConfig storageConfig;
   private FormatPlugin formatPlugin;
   private String location;
+  private final String commitLocation;
   private final List<String> partitionColumns;
 
   @JsonCreator
   public FileSystemCreateTableEntry(@JsonProperty("storageConfig") FileSystemConfig storageConfig,
                                     @JsonProperty("formatConfig") FormatPluginConfig formatConfig,
                                     @JsonProperty("location") String location,
+                                    @JsonProperty("commitLocation") String commitLocation,
                                     @JsonProperty("partitionColumn") List<String> partitionColumns,
                                     @JacksonInject StoragePluginRegistry engineRegistry)
       throws ExecutionSetupException {
     this.storageConfig = storageConfig;
     this.formatPlugin = engineRegistry.getFormatPlugin(storageConfig, formatConfig);
     this.location = location;
+    this.commitLocation = commitLocation;
     this.partitionColumns = partitionColumns;
   }
 
@@ -65,9 +70,23 @@ public class FileSystemCreateTableEntry implements CreateTableEntry {
                                     FormatPlugin formatPlugin,
                                     String location,
                                     List<String> partitionColumns) {
+    this(storageConfig, formatPlugin, location, null, partitionColumns);
+  }
+
+  /**
+   * Creates an entry whose output is written to <code>location</code> and moved to
+   * <code>commitLocation</code>, replacing its current contents, once complete.
+   * Only supported by formats based on {@link EasyFormatPlugin}.
+   */
+  public FileSystemCreateTableEntry(FileSystemConfig storageConfig,
+                                    FormatPlugin formatPlugin,
+                                    String location,
+                                    String commitLocation,
+                                    List<String> partitionColumns) {
     this.storageConfig = storageConfig;
     this.formatPlugin = formatPlugin;
     this.location = location;
+    this.commitLocation = commitLocation;
     this.partitionColumns = partitionColumns;
   }
 
@@ -81,6 +100,11 @@ public class FileSystemCreateTableEntry implements CreateTableEntry {
     return formatPlugin.getConfig();
   }
 
+  @JsonProperty("commitLocation")
+  public String getCommitLocation() {
+    return commitLocation;
+  }
+
   @Override
   public Writer getWriter(PhysicalOperator child) throws IOException {
     if (!(formatPlugin.supportsAutoPartitioning() ||
@@ -89,6 +113,14 @@ public class FileSystemCreateTableEntry implements CreateTableEntry {
           formatPlugin.getName())).build(logger);
     }
 
+    if (commitLocation != null) {
+      if (!(formatPlugin instanceof EasyFormatPlugin)) {
+        throw UserException.unsupportedError().message(String.format("%s format does not support staged writes.",
+            formatPlugin.getName())).build(logger);
+      }
+      return new EasyWriter(child, location, commitLocation, partitionColumns, (EasyFormatPlugin<?>) formatPlugin);
+    }
+
     return formatPlugin.getWriter(child, location, partitionColumns);
   }
 
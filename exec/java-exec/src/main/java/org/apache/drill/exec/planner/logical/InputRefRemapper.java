@@ -0,0 +1,42 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.planner.logical;
+
+import org.apache.calcite.rex.RexInputRef;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.rex.RexShuttle;
+
+/**
+ * Rewrites the input references of an expression after the fields of its input have been reordered,
+ * e.g. when the inputs of the join the expression is a condition of have been rearranged.
+ */
+class InputRefRemapper extends RexShuttle {
+  private final int[] mapping;
+
+  /**
+   * @param mapping for each field of the old input, its position in the new input
+   */
+  InputRefRemapper(int[] mapping) {
+    this.mapping = mapping;
+  }
+
+  @Override
+  public RexNode visitInputRef(RexInputRef inputRef) {
+    return new RexInputRef(mapping[inputRef.getIndex()], inputRef.getType());
+  }
+}
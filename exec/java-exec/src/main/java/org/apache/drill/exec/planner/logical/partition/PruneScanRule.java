@@ -21,6 +21,7 @@ import java.util.BitSet;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.concurrent.TimeUnit;
 
 import com.google.common.base.Stopwatch;
@@ -29,6 +30,7 @@ import org.apache.calcite.adapter.enumerable.EnumerableTableScan;
 import org.apache.calcite.rel.core.Filter;
 import org.apache.calcite.rel.core.Project;
 import org.apache.calcite.rel.core.TableScan;
+import org.apache.calcite.rex.RexBuilder;
 import org.apache.calcite.rex.RexUtil;
 import org.apache.calcite.util.BitSets;
 import org.apache.drill.common.expression.ErrorCollectorImpl;
@@ -229,11 +231,35 @@ public abstract class PruneScanRule extends StoragePluginOptimizerRule {
     int maxIndex = -1;
     BitSet matchBitSet = new BitSet();
 
+    Iterable<List<PartitionLocation>> partitionBatches = descriptor;
+    boolean prunedByLevel = false;
+    if (descriptor instanceof FileSystemPartitionDescriptor && settings.isHierarchicalDirPruningEnabled()) {
+      final TreeMap<Integer, List<RexNode>> levelConjuncts = splitByDirectoryLevel(pruneCondition, partitionMap);
+      if (levelConjuncts != null) {
+        miscTimer.start();
+        final DirectoryNode root = DirectoryNode.build(descriptor, levelConjuncts.lastKey());
+        final List<PartitionLocation> survivors = pruneByDirectoryLevel(root, levelConjuncts, settings,
+            scanRel, descriptor, partitionColumnBitSet, fieldNameMap);
+        logger.info("Elapsed time in hierarchical directory pruning: {} ms", miscTimer.elapsed(TimeUnit.MILLISECONDS));
+        miscTimer.reset();
+        if (survivors != null && root.representative != null) {
+          // only the survivors need the full evaluation below, which also collects the partition
+          // values used to pick the metadata cache file
+          numTotal = root.numLocations;
+          firstLocation = root.representative;
+          partitionBatches = Lists.partition(survivors, PartitionDescriptor.PARTITION_BATCH_SIZE);
+          prunedByLevel = true;
+        }
+      }
+    }
+
     // Outer loop: iterate over a list of batches of PartitionLocations
-    for (List<PartitionLocation> partitions : descriptor) {
-      numTotal += partitions.size();
+    for (List<PartitionLocation> partitions : partitionBatches) {
+      if (!prunedByLevel) {
+        numTotal += partitions.size();
+      }
       logger.debug("Evaluating partition pruning for batch {}", batchIndex);
-      if (batchIndex == 0) { // save the first location in case everything is pruned
+      if (batchIndex == 0 && !prunedByLevel) { // save the first location in case everything is pruned
         firstLocation = partitions.get(0);
       }
       final NullableBitVector output = new NullableBitVector(MaterializedField.create("", Types.optional(MinorType.BIT)), allocator);
@@ -443,6 +469,189 @@ public abstract class PruneScanRule extends StoragePluginOptimizerRule {
     }
   }
 
+  /**
+   * Splits the prune condition into its conjuncts and assigns each to the deepest directory level it references.
+   *
+   * @return the conjuncts by directory level, or null if some conjunct does not reference directories only
+   */
+  private static TreeMap<Integer, List<RexNode>> splitByDirectoryLevel(RexNode pruneCondition,
+      Map<Integer, Integer> partitionMap) {
+    final TreeMap<Integer, List<RexNode>> levelConjuncts = new TreeMap<>();
+    for (RexNode conjunct : RelOptUtil.conjunctions(pruneCondition)) {
+      int level = -1;
+      for (int relColIndex : RelOptUtil.InputFinder.bits(conjunct)) {
+        final Integer partitionIndex = partitionMap.get(relColIndex);
+        if (partitionIndex == null) {
+          return null;
+        }
+        level = Math.max(level, partitionIndex);
+      }
+      if (level < 0) {
+        return null;
+      }
+      if (!levelConjuncts.containsKey(level)) {
+        levelConjuncts.put(level, Lists.<RexNode>newArrayList());
+      }
+      levelConjuncts.get(level).add(conjunct);
+    }
+    return levelConjuncts.isEmpty() ? null : levelConjuncts;
+  }
+
+  /**
+   * Prunes directory partitions one directory level at a time, walking down the tree of the directories
+   * that hold the partition locations. The conjuncts of level N are evaluated once per child of the
+   * directories that survived level N - 1, so a whole subtree is dropped as soon as one of its
+   * directories fails, and neither its directories nor its locations are visited again. The prune
+   * condition is the conjunction of the per-level conditions, so the survivors are exactly the locations
+   * that pass the full condition.
+   * <p>
+   * The locations themselves come from the table selection, which is listed when the table is resolved;
+   * this saves evaluating the condition, not listing the file system.
+   *
+   * @return the surviving locations, or null if the condition could not be evaluated level by level
+   */
+  private List<PartitionLocation> pruneByDirectoryLevel(DirectoryNode root,
+      TreeMap<Integer, List<RexNode>> levelConjuncts,
+      PlannerSettings settings,
+      TableScan scanRel,
+      PartitionDescriptor descriptor,
+      BitSet partitionColumnBitSet,
+      Map<Integer, String> fieldNameMap) {
+    final RexBuilder rexBuilder = scanRel.getCluster().getRexBuilder();
+    List<DirectoryNode> survivors = Collections.singletonList(root);
+    for (int level = 0; level <= levelConjuncts.lastKey() && !survivors.isEmpty(); level++) {
+      final List<DirectoryNode> children = Lists.newArrayList();
+      for (DirectoryNode directory : survivors) {
+        children.addAll(directory.children.values());
+      }
+      final List<RexNode> conjuncts = levelConjuncts.get(level);
+      if (conjuncts == null) {
+        survivors = children;
+        continue;
+      }
+
+      final RexNode levelCondition = RexUtil.composeConjunction(rexBuilder, conjuncts, false);
+      final BitSet levelColumnBitSet = partitionColumnBitSet.get(0, level + 1);
+      final List<DirectoryNode> qualifiedChildren = Lists.newArrayList();
+      for (List<DirectoryNode> batch : Lists.partition(children, PartitionDescriptor.PARTITION_BATCH_SIZE)) {
+        final List<PartitionLocation> representatives = Lists.newArrayList();
+        for (DirectoryNode directory : batch) {
+          representatives.add(directory.representative);
+        }
+        final BitSet qualified = evaluatePartitions(representatives, levelCondition, settings, scanRel, descriptor,
+            levelColumnBitSet, fieldNameMap);
+        if (qualified == null) {
+          return null;
+        }
+        for (int i : BitSets.toIter(qualified)) {
+          qualifiedChildren.add(batch.get(i));
+        }
+      }
+      logger.debug("Directory level {}: {} of {} directories qualified", level, qualifiedChildren.size(),
+          children.size());
+      survivors = qualifiedChildren;
+    }
+
+    final List<PartitionLocation> locations = Lists.newArrayList();
+    for (DirectoryNode directory : survivors) {
+      locations.addAll(directory.locations);
+    }
+    return locations;
+  }
+
+  /**
+   * A directory of the partition hierarchy, down to the deepest level the prune condition references.
+   * The children of a directory are keyed by their name, which is the value of the next dirN column,
+   * and the directories of the deepest level hold the partition locations below them.
+   */
+  private static class DirectoryNode {
+    private final Map<String, DirectoryNode> children = Maps.newLinkedHashMap();
+    private final List<PartitionLocation> locations = Lists.newArrayList();
+    /** a location below this directory, whose dirN values up to this level are the ones of the directory */
+    private PartitionLocation representative;
+    private long numLocations;
+
+    private static DirectoryNode build(Iterable<List<PartitionLocation>> partitionBatches, int maxLevel) {
+      final DirectoryNode root = new DirectoryNode();
+      for (List<PartitionLocation> partitions : partitionBatches) {
+        for (PartitionLocation location : partitions) {
+          DirectoryNode directory = root;
+          directory.add(location);
+          for (int level = 0; level <= maxLevel; level++) {
+            final String name = location.getPartitionValue(level);
+            DirectoryNode child = directory.children.get(name);
+            if (child == null) {
+              child = new DirectoryNode();
+              directory.children.put(name, child);
+            }
+            directory = child;
+            directory.add(location);
+          }
+          directory.locations.add(location);
+        }
+      }
+      return root;
+    }
+
+    private void add(PartitionLocation location) {
+      if (representative == null) {
+        representative = location;
+      }
+      numLocations++;
+    }
+  }
+
+  /**
+   * Evaluates the condition against a single batch of partition locations.
+   *
+   * @return the positions of the locations for which the condition is true, or null on failure
+   */
+  private BitSet evaluatePartitions(List<PartitionLocation> partitions,
+      RexNode condition,
+      PlannerSettings settings,
+      TableScan scanRel,
+      PartitionDescriptor descriptor,
+      BitSet partitionColumnBitSet,
+      Map<Integer, String> fieldNameMap) {
+    final BufferAllocator allocator = optimizerContext.getAllocator();
+    final NullableBitVector output = new NullableBitVector(MaterializedField.create("", Types.optional(MinorType.BIT)), allocator);
+    final VectorContainer container = new VectorContainer();
+    try {
+      final ValueVector[] vectors = new ValueVector[descriptor.getMaxHierarchyLevel()];
+      for (int partitionColumnIndex : BitSets.toIter(partitionColumnBitSet)) {
+        SchemaPath column = SchemaPath.getSimplePath(fieldNameMap.get(partitionColumnIndex));
+        MajorType type = descriptor.getVectorType(column, settings);
+        MaterializedField field = MaterializedField.create(column.getAsUnescapedPath(), type);
+        ValueVector v = TypeHelper.getNewVector(field, allocator);
+        v.allocateNew();
+        vectors[partitionColumnIndex] = v;
+        container.add(v);
+      }
+      descriptor.populatePartitionVectors(vectors, partitions, partitionColumnBitSet, fieldNameMap);
+
+      final LogicalExpression materializedExpr = materializePruneExpr(condition, settings, scanRel, container);
+      if (materializedExpr == null) {
+        return null;
+      }
+      output.allocateNew(partitions.size());
+      InterpreterEvaluator.evaluate(partitions.size(), optimizerContext, container, output, materializedExpr);
+
+      final BitSet qualified = new BitSet(partitions.size());
+      for (int i = 0; i < partitions.size(); i++) {
+        if (!output.getAccessor().isNull(i) && output.getAccessor().get(i) == 1) {
+          qualified.set(i);
+        }
+      }
+      return qualified;
+    } catch (Exception e) {
+      logger.warn("Exception while evaluating directory partitions.", e);
+      return null;
+    } finally {
+      container.clear();
+      output.clear();
+    }
+  }
+
   /** Compose the array of partition values for the directories that are referenced by filter:
    *  e.g suppose the dir hierarchy is year/quarter/month and the query is:
    *     SELECT * FROM T WHERE dir0=2015 AND dir1 = 'Q1',
@@ -22,8 +22,11 @@ import java.util.List;
 
 import org.apache.calcite.rel.core.Join;
 import org.apache.drill.common.logical.data.JoinCondition;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.drill.exec.physical.base.FileGroupScan;
 import org.apache.drill.exec.physical.base.PhysicalOperator;
 import org.apache.drill.exec.physical.config.HashJoinPOP;
+import org.apache.drill.exec.physical.config.RuntimePartitionFilterDef;
 import org.apache.drill.exec.physical.impl.join.JoinUtils;
 import org.apache.drill.exec.physical.impl.join.JoinUtils.JoinCategory;
 import org.apache.drill.exec.planner.cost.DrillCostBase.DrillCostFactory;
@@ -35,7 +38,9 @@ import org.apache.calcite.plan.RelOptCluster;
 import org.apache.calcite.plan.RelOptCost;
 import org.apache.calcite.plan.RelOptPlanner;
 import org.apache.calcite.plan.RelTraitSet;
+import org.apache.calcite.rex.RexInputRef;
 import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.sql.SqlKind;
 
 import com.google.common.collect.Lists;
 
@@ -113,10 +118,50 @@ public class HashJoinPrel  extends JoinPrel {
 
     buildJoinConditions(conditions, leftFields, rightFields, leftKeys, rightKeys);
 
-    HashJoinPOP hjoin = new HashJoinPOP(leftPop, rightPop, conditions, jtype);
+    RuntimePartitionFilterDef partitionFilter = null;
+    if (jtype == JoinRelType.INNER && PrelUtil.getSettings(getCluster()).isRuntimePartitionPruningEnabled()) {
+      partitionFilter = getRuntimePartitionFilter(creator, left, leftKeys, conditions);
+    }
+
+    HashJoinPOP hjoin = new HashJoinPOP(leftPop, rightPop, conditions, jtype, partitionFilter);
     return creator.addMetadata(this, hjoin);
   }
 
+  /**
+   * Looks for a probe side key that is a partition column (dirN) of a file system scan running in the
+   * same fragment as the join, i.e. reached through projects and filters only. Such a scan can skip
+   * the partitions that do not occur among the build side values once the build side has been read.
+   */
+  private RuntimePartitionFilterDef getRuntimePartitionFilter(PhysicalPlanCreator creator, RelNode probe,
+      List<Integer> probeKeys, List<JoinCondition> conditions) {
+    final String partitionLabel = PrelUtil.getSettings(getCluster()).getFsPartitionColumnLabel();
+    for (int i = 0; i < probeKeys.size(); i++) {
+      if (!SqlKind.EQUALS.toString().equals(conditions.get(i).getRelationship())) {
+        continue;
+      }
+      RelNode rel = probe;
+      int index = probeKeys.get(i);
+      while (rel instanceof ProjectPrel || rel instanceof FilterPrel || rel instanceof SelectionVectorRemoverPrel) {
+        if (rel instanceof ProjectPrel) {
+          final RexNode expr = ((ProjectPrel) rel).getProjects().get(index);
+          if (!(expr instanceof RexInputRef)) {
+            break;
+          }
+          index = ((RexInputRef) expr).getIndex();
+        }
+        rel = rel.getInput(0);
+      }
+      if (rel instanceof ScanPrel && ((ScanPrel) rel).getGroupScan() instanceof FileGroupScan) {
+        final String column = rel.getRowType().getFieldNames().get(index);
+        if (column.length() > partitionLabel.length() && column.startsWith(partitionLabel)
+            && StringUtils.isNumeric(column.substring(partitionLabel.length()))) {
+          return new RuntimePartitionFilterDef(creator.getFragmentOperatorId((Prel) rel), i, column);
+        }
+      }
+    }
+    return null;
+  }
+
   public void setSwapped(boolean swapped) {
     this.swapped = swapped;
   }
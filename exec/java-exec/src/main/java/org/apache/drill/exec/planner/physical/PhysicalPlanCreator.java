@@ -57,6 +57,16 @@ public class PhysicalPlanCreator {
 //    return id.getAsSingleInt();
 //  }
 
+  /**
+   * @return the id that the operator created from the given prel has within its fragment once the plan is
+   *         materialized into fragments, as the operator would get from {@link PhysicalOperator#getOperatorId()}
+   *         at run time
+   * @see org.apache.drill.exec.planner.fragment.Materializer
+   */
+  public int getFragmentOperatorId(Prel prel) {
+    return Short.MAX_VALUE & opIdMap.get(prel).getAsSingleInt();
+  }
+
   public PhysicalOperator addMetadata(Prel originalPrel, PhysicalOperator op){
     op.setOperatorId(opIdMap.get(originalPrel).getAsSingleInt());
     op.setCost(originalPrel.getRows());
@@ -63,6 +63,7 @@ public class PlannerSettings implements Context{
   public static final OptionValidator BROADCAST_FACTOR = new RangeDoubleValidator("planner.broadcast_factor", 0, Double.MAX_VALUE, 1.0d);
   public static final OptionValidator NESTEDLOOPJOIN_FACTOR = new RangeDoubleValidator("planner.nestedloopjoin_factor", 0, Double.MAX_VALUE, 100.0d);
   public static final OptionValidator NLJOIN_FOR_SCALAR = new BooleanValidator("planner.enable_nljoin_for_scalar_only", true);
+  public static final OptionValidator NLJOIN_CONDITION = new BooleanValidator("planner.enable_nljoin_condition", true);
   public static final OptionValidator JOIN_ROW_COUNT_ESTIMATE_FACTOR = new RangeDoubleValidator("planner.join.row_count_estimate_factor", 0, Double.MAX_VALUE, 1.0d);
   public static final OptionValidator MUX_EXCHANGE = new BooleanValidator("planner.enable_mux_exchange", true);
   public static final OptionValidator DEMUX_EXCHANGE = new BooleanValidator("planner.enable_demux_exchange", false);
@@ -104,6 +105,24 @@ public class PlannerSettings implements Context{
   public static final String PARQUET_ROWGROUP_FILTER_PUSHDOWN_PLANNING_THRESHOLD_KEY = "planner.store.parquet.rowgroup.filter.pushdown.threshold";
   public static final PositiveLongValidator PARQUET_ROWGROUP_FILTER_PUSHDOWN_PLANNING_THRESHOLD = new PositiveLongValidator(PARQUET_ROWGROUP_FILTER_PUSHDOWN_PLANNING_THRESHOLD_KEY,
       Long.MAX_VALUE, 10000);
+  public static final String STATISTICS_KEY = "planner.enable_statistics";
+  public static final BooleanValidator STATISTICS = new BooleanValidator(STATISTICS_KEY, true);
+  public static final String HIERARCHICAL_DIR_PRUNING_KEY = "planner.enable_hierarchical_dir_pruning";
+  public static final BooleanValidator HIERARCHICAL_DIR_PRUNING = new BooleanValidator(HIERARCHICAL_DIR_PRUNING_KEY, true);
+  public static final String RUNTIME_PARTITION_PRUNING_KEY = "planner.enable_runtime_partition_pruning";
+  public static final BooleanValidator RUNTIME_PARTITION_PRUNING = new BooleanValidator(RUNTIME_PARTITION_PRUNING_KEY, true);
+  public static final String TOPN_RUNTIME_FILTER_KEY = "planner.enable_topn_runtime_filter";
+  public static final BooleanValidator TOPN_RUNTIME_FILTER = new BooleanValidator(TOPN_RUNTIME_FILTER_KEY, true);
+  public static final String JOIN_ENUMERATION_KEY = "planner.enable_join_enumeration";
+  public static final BooleanValidator JOIN_ENUMERATION = new BooleanValidator(JOIN_ENUMERATION_KEY, true);
+  public static final String JOIN_ENUMERATION_DP_THRESHOLD_KEY = "planner.join_enumeration.dp_threshold";
+  public static final RangeLongValidator JOIN_ENUMERATION_DP_THRESHOLD = new RangeLongValidator(JOIN_ENUMERATION_DP_THRESHOLD_KEY, 2, 14, 10);
+  public static final String AGGREGATE_JOIN_TRANSPOSE_KEY = "planner.enable_aggregate_join_transpose";
+  public static final BooleanValidator AGGREGATE_JOIN_TRANSPOSE = new BooleanValidator(AGGREGATE_JOIN_TRANSPOSE_KEY, true);
+  public static final String SHARED_SUBTREES_KEY = "planner.enable_shared_subtrees";
+  public static final BooleanValidator SHARED_SUBTREES = new BooleanValidator(SHARED_SUBTREES_KEY, false);
+  public static final String JOIN_SKEW_FANOUT_KEY = "planner.join.skew_fanout";
+  public static final RangeLongValidator JOIN_SKEW_FANOUT = new RangeLongValidator(JOIN_SKEW_FANOUT_KEY, 1, 1024, 1);
 
 
   public OptionManager options = null;
@@ -146,6 +165,10 @@ public class PlannerSettings implements Context{
     return options.getOption(NLJOIN_FOR_SCALAR.getOptionName()).bool_val;
   }
 
+  public boolean isNlJoinConditionEnabled() {
+    return options.getOption(NLJOIN_CONDITION.getOptionName()).bool_val;
+  }
+
   public boolean useDefaultCosting() {
     return useDefaultCosting;
   }
@@ -202,6 +225,13 @@ public class PlannerSettings implements Context{
 
   public boolean isHepOptEnabled() { return options.getOption(HEP_OPT.getOptionName()).bool_val;}
 
+  /**
+   * @return number of receivers a hot join key of a hash distributed join is spread over, 1 if skew handling is off
+   */
+  public int getJoinSkewFanout() {
+    return (int) options.getOption(JOIN_SKEW_FANOUT);
+  }
+
   public double getHashJoinSwapMarginFactor() {
     return options.getOption(HASH_JOIN_SWAP_MARGIN_FACTOR.getOptionName()).float_val / 100d;
   }
@@ -262,6 +292,62 @@ public class PlannerSettings implements Context{
     return options.getOption(PARQUET_ROWGROUP_FILTER_PUSHDOWN_PLANNING_THRESHOLD);
   }
 
+  /**
+   * @return true if the cost model should use table statistics collected by ANALYZE TABLE
+   */
+  public boolean isStatisticsEnabled() {
+    return options.getOption(STATISTICS);
+  }
+
+  /**
+   * @return true if directory pruning should evaluate dirN filters one directory level at a time
+   */
+  public boolean isHierarchicalDirPruningEnabled() {
+    return options.getOption(HIERARCHICAL_DIR_PRUNING);
+  }
+
+  /**
+   * @return true if a hash join on a partition column may skip probe side partitions at run time
+   */
+  public boolean isRuntimePartitionPruningEnabled() {
+    return options.getOption(RUNTIME_PARTITION_PRUNING);
+  }
+
+  /**
+   * @return true if a TopN may publish its Nth key to the Parquet scan feeding it, to skip row groups at run time
+   */
+  public boolean isTopNRuntimeFilterEnabled() {
+    return options.getOption(TOPN_RUNTIME_FILTER);
+  }
+
+  /**
+   * @return true if inner multi-way joins should be ordered by the cost-based join enumerator instead of LOPT
+   */
+  public boolean isJoinEnumerationEnabled() {
+    return options.getOption(JOIN_ENUMERATION);
+  }
+
+  /**
+   * @return largest number of join inputs ordered by dynamic programming; larger joins are ordered greedily
+   */
+  public int getJoinEnumerationDpThreshold() {
+    return (int) options.getOption(JOIN_ENUMERATION_DP_THRESHOLD);
+  }
+
+  /**
+   * @return true if a partial aggregate may be pushed below the join an aggregate is computed over
+   */
+  public boolean isAggregateJoinTransposeEnabled() {
+    return options.getOption(AGGREGATE_JOIN_TRANSPOSE);
+  }
+
+  /**
+   * @return true if identical subtrees of a fragment should be computed once and shared through a spool
+   */
+  public boolean isSharedSubtreesEnabled() {
+    return options.getOption(SHARED_SUBTREES);
+  }
+
   @Override
   public <T> T unwrap(Class<T> clazz) {
     if(clazz == PlannerSettings.class){
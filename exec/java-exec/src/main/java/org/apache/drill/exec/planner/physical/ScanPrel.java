@@ -27,8 +27,10 @@ import org.apache.drill.common.exceptions.ExecutionSetupException;
 import org.apache.drill.exec.physical.base.GroupScan;
 import org.apache.drill.exec.physical.base.PhysicalOperator;
 import org.apache.drill.exec.physical.base.ScanStats;
+import org.apache.drill.exec.planner.common.DrillScanRelBase;
 import org.apache.drill.exec.planner.cost.DrillCostBase.DrillCostFactory;
 import org.apache.drill.exec.planner.fragment.DistributionAffinity;
+import org.apache.drill.exec.planner.logical.DrillTable;
 import org.apache.drill.exec.planner.physical.visitor.PrelVisitor;
 import org.apache.drill.exec.record.BatchSchema.SelectionVectorMode;
 import org.apache.calcite.rel.AbstractRelNode;
@@ -46,24 +48,38 @@ public class ScanPrel extends AbstractRelNode implements DrillScanPrel {
 
   protected final GroupScan groupScan;
   private final RelDataType rowType;
+  private final DrillTable drillTable;
 
   public ScanPrel(RelOptCluster cluster, RelTraitSet traits,
       GroupScan groupScan, RelDataType rowType) {
+    this(cluster, traits, groupScan, rowType, null);
+  }
+
+  public ScanPrel(RelOptCluster cluster, RelTraitSet traits,
+      GroupScan groupScan, RelDataType rowType, DrillTable drillTable) {
     super(cluster, traits);
     this.groupScan = getCopy(groupScan);
     this.rowType = rowType;
+    this.drillTable = drillTable;
   }
 
   @Override
   public RelNode copy(RelTraitSet traitSet, List<RelNode> inputs) {
     return new ScanPrel(this.getCluster(), traitSet, groupScan,
-        this.rowType);
+        this.rowType, drillTable);
   }
 
   @Override
   protected Object clone() throws CloneNotSupportedException {
     return new ScanPrel(this.getCluster(), this.getTraitSet(), getCopy(groupScan),
-        this.rowType);
+        this.rowType, drillTable);
+  }
+
+  /**
+   * @return the table this scan was planned from, or null if unknown
+   */
+  public DrillTable getDrillTable() {
+    return drillTable;
   }
 
   private static GroupScan getCopy(GroupScan scan){
@@ -87,7 +103,15 @@ public class ScanPrel extends AbstractRelNode implements DrillScanPrel {
 
   public static ScanPrel create(RelNode old, RelTraitSet traitSets,
       GroupScan scan, RelDataType rowType) {
-    return new ScanPrel(old.getCluster(), traitSets, getCopy(scan), rowType);
+    final DrillTable drillTable;
+    if (old instanceof ScanPrel) {
+      drillTable = ((ScanPrel) old).drillTable;
+    } else if (old instanceof DrillScanRelBase) {
+      drillTable = ((DrillScanRelBase) old).getDrillTable();
+    } else {
+      drillTable = null;
+    }
+    return new ScanPrel(old.getCluster(), traitSets, getCopy(scan), rowType, drillTable);
   }
 
   @Override
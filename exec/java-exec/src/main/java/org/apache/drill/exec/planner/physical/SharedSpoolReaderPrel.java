@@ -0,0 +1,114 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.planner.physical;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+
+import org.apache.calcite.plan.RelOptCluster;
+import org.apache.calcite.plan.RelTraitSet;
+import org.apache.calcite.rel.AbstractRelNode;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.RelWriter;
+import org.apache.calcite.rel.metadata.RelMetadataQuery;
+import org.apache.calcite.rel.type.RelDataType;
+import org.apache.drill.exec.physical.base.PhysicalOperator;
+import org.apache.drill.exec.physical.config.SharedSpoolReader;
+import org.apache.drill.exec.planner.physical.visitor.PrelVisitor;
+import org.apache.drill.exec.record.BatchSchema.SelectionVectorMode;
+
+import com.google.common.collect.Iterators;
+
+/**
+ * Reads the output of the input of the {@link SharedSpoolPrel} with the same spool id, in place of an
+ * identical subtree.
+ */
+public class SharedSpoolReaderPrel extends AbstractRelNode implements Prel {
+
+  private final int spoolId;
+  private final int consumerIndex;
+  private final int consumerCount;
+  private final double rowCount;
+
+  public SharedSpoolReaderPrel(RelOptCluster cluster, RelTraitSet traitSet, RelDataType rowType, int spoolId,
+      int consumerIndex, int consumerCount, double rowCount) {
+    super(cluster, traitSet);
+    this.rowType = rowType;
+    this.spoolId = spoolId;
+    this.consumerIndex = consumerIndex;
+    this.consumerCount = consumerCount;
+    this.rowCount = rowCount;
+  }
+
+  /**
+   * Creates the reader that replaces the given subtree.
+   */
+  public static SharedSpoolReaderPrel create(Prel subtree, int spoolId, int consumerIndex, int consumerCount) {
+    return new SharedSpoolReaderPrel(subtree.getCluster(), subtree.getTraitSet(), subtree.getRowType(), spoolId,
+        consumerIndex, consumerCount, RelMetadataQuery.getRowCount(subtree));
+  }
+
+  @Override
+  public Iterator<Prel> iterator() {
+    return Iterators.emptyIterator();
+  }
+
+  @Override
+  public PhysicalOperator getPhysicalOperator(PhysicalPlanCreator creator) throws IOException {
+    return creator.addMetadata(this, new SharedSpoolReader(spoolId, consumerIndex, consumerCount));
+  }
+
+  @Override
+  public Prel copy(RelTraitSet traitSet, List<RelNode> inputs) {
+    return new SharedSpoolReaderPrel(getCluster(), traitSet, rowType, spoolId, consumerIndex, consumerCount, rowCount);
+  }
+
+  @Override
+  public RelWriter explainTerms(RelWriter pw) {
+    return super.explainTerms(pw)
+        .item("spoolId", spoolId)
+        .item("consumer", consumerIndex);
+  }
+
+  @Override
+  public double getRows() {
+    return rowCount;
+  }
+
+  @Override
+  public <T, X, E extends Throwable> T accept(PrelVisitor<T, X, E> logicalVisitor, X value) throws E {
+    return logicalVisitor.visitPrel(this, value);
+  }
+
+  @Override
+  public SelectionVectorMode[] getSupportedEncodings() {
+    return SelectionVectorMode.DEFAULT;
+  }
+
+  @Override
+  public SelectionVectorMode getEncoding() {
+    return SelectionVectorMode.NONE;
+  }
+
+  @Override
+  public boolean needsFinalColumnReordering() {
+    return true;
+  }
+
+}
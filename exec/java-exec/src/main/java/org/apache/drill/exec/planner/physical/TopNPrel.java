@@ -20,11 +20,15 @@ package org.apache.drill.exec.planner.physical;
 import java.io.IOException;
 import java.util.List;
 
+import org.apache.drill.common.logical.data.Order.Ordering;
 import org.apache.drill.exec.physical.base.PhysicalOperator;
+import org.apache.drill.exec.physical.config.RuntimeThresholdFilterDef;
 import org.apache.drill.exec.physical.config.TopN;
 import org.apache.drill.exec.planner.cost.DrillCostBase;
 import org.apache.drill.exec.planner.cost.DrillCostBase.DrillCostFactory;
 import org.apache.drill.exec.record.BatchSchema.SelectionVectorMode;
+import org.apache.drill.exec.store.parquet.ParquetGroupScan;
+import org.apache.calcite.rel.RelFieldCollation.Direction;
 import org.apache.calcite.rel.RelCollation;
 import org.apache.calcite.rel.RelNode;
 import org.apache.calcite.rel.RelWriter;
@@ -33,6 +37,8 @@ import org.apache.calcite.plan.RelOptCluster;
 import org.apache.calcite.plan.RelOptCost;
 import org.apache.calcite.plan.RelOptPlanner;
 import org.apache.calcite.plan.RelTraitSet;
+import org.apache.calcite.rex.RexInputRef;
+import org.apache.calcite.rex.RexNode;
 
 public class TopNPrel extends SinglePrel {
 
@@ -56,10 +62,46 @@ public class TopNPrel extends SinglePrel {
 
     PhysicalOperator childPOP = child.getPhysicalOperator(creator);
 
-    TopN topN = new TopN(childPOP, PrelUtil.getOrdering(this.collation, getInput().getRowType()), false, this.limit);
+    List<Ordering> orderings = PrelUtil.getOrdering(this.collation, getInput().getRowType());
+    RuntimeThresholdFilterDef thresholdFilter = null;
+    if (!orderings.isEmpty() && PrelUtil.getSettings(getCluster()).isTopNRuntimeFilterEnabled()) {
+      thresholdFilter = getRuntimeThresholdFilter(creator, orderings.get(0));
+    }
+
+    TopN topN = new TopN(childPOP, orderings, false, this.limit, thresholdFilter);
     return creator.addMetadata(this, topN);
   }
 
+  /**
+   * Looks for a Parquet scan running in the same fragment as the TopN, i.e. reached through projects
+   * and filters only, of which the first ordering key is a column. Such a scan can skip the row groups
+   * whose statistics cannot beat the Nth key once the TopN holds N records. The statistics leave nulls
+   * out, so the key must sort its nulls last.
+   */
+  private RuntimeThresholdFilterDef getRuntimeThresholdFilter(PhysicalPlanCreator creator, Ordering ordering) {
+    final boolean descending = ordering.getDirection() == Direction.DESCENDING;
+    if (ordering.nullsSortHigh() == descending) {
+      return null;
+    }
+    RelNode rel = getInput();
+    int index = this.collation.getFieldCollations().get(0).getFieldIndex();
+    while (rel instanceof ProjectPrel || rel instanceof FilterPrel || rel instanceof SelectionVectorRemoverPrel) {
+      if (rel instanceof ProjectPrel) {
+        final RexNode expr = ((ProjectPrel) rel).getProjects().get(index);
+        if (!(expr instanceof RexInputRef)) {
+          return null;
+        }
+        index = ((RexInputRef) expr).getIndex();
+      }
+      rel = rel.getInput(0);
+    }
+    if (rel instanceof ScanPrel && ((ScanPrel) rel).getGroupScan() instanceof ParquetGroupScan) {
+      return new RuntimeThresholdFilterDef(creator.getFragmentOperatorId((Prel) rel),
+          rel.getRowType().getFieldNames().get(index), descending);
+    }
+    return null;
+  }
+
   /**
    * Cost of doing Top-N is proportional to M log N where M is the total number of
    * input rows and N is the limit for Top-N.  This makes Top-N preferable to Sort
@@ -20,6 +20,7 @@ package org.apache.drill.exec.planner.physical.visitor;
 import com.google.common.collect.Lists;
 
 import org.apache.drill.common.types.TypeProtos.MajorType;
+import org.apache.drill.exec.physical.config.HashPartitionSender.SkewHandling;
 import org.apache.drill.exec.planner.physical.ExchangePrel;
 import org.apache.drill.exec.planner.physical.HashPrelUtil;
 import org.apache.drill.exec.planner.physical.HashPrelUtil.HashExpressionCreatorHelper;
@@ -130,9 +131,11 @@ public class InsertLocalExchangeVisitor extends BasePrelVisitor<Prel, Void, Runt
     }
 
     newPrel = new HashToRandomExchangePrel(prel.getCluster(),
-        prel.getTraitSet(), newPrel, ((HashToRandomExchangePrel) prel).getFields());
+        prel.getTraitSet(), newPrel, ((HashToRandomExchangePrel) prel).getFields(), hashPrel.getSkewHandling(),
+        hashPrel.getSkewFanout());
 
-    if (isDeMuxEnabled) {
+    // the DeMuxExchange would send the rows of a key to one fragment of the node again
+    if (isDeMuxEnabled && hashPrel.getSkewHandling() == SkewHandling.NONE) {
       HashToRandomExchangePrel hashExchangePrel = (HashToRandomExchangePrel) newPrel;
       // Insert a DeMuxExchange to narrow down the number of receivers
       newPrel = new UnorderedDeMuxExchangePrel(prel.getCluster(), prel.getTraitSet(), hashExchangePrel,
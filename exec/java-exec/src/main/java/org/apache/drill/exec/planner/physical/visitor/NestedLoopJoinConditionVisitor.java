@@ -0,0 +1,74 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.planner.physical.visitor;
+
+import java.util.List;
+
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.core.JoinRelType;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.rex.RexUtil;
+import org.apache.drill.exec.planner.physical.FilterPrel;
+import org.apache.drill.exec.planner.physical.NestedLoopJoinPrel;
+import org.apache.drill.exec.planner.physical.Prel;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+
+/**
+ * Visit Prel tree. Find the filters directly above an inner NestedLoopJoinPrel, which is how inequality and cartesian
+ * joins are planned, and make them the condition of the join. The join then evaluates the condition as it pairs the
+ * rows of its inputs and only emits the matching pairs, instead of emitting the whole cross product for the filter
+ * to discard most of it.
+ */
+public class NestedLoopJoinConditionVisitor extends BasePrelVisitor<Prel, Void, RuntimeException> {
+
+  private static NestedLoopJoinConditionVisitor INSTANCE = new NestedLoopJoinConditionVisitor();
+
+  public static Prel pushFiltersIntoJoins(Prel prel) {
+    return prel.accept(INSTANCE, null);
+  }
+
+  private NestedLoopJoinConditionVisitor() {
+
+  }
+
+  @Override
+  public Prel visitPrel(Prel prel, Void value) throws RuntimeException {
+    List<RelNode> children = Lists.newArrayList();
+    for (Prel child : prel) {
+      child = child.accept(this, value);
+      children.add(child);
+    }
+
+    if (prel instanceof FilterPrel && children.get(0) instanceof NestedLoopJoinPrel) {
+      final FilterPrel filter = (FilterPrel) prel;
+      final NestedLoopJoinPrel join = (NestedLoopJoinPrel) children.get(0);
+      if (join.getJoinType() == JoinRelType.INNER) {
+        // the filter and the join share the same row type, so the filter condition applies to the join as is
+        final RexNode condition = RexUtil.composeConjunction(join.getCluster().getRexBuilder(),
+            ImmutableList.of(join.getCondition(), filter.getCondition()), false);
+        return (Prel) join.copy(join.getTraitSet(), condition, join.getLeft(), join.getRight(), JoinRelType.INNER,
+            join.isSemiJoinDone());
+      }
+    }
+
+    return (Prel) prel.copy(prel.getTraitSet(), children);
+  }
+
+}
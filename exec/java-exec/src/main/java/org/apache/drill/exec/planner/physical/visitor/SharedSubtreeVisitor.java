@@ -0,0 +1,203 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.planner.physical.visitor;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.calcite.plan.RelOptUtil;
+import org.apache.calcite.rel.RelNode;
+import org.apache.drill.exec.planner.physical.ExchangePrel;
+import org.apache.drill.exec.planner.physical.Prel;
+import org.apache.drill.exec.planner.physical.ScanPrel;
+import org.apache.drill.exec.planner.physical.SharedSpoolPrel;
+import org.apache.drill.exec.planner.physical.SharedSpoolReaderPrel;
+import org.apache.drill.exec.record.BatchSchema.SelectionVectorMode;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+/**
+ * Computes identical subtrees of a fragment once. Queries that read the same table several times, like
+ * self joins or unions of differently filtered aggregations of one table, get the same subtree more than
+ * once in a fragment; the first occurrence of each is placed below a {@link SharedSpoolPrel} and the
+ * others are replaced by {@link SharedSpoolReaderPrel}s reading its output.
+ * <p>
+ * Only the largest identical subtrees are shared: subtrees are considered from the highest down, and a
+ * subtree inside one that is already shared is not considered. Only subtrees reading a table are
+ * shared, as the others are cheaper to compute again than to spool.
+ * <p>
+ * Sharing is limited to one fragment: a subtree with an exchange is never shared, and identical subtrees
+ * below different exchanges, which run in different fragments, are each computed by their own fragment.
+ * Sharing them would need an exchange sending one stream to the receivers of several fragments.
+ */
+public class SharedSubtreeVisitor {
+  static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(SharedSubtreeVisitor.class);
+
+  /**
+   * One place of a subtree in the plan. The same rel may be at several places.
+   */
+  private static class Occurrence {
+    final Prel prel;
+    final Occurrence parent;
+    final List<Occurrence> children = Lists.newArrayList();
+    String key;
+    int height;
+    boolean hasExchange;
+    boolean hasScan;
+    boolean shared;
+
+    Occurrence(Prel prel, Occurrence parent) {
+      this.prel = prel;
+      this.parent = parent;
+    }
+
+    boolean isCandidate() {
+      return !hasExchange && hasScan && prel.getEncoding() == SelectionVectorMode.NONE;
+    }
+
+    boolean isInSharedSubtree() {
+      for (Occurrence ancestor = parent; ancestor != null; ancestor = ancestor.parent) {
+        if (ancestor.shared) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+
+  private final List<Occurrence> occurrences = Lists.newArrayList();
+  private int fragmentCount;
+  private int spoolCount;
+
+  public static Prel shareIdenticalSubtrees(Prel prel) {
+    final SharedSubtreeVisitor visitor = new SharedSubtreeVisitor();
+    final Occurrence root = visitor.collect(prel, null, 0);
+    if (!visitor.chooseSharedSubtrees()) {
+      return prel;
+    }
+    return visitor.rewrite(root, Maps.<String, int[]>newHashMap(), visitor.countSharedOccurrences());
+  }
+
+  private Occurrence collect(Prel prel, Occurrence parent, int fragment) {
+    final Occurrence occurrence = new Occurrence(prel, parent);
+    occurrence.hasExchange = prel instanceof ExchangePrel;
+    occurrence.hasScan = prel instanceof ScanPrel;
+    for (Prel child : prel) {
+      // the input of an exchange is in another fragment
+      final Occurrence childOccurrence = collect(child, occurrence, prel instanceof ExchangePrel ? ++fragmentCount : fragment);
+      occurrence.children.add(childOccurrence);
+      occurrence.height = Math.max(occurrence.height, childOccurrence.height + 1);
+      occurrence.hasExchange |= childOccurrence.hasExchange;
+      occurrence.hasScan |= childOccurrence.hasScan;
+    }
+    if (occurrence.isCandidate()) {
+      occurrence.key = fragment + "\n" + prel.getRowType().getFullTypeString() + "\n" + RelOptUtil.toString(prel);
+      occurrences.add(occurrence);
+    }
+    return occurrence;
+  }
+
+  /**
+   * Marks the subtrees to share, highest first, so that whether a subtree is inside a shared one is known
+   * when it is considered.
+   *
+   * @return true if any subtree is shared
+   */
+  private boolean chooseSharedSubtrees() {
+    Collections.sort(occurrences, new Comparator<Occurrence>() {
+      @Override
+      public int compare(Occurrence o1, Occurrence o2) {
+        return Integer.compare(o2.height, o1.height);
+      }
+    });
+
+    boolean shared = false;
+    int start = 0;
+    while (start < occurrences.size()) {
+      int end = start;
+      while (end < occurrences.size() && occurrences.get(end).height == occurrences.get(start).height) {
+        end++;
+      }
+      final Map<String, List<Occurrence>> byKey = Maps.newHashMap();
+      for (Occurrence occurrence : occurrences.subList(start, end)) {
+        if (occurrence.isInSharedSubtree()) {
+          continue;
+        }
+        List<Occurrence> same = byKey.get(occurrence.key);
+        if (same == null) {
+          same = Lists.newArrayList();
+          byKey.put(occurrence.key, same);
+        }
+        same.add(occurrence);
+      }
+      for (List<Occurrence> same : byKey.values()) {
+        if (same.size() > 1) {
+          for (Occurrence occurrence : same) {
+            occurrence.shared = true;
+          }
+          shared = true;
+        }
+      }
+      start = end;
+    }
+    return shared;
+  }
+
+  private Map<String, Integer> countSharedOccurrences() {
+    final Map<String, Integer> counts = Maps.newHashMap();
+    for (Occurrence occurrence : occurrences) {
+      if (occurrence.shared) {
+        final Integer count = counts.get(occurrence.key);
+        counts.put(occurrence.key, count == null ? 1 : count + 1);
+      }
+    }
+    return counts;
+  }
+
+  /**
+   * @param spools spool id and number of consumers so far of each shared subtree met
+   */
+  private Prel rewrite(Occurrence occurrence, Map<String, int[]> spools, Map<String, Integer> counts) {
+    if (occurrence.shared) {
+      final int consumerCount = counts.get(occurrence.key);
+      final int[] spool = spools.get(occurrence.key);
+      if (spool == null) {
+        final int spoolId = spoolCount++;
+        spools.put(occurrence.key, new int[] {spoolId, 1});
+        logger.debug("Sharing subtree {} between {} consumers", occurrence.prel, consumerCount);
+        return new SharedSpoolPrel(occurrence.prel, spoolId, consumerCount);
+      }
+      return SharedSpoolReaderPrel.create(occurrence.prel, spool[0], spool[1]++, consumerCount);
+    }
+
+    final List<RelNode> children = Lists.newArrayList();
+    boolean childrenChanged = false;
+    for (Occurrence child : occurrence.children) {
+      final Prel newChild = rewrite(child, spools, counts);
+      childrenChanged |= newChild != child.prel;
+      children.add(newChild);
+    }
+    if (!childrenChanged) {
+      return occurrence.prel;
+    }
+    return (Prel) occurrence.prel.copy(occurrence.prel.getTraitSet(), children);
+  }
+}
@@ -0,0 +1,114 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.planner.physical.visitor;
+
+import java.util.List;
+
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.core.JoinRelType;
+import org.apache.drill.exec.physical.config.HashPartitionSender.SkewHandling;
+import org.apache.drill.exec.planner.physical.BroadcastExchangePrel;
+import org.apache.drill.exec.planner.physical.ExchangePrel;
+import org.apache.drill.exec.planner.physical.FilterPrel;
+import org.apache.drill.exec.planner.physical.HashJoinPrel;
+import org.apache.drill.exec.planner.physical.HashToRandomExchangePrel;
+import org.apache.drill.exec.planner.physical.JoinPrel;
+import org.apache.drill.exec.planner.physical.LimitPrel;
+import org.apache.drill.exec.planner.physical.Prel;
+import org.apache.drill.exec.planner.physical.ProjectPrel;
+import org.apache.drill.exec.planner.physical.ScreenPrel;
+import org.apache.drill.exec.planner.physical.SelectionVectorRemoverPrel;
+import org.apache.drill.exec.planner.physical.SortPrel;
+import org.apache.drill.exec.planner.physical.TopNPrel;
+import org.apache.drill.exec.planner.physical.WriterPrel;
+
+import com.google.common.collect.Lists;
+
+/**
+ * Visit Prel tree. Find the inner and left hash joins whose inputs are both hash distributed, and let the senders of
+ * the probe side spread the rows of hot keys over the receiver the key hashes to and the next ones, so that a
+ * skewed key does not leave one fragment of the join with most of the work. The senders of the build side send each
+ * row to all the receivers the matching probe rows may go to.
+ * <p>
+ * The output of such a join is no longer distributed on the join keys, so only the joins whose output goes through
+ * operators that do not depend on its distribution before the next exchange are changed.
+ */
+public class SkewedJoinVisitor extends BasePrelVisitor<Prel, Boolean, RuntimeException> {
+
+  private final int fanout;
+
+  public static Prel spreadSkewedJoins(Prel prel, int fanout) {
+    if (fanout <= 1) {
+      return prel;
+    }
+    return prel.accept(new SkewedJoinVisitor(fanout), true);
+  }
+
+  private SkewedJoinVisitor(int fanout) {
+    this.fanout = fanout;
+  }
+
+  @Override
+  public Prel visitPrel(Prel prel, Boolean distributionFree) throws RuntimeException {
+    List<RelNode> children = Lists.newArrayList();
+    boolean first = true;
+    for (Prel child : prel) {
+      children.add(child.accept(this, isDistributionFree(prel, first, distributionFree)));
+      first = false;
+    }
+
+    if (distributionFree && prel instanceof HashJoinPrel) {
+      final JoinRelType joinType = ((HashJoinPrel) prel).getJoinType();
+      // build rows are sent to several receivers, so a right or full join would return the unmatched ones repeatedly
+      if ((joinType == JoinRelType.INNER || joinType == JoinRelType.LEFT)
+          && isHashExchange(children.get(0)) && isHashExchange(children.get(1))) {
+        children.set(0, withSkewHandling((HashToRandomExchangePrel) children.get(0), SkewHandling.SPREAD));
+        children.set(1, withSkewHandling((HashToRandomExchangePrel) children.get(1), SkewHandling.REPLICATE));
+      }
+    }
+
+    return (Prel) prel.copy(prel.getTraitSet(), children);
+  }
+
+  /**
+   * @return whether the operators above a child of prel, up to the next exchange, do not depend on its distribution
+   */
+  private static boolean isDistributionFree(Prel prel, boolean firstChild, boolean distributionFree) {
+    if (prel instanceof ExchangePrel) {
+      return true;
+    }
+    if (prel instanceof JoinPrel) {
+      // the probe side of a broadcast join may be distributed in any way
+      return distributionFree && firstChild && ((JoinPrel) prel).getRight() instanceof BroadcastExchangePrel;
+    }
+    return distributionFree && (prel instanceof ProjectPrel || prel instanceof FilterPrel
+        || prel instanceof SelectionVectorRemoverPrel || prel instanceof LimitPrel || prel instanceof SortPrel
+        || prel instanceof TopNPrel || prel instanceof ScreenPrel || prel instanceof WriterPrel);
+  }
+
+  private static boolean isHashExchange(RelNode rel) {
+    return rel instanceof HashToRandomExchangePrel
+        && ((HashToRandomExchangePrel) rel).getSkewHandling() == SkewHandling.NONE;
+  }
+
+  private Prel withSkewHandling(HashToRandomExchangePrel exchange, SkewHandling skewHandling) {
+    return new HashToRandomExchangePrel(exchange.getCluster(), exchange.getTraitSet(), exchange.getInput(),
+        exchange.getFields(), skewHandling, fanout);
+  }
+
+}
@@ -0,0 +1,176 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.planner.sql.handlers;
+
+import static org.apache.drill.exec.planner.sql.SchemaUtilites.findSchema;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.apache.calcite.plan.RelTraitSet;
+import org.apache.calcite.schema.SchemaPlus;
+import org.apache.calcite.schema.Table;
+import org.apache.calcite.sql.SqlNode;
+import org.apache.calcite.tools.RelConversionException;
+import org.apache.calcite.tools.ValidationException;
+import org.apache.drill.common.exceptions.UserException;
+import org.apache.drill.exec.physical.PhysicalPlan;
+import org.apache.drill.exec.physical.base.PhysicalOperator;
+import org.apache.drill.exec.planner.common.DrillStatsTable;
+import org.apache.drill.exec.planner.logical.DrillRel;
+import org.apache.drill.exec.planner.logical.DrillScreenRel;
+import org.apache.drill.exec.planner.logical.DrillTable;
+import org.apache.drill.exec.planner.logical.DrillWriterRel;
+import org.apache.drill.exec.planner.logical.FileSystemCreateTableEntry;
+import org.apache.drill.exec.planner.physical.Prel;
+import org.apache.drill.exec.planner.sql.SchemaUtilites;
+import org.apache.drill.exec.planner.sql.parser.SqlAnalyzeTable;
+import org.apache.drill.exec.store.dfs.DrillFileSystem;
+import org.apache.drill.exec.store.dfs.FileSystemConfig;
+import org.apache.drill.exec.store.dfs.FileSystemPlugin;
+import org.apache.drill.exec.store.dfs.FormatPlugin;
+import org.apache.drill.exec.store.dfs.FormatSelection;
+import org.apache.drill.exec.util.ImpersonationUtil;
+import org.apache.drill.exec.util.Pointer;
+import org.apache.drill.exec.work.foreman.ForemanSetupException;
+import org.apache.hadoop.fs.Path;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Handles ANALYZE TABLE. The statistics are computed by a regular (distributed) aggregate query
+ * over the table, whose single result row is written as JSON to the table's statistics directory
+ * (see {@link DrillStatsTable}), from where the planner's metadata providers read it.
+ */
+public class AnalyzeTableHandler extends DefaultSqlHandler {
+  private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(AnalyzeTableHandler.class);
+
+  private static final String STATS_FORMAT = "json";
+
+  public AnalyzeTableHandler(SqlHandlerConfig config, Pointer<String> textPlan) {
+    super(config, textPlan);
+  }
+
+  private UserException notSupported(String tableName) {
+    return UserException.validationError()
+        .message("Table %s does not support ANALYZE TABLE. Support is currently limited to directory-based file system tables.", tableName)
+        .build(logger);
+  }
+
+  @Override
+  public PhysicalPlan getPlan(SqlNode sqlNode) throws ValidationException, RelConversionException, IOException, ForemanSetupException {
+    final SqlAnalyzeTable analyzeTable = unwrap(sqlNode, SqlAnalyzeTable.class);
+    final String tableName = analyzeTable.getName();
+
+    final SchemaPlus schema = findSchema(config.getConverter().getDefaultSchema(), analyzeTable.getSchemaPath());
+    if (schema == null) {
+      throw UserException.validationError()
+          .message("Storage plugin or workspace does not exist [%s]",
+              SchemaUtilites.SCHEMA_PATH_JOINER.join(analyzeTable.getSchemaPath()))
+          .build(logger);
+    }
+
+    final Table table = schema.getTable(tableName);
+    if (table == null) {
+      throw UserException.validationError()
+          .message("Table %s does not exist.", tableName)
+          .build(logger);
+    }
+    if (!(table instanceof DrillTable)
+        || !(((DrillTable) table).getPlugin() instanceof FileSystemPlugin)
+        || !(((DrillTable) table).getSelection() instanceof FormatSelection)) {
+      throw notSupported(tableName);
+    }
+
+    final DrillTable drillTable = (DrillTable) table;
+    final FileSystemPlugin plugin = (FileSystemPlugin) drillTable.getPlugin();
+    final String selectionRoot = ((FormatSelection) drillTable.getSelection()).getSelection().selectionRoot;
+    final DrillFileSystem fs = ImpersonationUtil.createFileSystem(context.getQueryUserName(), plugin.getFsConf());
+    if (selectionRoot == null || !fs.getFileStatus(new Path(selectionRoot)).isDirectory()) {
+      throw notSupported(tableName);
+    }
+
+    final FormatPlugin statsFormat = plugin.getFormatPlugin(STATS_FORMAT);
+    if (statsFormat == null) {
+      throw UserException.validationError()
+          .message("ANALYZE TABLE stores statistics in the '%s' format, which is not configured in storage plugin %s.",
+              STATS_FORMAT, drillTable.getStorageEngineName())
+          .build(logger);
+    }
+
+    final List<String> columns = analyzeTable.getFieldNames();
+    if (columns.isEmpty()) {
+      throw UserException.validationError()
+          .message("ANALYZE TABLE needs the list of columns to compute statistics for, as in: " +
+              "ANALYZE TABLE %s (column1, column2, ...) COMPUTE STATISTICS", tableName)
+          .build(logger);
+    }
+
+    // statistics are replaced as a whole: they are written to a hidden staging directory, which the
+    // writer moves in place of the current statistics once complete, so that a failed or running
+    // ANALYZE leaves the statistics the planner reads untouched
+    final Path statsPath = DrillStatsTable.getStatsPath(selectionRoot);
+    final Path stagingPath = DrillStatsTable.getStagingPath(selectionRoot);
+
+    final String statsQuery = getStatisticsQuery(SchemaUtilites.getSchemaPathAsList(schema), tableName, columns);
+    logger.debug("Computing statistics of table {} with: {}", tableName, statsQuery);
+
+    final ConvertedRelNode convertedRelNode = validateAndConvert(config.getConverter().parse(statsQuery));
+    final DrillRel queryRel = addRenamedProject(convertToDrel(convertedRelNode.getConvertedNode()),
+        convertedRelNode.getValidatedRowType());
+
+    final RelTraitSet traits = queryRel.getCluster().traitSet().plus(DrillRel.DRILL_LOGICAL);
+    final DrillWriterRel writerRel = new DrillWriterRel(queryRel.getCluster(), traits, queryRel,
+        new FileSystemCreateTableEntry((FileSystemConfig) plugin.getConfig(), statsFormat, stagingPath.toString(),
+            statsPath.toString(), ImmutableList.<String>of()));
+    final DrillRel drel = new DrillScreenRel(writerRel.getCluster(), writerRel.getTraitSet(), writerRel);
+
+    final Prel prel = convertToPrel(drel);
+    logAndSetTextPlan("Drill Physical", prel, logger);
+    final PhysicalOperator pop = convertToPop(prel);
+    final PhysicalPlan plan = convertToPlan(pop);
+    log("Drill Plan", plan, logger);
+    return plan;
+  }
+
+  /**
+   * Builds the aggregate query that computes the statistics of the table: its row count and,
+   * for each given column, the number of non-null values, the number of distinct values and
+   * the smallest and largest values. The result columns are named as {@link DrillStatsTable}
+   * expects them.
+   */
+  static String getStatisticsQuery(List<String> schemaPath, String tableName, List<String> columns) {
+    final StringBuilder sb = new StringBuilder("SELECT COUNT(*) AS ").append(quote(DrillStatsTable.ROW_COUNT));
+    for (String column : columns) {
+      final String quoted = quote(column);
+      sb.append(", COUNT(").append(quoted).append(") AS ").append(quote(column + DrillStatsTable.NON_NULL_COUNT))
+          .append(", COUNT(DISTINCT ").append(quoted).append(") AS ").append(quote(column + DrillStatsTable.NDV))
+          .append(", MIN(").append(quoted).append(") AS ").append(quote(column + DrillStatsTable.MIN))
+          .append(", MAX(").append(quoted).append(") AS ").append(quote(column + DrillStatsTable.MAX));
+    }
+    sb.append(" FROM ");
+    for (String schemaName : schemaPath) {
+      sb.append(quote(schemaName)).append('.');
+    }
+    return sb.append(quote(tableName)).toString();
+  }
+
+  private static String quote(String identifier) {
+    return '`' + identifier.replace("`", "``") + '`';
+  }
+}
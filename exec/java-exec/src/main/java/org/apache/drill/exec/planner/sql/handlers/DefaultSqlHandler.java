@@ -21,6 +21,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.calcite.plan.RelOptPlanner;
@@ -66,6 +67,7 @@ import org.apache.drill.exec.physical.base.PhysicalOperator;
 import org.apache.drill.exec.physical.impl.join.JoinUtils;
 import org.apache.drill.exec.planner.PlannerPhase;
 import org.apache.drill.exec.planner.PlannerType;
+import org.apache.drill.exec.planner.PlanningProfile;
 import org.apache.drill.exec.planner.common.DrillRelOptUtil;
 import org.apache.drill.exec.planner.cost.DrillDefaultRelMetadataProvider;
 import org.apache.drill.exec.planner.logical.DrillProjectRel;
@@ -77,6 +79,7 @@ import org.apache.drill.exec.planner.physical.DrillDistributionTrait;
 import org.apache.drill.exec.planner.physical.PhysicalPlanCreator;
 import org.apache.drill.exec.planner.physical.PlannerSettings;
 import org.apache.drill.exec.planner.physical.Prel;
+import org.apache.drill.exec.planner.physical.ScanPrel;
 import org.apache.drill.exec.planner.physical.explain.PrelSequencer;
 import org.apache.drill.exec.planner.physical.visitor.ComplexToJsonPrelVisitor;
 import org.apache.drill.exec.planner.physical.visitor.ExcessiveExchangeIdentifier;
@@ -84,15 +87,20 @@ import org.apache.drill.exec.planner.physical.visitor.FinalColumnReorderer;
 import org.apache.drill.exec.planner.physical.visitor.InsertLocalExchangeVisitor;
 import org.apache.drill.exec.planner.physical.visitor.JoinPrelRenameVisitor;
 import org.apache.drill.exec.planner.physical.visitor.MemoryEstimationVisitor;
+import org.apache.drill.exec.planner.physical.visitor.NestedLoopJoinConditionVisitor;
 import org.apache.drill.exec.planner.physical.visitor.RelUniqifier;
 import org.apache.drill.exec.planner.physical.visitor.RewriteProjectToFlatten;
 import org.apache.drill.exec.planner.physical.visitor.SelectionVectorPrelVisitor;
+import org.apache.drill.exec.planner.physical.visitor.SharedSubtreeVisitor;
+import org.apache.drill.exec.planner.physical.visitor.SkewedJoinVisitor;
 import org.apache.drill.exec.planner.physical.visitor.SplitUpComplexExpressions;
 import org.apache.drill.exec.planner.physical.visitor.StarColumnConverter;
 import org.apache.drill.exec.planner.physical.visitor.SwapHashJoinVisitor;
 import org.apache.drill.exec.planner.sql.parser.UnsupportedOperatorsVisitor;
 import org.apache.drill.exec.server.options.OptionManager;
 import org.apache.drill.exec.server.options.OptionValue;
+import org.apache.drill.exec.store.dfs.MetadataContext;
+import org.apache.drill.exec.store.parquet.ParquetGroupScan;
 import org.apache.drill.exec.util.Pointer;
 import org.apache.drill.exec.work.foreman.ForemanSetupException;
 import org.apache.drill.exec.work.foreman.SqlUnsupportedException;
@@ -103,6 +111,7 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Stopwatch;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
 
 public class DefaultSqlHandler extends AbstractSqlHandler {
   private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(DefaultSqlHandler.class);
@@ -189,7 +198,9 @@ public class DefaultSqlHandler extends AbstractSqlHandler {
 
   protected ConvertedRelNode validateAndConvert(SqlNode sqlNode) throws ForemanSetupException, RelConversionException, ValidationException {
     final SqlNode rewrittenSqlNode = rewrite(sqlNode);
+    final Stopwatch watch = Stopwatch.createStarted();
     final TypedSqlNode validatedTypedSqlNode = validateNode(rewrittenSqlNode);
+    context.getPlanningProfile().addPhase("Validation", watch.elapsed(TimeUnit.MILLISECONDS), 0);
     final SqlNode validated = validatedTypedSqlNode.getSqlNode();
 
     RelNode rel = convertToRel(validated);
@@ -361,6 +372,8 @@ public class DefaultSqlHandler extends AbstractSqlHandler {
   protected RelNode transform(PlannerType plannerType, PlannerPhase phase, RelNode input, RelTraitSet targetTraits,
       boolean log) {
     final Stopwatch watch = Stopwatch.createStarted();
+    final PlanningProfile profile = context.getPlanningProfile();
+    final long ruleCalls = profile.getRuleCallCount();
     final RuleSet rules = config.getRules(phase);
     final RelTraitSet toTraits = targetTraits.simplify();
 
@@ -377,6 +390,7 @@ public class DefaultSqlHandler extends AbstractSqlHandler {
       }
 
       final HepPlanner planner = new HepPlanner(hepPgmBldr.build(), context.getPlannerSettings());
+      profile.listenTo(planner);
 
       final List<RelMetadataProvider> list = Lists.newArrayList();
       list.add(DrillDefaultRelMetadataProvider.INSTANCE);
@@ -401,12 +415,15 @@ public class DefaultSqlHandler extends AbstractSqlHandler {
       Preconditions.checkArgument(planner instanceof VolcanoPlanner,
           "Cluster is expected to be constructed using VolcanoPlanner. Was actually of type %s.", planner.getClass()
               .getName());
+      profile.listenTo(planner);
       output = program.run(planner, input, toTraits);
 
       break;
     }
     }
 
+    profile.addPhase(plannerType.name() + ":" + phase.description, watch.elapsed(TimeUnit.MILLISECONDS),
+        profile.getRuleCallCount() - ruleCalls);
     if (log) {
       log(plannerType, phase, output, logger, watch);
     }
@@ -459,6 +476,8 @@ public class DefaultSqlHandler extends AbstractSqlHandler {
       }
     }
 
+    final Stopwatch watch = Stopwatch.createStarted();
+
     /* The order of the following transformations is important */
 
     /*
@@ -486,6 +505,13 @@ public class DefaultSqlHandler extends AbstractSqlHandler {
           .getHashJoinSwapMarginFactor()));
     }
 
+    /*
+     * 1.2) Evaluate the filter above an inner nested loop join in the join, so that only matching pairs are emitted.
+     */
+    if (context.getPlannerSettings().isNlJoinConditionEnabled()) {
+      phyRelNode = NestedLoopJoinConditionVisitor.pushFiltersIntoJoins(phyRelNode);
+    }
+
     /* Parquet row group filter pushdown in planning time */
 
     if (context.getPlannerSettings().isParquetRowGroupFilterPushdownPlanningEnabled()) {
@@ -520,6 +546,12 @@ public class DefaultSqlHandler extends AbstractSqlHandler {
      */
     phyRelNode = ExcessiveExchangeIdentifier.removeExcessiveEchanges(phyRelNode, targetSliceSize);
 
+    /*
+     * 3.1)
+     * Spread the hot keys of hash distributed joins over several fragments, replicating the build side rows to them.
+     */
+    phyRelNode = SkewedJoinVisitor.spreadSkewedJoins(phyRelNode, context.getPlannerSettings().getJoinSkewFanout());
+
 
     /* 4.)
      * Add ProducerConsumer after each scan if the option is set
@@ -556,15 +588,48 @@ public class DefaultSqlHandler extends AbstractSqlHandler {
      */
     phyRelNode = SelectionVectorPrelVisitor.addSelectionRemoversWhereNecessary(phyRelNode);
 
+    /* 7.1)
+     * Compute identical subtrees of a fragment, like the two scans of a self join, once and share
+     * their output through a spool.
+     */
+    if (context.getPlannerSettings().isSharedSubtreesEnabled()) {
+      phyRelNode = SharedSubtreeVisitor.shareIdenticalSubtrees(phyRelNode);
+    }
+
     /* 8.)
      * Finally, Make sure that the no rels are repeats.
      * This could happen in the case of querying the same table twice as Optiq may canonicalize these.
      */
     phyRelNode = RelUniqifier.uniqifyGraph(phyRelNode);
 
+    final PlanningProfile profile = context.getPlanningProfile();
+    profile.addPhase("Physical plan rewrites", watch.elapsed(TimeUnit.MILLISECONDS), 0);
+    final Set<MetadataContext> metaContexts = Sets.newIdentityHashSet();
+    collectMetadataContexts(phyRelNode, metaContexts);
+    for (MetadataContext metaContext : metaContexts) {
+      profile.addMetadataCacheReadNanos(metaContext.getCacheReadNanos());
+    }
+
     return phyRelNode;
   }
 
+  /**
+   * Collects the metadata contexts of the Parquet scans of a plan. The scans pruned from one selection
+   * share its context, so the contexts of the final scans account for the metadata cache files read
+   * while planning them.
+   */
+  private static void collectMetadataContexts(Prel prel, Set<MetadataContext> metaContexts) {
+    if (prel instanceof ScanPrel && ((ScanPrel) prel).getGroupScan() instanceof ParquetGroupScan) {
+      final MetadataContext metaContext = ((ParquetGroupScan) ((ScanPrel) prel).getGroupScan()).getMetaContext();
+      if (metaContext != null) {
+        metaContexts.add(metaContext);
+      }
+    }
+    for (Prel child : prel) {
+      collectMetadataContexts(child, metaContexts);
+    }
+  }
+
   protected PhysicalOperator convertToPop(Prel prel) throws IOException {
     PhysicalPlanCreator creator = new PhysicalPlanCreator(context, PrelSequencer.getIdMap(prel));
     PhysicalOperator op = prel.getPhysicalOperator(creator);
@@ -623,7 +688,9 @@ public class DefaultSqlHandler extends AbstractSqlHandler {
   }
 
   private RelNode convertToRel(SqlNode node) throws RelConversionException {
+    final Stopwatch watch = Stopwatch.createStarted();
     final RelNode convertedNode = config.getConverter().toRel(node);
+    context.getPlanningProfile().addPhase("Conversion to relational algebra", watch.elapsed(TimeUnit.MILLISECONDS), 0);
     log("INITIAL", convertedNode, logger, null);
     return transform(PlannerType.HEP, PlannerPhase.WINDOW_REWRITE, convertedNode);
   }
@@ -69,4 +69,13 @@ public class ExpandableHyperContainer extends VectorContainer {
       }
     }
   }
+
+  /**
+   * Removes the batch added last, without clearing its vectors.
+   */
+  public void removeLastBatch() {
+    for (VectorWrapper<?> w : wrappers) {
+      ((HyperVectorWrapper<?>) w).removeLastVector();
+    }
+  }
 }
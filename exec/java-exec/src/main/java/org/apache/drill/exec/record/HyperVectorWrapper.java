@@ -138,6 +138,13 @@ public class HyperVectorWrapper<T extends ValueVector> implements VectorWrapper<
     vectors = (T[]) ArrayUtils.add(vectors, vv);
   }
 
+  /**
+   * Removes the last vector added, without clearing it.
+   */
+  public void removeLastVector() {
+    vectors = (T[]) ArrayUtils.remove(vectors, vectors.length - 1);
+  }
+
   /**
    * Transfer vectors to destination HyperVectorWrapper.
    * Both this and destination must be of same type and have same number of vectors.
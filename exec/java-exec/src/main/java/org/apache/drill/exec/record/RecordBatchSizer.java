@@ -0,0 +1,175 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.record;
+
+import java.util.Collection;
+import java.util.Map;
+
+import org.apache.drill.exec.vector.ValueVector;
+
+import com.google.common.collect.Maps;
+
+/**
+ * Measures the data actually held by the columns of a record batch and derives
+ * the average width of a row. Operators use the measured width to choose how many
+ * rows to put in their outgoing batches so that each batch lands near a memory
+ * target ({@link org.apache.drill.exec.ExecConstants#OUTPUT_BATCH_SIZE}) rather
+ * than at a fixed record count that is too large for wide rows and too small
+ * for narrow ones.
+ * <p>
+ * Sizes are taken from {@link ValueVector#getBufferSize()}, so they reflect the
+ * values written to each vector and not the (possibly much larger) allocated
+ * capacity. Widths of batches with selection vectors are computed against the
+ * number of values in the underlying vectors, not the number of selected records.
+ */
+public class RecordBatchSizer {
+
+  /**
+   * Largest number of rows an operator should put in one outgoing batch,
+   * limited by the two-byte offsets of a {@link org.apache.drill.exec.record.selection.SelectionVector2}.
+   */
+  public static final int MAX_ROW_COUNT = Character.MAX_VALUE;
+
+  /**
+   * Size of a single column of the batch.
+   */
+  public static class ColumnSize {
+    private final MaterializedField metadata;
+    private final long dataSize;
+    private final int valueCount;
+
+    public ColumnSize(MaterializedField metadata, long dataSize, int valueCount) {
+      this.metadata = metadata;
+      this.dataSize = dataSize;
+      this.valueCount = valueCount;
+    }
+
+    public MaterializedField getMetadata() {
+      return metadata;
+    }
+
+    /**
+     * @return number of bytes of data held by the column, including offset and "bits" vectors
+     */
+    public long getDataSize() {
+      return dataSize;
+    }
+
+    public int getValueCount() {
+      return valueCount;
+    }
+
+    /**
+     * @return average number of bytes the column uses per value, rounded up
+     */
+    public int getEstimatedWidth() {
+      if (valueCount == 0) {
+        return 0;
+      }
+      return (int) ((dataSize + valueCount - 1) / valueCount);
+    }
+
+    @Override
+    public String toString() {
+      return metadata.getPath() + "(size: " + dataSize + ", values: " + valueCount + ", width: " + getEstimatedWidth() + ")";
+    }
+  }
+
+  private final Map<String, ColumnSize> columnSizes = Maps.newLinkedHashMap();
+  private final int rowCount;
+  private long netBatchSize;
+  private int netRowWidth;
+
+  public RecordBatchSizer(VectorAccessible va) {
+    rowCount = va.getRecordCount();
+    for (VectorWrapper<?> w : va) {
+      final ColumnSize column = measureColumn(w);
+      columnSizes.put(column.getMetadata().getPath().toLowerCase(), column);
+      netBatchSize += column.getDataSize();
+      netRowWidth += column.getEstimatedWidth();
+    }
+  }
+
+  private static ColumnSize measureColumn(VectorWrapper<?> w) {
+    long dataSize = 0;
+    int valueCount = 0;
+    if (w.isHyper()) {
+      for (ValueVector v : w.getValueVectors()) {
+        dataSize += v.getBufferSize();
+        valueCount += v.getAccessor().getValueCount();
+      }
+    } else {
+      final ValueVector v = w.getValueVector();
+      dataSize = v.getBufferSize();
+      valueCount = v.getAccessor().getValueCount();
+    }
+    return new ColumnSize(w.getField(), dataSize, valueCount);
+  }
+
+  public int getRowCount() {
+    return rowCount;
+  }
+
+  /**
+   * @return total number of bytes of data held by all columns of the batch
+   */
+  public long getNetBatchSize() {
+    return netBatchSize;
+  }
+
+  /**
+   * @return average number of bytes a row of this batch uses, summed across its columns
+   */
+  public int getNetRowWidth() {
+    return netRowWidth;
+  }
+
+  public Collection<ColumnSize> getColumns() {
+    return columnSizes.values();
+  }
+
+  /**
+   * @param name name of a top-level column, compared case-insensitively
+   * @return size of the column, or null if the batch has no such column
+   */
+  public ColumnSize getColumn(String name) {
+    return columnSizes.get(name.toLowerCase());
+  }
+
+  /**
+   * Number of rows of the given width that fit in the given memory target,
+   * at least one but never more than {@code maxRowCount}. A width of zero (nothing measured
+   * yet, or no data columns) yields {@code maxRowCount}.
+   *
+   * @param targetSize memory target of an outgoing batch, in bytes
+   * @param rowWidth estimated width of one outgoing row, in bytes
+   * @param maxRowCount upper bound on the number of rows
+   */
+  public static int getRowCountForTarget(long targetSize, int rowWidth, int maxRowCount) {
+    if (rowWidth <= 0) {
+      return maxRowCount;
+    }
+    return (int) Math.min(maxRowCount, Math.max(1, targetSize / rowWidth));
+  }
+
+  @Override
+  public String toString() {
+    return "RecordBatchSizer[rowCount: " + rowCount + ", netBatchSize: " + netBatchSize
+        + ", netRowWidth: " + netRowWidth + ", columns: " + columnSizes.values() + "]";
+  }
+}
@@ -17,15 +17,21 @@
  */
 package org.apache.drill.exec.record;
 
+import java.io.IOException;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.Set;
 
+import org.apache.drill.common.exceptions.UserException;
 import org.apache.drill.common.expression.SchemaPath;
+import org.apache.drill.exec.ops.FragmentContext;
 import org.apache.drill.exec.ops.OperatorContext;
 import org.apache.drill.exec.physical.impl.sort.RecordBatchData;
 import org.apache.drill.exec.record.RecordBatch.IterOutcome;
 
+import com.google.common.collect.Maps;
 import com.google.common.collect.Range;
+import com.google.common.collect.Sets;
 import com.google.common.collect.TreeRangeMap;
 import org.apache.drill.exec.record.selection.SelectionVector2;
 import org.apache.drill.exec.record.selection.SelectionVector4;
@@ -34,6 +40,8 @@ import org.apache.drill.exec.record.selection.SelectionVector4;
  * RecordIterator iterates over incoming record batches one record at a time.
  * It allows to mark a position during iteration and reset back.
  * RecordIterator will hold onto multiple record batches in order to support resetting beyond record batch boundary.
+ * When {@link #enableSpilling spilling} is enabled, the held batches other than the current one are written to a
+ * spill file while the operator uses more memory than allowed, and read back when the iterator returns to them.
  */
 public class RecordIterator implements VectorAccessible {
   private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(RecordIterator.class);
@@ -57,6 +65,13 @@ public class RecordIterator implements VectorAccessible {
   private final VectorContainer container; // Holds VectorContainer of current record batch
   private final TreeRangeMap<Long, RecordBatchData> batches = TreeRangeMap.create();
 
+  private FragmentContext spillContext;
+  private String spillName;
+  private long memoryLimit;
+  private SpillFile spillFile;      // created when the first batch is spilled
+  private final Map<RecordBatchData, Long> spillOffsets = Maps.newIdentityHashMap();
+  private final Set<RecordBatchData> evicted = Sets.newIdentityHashSet(); // spilled batches not in memory
+
   public RecordIterator(RecordBatch incoming,
                         AbstractRecordBatch<?> outgoing,
                         OperatorContext oContext,
@@ -90,6 +105,18 @@ public class RecordIterator implements VectorAccessible {
     this.markedOuterPosition = -1;
   }
 
+  /**
+   * Lets the iterator spill the batches it holds to support {@link #reset()} while its operator uses more than
+   * memoryLimit bytes.
+   *
+   * @param name name of the spill file within the fragment
+   */
+  public void enableSpilling(FragmentContext context, String name, long memoryLimit) {
+    this.spillContext = context;
+    this.spillName = name;
+    this.memoryLimit = memoryLimit;
+  }
+
   // Get next record batch.
   private void nextBatch() {
     // We have already seen last batch.
@@ -107,6 +134,8 @@ public class RecordIterator implements VectorAccessible {
     final Map<Range<Long>,RecordBatchData> oldBatches = batches.subRangeMap(Range.closedOpen(0l, startBatchPosition)).asMapOfRanges();
     for (RecordBatchData rbd : oldBatches.values()) {
       rbd.clear();
+      spillOffsets.remove(rbd);
+      evicted.remove(rbd);
     }
     batches.remove(Range.closedOpen(0l, startBatchPosition));
     markedInnerPosition = innerPosition;
@@ -124,8 +153,7 @@ public class RecordIterator implements VectorAccessible {
       assert rbdOld != null;
       assert rbdNew != null;
       if (rbdNew != rbdOld) {
-        container.transferOut(rbdOld.getContainer());
-        container.transferIn(rbdNew.getContainer());
+        switchBatch(rbdOld, rbdNew);
       }
       innerPosition = markedInnerPosition;
       outerPosition = markedOuterPosition;
@@ -149,9 +177,10 @@ public class RecordIterator implements VectorAccessible {
     final RecordBatchData rbdOld = batches.get(outerPosition);
     assert rbdNew != null;
     assert rbdOld != null;
-    container.transferOut(rbdOld.getContainer());
-    // Get vectors from new position.
-    container.transferIn(rbdNew.getContainer());
+    if (rbdNew != rbdOld) {
+      // Get vectors from new position.
+      switchBatch(rbdOld, rbdNew);
+    }
     outerPosition = nextOuterPosition;
     final Range<Long> markedBatchRange = batches.getEntry(outerPosition).getKey();
     startBatchPosition = markedBatchRange.lowerEndpoint();
@@ -216,10 +245,13 @@ public class RecordIterator implements VectorAccessible {
             if (enableMarkAndReset) {
               // Transfer vectors back to old batch.
               if (startBatchPosition != -1 && batches.get(startBatchPosition) != null) {
-                container.transferOut(batches.get(outerPosition).getContainer());
+                final RecordBatchData rbdOld = batches.get(outerPosition);
+                container.transferOut(rbdOld.getContainer());
+                evict(rbdOld);
               }
               container.transferIn(rbd.getContainer());
               batches.put(Range.closedOpen(nextOuterPosition, nextOuterPosition + innerRecordCount), rbd);
+              spillBatches(rbd);
             } else {
               container.zeroVectors();
               container.transferIn(rbd.getContainer());
@@ -248,8 +280,7 @@ public class RecordIterator implements VectorAccessible {
         assert rbdNew != null;
         assert rbdOld != null;
         assert rbdOld != rbdNew;
-        container.transferOut(rbdOld.getContainer());
-        container.transferIn(rbdNew.getContainer());
+        switchBatch(rbdOld, rbdNew);
         innerPosition = 0;
         outerPosition = nextOuterPosition;
         startBatchPosition = batches.getEntry(outerPosition).getKey().lowerEndpoint();
@@ -262,6 +293,76 @@ public class RecordIterator implements VectorAccessible {
     return lastOutcome;
   }
 
+  /**
+   * Move forward by count records within the current batch.
+   */
+  public void skip(int count) {
+    assert count >= 0;
+    assert innerPosition + count < innerRecordCount;
+    innerPosition += count;
+    outerPosition += count;
+  }
+
+  // Hand the vectors of the current batch back to it and take those of another held batch.
+  private void switchBatch(RecordBatchData rbdOld, RecordBatchData rbdNew) {
+    container.transferOut(rbdOld.getContainer());
+    evict(rbdOld);
+    load(rbdNew);
+    container.transferIn(rbdNew.getContainer());
+  }
+
+  // Spill held batches, oldest first, while the operator uses more memory than allowed.
+  private void spillBatches(RecordBatchData current) {
+    if (spillContext == null) {
+      return;
+    }
+    for (RecordBatchData rbd : batches.asMapOfRanges().values()) {
+      if (oContext.getAllocator().getAllocatedMemory() <= memoryLimit) {
+        break;
+      }
+      if (rbd == current || evicted.contains(rbd) || rbd.getSv2() != null) {
+        continue;
+      }
+      try {
+        if (spillFile == null) {
+          spillFile = new SpillFile(spillContext, oContext.getAllocator(), spillName);
+        }
+        if (spillOffsets.containsKey(rbd)) {
+          rbd.getContainer().zeroVectors();
+        } else {
+          spillOffsets.put(rbd, spillFile.write(rbd.getContainer()));
+        }
+        evicted.add(rbd);
+      } catch (IOException e) {
+        throw UserException.dataWriteError(e)
+            .message("Failed to spill the batches held by a record iterator")
+            .build(logger);
+      }
+    }
+  }
+
+  // Release the memory of a batch read back from the spill file, once the iterator left it, if memory is short.
+  private void evict(RecordBatchData rbd) {
+    if (spillOffsets.containsKey(rbd) && !evicted.contains(rbd)
+        && oContext.getAllocator().getAllocatedMemory() > memoryLimit) {
+      rbd.getContainer().zeroVectors();
+      evicted.add(rbd);
+    }
+  }
+
+  private void load(RecordBatchData rbd) {
+    if (!evicted.remove(rbd)) {
+      return;
+    }
+    try {
+      spillFile.read(spillOffsets.get(rbd), rbd.getContainer());
+    } catch (IOException e) {
+      throw UserException.dataReadError(e)
+          .message("Failed to read back a batch spilled by a record iterator")
+          .build(logger);
+    }
+  }
+
   public boolean finished() {
     return lastBatchRead && outerPosition  >= totalRecordCount;
   }
@@ -343,6 +444,16 @@ public class RecordIterator implements VectorAccessible {
       d.clear();
     }
     batches.clear();
+    spillOffsets.clear();
+    evicted.clear();
+    if (spillFile != null) {
+      try {
+        spillFile.close();
+      } catch (IOException e) {
+        logger.warn("Failed to delete record iterator spill file", e);
+      }
+      spillFile = null;
+    }
   }
 
   // Deplete incoming batches.
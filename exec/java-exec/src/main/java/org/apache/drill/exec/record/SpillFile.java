@@ -0,0 +1,166 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.record;
+
+import io.netty.buffer.DrillBuf;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.Iterator;
+
+import org.apache.drill.common.config.DrillConfig;
+import org.apache.drill.exec.ExecConstants;
+import org.apache.drill.exec.cache.VectorAccessibleSerializable;
+import org.apache.drill.exec.memory.BufferAllocator;
+import org.apache.drill.exec.ops.FragmentContext;
+import org.apache.drill.exec.proto.ExecProtos.FragmentHandle;
+import org.apache.drill.exec.proto.helper.QueryIdHelper;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FSDataOutputStream;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+
+/**
+ * File in the external sort spill directories to which an operator spills the batches it holds but cannot keep in
+ * memory. Batches are appended once and read back, by offset, as often as the operator needs them.
+ */
+public class SpillFile implements AutoCloseable {
+  static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(SpillFile.class);
+
+  private final BufferAllocator allocator;
+  private final FileSystem fs;
+  private final Path path;
+  private FSDataOutputStream output;
+  private FSDataInputStream input;
+  private long spilledBatches;
+  private long readBatches;
+
+  /**
+   * @param name name of the file within the fragment, for instance the kind and id of the operator
+   */
+  public SpillFile(FragmentContext context, BufferAllocator allocator, String name) throws IOException {
+    this.allocator = allocator;
+    final DrillConfig config = context.getConfig();
+    final Configuration conf = new Configuration();
+    conf.set("fs.default.name", config.getString(ExecConstants.EXTERNAL_SORT_SPILL_FILESYSTEM));
+    fs = FileSystem.get(conf);
+    final FragmentHandle handle = context.getHandle();
+    final String spillDir = config.getStringList(ExecConstants.EXTERNAL_SORT_SPILL_DIRS).get(0);
+    path = new Path(spillDir, String.format("%s_majorfragment%s_minorfragment%s_%s",
+        QueryIdHelper.getQueryId(handle.getQueryId()), handle.getMajorFragmentId(), handle.getMinorFragmentId(),
+        name));
+    output = fs.create(path);
+    fs.deleteOnExit(path);
+    logger.debug("Spilling batches to {}", path);
+  }
+
+  /**
+   * Appends the vectors of a container to the file, leaving them empty.
+   *
+   * @return offset of the batch in the file
+   */
+  public long write(VectorContainer container) throws IOException {
+    final long offset = output.getPos();
+    final VectorAccessibleSerializable vas = new VectorAccessibleSerializable(
+        WritableBatch.getBatchNoHVWrap(container.getRecordCount(), container, false), allocator);
+    vas.writeToStream(output);
+    // make the batch visible to the reader of the file
+    output.hflush();
+    spilledBatches++;
+    return offset;
+  }
+
+  /**
+   * Reads a batch written at the given offset back into the vectors of the container it was written from.
+   */
+  public void read(long offset, VectorContainer container) throws IOException {
+    if (input == null) {
+      input = fs.open(path);
+    }
+    input.seek(offset);
+    final VectorAccessibleSerializable vas = new VectorAccessibleSerializable(allocator);
+    vas.readFromStream(input);
+    final VectorContainer read = vas.get();
+    container.zeroVectors();
+    final Iterator<VectorWrapper<?>> wrapperIterator = read.iterator();
+    for (VectorWrapper<?> w : container) {
+      final TransferPair pair = wrapperIterator.next().getValueVector().makeTransferPair(w.getValueVector());
+      pair.transfer();
+    }
+    container.setRecordCount(read.getRecordCount());
+    read.zeroVectors();
+    readBatches++;
+  }
+
+  /**
+   * Appends the bytes of a batch that is already serialized, such as the body of a {@link WritableBatch}, to the
+   * file.
+   *
+   * @return offset of the bytes in the file
+   */
+  public long write(DrillBuf body, int length) throws IOException {
+    final long offset = output.getPos();
+    body.getBytes(0, output, length);
+    output.hflush();
+    spilledBatches++;
+    return offset;
+  }
+
+  /**
+   * Reads bytes written by {@link #write(DrillBuf, int)} back into a new buffer, which the caller releases.
+   */
+  public DrillBuf read(long offset, int length) throws IOException {
+    if (input == null) {
+      input = fs.open(path);
+    }
+    input.seek(offset);
+    final DrillBuf body = allocator.buffer(length);
+    try {
+      int read = 0;
+      while (read < length) {
+        final int count = body.writeBytes(input, length - read);
+        if (count < 0) {
+          throw new EOFException(String.format("Unexpected end of spill file %s", path));
+        }
+        read += count;
+      }
+    } catch (IOException | RuntimeException e) {
+      body.release();
+      throw e;
+    }
+    readBatches++;
+    return body;
+  }
+
+  @Override
+  public void close() throws IOException {
+    logger.debug("Spilled {} batches to {} and read {} back", spilledBatches, path, readBatches);
+    if (input != null) {
+      input.close();
+      input = null;
+    }
+    if (output != null) {
+      output.close();
+      output = null;
+      if (fs.delete(path, false)) {
+        fs.cancelDeleteOnExit(path);
+      }
+    }
+  }
+}
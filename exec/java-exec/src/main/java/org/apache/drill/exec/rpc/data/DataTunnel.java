@@ -41,6 +41,7 @@ public class DataTunnel {
 
   private final DataConnectionManager manager;
   private final Semaphore sendingSemaphore = new Semaphore(3);
+  private volatile Runnable sendCompletedListener;
 
   // Needed for injecting a test pause
   private boolean isInjectionControlSet;
@@ -72,6 +73,28 @@ public class DataTunnel {
     this.testLogger = testLogger;
   }
 
+  /**
+   * Sets a listener run each time a send completes and frees a sending slot.
+   */
+  public void setSendCompletedListener(Runnable sendCompletedListener) {
+    this.sendCompletedListener = sendCompletedListener;
+  }
+
+  /**
+   * @return whether all the sending slots are taken, so that the next send waits for an earlier one to complete
+   */
+  public boolean isSendBlocked() {
+    return sendingSemaphore.availablePermits() == 0;
+  }
+
+  private void releaseSendingSlot() {
+    sendingSemaphore.release();
+    final Runnable listener = sendCompletedListener;
+    if (listener != null) {
+      listener.run();
+    }
+  }
+
   public void sendRecordBatch(RpcOutcomeListener<Ack> outcomeListener, FragmentWritableBatch batch) {
     SendBatchAsyncListen b = new SendBatchAsyncListen(outcomeListener, batch);
     try{
@@ -124,19 +147,19 @@ public class DataTunnel {
 
     @Override
     public void failed(RpcException ex) {
-      sendingSemaphore.release();
+      releaseSendingSlot();
       inner.failed(ex);
     }
 
     @Override
     public void success(Ack value, ByteBuf buffer) {
-      sendingSemaphore.release();
+      releaseSendingSlot();
       inner.success(value, buffer);
     }
 
     @Override
     public void interrupted(InterruptedException e) {
-      sendingSemaphore.release();
+      releaseSendingSlot();
       inner.interrupted(e);
     }
   }
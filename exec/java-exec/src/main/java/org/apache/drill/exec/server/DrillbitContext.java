@@ -33,6 +33,7 @@ import org.apache.drill.exec.expr.fn.registry.RemoteFunctionRegistry;
 import org.apache.drill.exec.memory.BufferAllocator;
 import org.apache.drill.exec.physical.impl.OperatorCreatorRegistry;
 import org.apache.drill.exec.planner.PhysicalPlanReader;
+import org.apache.drill.exec.planner.fragment.OperatorThroughput;
 import org.apache.drill.exec.proto.CoordinationProtos.DrillbitEndpoint;
 import org.apache.drill.exec.rpc.control.Controller;
 import org.apache.drill.exec.rpc.control.WorkEventBus;
@@ -41,6 +42,7 @@ import org.apache.drill.exec.server.options.SystemOptionManager;
 import org.apache.drill.exec.store.SchemaFactory;
 import org.apache.drill.exec.store.StoragePluginRegistry;
 import org.apache.drill.exec.store.sys.PersistentStoreProvider;
+import org.apache.drill.exec.work.fragment.FragmentScheduler;
 
 import com.codahale.metrics.MetricRegistry;
 
@@ -62,6 +64,8 @@ public class DrillbitContext implements AutoCloseable {
   private final CodeCompiler compiler;
   private final ScanResult classpathScan;
   private final LogicalPlanPersistence lpPersistence;
+  private final OperatorThroughput operatorThroughput = new OperatorThroughput();
+  private final FragmentScheduler fragmentScheduler;
 
 
   public DrillbitContext(
@@ -91,6 +95,7 @@ public class DrillbitContext implements AutoCloseable {
     this.systemOptions = new SystemOptionManager(lpPersistence, provider);
     this.functionRegistry = new FunctionImplementationRegistry(context.getConfig(), classpathScan, systemOptions);
     this.compiler = new CodeCompiler(context.getConfig(), systemOptions);
+    this.fragmentScheduler = new FragmentScheduler(context.getConfig());
   }
 
   public FunctionImplementationRegistry getFunctionImplementationRegistry() {
@@ -125,6 +130,20 @@ public class DrillbitContext implements AutoCloseable {
     return context.getAllocator();
   }
 
+  /**
+   * @return the throughput of operators observed in the queries this Drillbit was the foreman of
+   */
+  public OperatorThroughput getOperatorThroughput() {
+    return operatorThroughput;
+  }
+
+  /**
+   * @return the scheduler sharing the CPU of this Drillbit between the fragments it runs
+   */
+  public FragmentScheduler getFragmentScheduler() {
+    return fragmentScheduler;
+  }
+
   public OperatorCreatorRegistry getOperatorCreatorRegistry() {
     return operatorCreatorRegistry;
   }
@@ -191,6 +210,7 @@ public class DrillbitContext implements AutoCloseable {
 
   @Override
   public void close() throws Exception {
+    compiler.close();
     getOptionManager().close();
     getFunctionImplementationRegistry().close();
     getRemoteFunctionRegistry().close();
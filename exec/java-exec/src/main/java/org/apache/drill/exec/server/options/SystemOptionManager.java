@@ -69,6 +69,7 @@ public class SystemOptionManager extends BaseOptionManager implements AutoClosea
       PlannerSettings.BROADCAST_FACTOR,
       PlannerSettings.NESTEDLOOPJOIN_FACTOR,
       PlannerSettings.NLJOIN_FOR_SCALAR,
+      PlannerSettings.NLJOIN_CONDITION,
       PlannerSettings.JOIN_ROW_COUNT_ESTIMATE_FACTOR,
       PlannerSettings.MUX_EXCHANGE,
       PlannerSettings.DEMUX_EXCHANGE,
@@ -92,6 +93,15 @@ public class SystemOptionManager extends BaseOptionManager implements AutoClosea
       PlannerSettings.UNIONALL_DISTRIBUTE,
       PlannerSettings.PARQUET_ROWGROUP_FILTER_PUSHDOWN_PLANNING,
       PlannerSettings.PARQUET_ROWGROUP_FILTER_PUSHDOWN_PLANNING_THRESHOLD,
+      PlannerSettings.STATISTICS,
+      PlannerSettings.HIERARCHICAL_DIR_PRUNING,
+      PlannerSettings.RUNTIME_PARTITION_PRUNING,
+      PlannerSettings.TOPN_RUNTIME_FILTER,
+      PlannerSettings.JOIN_ENUMERATION,
+      PlannerSettings.JOIN_ENUMERATION_DP_THRESHOLD,
+      PlannerSettings.AGGREGATE_JOIN_TRANSPOSE,
+      PlannerSettings.SHARED_SUBTREES,
+      PlannerSettings.JOIN_SKEW_FANOUT,
       ExecConstants.CAST_TO_NULLABLE_NUMERIC_OPTION,
       ExecConstants.OUTPUT_FORMAT_VALIDATOR,
       ExecConstants.PARQUET_BLOCK_SIZE_VALIDATOR,
@@ -107,6 +117,10 @@ public class SystemOptionManager extends BaseOptionManager implements AutoClosea
       ExecConstants.PARQUET_PAGEREADER_USE_BUFFERED_READ_VALIDATOR,
       ExecConstants.PARQUET_PAGEREADER_BUFFER_SIZE_VALIDATOR,
       ExecConstants.PARQUET_PAGEREADER_USE_FADVISE_VALIDATOR,
+      ExecConstants.FS_LISTING_PARALLELISM_VALIDATOR,
+      ExecConstants.FS_LISTING_CACHE_TTL_VALIDATOR,
+      ExecConstants.SHARED_SPOOL_MEMORY_LIMIT_VALIDATOR,
+      ExecConstants.MERGE_JOIN_MEMORY_LIMIT_VALIDATOR,
       ExecConstants.PARQUET_READER_INT96_AS_TIMESTAMP_VALIDATOR,
       ExecConstants.JSON_READER_ALL_TEXT_MODE_VALIDATOR,
       ExecConstants.ENABLE_UNION_TYPE,
@@ -126,17 +140,25 @@ public class SystemOptionManager extends BaseOptionManager implements AutoClosea
       ExecConstants.AFFINITY_FACTOR,
       ExecConstants.MAX_WIDTH_GLOBAL,
       ExecConstants.MAX_WIDTH_PER_NODE,
+      ExecConstants.ADAPTIVE_WIDTH,
+      ExecConstants.ADAPTIVE_WIDTH_BYTES_PER_FRAGMENT,
+      ExecConstants.ADAPTIVE_WIDTH_TARGET_FRAGMENT_TIME,
       ExecConstants.ENABLE_QUEUE,
       ExecConstants.LARGE_QUEUE_SIZE,
       ExecConstants.QUEUE_THRESHOLD_SIZE,
       ExecConstants.QUEUE_TIMEOUT,
       ExecConstants.SMALL_QUEUE_SIZE,
+      ExecConstants.FRAGMENT_COOPERATIVE_SCHEDULING,
+      ExecConstants.FRAGMENT_SCHEDULER_ENABLE,
+      ExecConstants.FRAGMENT_SCHEDULER_POOL,
+      ExecConstants.FRAGMENT_SCHEDULER_WEIGHT,
       ExecConstants.MIN_HASH_TABLE_SIZE,
       ExecConstants.MAX_HASH_TABLE_SIZE,
       ExecConstants.EARLY_LIMIT0_OPT,
       ExecConstants.ENABLE_MEMORY_ESTIMATION,
       ExecConstants.MAX_QUERY_MEMORY_PER_NODE,
       ExecConstants.NON_BLOCKING_OPERATORS_MEMORY,
+      ExecConstants.OUTPUT_BATCH_SIZE_VALIDATOR,
       ExecConstants.HASH_JOIN_TABLE_FACTOR,
       ExecConstants.HASH_AGG_TABLE_FACTOR,
       ExecConstants.AVERAGE_FIELD_WIDTH,
@@ -150,7 +172,9 @@ public class SystemOptionManager extends BaseOptionManager implements AutoClosea
       ClassCompilerSelector.JAVA_COMPILER_DEBUG,
       ExecConstants.ENABLE_VERBOSE_ERRORS,
       ExecConstants.ENABLE_WINDOW_FUNCTIONS_VALIDATOR,
+      ExecConstants.WINDOW_MEMORY_LIMIT_VALIDATOR,
       ClassTransformer.SCALAR_REPLACEMENT_VALIDATOR,
+      ExecConstants.PRECOMPILED_KERNELS_VALIDATOR,
       ExecConstants.ENABLE_NEW_TEXT_READER,
       ExecConstants.ENABLE_BULK_LOAD_TABLE_LIST,
       ExecConstants.BULK_LOAD_TABLE_LIST_BULK_SIZE,
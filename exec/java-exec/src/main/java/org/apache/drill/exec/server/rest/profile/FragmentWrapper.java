@@ -106,7 +106,7 @@ public class FragmentWrapper {
   }
 
   public static final String[] FRAGMENT_COLUMNS = {"Minor Fragment ID", "Host Name", "Start", "End",
-    "Runtime", "Max Records", "Max Batches", "Last Update", "Last Progress", "Peak Memory", "State"};
+    "Runtime", "Compile Time", "Max Records", "Max Batches", "Last Update", "Last Progress", "Peak Memory", "State"};
 
   // Not including minor fragment ID
   private static final int NUM_NULLABLE_FRAGMENTS_COLUMNS = FRAGMENT_COLUMNS.length - 1;
@@ -143,6 +143,7 @@ public class FragmentWrapper {
       builder.appendMillis(minor.getStartTime() - start, null);
       builder.appendMillis(minor.getEndTime() - start, null);
       builder.appendMillis(minor.getEndTime() - minor.getStartTime(), null);
+      builder.appendNanos(minor.getCompileNanos(), null);
 
       builder.appendFormattedInteger(biggestIncomingRecords, null);
       builder.appendFormattedInteger(biggestBatches, null);
@@ -25,7 +25,9 @@ import java.util.Map;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.Maps;
+import org.apache.commons.lang3.StringEscapeUtils;
 import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.apache.drill.exec.planner.PlanningProfile;
 import org.apache.drill.exec.proto.UserBitShared.CoreOperatorType;
 import org.apache.drill.exec.proto.UserBitShared.MajorFragmentProfile;
 import org.apache.drill.exec.proto.UserBitShared.MinorFragmentProfile;
@@ -49,6 +51,7 @@ public class ProfileWrapper {
   private final List<FragmentWrapper> fragmentProfiles;
   private final List<OperatorWrapper> operatorProfiles;
   private OptionList options;
+  private PlanningProfile.Summary planning;
 
   public ProfileWrapper(final QueryProfile profile) {
     this.profile = profile;
@@ -104,6 +107,15 @@ public class ProfileWrapper {
       logger.error("Unable to deserialize query options", e);
       options = new OptionList();
     }
+
+    planning = null;
+    if (profile.hasPlanningJson()) {
+      try {
+        planning = mapper.readValue(profile.getPlanningJson(), PlanningProfile.Summary.class);
+      } catch (Exception e) {
+        logger.error("Unable to deserialize planning profile", e);
+      }
+    }
   }
 
   public boolean hasError() {
@@ -142,6 +154,38 @@ public class ProfileWrapper {
     return tb.build();
   }
 
+  public boolean hasPlanning() {
+    return planning != null;
+  }
+
+  public long getMetadataCacheReadMillis() {
+    return planning == null ? 0 : planning.metadataCacheReadMillis;
+  }
+
+  public String getPlanningPhasesOverview() {
+    final TableBuilder tb = new TableBuilder(new String[] {"Phase", "Time", "Rule Calls"});
+    if (planning != null) {
+      for (final PlanningProfile.Phase phase : planning.phases) {
+        tb.appendCell(StringEscapeUtils.escapeHtml4(phase.name), null);
+        tb.appendMillis(phase.millis, null);
+        tb.appendFormattedInteger(phase.ruleCalls, null);
+      }
+    }
+    return tb.build();
+  }
+
+  public String getPlanningRulesOverview() {
+    final TableBuilder tb = new TableBuilder(new String[] {"Rule", "Calls", "Time"});
+    if (planning != null) {
+      for (final PlanningProfile.RuleSummary rule : planning.rules) {
+        tb.appendCell(StringEscapeUtils.escapeHtml4(rule.name), null);
+        tb.appendFormattedInteger(rule.calls, null);
+        tb.appendMillis(rule.millis, null);
+      }
+    }
+    return tb.build();
+  }
+
   public String getOperatorsJSON() {
     final StringBuilder sb = new StringBuilder("{");
     String sep = "";
@@ -36,6 +36,8 @@ import org.apache.drill.exec.dotdrill.View;
 import org.apache.drill.exec.planner.logical.CreateTableEntry;
 
 import com.google.common.base.Joiner;
+import com.google.common.base.Predicate;
+import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 
 public abstract class AbstractSchema implements Schema, SchemaPartitionExplorer, AutoCloseable {
@@ -232,8 +234,19 @@ public abstract class AbstractSchema implements Schema, SchemaPartitionExplorer,
     return tables;
   }
 
-  public List<Pair<String, Schema.TableType>> getTableNamesAndTypes(boolean bulkLoad, int bulkSize) {
-    final List<String> tableNames = Lists.newArrayList(getTableNames());
+  /**
+   * Get the names and types of the tables of this schema whose names are accepted by the given filter. Only the
+   * accepted tables are loaded, so callers that look for a few tables (e.g. INFORMATION_SCHEMA queries filtering
+   * on TABLE_NAME) do not pay for loading all of them from the underlying metastore.
+   *
+   * @param  bulkLoad whether to load the tables with {@link #getTablesByNamesByBulkLoad(List, int)}
+   * @param  bulkSize the bulk size to use when loading in bulk
+   * @param  tableNameFilter the filter on the table names
+   * @return the names and types of the accepted tables
+   */
+  public List<Pair<String, Schema.TableType>> getTableNamesAndTypes(boolean bulkLoad, int bulkSize,
+      Predicate<String> tableNameFilter) {
+    final List<String> tableNames = Lists.newArrayList(Iterables.filter(getTableNames(), tableNameFilter));
     final List<Pair<String, Schema.TableType>> tableNamesAndTypes = Lists.newArrayList();
     final List<Pair<String, ? extends Table>> tables;
     if (bulkLoad) {
@@ -27,6 +27,7 @@ import java.util.Map;
 import java.util.concurrent.ConcurrentMap;
 
 import org.apache.drill.exec.ops.OperatorStats;
+import org.apache.drill.exec.store.TimedRunnable;
 import org.apache.drill.exec.util.AssertionUtil;
 import org.apache.hadoop.classification.InterfaceAudience.LimitedPrivate;
 import org.apache.hadoop.classification.InterfaceAudience.Private;
@@ -58,6 +59,7 @@ import org.apache.hadoop.io.compress.CompressionCodec;
 import org.apache.hadoop.io.compress.CompressionCodecFactory;
 import org.apache.hadoop.security.AccessControlException;
 import org.apache.hadoop.security.Credentials;
+import org.apache.hadoop.security.UserGroupInformation;
 import org.apache.hadoop.security.token.Token;
 import org.apache.hadoop.util.Progressable;
 
@@ -83,6 +85,7 @@ public class DrillFileSystem extends FileSystem implements OpenFileTracker {
   private final FileSystem underlyingFs;
   private final OperatorStats operatorStats;
   private final CompressionCodecFactory codecFactory;
+  private final String userName;
 
   public DrillFileSystem(Configuration fsConf) throws IOException {
     this(fsConf, null);
@@ -92,6 +95,7 @@ public class DrillFileSystem extends FileSystem implements OpenFileTracker {
     this.underlyingFs = FileSystem.get(fsConf);
     this.codecFactory = new CompressionCodecFactory(fsConf);
     this.operatorStats = operatorStats;
+    this.userName = UserGroupInformation.getCurrentUser().getShortUserName();
   }
 
   @Override
@@ -748,25 +752,150 @@ public class DrillFileSystem extends FileSystem implements OpenFileTracker {
   }
 
   public List<FileStatus> list(boolean recursive, Path... paths) throws IOException {
-    if (recursive) {
-      List<FileStatus> statuses = Lists.newArrayList();
-      for (Path p : paths) {
-        addRecursiveStatus(underlyingFs.getFileStatus(p), statuses);
-      }
-      return statuses;
+    return list(recursive, 1, null, 0, paths);
+  }
 
-    } else {
+  /**
+   * Lists the given paths. A recursive listing walks the directory trees one level at a time; the
+   * directories of a level are listed concurrently using up to {@code parallelism} threads, and a
+   * directory listed by any query less than {@code cacheTtlMillis} ago is taken from the given cache
+   * if its modification time has not changed since. That modification time is always read fresh: a
+   * directory whose status comes from a cached listing of its parent is looked up again before its own
+   * cached listing is used. Files are returned in the same (depth-first) order as a serial walk would
+   * return them.
+   *
+   * @param recursive whether to descend into directories, returning files only
+   * @param parallelism maximum number of directories listed concurrently
+   * @param cache listings shared with other queries, null for none
+   * @param cacheTtlMillis maximum age of a cached listing, zero to bypass the cache
+   * @param paths paths to list
+   */
+  public List<FileStatus> list(boolean recursive, int parallelism, FileListingCache cache, long cacheTtlMillis,
+      Path... paths) throws IOException {
+    if (!recursive) {
       return Lists.newArrayList(underlyingFs.listStatus(paths));
     }
+
+    final List<FileStatus> roots = Lists.newArrayList();
+    for (Path p : paths) {
+      roots.add(underlyingFs.getFileStatus(p));
+    }
+
+    final Map<Path, FileStatus[]> listings = Maps.newHashMap();
+    List<FileStatus> level = Lists.newArrayList();
+    List<Boolean> levelFresh = Lists.newArrayList();
+    for (FileStatus root : roots) {
+      if (root.isDirectory()) {
+        level.add(root);
+        levelFresh.add(true);
+      }
+    }
+    while (!level.isEmpty()) {
+      final List<DirectoryListing> children = listDirectories(level, levelFresh, parallelism,
+          cacheTtlMillis > 0 ? cache : null, cacheTtlMillis);
+      final List<FileStatus> nextLevel = Lists.newArrayList();
+      final List<Boolean> nextLevelFresh = Lists.newArrayList();
+      for (int i = 0; i < level.size(); i++) {
+        final DirectoryListing listing = children.get(i);
+        listings.put(level.get(i).getPath(), listing.children);
+        for (FileStatus child : listing.children) {
+          if (child.isDirectory()) {
+            nextLevel.add(child);
+            nextLevelFresh.add(listing.fresh);
+          }
+        }
+      }
+      level = nextLevel;
+      levelFresh = nextLevelFresh;
+    }
+
+    final List<FileStatus> statuses = Lists.newArrayList();
+    for (FileStatus root : roots) {
+      addRecursiveStatus(root, listings, statuses);
+    }
+    return statuses;
+  }
+
+  /**
+   * Children of a directory, and whether they were listed by the current walk rather than taken from the cache.
+   */
+  private static class DirectoryListing {
+    final FileStatus[] children;
+    final boolean fresh;
+
+    DirectoryListing(FileStatus[] children, boolean fresh) {
+      this.children = children;
+      this.fresh = fresh;
+    }
+  }
+
+  /**
+   * @param directories directories to list
+   * @param statusesFresh for each directory, whether its status was read by the current walk; the status of
+   *        a directory listed by a cached listing of its parent is read again before its own cached listing
+   *        is looked up
+   */
+  private List<DirectoryListing> listDirectories(List<FileStatus> directories, List<Boolean> statusesFresh,
+      int parallelism, final FileListingCache cache, final long cacheTtlMillis) throws IOException {
+    final List<TimedRunnable<DirectoryListing>> listers = Lists.newArrayList();
+    for (int i = 0; i < directories.size(); i++) {
+      final FileStatus directory = directories.get(i);
+      final boolean statusFresh = statusesFresh.get(i);
+      listers.add(new TimedRunnable<DirectoryListing>() {
+        @Override
+        protected DirectoryListing runInner() throws Exception {
+          if (cache == null) {
+            return new DirectoryListing(listDirectory(directory), true);
+          }
+          final FileStatus current;
+          if (statusFresh) {
+            current = directory;
+          } else {
+            try {
+              current = underlyingFs.getFileStatus(directory.getPath());
+            } catch (FileNotFoundException e) {
+              return new DirectoryListing(new FileStatus[0], true);
+            }
+          }
+          final FileStatus[] cached = cache.get(userName, current, cacheTtlMillis);
+          if (cached != null) {
+            return new DirectoryListing(cached, false);
+          }
+          final FileStatus[] children = listDirectory(current);
+          cache.put(userName, current, children);
+          return new DirectoryListing(children, true);
+        }
+
+        @Override
+        protected IOException convertToIOException(Exception e) {
+          return new IOException("Failure while listing directory " + directory.getPath(), e);
+        }
+      });
+    }
+
+    if (parallelism > 1) {
+      return TimedRunnable.run("List directories", logger, listers, parallelism);
+    }
+    final List<DirectoryListing> listings = Lists.newArrayList();
+    for (TimedRunnable<DirectoryListing> lister : listers) {
+      lister.run();
+      listings.add(lister.getValue());
+    }
+    return listings;
+  }
+
+  private FileStatus[] listDirectory(FileStatus directory) throws IOException {
+    Path pattern = new Path(directory.getPath(), "*");
+    FileStatus[] sub = underlyingFs.globStatus(pattern, new DrillPathFilter());
+    return sub == null ? new FileStatus[0] : sub;
   }
 
-  private void addRecursiveStatus(FileStatus parent, List<FileStatus> listToFill) throws IOException {
-    if (parent.isDir()) {
-      Path pattern = new Path(parent.getPath(), "*");
-      FileStatus[] sub = underlyingFs.globStatus(pattern, new DrillPathFilter());
-      for(FileStatus s : sub){
-        if (s.isDir()) {
-          addRecursiveStatus(s, listToFill);
+  private static void addRecursiveStatus(FileStatus parent, Map<Path, FileStatus[]> listings,
+      List<FileStatus> listToFill) {
+    if (parent.isDirectory()) {
+      for (FileStatus s : listings.get(parent.getPath())) {
+        if (s.isDirectory()) {
+          addRecursiveStatus(s, listings, listToFill);
         } else {
           listToFill.add(s);
         }
@@ -0,0 +1,133 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.store.dfs;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.Weigher;
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * Cache of directory listings of a file system storage plugin, shared by all queries on the plugin so that
+ * concurrent queries on the same table list its directories once. A listing is keyed by the user the file
+ * system was created for and the directory path, and is reused only while the directory's modification time
+ * is the one the listing was taken at and the listing is younger than the time-to-live the caller asks for.
+ * <p>
+ * The modification time check relies on the file system updating a directory's modification time when
+ * entries are added to or removed from it. Object stores such as S3 do not, so {@link #create} returns no
+ * cache for them. Other file systems keep modification times at a coarse granularity, so directories
+ * modified very recently are not cached at all: a change made in the same tick as the listing would go
+ * unnoticed.
+ */
+public class FileListingCache {
+
+  /**
+   * Schemes of the file systems that maintain directory modification times.
+   */
+  private static final Set<String> RELIABLE_DIRECTORY_TIMES = ImmutableSet.of("file", "hdfs", "maprfs", "webhdfs");
+
+  /**
+   * Upper bound on the number of file statuses held by the cache.
+   */
+  private static final long MAX_CACHED_STATUSES = 1000 * 1000;
+
+  /**
+   * Minimum age of a directory's modification time for its listing to be cached.
+   */
+  private static final long MIN_MODIFICATION_AGE_MILLIS = 2000;
+
+  private final Cache<String, Listing> listings = CacheBuilder.newBuilder()
+      .maximumWeight(MAX_CACHED_STATUSES)
+      .weigher(new Weigher<String, Listing>() {
+        @Override
+        public int weigh(String key, Listing listing) {
+          return listing.children.length + 1;
+        }
+      })
+      .expireAfterWrite(1, TimeUnit.HOURS)
+      .build();
+
+  private static class Listing {
+    final long modificationTime;
+    final long listedAt;
+    final FileStatus[] children;
+
+    Listing(long modificationTime, long listedAt, FileStatus[] children) {
+      this.modificationTime = modificationTime;
+      this.listedAt = listedAt;
+      this.children = children;
+    }
+  }
+
+  private FileListingCache() {
+  }
+
+  /**
+   * @param fsConf configuration of the file system whose listings are to be cached
+   * @return a new cache, or null if the file system does not maintain directory modification times
+   */
+  public static FileListingCache create(Configuration fsConf) {
+    final String scheme = FileSystem.getDefaultUri(fsConf).getScheme();
+    if (scheme == null || !RELIABLE_DIRECTORY_TIMES.contains(scheme.toLowerCase())) {
+      return null;
+    }
+    return new FileListingCache();
+  }
+
+  private static String key(String userName, FileStatus directory) {
+    return userName + "@" + directory.getPath().toString();
+  }
+
+  /**
+   * @param userName user the listing is made for
+   * @param directory status of the directory, read fresh rather than taken from a cached listing of its parent
+   * @param ttlMillis maximum age of a listing that may be returned
+   * @return the children of the directory, or null if there is no usable listing
+   */
+  public FileStatus[] get(String userName, FileStatus directory, long ttlMillis) {
+    if (ttlMillis <= 0) {
+      return null;
+    }
+    final Listing listing = listings.getIfPresent(key(userName, directory));
+    if (listing == null
+        || listing.modificationTime != directory.getModificationTime()
+        || System.currentTimeMillis() - listing.listedAt > ttlMillis) {
+      return null;
+    }
+    return listing.children;
+  }
+
+  public void put(String userName, FileStatus directory, FileStatus[] children) {
+    final long now = System.currentTimeMillis();
+    if (now - directory.getModificationTime() < MIN_MODIFICATION_AGE_MILLIS) {
+      return;
+    }
+    listings.put(key(userName, directory), new Listing(directory.getModificationTime(), now, children));
+  }
+
+  public void invalidateAll() {
+    listings.invalidateAll();
+  }
+}
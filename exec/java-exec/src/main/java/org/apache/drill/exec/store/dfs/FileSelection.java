@@ -162,6 +162,20 @@ public class FileSelection {
   }
 
   public FileSelection minusDirectories(DrillFileSystem fs) throws IOException {
+    return minusDirectories(fs, 1, null, 0);
+  }
+
+  /**
+   * Expands the directories of this selection into the files below them.
+   *
+   * @param fs file system to list with
+   * @param parallelism maximum number of directories listed concurrently
+   * @param cache directory listings shared with other queries, null for none
+   * @param cacheTtlMillis maximum age of a cached directory listing, zero to bypass the cache
+   * @see DrillFileSystem#list(boolean, int, FileListingCache, long, Path...)
+   */
+  public FileSelection minusDirectories(DrillFileSystem fs, int parallelism, FileListingCache cache,
+      long cacheTtlMillis) throws IOException {
     if (isExpandedFully()) {
       return this;
     }
@@ -172,7 +186,7 @@ public class FileSelection {
     for (int i=0; i<total; i++) {
       paths[i] = statuses.get(i).getPath();
     }
-    final List<FileStatus> allStats = fs.list(true, paths);
+    final List<FileStatus> allStats = fs.list(true, parallelism, cache, cacheTtlMillis, paths);
     final List<FileStatus> nonDirectories = Lists.newArrayList(Iterables.filter(allStats, new Predicate<FileStatus>() {
       @Override
       public boolean apply(@Nullable FileStatus status) {
@@ -62,6 +62,7 @@ public class FileSystemPlugin extends AbstractStoragePlugin{
   private final FileSystemConfig config;
   private final Configuration fsConf;
   private final LogicalPlanPersistence lpPersistance;
+  private final FileListingCache listingCache;
 
   public FileSystemPlugin(FileSystemConfig config, DrillbitContext context, String name) throws ExecutionSetupException{
     this.config = config;
@@ -77,6 +78,7 @@ public class FileSystemPlugin extends AbstractStoragePlugin{
       fsConf.set(FileSystem.FS_DEFAULT_NAME_KEY, config.connection);
       fsConf.set("fs.classpath.impl", ClassPathFileSystem.class.getName());
       fsConf.set("fs.drill-local.impl", LocalSyncableFileSystem.class.getName());
+      listingCache = FileListingCache.create(fsConf);
 
       formatCreator = newFormatCreator(config, context, fsConf);
       List<FormatMatcher> matchers = Lists.newArrayList();
@@ -177,4 +179,12 @@ public class FileSystemPlugin extends AbstractStoragePlugin{
   public Configuration getFsConf() {
     return fsConf;
   }
+
+  /**
+   * @return the directory listings shared by the queries on this plugin, or null if the file system
+   *         does not support caching them
+   */
+  public FileListingCache getListingCache() {
+    return listingCache;
+  }
 }
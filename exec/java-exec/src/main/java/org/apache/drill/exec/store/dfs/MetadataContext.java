@@ -41,6 +41,9 @@ public class MetadataContext {
 
   private PruneStatus pruneStatus = PruneStatus.NOT_STARTED;
 
+  /** Time spent reading metadata cache files with this context, for the planning profile of the query. */
+  private long cacheReadNanos;
+
   public MetadataContext() {
   }
 
@@ -71,6 +74,14 @@ public class MetadataContext {
     return pruneStatus;
   }
 
+  public void addCacheReadNanos(long nanos) {
+    cacheReadNanos += nanos;
+  }
+
+  public long getCacheReadNanos() {
+    return cacheReadNanos;
+  }
+
 }
 
 
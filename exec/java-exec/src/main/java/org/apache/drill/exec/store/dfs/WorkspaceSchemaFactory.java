@@ -74,6 +74,7 @@ import org.apache.hadoop.security.AccessControlException;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.base.Joiner;
+import com.google.common.base.Predicate;
 import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
@@ -593,7 +594,9 @@ public class WorkspaceSchemaFactory {
           }
         }
 
-        final FileSelection newSelection = hasDirectories ? fileSelection.minusDirectories(fs) : fileSelection;
+        final FileSelection newSelection = hasDirectories ?
+            fileSelection.minusDirectories(fs, getListingParallelism(), plugin.getListingCache(),
+                getListingCacheTtl()) : fileSelection;
         if (newSelection == null) {
           return null;
         }
@@ -620,6 +623,14 @@ public class WorkspaceSchemaFactory {
       return null;
     }
 
+    private int getListingParallelism() {
+      return schemaConfig.getOption(ExecConstants.FS_LISTING_PARALLELISM).num_val.intValue();
+    }
+
+    private long getListingCacheTtl() {
+      return schemaConfig.getOption(ExecConstants.FS_LISTING_CACHE_TTL).num_val;
+    }
+
     private FormatMatcher findMatcher(FileStatus file) {
       FormatMatcher matcher = null;
       try {
@@ -742,14 +753,17 @@ public class WorkspaceSchemaFactory {
     }
 
     @Override
-    public List<Pair<String, TableType>> getTableNamesAndTypes(boolean bulkLoad, int bulkSize) {
+    public List<Pair<String, TableType>> getTableNamesAndTypes(boolean bulkLoad, int bulkSize,
+        Predicate<String> tableNameFilter) {
       final List<Pair<String, TableType>> tableNamesAndTypes = Lists.newArrayList();
 
       // Look for raw tables first
       if (!tables.isEmpty()) {
         for (Map.Entry<TableInstance, DrillTable> tableEntry : tables.entrySet()) {
-          tableNamesAndTypes
-              .add(Pair.of(tableEntry.getKey().sig.name, tableEntry.getValue().getJdbcTableType()));
+          if (tableNameFilter.apply(tableEntry.getKey().sig.name)) {
+            tableNamesAndTypes
+                .add(Pair.of(tableEntry.getKey().sig.name, tableEntry.getValue().getJdbcTableType()));
+          }
         }
       }
       // Then look for files that start with this name and end in .drill.
@@ -773,7 +787,7 @@ public class WorkspaceSchemaFactory {
 
       try {
         for (DotDrillFile f : files) {
-          if (f.getType() == DotDrillType.VIEW) {
+          if (f.getType() == DotDrillType.VIEW && tableNameFilter.apply(f.getBaseName())) {
             tableNamesAndTypes.add(Pair.of(f.getBaseName(), TableType.VIEW));
           }
         }
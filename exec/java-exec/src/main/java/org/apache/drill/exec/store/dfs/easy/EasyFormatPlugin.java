@@ -52,6 +52,7 @@ import org.apache.drill.exec.store.dfs.FormatMatcher;
 import org.apache.drill.exec.store.dfs.FormatPlugin;
 import org.apache.drill.exec.store.schedule.CompleteFileWork;
 import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 
 import com.google.common.collect.ImmutableSet;
@@ -170,6 +171,9 @@ public abstract class EasyFormatPlugin<T extends FormatPluginConfig> implements
   public CloseableRecordBatch getWriterBatch(FragmentContext context, RecordBatch incoming, EasyWriter writer)
       throws ExecutionSetupException {
     try {
+      if (writer.getCommitLocation() != null) {
+        return new StagedWriterRecordBatch(writer, incoming, context, getRecordWriter(context, writer), fsConf);
+      }
       return new WriterRecordBatch(writer, incoming, context, getRecordWriter(context, writer));
     } catch(IOException e) {
       throw new ExecutionSetupException(String.format("Failed to create the WriterRecordBatch. %s", e.getMessage()), e);
@@ -235,4 +239,59 @@ public abstract class EasyFormatPlugin<T extends FormatPluginConfig> implements
   public abstract int getReaderOperatorType();
   public abstract int getWriterOperatorType();
 
+
+  /**
+   * Writes to the staging location of the writer, and moves the complete output to the commit location,
+   * replacing what was there, once all the records have been written. If the query fails, the staged
+   * output is removed and the commit location is left as it was.
+   */
+  private static class StagedWriterRecordBatch extends WriterRecordBatch {
+    private final Path stagingPath;
+    private final Path commitPath;
+    private final Configuration fsConf;
+    private boolean committed;
+
+    public StagedWriterRecordBatch(EasyWriter writer, RecordBatch incoming, FragmentContext context,
+        RecordWriter recordWriter, Configuration fsConf) {
+      super(writer, incoming, context, recordWriter);
+      this.stagingPath = new Path(writer.getLocation());
+      this.commitPath = new Path(writer.getCommitLocation());
+      this.fsConf = fsConf;
+    }
+
+    @Override
+    protected void commit() throws IOException {
+      final FileSystem fs = commitPath.getFileSystem(fsConf);
+      final Path previousPath = new Path(stagingPath.getParent(), stagingPath.getName() + "_previous");
+      final boolean replacing = fs.exists(commitPath);
+      if (replacing && !fs.rename(commitPath, previousPath)) {
+        throw new IOException(String.format("Failed to move %s aside", commitPath));
+      }
+      if (!fs.rename(stagingPath, commitPath)) {
+        if (replacing) {
+          fs.rename(previousPath, commitPath);
+        }
+        throw new IOException(String.format("Failed to move %s to %s", stagingPath, commitPath));
+      }
+      committed = true;
+      if (replacing) {
+        fs.delete(previousPath, true);
+      }
+    }
+
+    @Override
+    public void close() {
+      super.close();
+      if (!committed) {
+        try {
+          final FileSystem fs = stagingPath.getFileSystem(fsConf);
+          if (fs.exists(stagingPath)) {
+            fs.delete(stagingPath, true);
+          }
+        } catch (IOException e) {
+          logger.warn("Failed to remove the staged output at {}", stagingPath, e);
+        }
+      }
+    }
+  }
 }
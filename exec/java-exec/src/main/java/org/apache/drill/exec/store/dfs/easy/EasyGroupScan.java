@@ -144,6 +144,16 @@ public class EasyGroupScan extends AbstractFileGroupScan{
     return maxWidth;
   }
 
+  @Override
+  @JsonIgnore
+  public long getScanBytes() {
+    long bytes = 0;
+    for (CompleteFileWork chunk : chunks) {
+      bytes += chunk.getTotalBytes();
+    }
+    return bytes;
+  }
+
 
   @Override
   public ScanStats getScanStats(final PlannerSettings settings) {
@@ -40,6 +40,7 @@ public class EasyWriter extends AbstractWriter {
   static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(EasyWriter.class);
 
   private final String location;
+  private final String commitLocation;
   private final List<String> partitionColumns;
   private final EasyFormatPlugin<?> formatPlugin;
 
@@ -47,6 +48,7 @@ public class EasyWriter extends AbstractWriter {
   public EasyWriter(
       @JsonProperty("child") PhysicalOperator child,
       @JsonProperty("location") String location,
+      @JsonProperty("commitLocation") String commitLocation,
       @JsonProperty("partitionColumns") List<String> partitionColumns,
       @JsonProperty("storage") StoragePluginConfig storageConfig,
       @JsonProperty("format") FormatPluginConfig formatConfig,
@@ -56,6 +58,7 @@ public class EasyWriter extends AbstractWriter {
     this.formatPlugin = (EasyFormatPlugin<?>) engineRegistry.getFormatPlugin(storageConfig, formatConfig);
     Preconditions.checkNotNull(formatPlugin, "Unable to load format plugin for provided format config.");
     this.location = location;
+    this.commitLocation = commitLocation;
     this.partitionColumns = partitionColumns;
   }
 
@@ -63,10 +66,23 @@ public class EasyWriter extends AbstractWriter {
                          String location,
                          List<String> partitionColumns,
                          EasyFormatPlugin<?> formatPlugin) {
+    this(child, location, null, partitionColumns, formatPlugin);
+  }
+
+  /**
+   * @param commitLocation if not null, the output written to <code>location</code> is moved here,
+   *                       replacing its current contents, once it is complete
+   */
+  public EasyWriter(PhysicalOperator child,
+                         String location,
+                         String commitLocation,
+                         List<String> partitionColumns,
+                         EasyFormatPlugin<?> formatPlugin) {
 
     super(child);
     this.formatPlugin = formatPlugin;
     this.location = location;
+    this.commitLocation = commitLocation;
     this.partitionColumns = partitionColumns;
   }
 
@@ -75,6 +91,11 @@ public class EasyWriter extends AbstractWriter {
     return location;
   }
 
+  @JsonProperty("commitLocation")
+  public String getCommitLocation() {
+    return commitLocation;
+  }
+
   @JsonProperty("storage")
   public StoragePluginConfig getStorageConfig(){
     return formatPlugin.getStorageConfig();
@@ -92,7 +113,7 @@ public class EasyWriter extends AbstractWriter {
 
   @Override
   protected PhysicalOperator getNewWithChild(PhysicalOperator child) {
-    return new EasyWriter(child, location, partitionColumns, formatPlugin);
+    return new EasyWriter(child, location, commitLocation, partitionColumns, formatPlugin);
   }
 
   @Override
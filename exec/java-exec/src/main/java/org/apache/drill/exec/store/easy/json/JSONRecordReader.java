@@ -30,6 +30,7 @@ import org.apache.drill.exec.exception.OutOfMemoryException;
 import org.apache.drill.exec.ops.FragmentContext;
 import org.apache.drill.exec.ops.OperatorContext;
 import org.apache.drill.exec.physical.impl.OutputMutator;
+import org.apache.drill.exec.record.RecordBatchSizer;
 import org.apache.drill.exec.store.AbstractRecordReader;
 import org.apache.drill.exec.store.dfs.DrillFileSystem;
 import org.apache.drill.exec.store.easy.json.JsonProcessor.ReadState;
@@ -66,6 +67,9 @@ public class JSONRecordReader extends AbstractRecordReader {
   private long parseErrorCount;
   private final boolean skipMalformedJSONRecords;
   private final boolean printSkippedMalformedJSONRecordLineNumber;
+  private final long outputBatchSize;
+  // starts at the default, then follows the measured width of the records read so far
+  private int rowsPerBatch = (int) DEFAULT_ROWS_PER_BATCH;
   ReadState write = null;
 
   /**
@@ -118,6 +122,7 @@ public class JSONRecordReader extends AbstractRecordReader {
     this.unionEnabled = embeddedContent == null && fragmentContext.getOptions().getOption(ExecConstants.ENABLE_UNION_TYPE);
     this.skipMalformedJSONRecords = fragmentContext.getOptions().getOption(ExecConstants.JSON_SKIP_MALFORMED_RECORDS_VALIDATOR);
     this.printSkippedMalformedJSONRecordLineNumber = fragmentContext.getOptions().getOption(ExecConstants.JSON_READER_PRINT_INVALID_RECORDS_LINE_NOS_FLAG_VALIDATOR);
+    this.outputBatchSize = fragmentContext.getOptions().getOption(ExecConstants.OUTPUT_BATCH_SIZE_VALIDATOR);
     setColumns(columns);
   }
 
@@ -200,7 +205,7 @@ public class JSONRecordReader extends AbstractRecordReader {
     if(write == ReadState.JSON_RECORD_PARSE_EOF_ERROR){
       return recordCount;
     }
-    outside: while(recordCount < DEFAULT_ROWS_PER_BATCH){
+    outside: while(recordCount < rowsPerBatch){
       try{
         writer.setPosition(recordCount);
         write = jsonReader.write(writer);
@@ -231,9 +236,22 @@ public class JSONRecordReader extends AbstractRecordReader {
     jsonReader.ensureAtLeastOneField(writer);
     writer.setValueCount(recordCount);
     updateRunningCount();
+    updateRowsPerBatch();
     return recordCount;
   }
 
+  /**
+   * Sizes the next batch from the average width of the records in this one, so that
+   * batches of wide records stay near the memory target and narrow ones are not tiny.
+   */
+  private void updateRowsPerBatch() {
+    if (recordCount == 0) {
+      return;
+    }
+    final int rowWidth = (writer.getMapVector().getBufferSize() + recordCount - 1) / recordCount;
+    rowsPerBatch = RecordBatchSizer.getRowCountForTarget(outputBatchSize, rowWidth, RecordBatchSizer.MAX_ROW_COUNT);
+  }
+
   private void updateRunningCount() {
     runningRecordCount += recordCount;
   }
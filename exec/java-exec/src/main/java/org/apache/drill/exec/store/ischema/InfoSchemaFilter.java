@@ -19,8 +19,10 @@ package org.apache.drill.exec.store.ischema;
 
 import static org.apache.drill.exec.expr.fn.impl.RegexpUtil.sqlToRegexLike;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.regex.Pattern;
 
 import org.apache.drill.exec.store.ischema.InfoSchemaFilter.ExprNode.Type;
@@ -131,25 +133,43 @@ public class InfoSchemaFilter {
    */
   @JsonIgnore
   public Result evaluate(Map<String, String> recordValues) {
-    return evaluateHelper(recordValues, getExprRoot());
+    return evaluate(recordValues, Collections.<String>emptySet());
   }
 
-  private Result evaluateHelper(Map<String, String> recordValues, ExprNode exprNode) {
+  /**
+   * Evaluate the filter for given <COLUMN NAME, VALUE> pairs, where the values of the columns in
+   * <i>prefixFields</i> are schema path prefixes: the records the filter is evaluated for have there either
+   * the prefix itself or the prefix followed by a dot and more path elements. FALSE is returned only when the
+   * filter rejects all of them, which allows skipping a whole schema subtree without loading it.
+   * @param recordValues
+   * @param prefixFields
+   * @return
+   */
+  @JsonIgnore
+  public Result evaluate(Map<String, String> recordValues, Set<String> prefixFields) {
+    return evaluateHelper(recordValues, prefixFields, getExprRoot());
+  }
+
+  private Result evaluateHelper(Map<String, String> recordValues, Set<String> prefixFields, ExprNode exprNode) {
     if (exprNode.type == Type.FUNCTION) {
-      return evaluateHelperFunction(recordValues, (FunctionExprNode) exprNode);
+      return evaluateHelperFunction(recordValues, prefixFields, (FunctionExprNode) exprNode);
     }
 
     throw new UnsupportedOperationException(
         String.format("Unknown expression type '%s' in InfoSchemaFilter", exprNode.type));
   }
 
-  private Result evaluateHelperFunction(Map<String, String> recordValues, FunctionExprNode exprNode) {
+  private Result evaluateHelperFunction(Map<String, String> recordValues, Set<String> prefixFields,
+      FunctionExprNode exprNode) {
     switch(exprNode.function) {
       case "like": {
         FieldExprNode col = (FieldExprNode) exprNode.args.get(0);
         ConstantExprNode pattern = (ConstantExprNode) exprNode.args.get(1);
         ConstantExprNode escape = exprNode.args.size() > 2 ? (ConstantExprNode) exprNode.args.get(2) : null;
         final String fieldValue = recordValues.get(col.field.toString());
+        if (fieldValue != null && prefixFields.contains(col.field)) {
+          return evaluateLikeOnPrefix(fieldValue, pattern.value, escape == null ? null : escape.value);
+        }
         if (fieldValue != null) {
           if (escape == null) {
             return Pattern.matches(sqlToRegexLike(pattern.value), fieldValue) ?
@@ -170,6 +190,11 @@ public class InfoSchemaFilter {
         ConstantExprNode arg1 = (ConstantExprNode) exprNode.args.get(1);
 
         final String value = recordValues.get(arg0.field.toString());
+        if (value != null && prefixFields.contains(arg0.field)) {
+          // a subtree can always contain a value different from the constant
+          return exprNode.function.equals("equal") && !isUnderPrefix(arg1.value, value) ?
+              Result.FALSE : Result.INCONCLUSIVE;
+        }
         if (value != null) {
           if (exprNode.function.equals("equal")) {
             return arg1.value.equals(value) ? Result.TRUE : Result.FALSE;
@@ -187,7 +212,7 @@ public class InfoSchemaFilter {
         // For all other cases, return INCONCLUSIVE
         Result result = Result.FALSE;
         for(ExprNode arg : exprNode.args) {
-          Result exprResult = evaluateHelper(recordValues, arg);
+          Result exprResult = evaluateHelper(recordValues, prefixFields, arg);
           if (exprResult == Result.TRUE) {
             return Result.TRUE;
           } else if (exprResult == Result.INCONCLUSIVE) {
@@ -203,7 +228,7 @@ public class InfoSchemaFilter {
         // If at least one arg returns INCONCLUSIVE, then the AND function value is INCONCLUSIVE
         // If all args return TRUE, then the AND function value is TRUE
         for(ExprNode arg : exprNode.args) {
-          Result exprResult = evaluateHelper(recordValues, arg);
+          Result exprResult = evaluateHelper(recordValues, prefixFields, arg);
           if (exprResult != Result.TRUE) {
             return exprResult;
           }
@@ -216,6 +241,14 @@ public class InfoSchemaFilter {
         FieldExprNode col = (FieldExprNode) exprNode.args.get(0);
         List<ExprNode> args = exprNode.args.subList(1, exprNode.args.size());
         final String fieldValue = recordValues.get(col.field.toString());
+        if (fieldValue != null && prefixFields.contains(col.field)) {
+          for(ExprNode arg: args) {
+            if (isUnderPrefix(((ConstantExprNode) arg).value, fieldValue)) {
+              return Result.INCONCLUSIVE;
+            }
+          }
+          return Result.FALSE;
+        }
         if (fieldValue != null) {
           for(ExprNode arg: args) {
             if (fieldValue.equals(((ConstantExprNode) arg).value)) {
@@ -233,6 +266,44 @@ public class InfoSchemaFilter {
         String.format("Unknown function '%s' in InfoSchemaFilter", exprNode.function));
   }
 
+  /**
+   * @return whether the given schema path is the given prefix or lies under it
+   */
+  private static boolean isUnderPrefix(String path, String prefix) {
+    return path.equals(prefix) || path.startsWith(prefix + ".");
+  }
+
+  /**
+   * Evaluates a LIKE pattern for the schema paths under the given prefix. Only the literal start of the
+   * pattern, up to its first wildcard, is considered.
+   */
+  private static Result evaluateLikeOnPrefix(String prefix, String pattern, String escape) {
+    final StringBuilder literal = new StringBuilder();
+    boolean hasWildcard = false;
+    for (int i = 0; i < pattern.length(); i++) {
+      final char c = pattern.charAt(i);
+      if (escape != null && escape.length() == 1 && c == escape.charAt(0) && i + 1 < pattern.length()) {
+        literal.append(pattern.charAt(++i));
+      } else if (c == '%' || c == '_') {
+        hasWildcard = true;
+        break;
+      } else {
+        literal.append(c);
+      }
+    }
+
+    final String start = literal.toString();
+    final boolean matchable;
+    if (!hasWildcard) {
+      matchable = isUnderPrefix(start, prefix);
+    } else if (start.length() <= prefix.length()) {
+      matchable = prefix.startsWith(start);
+    } else {
+      matchable = start.startsWith(prefix + ".");
+    }
+    return matchable ? Result.INCONCLUSIVE : Result.FALSE;
+  }
+
   @Override
   public String toString() {
     return exprRoot.toString();
@@ -29,6 +29,7 @@ import static org.apache.drill.exec.store.ischema.InfoSchemaConstants.TBLS_COL_T
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.apache.calcite.jdbc.JavaTypeFactoryImpl;
 import org.apache.calcite.rel.type.RelDataType;
@@ -45,8 +46,11 @@ import org.apache.drill.exec.store.ischema.InfoSchemaFilter.Result;
 import org.apache.drill.exec.store.pojo.PojoRecordReader;
 
 import com.google.common.base.Preconditions;
+import com.google.common.base.Predicate;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 
 /**
@@ -56,6 +60,9 @@ import com.google.common.collect.Lists;
  */
 public abstract class InfoSchemaRecordGenerator<S> {
   static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(InfoSchemaRecordGenerator.class);
+
+  // fields holding schema paths, which are evaluated as prefixes when deciding whether to visit a schema subtree
+  private static final Set<String> SCHEMA_PATH_FIELDS = ImmutableSet.of(SHRD_COL_TABLE_SCHEMA, SCHS_COL_SCHEMA_NAME);
   protected InfoSchemaFilter filter;
 
   protected OptionManager optionManager;
@@ -152,6 +159,51 @@ public abstract class InfoSchemaRecordGenerator<S> {
     return true;
   }
 
+  /**
+   * Whether any schema in the subtree rooted at the given schema path, including the schema itself, may pass the
+   * filter. Subtrees that may not are skipped without loading their schemas.
+   */
+  protected boolean shouldVisitSchemaTree(String schemaPath) {
+    if (filter == null) {
+      return true;
+    }
+
+    final Map<String, String> recordValues =
+        ImmutableMap.of(
+            CATS_COL_CATALOG_NAME, IS_CATALOG_NAME,
+            SHRD_COL_TABLE_SCHEMA, schemaPath,
+            SCHS_COL_SCHEMA_NAME, schemaPath);
+
+    return filter.evaluate(recordValues, SCHEMA_PATH_FIELDS) != Result.FALSE;
+  }
+
+  /**
+   * Whether the table of the given name may pass the filter, whatever its type. Tables that may not are not loaded.
+   */
+  protected boolean shouldVisitTableName(String schemaName, String tableName) {
+    if (filter == null) {
+      return true;
+    }
+
+    final Map<String, String> recordValues =
+        ImmutableMap.of(
+            CATS_COL_CATALOG_NAME, IS_CATALOG_NAME,
+            SHRD_COL_TABLE_SCHEMA, schemaName,
+            SCHS_COL_SCHEMA_NAME, schemaName,
+            SHRD_COL_TABLE_NAME, tableName);
+
+    return filter.evaluate(recordValues) != Result.FALSE;
+  }
+
+  protected Predicate<String> getTableNameFilter(final String schemaName) {
+    return new Predicate<String>() {
+      @Override
+      public boolean apply(String tableName) {
+        return shouldVisitTableName(schemaName, tableName);
+      }
+    };
+  }
+
   protected boolean shouldVisitTable(String schemaName, String tableName, TableType tableType) {
     if (filter == null) {
       return true;
@@ -203,11 +255,14 @@ public abstract class InfoSchemaRecordGenerator<S> {
    */
   private void scanSchema(String schemaPath, SchemaPlus schema) {
 
-    // Recursively scan any subschema.
+    // Recursively scan any subschema the filter does not rule out, before loading it.
     for (String name: schema.getSubSchemaNames()) {
-      scanSchema(schemaPath +
+      final String subSchemaPath = schemaPath +
           (schemaPath == "" ? "" : ".") + // If we have an empty schema path, then don't insert a leading dot.
-          name, schema.getSubSchema(name));
+          name;
+      if (shouldVisitSchemaTree(subSchemaPath)) {
+        scanSchema(subSchemaPath, schema.getSubSchema(name));
+      }
     }
 
     // Visit this schema and if requested ...
@@ -223,7 +278,9 @@ public abstract class InfoSchemaRecordGenerator<S> {
    */
   public void visitTables(String schemaPath, SchemaPlus schema) {
     final AbstractSchema drillSchema = schema.unwrap(AbstractSchema.class);
-    final List<String> tableNames = Lists.newArrayList(schema.getTableNames());
+    // Only load the tables whose names pass the filter.
+    final List<String> tableNames = Lists.newArrayList(
+        Iterables.filter(schema.getTableNames(), getTableNameFilter(schemaPath)));
     for(Pair<String, ? extends Table> tableNameToTable : drillSchema.getTablesByNames(tableNames)) {
       final String tableName = tableNameToTable.getKey();
       final Table table = tableNameToTable.getValue();
@@ -298,7 +355,8 @@ public abstract class InfoSchemaRecordGenerator<S> {
       final AbstractSchema drillSchema = schema.unwrap(AbstractSchema.class);
       final List<Pair<String, TableType>> tableNamesAndTypes = drillSchema
           .getTableNamesAndTypes(optionManager.getOption(ExecConstants.ENABLE_BULK_LOAD_TABLE_LIST),
-              (int)optionManager.getOption(ExecConstants.BULK_LOAD_TABLE_LIST_BULK_SIZE));
+              (int)optionManager.getOption(ExecConstants.BULK_LOAD_TABLE_LIST_BULK_SIZE),
+              getTableNameFilter(schemaPath));
 
       for (Pair<String, TableType> tableNameAndType : tableNamesAndTypes) {
         final String tableName = tableNameAndType.getKey();
@@ -344,6 +402,27 @@ public abstract class InfoSchemaRecordGenerator<S> {
       return new PojoRecordReader<>(Records.View.class, records.iterator());
     }
 
+    @Override
+    public void visitTables(String schemaPath, SchemaPlus schema) {
+      // Only the views are needed, so list the tables with their types and load only the views.
+      final AbstractSchema drillSchema = schema.unwrap(AbstractSchema.class);
+      final List<Pair<String, TableType>> tableNamesAndTypes = drillSchema
+          .getTableNamesAndTypes(optionManager.getOption(ExecConstants.ENABLE_BULK_LOAD_TABLE_LIST),
+              (int)optionManager.getOption(ExecConstants.BULK_LOAD_TABLE_LIST_BULK_SIZE),
+              getTableNameFilter(schemaPath));
+
+      for (Pair<String, TableType> tableNameAndType : tableNamesAndTypes) {
+        final String tableName = tableNameAndType.getKey();
+        if (tableNameAndType.getValue() == TableType.VIEW
+            && shouldVisitTable(schemaPath, tableName, TableType.VIEW)) {
+          final Table table = drillSchema.getTable(tableName);
+          if (table != null) {
+            visitTable(schemaPath, tableName, table);
+          }
+        }
+      }
+    }
+
     @Override
     public boolean visitTable(String schemaName, String tableName, Table table) {
       if (table.getJdbcTableType() == TableType.VIEW) {
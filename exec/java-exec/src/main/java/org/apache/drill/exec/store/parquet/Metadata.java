@@ -23,6 +23,7 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Iterator;
+import java.util.Set;
 import java.util.UUID;
 
 import java.util.concurrent.ConcurrentHashMap;
@@ -82,6 +83,7 @@ import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
 import com.google.common.base.Stopwatch;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 
 public class Metadata {
   static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(Metadata.class);
@@ -179,10 +181,14 @@ public class Metadata {
     assert fileStatus.isDirectory() : "Expected directory";
 
     final List<FileStatus> childFiles = Lists.newArrayList();
+    final Map<String, Integer> fileCounts = Maps.newHashMap();
 
     for (final FileStatus file : fs.listStatus(p, new DrillPathFilter())) {
       if (file.isDirectory()) {
-        ParquetTableMetadata_v3 subTableMetadata = (createMetaFilesRecursively(file.getPath().toString())).getLeft();
+        final Pair<ParquetTableMetadata_v3, ParquetTableMetadataDirs> subMetadata =
+            createMetaFilesRecursively(file.getPath().toString());
+        ParquetTableMetadata_v3 subTableMetadata = subMetadata.getLeft();
+        fileCounts.putAll(subMetadata.getRight().getFileCounts());
         metaDataList.addAll(subTableMetadata.files);
         directoryList.addAll(subTableMetadata.directories);
         directoryList.add(file.getPath().toString());
@@ -193,6 +199,7 @@ public class Metadata {
         childFiles.add(file);
       }
     }
+    fileCounts.put(path, childFiles.size());
     ParquetTableMetadata_v3 parquetTableMetadata = new ParquetTableMetadata_v3(DrillVersionInfo.getVersion());
     if (childFiles.size() > 0) {
       List<ParquetFileMetadata_v3 > childFilesMetadata =
@@ -222,7 +229,7 @@ public class Metadata {
     writeFile(parquetTableMetadata, path, tmpUUID);
 
     if (directoryList.size() > 0 && childFiles.size() == 0) {
-      ParquetTableMetadataDirs parquetTableMetadataDirs = new ParquetTableMetadataDirs(directoryList);
+      ParquetTableMetadataDirs parquetTableMetadataDirs = new ParquetTableMetadataDirs(directoryList, fileCounts);
       writeFile(parquetTableMetadataDirs, path, tmpUUID);
       logger.info("Creating metadata files recursively took {} ms", timer.elapsed(TimeUnit.MILLISECONDS));
       timer.stop();
@@ -231,7 +238,7 @@ public class Metadata {
     List<String> emptyDirList = Lists.newArrayList();
     logger.info("Creating metadata files recursively took {} ms", timer.elapsed(TimeUnit.MILLISECONDS));
     timer.stop();
-    return Pair.of(parquetTableMetadata, new ParquetTableMetadataDirs(emptyDirList));
+    return Pair.of(parquetTableMetadata, new ParquetTableMetadataDirs(emptyDirList, fileCounts));
   }
 
   /**
@@ -644,6 +651,11 @@ public class Metadata {
 
     }
 
+    if (metaContext != null) {
+      // the timer was stopped once the cache file was read
+      metaContext.addCacheReadNanos(timer.elapsed(TimeUnit.NANOSECONDS));
+    }
+
     if (newMetadata && metaContext != null) {
       // if new metadata files were created, invalidate the existing metadata context
       metaContext.clear();
@@ -786,6 +798,11 @@ public class Metadata {
 
   public static class ParquetTableMetadataDirs {
     @JsonProperty List<String> directories;
+    /**
+     * Summary index of the directory tree: the number of files held directly by each directory.
+     * Absent in cache files written by older versions.
+     */
+    @JsonProperty Map<String, Integer> fileCounts;
 
     public ParquetTableMetadataDirs() {
       // default constructor needed for deserialization
@@ -795,10 +812,45 @@ public class Metadata {
       this.directories = directories;
     }
 
+    public ParquetTableMetadataDirs(List<String> directories, Map<String, Integer> fileCounts) {
+      this.directories = directories;
+      this.fileCounts = fileCounts;
+    }
+
     @JsonIgnore public List<String> getDirectories() {
       return directories;
     }
 
+    @JsonIgnore public Map<String, Integer> getFileCounts() {
+      return fileCounts;
+    }
+
+    /**
+     * Returns the directories that partition pruning needs to look at. Using the summary index,
+     * intermediate directories that hold no files of their own are left out: they carry no data, and
+     * their subdirectories are listed anyway. Without a summary index all directories are returned.
+     */
+    @JsonIgnore public List<String> getPartitionDirectories() {
+      if (fileCounts == null || directories == null) {
+        return directories;
+      }
+      final Set<String> parents = Sets.newHashSet();
+      for (String dir : directories) {
+        final Path parent = new Path(dir).getParent();
+        if (parent != null) {
+          parents.add(parent.toString());
+        }
+      }
+      final List<String> partitionDirs = Lists.newArrayList();
+      for (String dir : directories) {
+        final Integer count = fileCounts.get(dir);
+        if (count == null || count > 0 || !parents.contains(dir)) {
+          partitionDirs.add(dir);
+        }
+      }
+      return partitionDirs.isEmpty() ? directories : partitionDirs;
+    }
+
   }
 
   @JsonTypeName("v1")
@@ -223,7 +223,7 @@ public class ParquetFormatPlugin implements FormatPlugin{
 
           ParquetTableMetadataDirs mDirs = Metadata.readMetadataDirs(fs, dirMetaPath.toString(), metaContext, formatConfig);
           if (mDirs.getDirectories().size() > 0) {
-            FileSelection dirSelection = FileSelection.createFromDirectories(mDirs.getDirectories(), selection,
+            FileSelection dirSelection = FileSelection.createFromDirectories(mDirs.getPartitionDirectories(), selection,
                 selection.getSelectionRoot() /* cacheFileRoot initially points to selectionRoot */);
             dirSelection.setExpandedPartial();
             dirSelection.setMetaContext(metaContext);
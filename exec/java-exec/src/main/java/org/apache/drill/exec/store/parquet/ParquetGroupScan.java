@@ -139,6 +139,7 @@ public class ParquetGroupScan extends AbstractFileGroupScan {
    */
   private Metadata.ParquetTableMetadataBase parquetTableMetadata = null;
   private String cacheFileRoot = null;
+  private MetadataContext metaContext;
 
   /*
    * total number of rows (obtained from parquet footer)
@@ -253,6 +254,7 @@ public class ParquetGroupScan extends AbstractFileGroupScan {
     this.parquetTableMetadata = that.parquetTableMetadata;
     this.filter = that.filter;
     this.cacheFileRoot = that.cacheFileRoot;
+    this.metaContext = that.metaContext;
   }
 
   /**
@@ -301,6 +303,14 @@ public class ParquetGroupScan extends AbstractFileGroupScan {
     return fileSet;
   }
 
+  /**
+   * @return the metadata context of the selection of this scan, shared by the scans pruned from it
+   */
+  @JsonIgnore
+  public MetadataContext getMetaContext() {
+    return metaContext;
+  }
+
   public LogicalExpression getFilter() {
     return this.filter;
   }
@@ -718,6 +728,7 @@ public class ParquetGroupScan extends AbstractFileGroupScan {
   }
 
   private void init(MetadataContext metaContext) throws IOException {
+    this.metaContext = metaContext;
     if (entries.size() == 1 && parquetTableMetadata == null) {
       Path p = Path.getPathWithoutSchemeAndAuthority(new Path(entries.get(0).getPath()));
       Path metaPath = null;
@@ -906,6 +917,16 @@ public class ParquetGroupScan extends AbstractFileGroupScan {
     return rowGroupInfos.size();
   }
 
+  @Override
+  @JsonIgnore
+  public long getScanBytes() {
+    long bytes = 0;
+    for (RowGroupInfo rowGroupInfo : rowGroupInfos) {
+      bytes += rowGroupInfo.getTotalBytes();
+    }
+    return bytes;
+  }
+
   public List<SchemaPath> getColumns() {
     return columns;
   }
@@ -42,6 +42,7 @@ import org.apache.drill.exec.ops.MetricDef;
 import org.apache.drill.exec.ops.OperatorContext;
 import org.apache.drill.exec.physical.impl.OutputMutator;
 import org.apache.drill.exec.record.MaterializedField;
+import org.apache.drill.exec.record.RecordBatchSizer;
 import org.apache.drill.exec.store.AbstractRecordReader;
 import org.apache.drill.exec.store.parquet.ParquetReaderStats;
 import org.apache.drill.exec.store.parquet.ParquetReaderUtility;
@@ -52,6 +53,7 @@ import org.apache.drill.exec.vector.complex.RepeatedValueVector;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.column.statistics.Statistics;
 import org.apache.parquet.format.FileMetaData;
 import org.apache.parquet.format.SchemaElement;
 import org.apache.parquet.format.converter.ParquetMetadataConverter;
@@ -60,7 +62,9 @@ import org.apache.parquet.hadoop.ParquetFileWriter;
 import org.apache.parquet.hadoop.metadata.BlockMetaData;
 import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
 import org.apache.parquet.hadoop.metadata.ParquetMetadata;
+import org.apache.parquet.schema.MessageType;
 import org.apache.parquet.schema.PrimitiveType;
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
 
 import com.google.common.collect.Lists;
 
@@ -226,6 +230,27 @@ public class ParquetRecordReader extends AbstractRecordReader {
     return rowGroupIndex;
   }
 
+  /**
+   * @return the statistics of the given top level INT32 or INT64 column without a logical type, in the row group this
+   *   reader reads, or null if the column is not such a column or has no statistics
+   */
+  public Statistics<?> getIntegerColumnStatistics(String column) {
+    final MessageType schema = footer.getFileMetaData().getSchema();
+    for (ColumnChunkMetaData chunk : footer.getBlocks().get(rowGroupIndex).getColumns()) {
+      final String[] path = chunk.getPath().toArray();
+      if (path.length != 1 || !path[0].equalsIgnoreCase(column)) {
+        continue;
+      }
+      if ((chunk.getType() != PrimitiveTypeName.INT32 && chunk.getType() != PrimitiveTypeName.INT64)
+          || schema.getType(path).getOriginalType() != null) {
+        return null;
+      }
+      final Statistics<?> statistics = chunk.getStatistics();
+      return statistics == null || statistics.isEmpty() ? null : statistics;
+    }
+    return null;
+  }
+
   public int getBitWidthAllFixedFields() {
     return bitWidthAllFixedFields;
   }
@@ -234,6 +259,39 @@ public class ParquetRecordReader extends AbstractRecordReader {
     return batchSize;
   }
 
+  /**
+   * @return the configured memory target of an outgoing batch, in bytes, or 0 if no options are
+   *   available. Only batches with variable width columns follow it; fixed width batches keep the
+   *   reader's own {@link #batchSize}.
+   */
+  private long getOutputBatchSize() {
+    if (fragmentContext == null || fragmentContext.getOptions() == null) {
+      return 0;
+    }
+    return fragmentContext.getOptions().getOption(ExecConstants.OUTPUT_BATCH_SIZE_VALIDATOR);
+  }
+
+  /**
+   * Estimates the number of bytes a record of this row group takes once read into value vectors.
+   * The width of a variable length column is taken as the average uncompressed size of its values
+   * in the column chunk metadata, plus the four bytes of its offset vector.
+   *
+   * @param variableWidthColumns selected columns without a fixed width
+   */
+  private int estimateRecordWidth(List<ColumnDescriptor> variableWidthColumns) {
+    long width = (bitWidthAllFixedFields + 7) / 8;
+    final BlockMetaData rowGroupMetadata = footer.getBlocks().get(rowGroupIndex);
+    for (ColumnDescriptor column : variableWidthColumns) {
+      for (ColumnChunkMetaData colChunk : rowGroupMetadata.getColumns()) {
+        if (Arrays.equals(colChunk.getPath().toArray(), column.getPath())) {
+          width += colChunk.getTotalUncompressedSize() / Math.max(1, colChunk.getValueCount()) + 4;
+          break;
+        }
+      }
+    }
+    return (int) Math.min(Integer.MAX_VALUE, width);
+  }
+
   /**
    * @param type a fixed length type from the parquet library enum
    * @return the length in pageDataByteArray of the type
@@ -317,6 +375,7 @@ public class ParquetRecordReader extends AbstractRecordReader {
     ColumnChunkMetaData columnChunkMetaData;
     int columnsToScan = 0;
     mockRecordsRead = 0;
+    final List<ColumnDescriptor> variableWidthColumns = new ArrayList<>();
 
     MaterializedField field;
 //    ParquetMetadataConverter metaConverter = new ParquetMetadataConverter();
@@ -344,6 +403,7 @@ public class ParquetRecordReader extends AbstractRecordReader {
       int dataTypeLength = getDataTypeLength(column, se);
       if (dataTypeLength == -1) {
           allFieldsFixedLength = false;
+          variableWidthColumns.add(column);
         } else {
         bitWidthAllFixedFields += dataTypeLength;
         }
@@ -355,7 +415,11 @@ public class ParquetRecordReader extends AbstractRecordReader {
           footer.getBlocks().get(0).getColumns().get(0).getValueCount()), 65535);
     }
     else {
-      recordsPerBatch = DEFAULT_RECORDS_TO_READ_IF_NOT_FIXED_WIDTH;
+      // the target only lowers the historical record count, for records too wide to read that many at once
+      final long outputBatchSize = getOutputBatchSize();
+      recordsPerBatch = outputBatchSize == 0 ? DEFAULT_RECORDS_TO_READ_IF_NOT_FIXED_WIDTH
+          : RecordBatchSizer.getRowCountForTarget(outputBatchSize, estimateRecordWidth(variableWidthColumns),
+              DEFAULT_RECORDS_TO_READ_IF_NOT_FIXED_WIDTH);
     }
 
     try {
@@ -551,8 +615,7 @@ public class ParquetRecordReader extends AbstractRecordReader {
       if (allFieldsFixedLength) {
         recordsToRead = Math.min(recordsPerBatch, firstColumnStatus.columnChunkMetaData.getValueCount() - firstColumnStatus.totalValuesRead);
       } else {
-        recordsToRead = DEFAULT_RECORDS_TO_READ_IF_NOT_FIXED_WIDTH;
-
+        recordsToRead = recordsPerBatch;
       }
 
       // Pick the minimum of recordsToRead calculated above and numRecordsToRead (based on rowCount and limit)
@@ -0,0 +1,79 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.store.sys;
+
+import java.util.Iterator;
+import java.util.List;
+
+import org.apache.drill.exec.ops.FragmentContext;
+import org.apache.drill.exec.proto.CoordinationProtos.DrillbitEndpoint;
+import org.apache.drill.exec.proto.helper.QueryIdHelper;
+import org.apache.drill.exec.work.fragment.FragmentScheduler.QueryState;
+
+/**
+ * Lists the queries whose fragments are scheduled on this Drillbit, with their share of its CPU.
+ */
+public class QuerySharesIterator implements Iterator<Object> {
+
+  private final DrillbitEndpoint endpoint;
+  private final Iterator<QueryState> states;
+
+  public QuerySharesIterator(final FragmentContext context) {
+    this.endpoint = context.getIdentity();
+    final List<QueryState> queryStates = context.getDrillbitContext().getFragmentScheduler().getQueryStates();
+    this.states = queryStates.iterator();
+  }
+
+  @Override
+  public boolean hasNext() {
+    return states.hasNext();
+  }
+
+  @Override
+  public Object next() {
+    final QueryState state = states.next();
+    final QueryShareInfo info = new QueryShareInfo();
+    info.hostname = endpoint.getAddress();
+    info.user_port = endpoint.getUserPort();
+    info.query_id = QueryIdHelper.getQueryId(state.queryId);
+    info.pool = state.pool;
+    info.weight = state.weight;
+    info.running_fragments = state.runningFragments;
+    info.waiting_fragments = state.waitingFragments;
+    info.cpu_time_ms = state.slotNanos / 1000 / 1000;
+    info.cpu_share = state.cpuShare;
+    return info;
+  }
+
+  @Override
+  public void remove() {
+    throw new UnsupportedOperationException();
+  }
+
+  public static class QueryShareInfo {
+    public String hostname;
+    public long user_port;
+    public String query_id;
+    public String pool;
+    public long weight;
+    public long running_fragments;
+    public long waiting_fragments;
+    public long cpu_time_ms;
+    public double cpu_share;
+  }
+}
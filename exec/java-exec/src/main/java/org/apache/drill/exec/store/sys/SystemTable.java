@@ -27,7 +27,8 @@ import org.apache.drill.exec.store.sys.OptionIterator.OptionValueWrapper;
  * <p>
  *   OPTION, DRILLBITS and VERSION are local tables available on every Drillbit.
  *   MEMORY and THREADS are distributed tables with one record on every
- *   Drillbit.
+ *   Drillbit. QUERY_SHARES is a distributed table with one record per query
+ *   scheduled on every Drillbit.
  * </p>
  */
 public enum SystemTable {
@@ -72,6 +73,13 @@ public enum SystemTable {
   public Iterator<Object> getIterator(final FragmentContext context) {
       return new ThreadsIterator(context);
     }
+  },
+
+  QUERY_SHARES("query_shares", true, QuerySharesIterator.QueryShareInfo.class) {
+    @Override
+    public Iterator<Object> getIterator(final FragmentContext context) {
+      return new QuerySharesIterator(context);
+    }
   };
 
 //  private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(SystemTable.class);
@@ -24,7 +24,6 @@ import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executor;
 
 import com.codahale.metrics.Counter;
-import org.apache.drill.common.SelfCleaningRunnable;
 import org.apache.drill.common.concurrent.ExtendedLatch;
 import org.apache.drill.exec.coord.ClusterCoordinator;
 import org.apache.drill.exec.metrics.DrillMetrics;
@@ -238,6 +237,23 @@ public class WorkManager implements AutoCloseable {
       return queries.get(queryId);
     }
 
+    /**
+     * Get the number of fragments running on each Drillbit, as far as this Drillbit knows: the fragments of the
+     * queries it is the foreman of and, for itself, all the fragments it runs.
+     *
+     * @return the number of running fragments per Drillbit
+     */
+    public Map<DrillbitEndpoint, Integer> getRunningFragmentCounts() {
+      final Map<DrillbitEndpoint, Integer> counts = Maps.newHashMap();
+      for (final Foreman foreman : queries.values()) {
+        foreman.getQueryManager().addRunningFragmentCounts(counts);
+      }
+      final DrillbitEndpoint endpoint = dContext.getEndpoint();
+      final Integer count = counts.get(endpoint);
+      counts.put(endpoint, Math.max(count == null ? 0 : count, runningFragments.size()));
+      return counts;
+    }
+
     public DrillbitContext getContext() {
       return dContext;
     }
@@ -249,7 +265,7 @@ public class WorkManager implements AutoCloseable {
     public void addFragmentRunner(final FragmentExecutor fragmentExecutor) {
       final FragmentHandle fragmentHandle = fragmentExecutor.getContext().getHandle();
       runningFragments.put(fragmentHandle, fragmentExecutor);
-      executor.execute(new SelfCleaningRunnable(fragmentExecutor) {
+      executor.execute(new FragmentRunner(fragmentExecutor) {
         @Override
         protected void cleanup() {
           runningFragments.remove(fragmentHandle);
@@ -271,7 +287,7 @@ public class WorkManager implements AutoCloseable {
         return;
       }
       runningFragments.put(fragmentHandle, fragmentExecutor);
-      executor.execute(new SelfCleaningRunnable(fragmentExecutor) {
+      executor.execute(new FragmentRunner(fragmentExecutor) {
         @Override
         protected void cleanup() {
           runningFragments.remove(fragmentHandle);
@@ -281,6 +297,38 @@ public class WorkManager implements AutoCloseable {
       });
     }
 
+    /**
+     * Runs a fragment on the executor, again each time it is resumed after it gave up its thread while blocked, and
+     * cleans up once the fragment has finished.
+     */
+    private abstract class FragmentRunner implements Runnable {
+      private final FragmentExecutor fragmentExecutor;
+      private final Runnable resumer = new Runnable() {
+        @Override
+        public void run() {
+          executor.execute(FragmentRunner.this);
+        }
+      };
+
+      FragmentRunner(final FragmentExecutor fragmentExecutor) {
+        this.fragmentExecutor = fragmentExecutor;
+      }
+
+      @Override
+      public void run() {
+        boolean yielded = false;
+        try {
+          yielded = fragmentExecutor.runUntilYield(resumer);
+        } finally {
+          if (!yielded) {
+            cleanup();
+          }
+        }
+      }
+
+      protected abstract void cleanup();
+    }
+
     public FragmentExecutor getFragmentRunner(final FragmentHandle handle) {
       return runningFragments.get(handle);
     }
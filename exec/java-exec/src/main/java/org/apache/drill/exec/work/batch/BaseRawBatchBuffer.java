@@ -167,7 +167,12 @@ public abstract class BaseRawBatchBuffer<T> implements RawBatchBuffer {
 
       // if we didn't get a batch, block on waiting for queue.
       if (b == null && (!isTerminated() || !bufferQueue.isEmpty())) {
-        b = bufferQueue.take();
+        context.waitStarted();
+        try {
+          b = bufferQueue.take();
+        } finally {
+          context.waitEnded();
+        }
       }
     } catch (final InterruptedException e) {
 
@@ -233,6 +238,11 @@ public abstract class BaseRawBatchBuffer<T> implements RawBatchBuffer {
    */
   protected abstract void upkeep(RawFragmentBatch batch);
 
+  @Override
+  public boolean isReady() {
+    return !bufferQueue.isEmpty() || isTerminated();
+  }
+
   protected boolean isTerminated() {
     return (state == BufferState.KILLED || state == BufferState.STREAMS_FINISHED);
   }
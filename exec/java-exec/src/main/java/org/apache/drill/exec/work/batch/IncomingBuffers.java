@@ -109,6 +109,9 @@ public class IncomingBuffers implements AutoCloseable {
             .batchArrived(incomingBatch.getHeader().getSendingMinorFragmentId(), newRawFragmentBatch);
         newRawFragmentBatch.release();
 
+        // resume the fragment if it gave up its thread waiting for data
+        context.wakeUp();
+
         // we should only return true if remaining required has been decremented and is currently equal to zero.
         return decrementedToZero;
       }
@@ -129,6 +132,24 @@ public class IncomingBuffers implements AutoCloseable {
     return collectorMap.get(senderMajorFragmentId).getBuffers();
   }
 
+  /**
+   * Whether the fragment can make progress reading its incoming data: any of its buffers has a batch queued or has
+   * seen all its streams end. Receivers of several buffers, like the merging receiver, may still wait for the others.
+   */
+  public boolean isReady() {
+    if (collectorMap.isEmpty()) {
+      return true;
+    }
+    for (DataCollector collector : collectorMap.values()) {
+      for (RawBatchBuffer buffer : collector.getBuffers()) {
+        if (buffer.isReady()) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
   public boolean isDone() {
     return streamsRemaining.get() < 1;
   }
@@ -38,4 +38,9 @@ public interface RawBatchBuffer extends RawFragmentBatchProvider {
    * @return Whether response should be returned.
    */
   public void enqueue(RawFragmentBatch batch) throws IOException;
+
+  /**
+   * @return whether {@link #getNext()} would return without waiting: a batch is queued or all the streams have ended
+   */
+  public boolean isReady();
 }
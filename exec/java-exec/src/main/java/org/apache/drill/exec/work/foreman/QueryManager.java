@@ -79,7 +79,8 @@ public class QueryManager implements AutoCloseable {
       .name("running")
       .build();
 
-  private final Map<DrillbitEndpoint, NodeTracker> nodeMap = Maps.newHashMap();
+  // concurrent, as other foremen read it for the number of running fragments per node
+  private final Map<DrillbitEndpoint, NodeTracker> nodeMap = Maps.newConcurrentMap();
   private final QueryId queryId;
   private final String stringQueryId;
   private final RunQuery runQuery;
@@ -307,12 +308,31 @@ public class QueryManager implements AutoCloseable {
     return queryState;
   }
 
-  void writeFinalProfile(UserException ex) {
+  /**
+   * @return the final profile, or null if it could not be stored
+   */
+  QueryProfile writeFinalProfile(UserException ex) {
     try {
       // TODO(DRILL-2362) when do these ever get deleted?
-      profileStore.put(stringQueryId, getQueryProfile(ex));
+      final QueryProfile profile = getQueryProfile(ex);
+      profileStore.put(stringQueryId, profile);
+      return profile;
     } catch (Exception e) {
       logger.error("Failure while storing Query Profile", e);
+      return null;
+    }
+  }
+
+  /**
+   * Adds to the given counts the number of fragments of this query not finished yet on each Drillbit.
+   */
+  public void addRunningFragmentCounts(Map<DrillbitEndpoint, Integer> counts) {
+    for (NodeTracker tracker : nodeMap.values()) {
+      final int running = tracker.getRunningFragments();
+      if (running > 0) {
+        final Integer count = counts.get(tracker.endpoint);
+        counts.put(tracker.endpoint, count == null ? running : count + running);
+      }
     }
   }
 
@@ -343,7 +363,8 @@ public class QueryManager implements AutoCloseable {
         .setEnd(endTime)
         .setTotalFragments(fragmentDataSet.size())
         .setFinishedFragments(finishedFragments.get())
-        .setOptionsJson(getQueryOptionsAsJson());
+        .setOptionsJson(getQueryOptionsAsJson())
+        .setPlanningJson(getPlanningProfileAsJson());
 
     if (ex != null) {
       profileBuilder.setError(ex.getMessage(false));
@@ -372,6 +393,14 @@ public class QueryManager implements AutoCloseable {
     }
   }
 
+  private String getPlanningProfileAsJson() {
+    try {
+      return foreman.getQueryContext().getPlanningProfile().toJson(foreman.getQueryContext().getLpPersistence().getMapper());
+    } catch (JsonProcessingException e) {
+      throw new DrillRuntimeException("Error while trying to convert planning profile to json string", e);
+    }
+  }
+
   private class OuterIter implements IntObjectPredicate<IntObjectHashMap<FragmentData>> {
     private final QueryProfile.Builder profileBuilder;
 
@@ -437,6 +466,10 @@ public class QueryManager implements AutoCloseable {
       totalFragments.incrementAndGet();
     }
 
+    public int getRunningFragments() {
+      return totalFragments.get() - completedFragments.get();
+    }
+
     /**
      * Increments the number of fragments completed on this node.  Once the number of fragments completed
      * equals the number of fragments running, this will be marked as a finished node and result in the finishedNodes being incremented.
@@ -21,12 +21,14 @@ import java.io.IOException;
 import java.security.PrivilegedExceptionAction;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.apache.drill.common.CatastrophicFailure;
 import org.apache.drill.common.DeferredException;
 import org.apache.drill.common.EventProcessor;
 import org.apache.drill.common.exceptions.UserException;
+import org.apache.drill.exec.ExecConstants;
 import org.apache.drill.exec.coord.ClusterCoordinator;
 import org.apache.drill.exec.exception.OutOfMemoryException;
 import org.apache.drill.exec.ops.FragmentContext;
@@ -71,6 +73,22 @@ public class FragmentExecutor implements Runnable {
   // Thread that is currently executing the Fragment. Value is null if the fragment hasn't started running or finished
   private final AtomicReference<Thread> myThreadRef = new AtomicReference<>(null);
 
+  /*
+   * Scheduling of a fragment run through runUntilYield(): RUNNING while a thread runs it, RUNNING_WOKEN if it was woken
+   * up since it last checked whether it is blocked, YIELDED once it gave up its thread and waits to be resumed.
+   */
+  private static final int RUNNING = 0;
+  private static final int RUNNING_WOKEN = 1;
+  private static final int YIELDED = 2;
+  private final AtomicInteger schedulingState = new AtomicInteger(RUNNING);
+  private volatile Runnable resumer;
+
+  // set up by the first run of the fragment, used by the runs resuming it. Only accessed by the running thread.
+  private boolean started;
+  private UserGroupInformation queryUserUgi;
+  private DrillbitStatusListener drillbitStatusListener;
+  private FragmentScheduler.Ticket schedulerTicket;
+
   /**
    * Create a FragmentExecutor where we need to parse and materialize the root operator.
    *
@@ -181,59 +199,110 @@ public class FragmentExecutor implements Runnable {
 
   @Override
   public void run() {
+    run(false);
+  }
+
+  /**
+   * Runs the fragment like {@link #run()} but, when {@link ExecConstants#FRAGMENT_COOPERATIVE_SCHEDULING} is enabled,
+   * gives up the thread between two batches of the root while the fragment is blocked (see
+   * {@link FragmentContext#isBlocked()}). The root also returns without a batch when an unordered receiver feeding it
+   * through projects, filters and selection vector removers has no data yet; other receivers and operators still
+   * wait inside next(). Once data arrives, a send completes or the fragment is cancelled, the resumer
+   * is run to schedule the fragment again, which must then call this method again.
+   *
+   * @param resumer schedules the fragment to run again after it yielded
+   * @return true if the fragment yielded its thread, false if it has finished
+   */
+  public boolean runUntilYield(final Runnable resumer) {
+    this.resumer = resumer;
+    return run(fragmentContext.getOptions().getOption(ExecConstants.FRAGMENT_COOPERATIVE_SCHEDULING));
+  }
+
+  private boolean run(final boolean mayYield) {
+    final boolean resuming = started;
     // if a cancel thread has already entered this executor, we have not reason to continue.
-    if (!hasCloseoutThread.compareAndSet(false, true)) {
-      return;
+    if (!resuming && !hasCloseoutThread.compareAndSet(false, true)) {
+      return false;
     }
+    started = true;
+    fragmentContext.setYieldEnabled(mayYield);
 
     final Thread myThread = Thread.currentThread();
-    myThreadRef.set(myThread);
+    synchronized (myThreadRef) {
+      myThreadRef.set(myThread);
+    }
     final String originalThreadName = myThread.getName();
     final FragmentHandle fragmentHandle = fragmentContext.getHandle();
     final DrillbitContext drillbitContext = fragmentContext.getDrillbitContext();
     final ClusterCoordinator clusterCoordinator = drillbitContext.getClusterCoordinator();
-    final DrillbitStatusListener drillbitStatusListener = new FragmentDrillbitStatusListener();
     final String newThreadName = QueryIdHelper.getExecutorThreadName(fragmentHandle);
+    boolean yielded = false;
 
     try {
 
       myThread.setName(newThreadName);
 
-      // if we didn't get the root operator when the executor was created, create it now.
-      final FragmentRoot rootOperator = this.rootOperator != null ? this.rootOperator :
-          drillbitContext.getPlanReader().readFragmentOperator(fragment.getFragmentJson());
+      if (!resuming && fragmentContext.getOptions().getOption(ExecConstants.FRAGMENT_SCHEDULER_ENABLE)) {
+        final String pool = fragmentContext.getOptions().getOption(ExecConstants.FRAGMENT_SCHEDULER_POOL);
+        schedulerTicket = drillbitContext.getFragmentScheduler().register(fragmentHandle.getQueryId(),
+            pool.isEmpty() ? fragmentContext.getQueryUserName() : pool,
+            (int) fragmentContext.getOptions().getOption(ExecConstants.FRAGMENT_SCHEDULER_WEIGHT));
+        fragmentContext.setSchedulerTicket(schedulerTicket);
+      }
+      if (schedulerTicket != null) {
+        schedulerTicket.acquire();
+      }
 
-          root = ImplCreator.getExec(fragmentContext, rootOperator);
-          if (root == null) {
-            return;
-          }
+      if (!resuming) {
+        // if we didn't get the root operator when the executor was created, create it now.
+        final FragmentRoot rootOperator = this.rootOperator != null ? this.rootOperator :
+            drillbitContext.getPlanReader().readFragmentOperator(fragment.getFragmentJson());
 
-      clusterCoordinator.addDrillbitStatusListener(drillbitStatusListener);
-      updateState(FragmentState.RUNNING);
+        root = ImplCreator.getExec(fragmentContext, rootOperator);
+        if (root == null) {
+          return false;
+        }
 
-      eventProcessor.start();
-      injector.injectPause(fragmentContext.getExecutionControls(), "fragment-running", logger);
+        drillbitStatusListener = new FragmentDrillbitStatusListener();
+        clusterCoordinator.addDrillbitStatusListener(drillbitStatusListener);
+        updateState(FragmentState.RUNNING);
 
-      final DrillbitEndpoint endpoint = drillbitContext.getEndpoint();
-      logger.debug("Starting fragment {}:{} on {}:{}",
-          fragmentHandle.getMajorFragmentId(), fragmentHandle.getMinorFragmentId(),
-          endpoint.getAddress(), endpoint.getUserPort());
+        eventProcessor.start();
+        injector.injectPause(fragmentContext.getExecutionControls(), "fragment-running", logger);
 
-      final UserGroupInformation queryUserUgi = fragmentContext.isImpersonationEnabled() ?
-          ImpersonationUtil.createProxyUgi(fragmentContext.getQueryUserName()) :
-          ImpersonationUtil.getProcessUserUGI();
+        final DrillbitEndpoint endpoint = drillbitContext.getEndpoint();
+        logger.debug("Starting fragment {}:{} on {}:{}",
+            fragmentHandle.getMajorFragmentId(), fragmentHandle.getMinorFragmentId(),
+            endpoint.getAddress(), endpoint.getUserPort());
 
-      queryUserUgi.doAs(new PrivilegedExceptionAction<Void>() {
-        public Void run() throws Exception {
-          injector.injectChecked(fragmentContext.getExecutionControls(), "fragment-execution", IOException.class);
+        queryUserUgi = fragmentContext.isImpersonationEnabled() ?
+            ImpersonationUtil.createProxyUgi(fragmentContext.getQueryUserName()) :
+            ImpersonationUtil.getProcessUserUGI();
+      }
+
+      yielded = queryUserUgi.doAs(new PrivilegedExceptionAction<Boolean>() {
+        public Boolean run() throws Exception {
+          if (!resuming) {
+            injector.injectChecked(fragmentContext.getExecutionControls(), "fragment-execution", IOException.class);
+          }
           /*
-           * Run the query until root.next returns false OR we no longer need to continue.
+           * Run the query until root.next returns false OR we no longer need to continue, or until the fragment yields.
            */
           while (shouldContinue() && root.next()) {
-            // loop
+            if (mayYield && fragmentContext.isBlocked()) {
+              // the scheduler slot is given up before yielding, as the fragment may be resumed right away
+              fragmentContext.waitStarted();
+              if (tryYield()) {
+                return true;
+              }
+              fragmentContext.waitEnded();
+            }
+            if (schedulerTicket != null) {
+              schedulerTicket.checkTimeSlice();
+            }
           }
 
-          return null;
+          return false;
         }
       });
 
@@ -249,23 +318,63 @@ public class FragmentExecutor implements Runnable {
     } finally {
 
       // no longer allow this thread to be interrupted. We synchronize here to make sure that cancel can't set an
-      // interruption after we have moved beyond this block.
+      // interruption after we have moved beyond this block. A yielded fragment may already run in another thread.
       synchronized (myThreadRef) {
-        myThreadRef.set(null);
+        myThreadRef.compareAndSet(myThread, null);
         Thread.interrupted();
       }
 
-      // Make sure the event processor is started at least once
-      eventProcessor.start();
+      if (!yielded) {
+        // Make sure the event processor is started at least once
+        eventProcessor.start();
 
-      // here we could be in FAILED, RUNNING, or CANCELLATION_REQUESTED
-      cleanup(FragmentState.FINISHED);
+        // here we could be in FAILED, RUNNING, or CANCELLATION_REQUESTED
+        cleanup(FragmentState.FINISHED);
 
-      clusterCoordinator.removeDrillbitStatusListener(drillbitStatusListener);
+        if (drillbitStatusListener != null) {
+          clusterCoordinator.removeDrillbitStatusListener(drillbitStatusListener);
+        }
+        if (schedulerTicket != null) {
+          schedulerTicket.close();
+        }
+      }
 
       myThread.setName(originalThreadName);
 
     }
+    return yielded;
+  }
+
+  /**
+   * Gives up the thread running the fragment, unless the fragment was woken up since it last yielded or started.
+   *
+   * @return true if the fragment yielded, false if it should keep running
+   */
+  private boolean tryYield() {
+    if (schedulingState.compareAndSet(RUNNING, YIELDED)) {
+      return true;
+    }
+    // woken up since the last check: data may have arrived after the fragment found itself blocked
+    schedulingState.set(RUNNING);
+    return false;
+  }
+
+  /**
+   * Resumes the fragment if it yielded, or makes it check again before yielding if it is running. Called from threads
+   * other than the one running the fragment.
+   */
+  private void wakeUp() {
+    while (true) {
+      final int state = schedulingState.get();
+      if (state == YIELDED) {
+        if (schedulingState.compareAndSet(YIELDED, RUNNING)) {
+          resumer.run();
+          return;
+        }
+      } else if (state == RUNNING_WOKEN || schedulingState.compareAndSet(RUNNING, RUNNING_WOKEN)) {
+        return;
+      }
+    }
   }
 
   /**
@@ -406,6 +515,8 @@ public class FragmentExecutor implements Runnable {
   private void fail(final Throwable excep) {
     deferredException.addThrowable(excep);
     updateState(FragmentState.FAILED);
+    // a yielded fragment has to run again to clean up
+    wakeUp();
   }
 
   public FragmentContext getContext() {
@@ -421,6 +532,10 @@ public class FragmentExecutor implements Runnable {
       FragmentExecutor.this.fail(t);
     }
 
+    public void wakeUp() {
+      FragmentExecutor.this.wakeUp();
+    }
+
     public boolean isFailed() {
       return fragmentState.get() == FragmentState.FAILED;
     }
@@ -503,6 +618,8 @@ public class FragmentExecutor implements Runnable {
               myThread.interrupt();
             }
           }
+          // a yielded fragment has to run again to clean up
+          wakeUp();
           break;
 
         case CANCEL_AND_FINISH:
@@ -517,6 +634,7 @@ public class FragmentExecutor implements Runnable {
               QueryIdHelper.getQueryIdentifier(getContext().getHandle()),
               QueryIdHelper.getFragmentId(event.handle));
             root.receivingFragmentFinished(event.handle);
+            wakeUp();
           } else {
             logger.warn("Dropping request for early fragment termination for path {} -> {} as no root exec exists.",
               QueryIdHelper.getFragmentId(getContext().getHandle()), QueryIdHelper.getFragmentId(event.handle));
@@ -0,0 +1,326 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.work.fragment;
+
+import java.util.List;
+import java.util.Map;
+
+import org.apache.drill.common.config.DrillConfig;
+import org.apache.drill.exec.ExecConstants;
+import org.apache.drill.exec.proto.UserBitShared.QueryId;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.typesafe.config.ConfigValue;
+
+/**
+ * Shares the CPU of a Drillbit between the queries running on it by weighted fair queuing. A fragment registered with
+ * the scheduler only runs while it holds one of a fixed number of slots, by default one per core. It gives its slot
+ * up while it waits on other fragments, and at the end of each time slice if other fragments are waiting for one.
+ * Free slots go to the waiting fragment of the pool, then of the query, that used the least slot time for its weight.
+ * <p>
+ * A pool groups the queries of a user, or of the sessions sharing a named pool (see
+ * {@link ExecConstants#FRAGMENT_SCHEDULER_POOL}). Pools weigh 1 unless configured otherwise in
+ * {@link ExecConstants#FRAGMENT_SCHEDULER_POOL_WEIGHTS}; the weight of a query within its pool is set by
+ * {@link ExecConstants#FRAGMENT_SCHEDULER_WEIGHT}. A pool or query that becomes active starts at the slot time of the
+ * least served active one, so that it shares the CPU from then on rather than catching up on the past.
+ */
+public class FragmentScheduler {
+  static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(FragmentScheduler.class);
+
+  private final int slots;
+  private final long timeSliceNanos;
+  private final Map<String, Integer> poolWeights = Maps.newHashMap();
+
+  private final Map<String, Share> pools = Maps.newHashMap();
+  private final Map<QueryId, QueryShare> queries = Maps.newHashMap();
+  private final List<Ticket> waiting = Lists.newLinkedList();
+  private int usedSlots;
+
+  public FragmentScheduler(DrillConfig config) {
+    this(config.getInt(ExecConstants.FRAGMENT_SCHEDULER_SLOTS), config.getLong(ExecConstants.FRAGMENT_SCHEDULER_TIME_SLICE));
+    for (Map.Entry<String, ConfigValue> entry : config.getConfig(ExecConstants.FRAGMENT_SCHEDULER_POOL_WEIGHTS).entrySet()) {
+      poolWeights.put(entry.getKey(), ((Number) entry.getValue().unwrapped()).intValue());
+    }
+  }
+
+  @VisibleForTesting
+  FragmentScheduler(int slots, long timeSliceMillis) {
+    this.slots = slots > 0 ? slots : Runtime.getRuntime().availableProcessors();
+    this.timeSliceNanos = timeSliceMillis * 1000 * 1000;
+  }
+
+  /**
+   * Slot time used by a pool or a query, scaled by its weight.
+   */
+  private static class Share {
+    final int weight;
+    int fragments;
+    long usedNanos;
+    double virtualTime;
+
+    Share(int weight) {
+      this.weight = Math.max(1, weight);
+    }
+
+    void charge(long nanos) {
+      usedNanos += nanos;
+      virtualTime += (double) nanos / weight;
+    }
+  }
+
+  private static class QueryShare extends Share {
+    final QueryId queryId;
+    final String pool;
+    final Share poolShare;
+    int running;
+
+    QueryShare(QueryId queryId, String pool, Share poolShare, int weight) {
+      super(weight);
+      this.queryId = queryId;
+      this.pool = pool;
+      this.poolShare = poolShare;
+    }
+  }
+
+  /**
+   * Registers a fragment of a query with the scheduler.
+   *
+   * @param queryId the query of the fragment
+   * @param pool the pool the query is charged to
+   * @param weight the weight of the query within its pool
+   * @return the ticket through which the fragment takes and gives up slots
+   */
+  public synchronized Ticket register(QueryId queryId, String pool, int weight) {
+    QueryShare query = queries.get(queryId);
+    if (query == null) {
+      Share poolShare = pools.get(pool);
+      if (poolShare == null) {
+        final Integer poolWeight = poolWeights.get(pool);
+        poolShare = new Share(poolWeight == null ? 1 : poolWeight);
+        poolShare.virtualTime = getMinVirtualTime(pools.values());
+        pools.put(pool, poolShare);
+      }
+      query = new QueryShare(queryId, pool, poolShare, weight);
+      query.virtualTime = getMinVirtualTime(getQueries(pool));
+      queries.put(queryId, query);
+    }
+    query.fragments++;
+    query.poolShare.fragments++;
+    return new Ticket(query);
+  }
+
+  private List<Share> getQueries(String pool) {
+    final List<Share> poolQueries = Lists.newArrayList();
+    for (QueryShare query : queries.values()) {
+      if (query.pool.equals(pool)) {
+        poolQueries.add(query);
+      }
+    }
+    return poolQueries;
+  }
+
+  private static double getMinVirtualTime(Iterable<? extends Share> shares) {
+    double min = Double.MAX_VALUE;
+    for (Share share : shares) {
+      min = Math.min(min, share.virtualTime);
+    }
+    return min == Double.MAX_VALUE ? 0 : min;
+  }
+
+  /**
+   * Hands the free slots to the waiting fragments that are the furthest behind their fair share.
+   */
+  private void dispatch() {
+    boolean granted = false;
+    while (usedSlots < slots && !waiting.isEmpty()) {
+      Ticket next = null;
+      for (Ticket ticket : waiting) {
+        if (next == null || isBehind(ticket.query, next.query)) {
+          next = ticket;
+        }
+      }
+      waiting.remove(next);
+      next.grant();
+      granted = true;
+    }
+    if (granted) {
+      notifyAll();
+    }
+  }
+
+  private static boolean isBehind(QueryShare query, QueryShare other) {
+    if (query.poolShare != other.poolShare) {
+      return query.poolShare.virtualTime < other.poolShare.virtualTime;
+    }
+    return query.virtualTime < other.virtualTime;
+  }
+
+  /**
+   * A fragment's access to the slots of the scheduler. Only used by the thread running the fragment, except for
+   * {@link #close()}.
+   */
+  public class Ticket implements AutoCloseable {
+    private final QueryShare query;
+    private boolean holding;
+    private long sliceStart;
+    private boolean closed;
+
+    private Ticket(QueryShare query) {
+      this.query = query;
+    }
+
+    private void grant() {
+      holding = true;
+      sliceStart = System.nanoTime();
+      usedSlots++;
+      query.running++;
+    }
+
+    /**
+     * Waits for a slot. If the thread is interrupted while waiting, for instance because the fragment is cancelled,
+     * returns without a slot and with the interrupt flag set.
+     */
+    public void acquire() {
+      synchronized (FragmentScheduler.this) {
+        if (holding || closed) {
+          return;
+        }
+        waiting.add(this);
+        dispatch();
+        while (!holding) {
+          try {
+            FragmentScheduler.this.wait();
+          } catch (InterruptedException e) {
+            waiting.remove(this);
+            Thread.currentThread().interrupt();
+            return;
+          }
+        }
+      }
+    }
+
+    /**
+     * Gives the slot up, charging the time it was held to the query and its pool.
+     */
+    public void release() {
+      synchronized (FragmentScheduler.this) {
+        if (!holding) {
+          return;
+        }
+        charge();
+        holding = false;
+        usedSlots--;
+        query.running--;
+        dispatch();
+      }
+    }
+
+    /**
+     * Called between batches: gives the slot up and waits for it again if the time slice is over and other
+     * fragments wait for a slot.
+     */
+    public void checkTimeSlice() {
+      if (!holding || System.nanoTime() - sliceStart < timeSliceNanos) {
+        return;
+      }
+      synchronized (FragmentScheduler.this) {
+        if (waiting.isEmpty()) {
+          charge();
+          return;
+        }
+      }
+      release();
+      acquire();
+    }
+
+    private void charge() {
+      final long now = System.nanoTime();
+      final long elapsed = now - sliceStart;
+      sliceStart = now;
+      query.charge(elapsed);
+      query.poolShare.charge(elapsed);
+    }
+
+    @Override
+    public void close() {
+      synchronized (FragmentScheduler.this) {
+        if (closed) {
+          return;
+        }
+        release();
+        closed = true;
+        waiting.remove(this);
+        if (--query.fragments == 0) {
+          queries.remove(query.queryId);
+        }
+        if (--query.poolShare.fragments == 0) {
+          pools.remove(query.pool);
+        }
+      }
+    }
+  }
+
+  /**
+   * Scheduling state of a query running on this Drillbit.
+   */
+  public static class QueryState {
+    public final QueryId queryId;
+    public final String pool;
+    public final int weight;
+    public final int runningFragments;
+    public final int waitingFragments;
+    public final long slotNanos;
+    public final double cpuShare;
+
+    QueryState(QueryId queryId, String pool, int weight, int runningFragments, int waitingFragments, long slotNanos,
+        double cpuShare) {
+      this.queryId = queryId;
+      this.pool = pool;
+      this.weight = weight;
+      this.runningFragments = runningFragments;
+      this.waitingFragments = waitingFragments;
+      this.slotNanos = slotNanos;
+      this.cpuShare = cpuShare;
+    }
+  }
+
+  /**
+   * @return the scheduling state of the queries running on this Drillbit. The CPU share of a query is the part of the
+   *         slot time used by all these queries that it used.
+   */
+  public synchronized List<QueryState> getQueryStates() {
+    long totalNanos = 0;
+    for (QueryShare query : queries.values()) {
+      totalNanos += query.usedNanos;
+    }
+    final List<QueryState> states = Lists.newArrayList();
+    for (QueryShare query : queries.values()) {
+      int waitingFragments = 0;
+      for (Ticket ticket : waiting) {
+        if (ticket.query == query) {
+          waitingFragments++;
+        }
+      }
+      states.add(new QueryState(query.queryId, query.pool, query.weight, query.running, waitingFragments,
+          query.usedNanos, totalNanos == 0 ? 0 : (double) query.usedNanos / totalNanos));
+    }
+    return states;
+  }
+}
@@ -144,6 +144,42 @@
     </div>
   </#if>
 
+  <#if model.hasPlanning()>
+    <div class="page-header"></div>
+    <h3>Planning</h3>
+    <p>METADATA CACHE READ TIME: ${model.getMetadataCacheReadMillis()} ms</p>
+    <div class="panel-group" id="planning-accordion">
+      <div class="panel panel-default">
+        <div class="panel-heading">
+          <h4 class="panel-title">
+            <a data-toggle="collapse" href="#planning-phases">
+              Phases
+            </a>
+          </h4>
+        </div>
+        <div id="planning-phases" class="panel-collapse collapse">
+          <div class="panel-body">
+            ${model.getPlanningPhasesOverview()}
+          </div>
+        </div>
+      </div>
+      <div class="panel panel-default">
+        <div class="panel-heading">
+          <h4 class="panel-title">
+            <a data-toggle="collapse" href="#planning-rules">
+              Top Rules by Time
+            </a>
+          </h4>
+        </div>
+        <div id="planning-rules" class="panel-collapse collapse">
+          <div class="panel-body">
+            ${model.getPlanningRulesOverview()}
+          </div>
+        </div>
+      </div>
+    </div>
+  </#if>
+
   <div class="page-header"></div>
   <h3>Fragment Profiles</h3>
 
@@ -29,6 +29,7 @@ import java.net.URL;
 import java.util.List;
 import java.util.Properties;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.apache.drill.common.config.DrillConfig;
 import org.apache.drill.common.exceptions.UserException;
@@ -42,9 +43,11 @@ import org.apache.drill.exec.memory.BufferAllocator;
 import org.apache.drill.exec.memory.RootAllocatorFactory;
 import org.apache.drill.exec.proto.UserBitShared;
 import org.apache.drill.exec.proto.UserBitShared.QueryId;
+import org.apache.drill.exec.proto.UserBitShared.QueryProfile;
 import org.apache.drill.exec.proto.UserBitShared.QueryResult.QueryState;
 import org.apache.drill.exec.proto.UserBitShared.QueryType;
 import org.apache.drill.exec.proto.UserProtos.PreparedStatementHandle;
+import org.apache.drill.exec.proto.helper.QueryIdHelper;
 import org.apache.drill.exec.record.RecordBatchLoader;
 import org.apache.drill.exec.rpc.ConnectionThrottle;
 import org.apache.drill.exec.rpc.user.AwaitableUserResultsListener;
@@ -55,8 +58,10 @@ import org.apache.drill.exec.server.Drillbit;
 import org.apache.drill.exec.server.DrillbitContext;
 import org.apache.drill.exec.server.RemoteServiceSet;
 import org.apache.drill.exec.store.StoragePluginRegistry;
+import org.apache.drill.exec.store.sys.PersistentStore;
 import org.apache.drill.exec.util.TestUtilities;
 import org.apache.drill.exec.util.VectorUtil;
+import org.apache.drill.exec.work.foreman.QueryManager;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
 import org.junit.rules.TestRule;
@@ -322,6 +327,34 @@ public class BaseTestQuery extends ExecTest {
     QueryTestUtil.testWithListener(client, type, query, resultListener);
   }
 
+  /**
+   * Runs a SQL query and returns its profile. The Foreman stores the profile while the completion of the query
+   * reaches the client, so this waits for the profile to show up in the profile store.
+   */
+  protected static QueryProfile getQueryProfile(String query, Object... args) throws Exception {
+    final AtomicReference<QueryId> queryId = new AtomicReference<>();
+    final AwaitableUserResultsListener listener = new AwaitableUserResultsListener(new SilentListener() {
+      @Override
+      public void queryIdArrived(QueryId id) {
+        queryId.set(id);
+      }
+    });
+    testWithListener(QueryType.SQL, String.format(query, args), listener);
+    listener.await();
+
+    final PersistentStore<QueryProfile> profiles =
+        getDrillbitContext().getStoreProvider().getOrCreateStore(QueryManager.QUERY_PROFILE);
+    final String id = QueryIdHelper.getQueryId(queryId.get());
+    for (int i = 0; i < 100; i++) {
+      final QueryProfile profile = profiles.get(id);
+      if (profile != null) {
+        return profile;
+      }
+      Thread.sleep(100);
+    }
+    throw new AssertionError(String.format("No profile was stored for query %s", id));
+  }
+
   public static void testNoResult(String query, Object... args) throws Exception {
     testNoResult(1, query, args);
   }
@@ -165,6 +165,12 @@ public class TestBuilder {
     return this;
   }
 
+  public TestBuilder physicalPlan(String plan) {
+    this.query = plan;
+    this.queryType = UserBitShared.QueryType.PHYSICAL;
+    return this;
+  }
+
   public TestBuilder ordered() {
     this.ordered = true;
     return this;
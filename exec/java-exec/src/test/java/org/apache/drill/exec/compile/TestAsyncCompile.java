@@ -0,0 +1,125 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.compile;
+
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+import org.apache.drill.BaseTestQuery;
+import org.apache.drill.common.config.DrillConfig;
+import org.apache.drill.exec.compile.sig.GeneratorMapping;
+import org.apache.drill.exec.compile.sig.MappingSet;
+import org.apache.drill.exec.exception.ClassTransformationException;
+import org.apache.drill.exec.expr.ClassGenerator;
+import org.apache.drill.exec.expr.CodeGenerator;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestAsyncCompile extends BaseTestQuery {
+
+  private CodeCompiler compiler;
+
+  @Before
+  public void setupCompiler() {
+    final Properties props = cloneDefaultTestConfigProperties();
+    props.put(CodeCompiler.THREADS_CONFIG, "1");
+    compiler = new CodeCompiler(DrillConfig.create(props), getDrillbitContext().getOptionManager());
+  }
+
+  @After
+  public void closeCompiler() {
+    compiler.close();
+  }
+
+  @Test
+  public void testAsyncInstance() throws Exception {
+    final Future<ExampleInner> first = compiler.createInstanceAsync(newCodeGenerator("int outside = 1;"));
+    final Future<ExampleInner> second = compiler.createInstanceAsync(newCodeGenerator("int outside = 1;"));
+    final ExampleInner instance = CodeCompiler.getInstance(first);
+    instance.doOutside();
+
+    // identical code is compiled once
+    assertSame(instance.getClass(), CodeCompiler.<ExampleInner>getInstance(second).getClass());
+    assertSame(instance.getClass(), compiler.createInstance(newCodeGenerator("int outside = 1;")).getClass());
+  }
+
+  @Test
+  public void testCompileFailure() throws Exception {
+    final Future<ExampleInner> pending = compiler.createInstanceAsync(newCodeGenerator("int outside = ;"));
+    try {
+      CodeCompiler.getInstance(pending);
+      fail("Expected the compile error to be passed back to the waiting thread");
+    } catch (ClassTransformationException e) {
+      // expected
+    }
+
+    // the failure is not cached, and the pool keeps compiling
+    CodeCompiler.<ExampleInner>getInstance(compiler.<ExampleInner>createInstanceAsync(
+        newCodeGenerator("int outside = 2;"))).doOutside();
+  }
+
+  @Test
+  public void testInterruptedWait() throws Exception {
+    // a compilation that never finishes, waited for by a thread whose fragment is cancelled
+    final FutureTask<ExampleInner> pending = new FutureTask<>(new Callable<ExampleInner>() {
+      @Override
+      public ExampleInner call() {
+        throw new AssertionError("Never run");
+      }
+    });
+    Thread.currentThread().interrupt();
+    try {
+      CodeCompiler.getInstance(pending);
+      fail("Expected the wait to be interrupted");
+    } catch (ClassTransformationException e) {
+      assertTrue(pending.isCancelled());
+      assertTrue(Thread.interrupted());
+    }
+  }
+
+  @Test
+  public void testCancelWhileCompiling() throws Exception {
+    final Future<ExampleInner> pending = compiler.createInstanceAsync(newCodeGenerator("int outside = 3;"));
+    pending.cancel(true);
+
+    // the same class can still be compiled, whether or not the cancelled compilation got to finish
+    final ExampleInner instance = compiler.createInstance(newCodeGenerator("int outside = 3;"));
+    instance.doOutside();
+    assertSame(instance.getClass(), CodeCompiler.<ExampleInner>getInstance(
+        compiler.<ExampleInner>createInstanceAsync(newCodeGenerator("int outside = 3;"))).getClass());
+  }
+
+  private CodeGenerator<ExampleInner> newCodeGenerator(String outside) {
+    final TemplateClassDefinition<ExampleInner> template =
+        new TemplateClassDefinition<ExampleInner>(ExampleInner.class, ExampleTemplateWithInner.class);
+    final CodeGenerator<ExampleInner> cg = CodeGenerator.get(template,
+        getDrillbitContext().getFunctionImplementationRegistry(), getDrillbitContext().getOptionManager());
+
+    final ClassGenerator<ExampleInner> root = cg.getRoot();
+    root.setMappingSet(new MappingSet(new GeneratorMapping("doOutside", null, null, null)));
+    root.getSetupBlock().directStatement(outside);
+    return cg;
+  }
+}
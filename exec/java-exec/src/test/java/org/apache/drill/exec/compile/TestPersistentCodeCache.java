@@ -0,0 +1,209 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.compile;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.RandomAccessFile;
+import java.util.Properties;
+
+import org.apache.drill.BaseTestQuery;
+import org.apache.drill.common.config.DrillConfig;
+import org.apache.drill.exec.compile.sig.GeneratorMapping;
+import org.apache.drill.exec.compile.sig.MappingSet;
+import org.apache.drill.exec.expr.ClassGenerator;
+import org.apache.drill.exec.expr.CodeGenerator;
+import org.apache.drill.exec.proto.UserBitShared.MajorFragmentProfile;
+import org.apache.drill.exec.proto.UserBitShared.MinorFragmentProfile;
+import org.apache.drill.exec.proto.UserBitShared.QueryProfile;
+import org.apache.drill.exec.server.options.OptionManager;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class TestPersistentCodeCache extends BaseTestQuery {
+
+  @Rule
+  public final TemporaryFolder folder = new TemporaryFolder();
+
+  private DrillConfig cacheConfig;
+  private OptionManager options;
+  private CodeCompiler compiler;
+
+  @Before
+  public void setupCache() throws Exception {
+    final Properties props = cloneDefaultTestConfigProperties();
+    props.put(PersistentCodeCache.ENABLED_CONFIG, "true");
+    props.put(PersistentCodeCache.DIRECTORY_CONFIG, folder.getRoot().getAbsolutePath());
+    cacheConfig = DrillConfig.create(props);
+    options = getDrillbitContext().getOptionManager();
+    compiler = new CodeCompiler(cacheConfig, options);
+  }
+
+  @After
+  public void closeCompiler() {
+    compiler.close();
+  }
+
+  @Test
+  public void testStoreAndLoad() throws Exception {
+    final CodeGenerator<ExampleInner> cg = newCodeGenerator(1);
+    final ExampleInner compiled = compiler.createInstance(cg);
+    compiled.doOutside();
+
+    // a new cache indexes the entry the compiler stored
+    final PersistentCodeCache cache = new PersistentCodeCache(cacheConfig, options);
+    final String key = cache.getKey(cg);
+    assertNotNull(key);
+    assertTrue(getEntry(key).isFile());
+
+    final CodeGenerator<ExampleInner> same = newCodeGenerator(1);
+    same.generate();
+    assertEquals(key, cache.getKey(same));
+    final Class<?> loaded = cache.load(key, same);
+    assertNotNull(loaded);
+    assertNotSame(compiled.getClass(), loaded);
+    final ExampleInner instance = (ExampleInner) loaded.newInstance();
+    instance.doOutside();
+    instance.doInsideOutside();
+  }
+
+  @Test
+  public void testKeyMismatch() throws Exception {
+    final CodeGenerator<ExampleInner> stored = newCodeGenerator(1);
+    compiler.createInstance(stored);
+
+    final PersistentCodeCache cache = new PersistentCodeCache(cacheConfig, options);
+    final CodeGenerator<ExampleInner> other = newCodeGenerator(2);
+    other.generate();
+    final String otherKey = cache.getKey(other);
+    assertNotEquals(cache.getKey(stored), otherKey);
+    assertNull(cache.load(otherKey, other));
+    assertFalse(getEntry(otherKey).exists());
+  }
+
+  @Test
+  public void testTruncatedEntryIsDiscarded() throws Exception {
+    final CodeGenerator<ExampleInner> cg = newCodeGenerator(1);
+    compiler.createInstance(cg);
+    final String key = new PersistentCodeCache(cacheConfig, options).getKey(cg);
+    final File entry = getEntry(key);
+    try (RandomAccessFile file = new RandomAccessFile(entry, "rw")) {
+      file.setLength(file.length() / 2);
+    }
+
+    assertDiscarded(key);
+  }
+
+  @Test
+  public void testCorruptEntryIsDiscarded() throws Exception {
+    final CodeGenerator<ExampleInner> cg = newCodeGenerator(1);
+    cg.generate();
+    final String key = new PersistentCodeCache(cacheConfig, options).getKey(cg);
+    try (DataOutputStream out = new DataOutputStream(new FileOutputStream(getEntry(key)))) {
+      out.writeInt(1);
+      out.writeUTF(cg.getMaterializedClassName());
+      out.writeInt(1);
+      out.writeUTF(cg.getMaterializedClassName());
+      out.writeInt(16);
+      out.write(new byte[16]);
+    }
+
+    assertDiscarded(key);
+  }
+
+  @Test
+  public void testUnknownFormatIsDiscarded() throws Exception {
+    final CodeGenerator<ExampleInner> cg = newCodeGenerator(1);
+    cg.generate();
+    final String key = new PersistentCodeCache(cacheConfig, options).getKey(cg);
+    try (DataOutputStream out = new DataOutputStream(new FileOutputStream(getEntry(key)))) {
+      out.writeInt(Integer.MAX_VALUE);
+    }
+
+    assertDiscarded(key);
+  }
+
+  @Test
+  public void testCompileTimeInProfile() throws Exception {
+    final QueryProfile profile = getQueryProfile(
+        "select n_name, n_regionkey + 1 as r from cp.`tpch/nation.parquet` order by n_name desc");
+    long compileNanos = 0;
+    for (MajorFragmentProfile major : profile.getFragmentProfileList()) {
+      for (MinorFragmentProfile minor : major.getMinorFragmentProfileList()) {
+        assertTrue(minor.hasCompileNanos());
+        compileNanos += minor.getCompileNanos();
+      }
+    }
+    assertTrue("Compile time is missing from the profile", compileNanos > 0);
+  }
+
+  /**
+   * Checks that the entry stored under the key is not loaded, is deleted, and is replaced by the next compilation.
+   */
+  private void assertDiscarded(String key) throws Exception {
+    final CodeGenerator<ExampleInner> cg = newCodeGenerator(1);
+    cg.generate();
+    assertNull(new PersistentCodeCache(cacheConfig, options).load(key, cg));
+    assertFalse(getEntry(key).exists());
+
+    final CodeCompiler recompiler = new CodeCompiler(cacheConfig, options);
+    try {
+      final ExampleInner instance = recompiler.createInstance(newCodeGenerator(1));
+      instance.doOutside();
+    } finally {
+      recompiler.close();
+    }
+    assertTrue(getEntry(key).isFile());
+  }
+
+  private File getEntry(String key) {
+    return new File(folder.getRoot(), key + ".classes");
+  }
+
+  private CodeGenerator<ExampleInner> newCodeGenerator(int value) {
+    final TemplateClassDefinition<ExampleInner> template =
+        new TemplateClassDefinition<ExampleInner>(ExampleInner.class, ExampleTemplateWithInner.class);
+    final CodeGenerator<ExampleInner> cg = CodeGenerator.get(template,
+        getDrillbitContext().getFunctionImplementationRegistry(), options);
+
+    final ClassGenerator<ExampleInner> root = cg.getRoot();
+    root.setMappingSet(new MappingSet(new GeneratorMapping("doOutside", null, null, null)));
+    root.getSetupBlock().directStatement("int outside = " + value + ";");
+
+    final ClassGenerator<ExampleInner> inner = root.getInnerGenerator("TheInnerClass");
+    inner.setMappingSet(new MappingSet(new GeneratorMapping("doInside", null, null, null)));
+    inner.getSetupBlock().directStatement("int inside = " + value + ";");
+
+    final ClassGenerator<ExampleInner> doubleInner = inner.getInnerGenerator("DoubleInner");
+    doubleInner.setMappingSet(new MappingSet(new GeneratorMapping("doDouble", null, null, null)));
+    doubleInner.getSetupBlock().directStatement("int doubleInside = " + value + ";");
+    return cg;
+  }
+}
@@ -65,6 +65,10 @@ public class SimpleRootExec implements RootExec, Iterable<ValueVector> {
       ex.addThrowable(t);
     }
 
+    @Override
+    public void wakeUp() {
+    }
+
     @Override
     public boolean isFailed() {
       return ex.getException() != null;
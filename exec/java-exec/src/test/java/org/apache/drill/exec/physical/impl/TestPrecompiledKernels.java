@@ -0,0 +1,110 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.physical.impl;
+
+import org.apache.drill.BaseTestQuery;
+import org.apache.drill.exec.ExecConstants;
+import org.apache.drill.exec.planner.physical.PlannerSettings;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Runs queries that use each pre-compiled kernel, and compares their results with
+ * those of the generated code.
+ */
+public class TestPrecompiledKernels extends BaseTestQuery {
+
+  @After
+  public void resetOptions() throws Exception {
+    test("alter session set `%s` = true", ExecConstants.PRECOMPILED_KERNELS);
+    test("alter session set `%s` = true", PlannerSettings.STREAMAGG.getOptionName());
+  }
+
+  @Test
+  public void testIntFilter() throws Exception {
+    compareWithGeneratedCode("select n_name from cp.`tpch/nation.parquet` where n_regionkey >= 2");
+    compareWithGeneratedCode("select n_name from cp.`tpch/nation.parquet` where 3 <> n_regionkey");
+    compareWithGeneratedCode("select n_name from cp.`tpch/nation.parquet` where n_regionkey > 2147483647");
+  }
+
+  @Test
+  public void testBigIntFilter() throws Exception {
+    // JSON integers are read as BIGINT
+    compareWithGeneratedCode("select full_name from cp.`employee.json` where department_id < 5");
+    compareWithGeneratedCode("select full_name from cp.`employee.json` where employee_id = 1");
+  }
+
+  @Test
+  public void testTransferProjection() throws Exception {
+    compareWithGeneratedCode("select n_nationkey as id, n_name as name from cp.`tpch/nation.parquet`");
+  }
+
+  @Test
+  public void testIntKeyHashAggregate() throws Exception {
+    test("alter session set `%s` = false", PlannerSettings.STREAMAGG.getOptionName());
+    compareWithGeneratedCode("select n_regionkey, count(*) as cnt from cp.`tpch/nation.parquet` group by n_regionkey");
+  }
+
+  @Test
+  public void testBigIntKeyHashAggregate() throws Exception {
+    test("alter session set `%s` = false", PlannerSettings.STREAMAGG.getOptionName());
+    compareWithGeneratedCode(
+        "select department_id, count(*) as cnt from cp.`employee.json` group by department_id");
+  }
+
+  @Test
+  public void testIntKeyHashJoin() throws Exception {
+    compareWithGeneratedCode("select n.n_name, r.r_name from cp.`tpch/nation.parquet` n " +
+        "join cp.`tpch/region.parquet` r on n.n_regionkey = r.r_regionkey");
+  }
+
+  @Test
+  public void testBigIntKeyHashJoin() throws Exception {
+    compareWithGeneratedCode("select e.full_name, d.department_description from cp.`employee.json` e " +
+        "join cp.`department.json` d on e.department_id = d.department_id");
+  }
+
+  @Test
+  public void testBulkCopies() throws Exception {
+    // a filter's two-byte and a sort's four-byte selection vector removed by bulk copies
+    compareWithGeneratedCode("select l_orderkey, l_comment from cp.`tpch/lineitem.parquet` where l_quantity > 25");
+    compareWithGeneratedCode("select l_orderkey, l_comment from cp.`tpch/lineitem.parquet` order by l_comment");
+  }
+
+  @Test
+  public void testBulkCopiesToReceivers() throws Exception {
+    // rows sent to the receivers of a hash exchange are gathered and copied a column at a time
+    test("alter session set `%s` = 1", ExecConstants.SLICE_TARGET);
+    try {
+      compareWithGeneratedCode("select l_suppkey, count(*) as cnt, max(l_comment) as c " +
+          "from cp.`tpch/lineitem.parquet` group by l_suppkey");
+    } finally {
+      test("alter session set `%s` = %d", ExecConstants.SLICE_TARGET, ExecConstants.SLICE_TARGET_DEFAULT);
+    }
+  }
+
+  private void compareWithGeneratedCode(String query) throws Exception {
+    testBuilder()
+        .sqlQuery(query)
+        .unOrdered()
+        .optionSettingQueriesForTestQuery("alter session set `%s` = true", ExecConstants.PRECOMPILED_KERNELS)
+        .sqlBaselineQuery(query)
+        .optionSettingQueriesForBaseline("alter session set `%s` = false", ExecConstants.PRECOMPILED_KERNELS)
+        .go();
+  }
+}
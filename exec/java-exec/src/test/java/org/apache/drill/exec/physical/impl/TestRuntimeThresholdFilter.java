@@ -0,0 +1,80 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.physical.impl;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.drill.exec.ExecTest;
+import org.apache.parquet.column.statistics.BinaryStatistics;
+import org.apache.parquet.column.statistics.IntStatistics;
+import org.apache.parquet.column.statistics.LongStatistics;
+import org.apache.parquet.io.api.Binary;
+import org.junit.Test;
+
+public class TestRuntimeThresholdFilter extends ExecTest {
+
+  @Test
+  public void testAscending() {
+    final RuntimeThresholdFilter filter = new RuntimeThresholdFilter("k", false, 100);
+    assertTrue(filter.accepts(intStatistics(50, 200)));
+    assertTrue(filter.accepts(intStatistics(100, 200)));
+    assertFalse(filter.accepts(intStatistics(101, 200)));
+
+    // the TopN lowers the threshold as better records arrive
+    filter.setThreshold(40);
+    assertFalse(filter.accepts(intStatistics(50, 200)));
+    assertTrue(filter.accepts(longStatistics(-5L, 1L << 40)));
+    assertFalse(filter.accepts(longStatistics(41L, 1L << 40)));
+  }
+
+  @Test
+  public void testDescending() {
+    final RuntimeThresholdFilter filter = new RuntimeThresholdFilter("k", true, 100);
+    assertTrue(filter.accepts(intStatistics(0, 150)));
+    assertTrue(filter.accepts(intStatistics(0, 100)));
+    assertFalse(filter.accepts(intStatistics(0, 99)));
+    assertFalse(filter.accepts(longStatistics(Long.MIN_VALUE, 99L)));
+  }
+
+  @Test
+  public void testMissingStatistics() {
+    final RuntimeThresholdFilter filter = new RuntimeThresholdFilter("k", false, 100);
+    assertTrue(filter.accepts(null));
+    // no value was recorded
+    assertTrue(filter.accepts(new IntStatistics()));
+    // not an integer column
+    final BinaryStatistics binary = new BinaryStatistics();
+    binary.updateStats(Binary.fromString("zzz"));
+    assertTrue(filter.accepts(binary));
+  }
+
+  private static IntStatistics intStatistics(int min, int max) {
+    final IntStatistics statistics = new IntStatistics();
+    statistics.updateStats(min);
+    statistics.updateStats(max);
+    return statistics;
+  }
+
+  private static LongStatistics longStatistics(long min, long max) {
+    final LongStatistics statistics = new LongStatistics();
+    statistics.updateStats(min);
+    statistics.updateStats(max);
+    return statistics;
+  }
+}
@@ -0,0 +1,208 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.physical.impl.TopN;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.drill.PlanTestBase;
+import org.apache.drill.exec.planner.physical.PlannerSettings;
+import org.apache.drill.exec.proto.UserBitShared.CoreOperatorType;
+import org.apache.drill.exec.proto.UserBitShared.MajorFragmentProfile;
+import org.apache.drill.exec.proto.UserBitShared.MetricValue;
+import org.apache.drill.exec.proto.UserBitShared.MinorFragmentProfile;
+import org.apache.drill.exec.proto.UserBitShared.OperatorProfile;
+import org.apache.drill.exec.proto.UserBitShared.QueryProfile;
+import org.junit.Test;
+
+import com.google.common.base.Charsets;
+import com.google.common.io.Files;
+
+/**
+ * Checks that TopN drops the incoming batches that cannot make the top N, compacts the batches it holds once they
+ * have max(10 * N, 64K) records, and publishes its Nth key to the Parquet scan feeding it.
+ */
+public class TestTopNThreshold extends PlanTestBase {
+
+  private static final String THRESHOLD_FILTER = "runtimeThresholdFilter";
+
+  @Test
+  public void testBatchesRejectedEntirely() throws Exception {
+    // the first batch holds the smallest values: none of the following batches has a record to add
+    final File file = writeValues("topNAscending.json", 20000, new Value() {
+      @Override
+      public int get(int i) {
+        return i;
+      }
+    });
+    try {
+      final String query = String.format("select a from %s.`%s` order by a limit 3", TEMP_SCHEMA, file.getName());
+      final QueryProfile profile = getQueryProfile(query);
+      assertTrue("Expected TopN to drop the batches after the first one",
+          getTopNMetric(profile, TopNBatch.Metric.BATCHES_DROPPED) > 0);
+      testBuilder()
+          .sqlQuery(query)
+          .ordered()
+          .baselineColumns("a")
+          .baselineValues(0L)
+          .baselineValues(1L)
+          .baselineValues(2L)
+          .go();
+    } finally {
+      FileUtils.deleteQuietly(file);
+    }
+  }
+
+  @Test
+  public void testPartlyAcceptedBatches() throws Exception {
+    // every batch has smaller values than all the previous ones on its even rows only
+    final File file = writeValues("topNInterleaved.json", 20000, new Value() {
+      @Override
+      public int get(int i) {
+        return i % 2 == 0 ? 20000 - i : 20000 + i;
+      }
+    });
+    try {
+      final String query = String.format("select a from %s.`%s` order by a limit 3", TEMP_SCHEMA, file.getName());
+      final QueryProfile profile = getQueryProfile(query);
+      assertEquals(0, getTopNMetric(profile, TopNBatch.Metric.BATCHES_DROPPED));
+      testBuilder()
+          .sqlQuery(query)
+          .ordered()
+          .baselineColumns("a")
+          .baselineValues(2L)
+          .baselineValues(4L)
+          .baselineValues(6L)
+          .go();
+    } finally {
+      FileUtils.deleteQuietly(file);
+    }
+  }
+
+  @Test
+  public void testPurgeRecordThreshold() throws Exception {
+    final Value descending = new Value() {
+      @Override
+      public int get(int i) {
+        return -i;
+      }
+    };
+    final File small = writeValues("topNDescending60K.json", 60000, descending);
+    final File large = writeValues("topNDescending70K.json", 70000, descending);
+    try {
+      // every batch adds records: the held batches are compacted once they have more than 64K records
+      final String query = "select a from %s.`%s` order by a limit %d";
+      assertEquals(0, getTopNMetric(getQueryProfile(query, TEMP_SCHEMA, small.getName(), 3), TopNBatch.Metric.PURGES));
+      assertTrue(getTopNMetric(getQueryProfile(query, TEMP_SCHEMA, large.getName(), 3), TopNBatch.Metric.PURGES) > 0);
+      // or more than 10 * N records when that is larger
+      assertEquals(0,
+          getTopNMetric(getQueryProfile(query, TEMP_SCHEMA, large.getName(), 10000), TopNBatch.Metric.PURGES));
+
+      testBuilder()
+          .sqlQuery(query, TEMP_SCHEMA, large.getName(), 3)
+          .ordered()
+          .baselineColumns("a")
+          .baselineValues(-69999L)
+          .baselineValues(-69998L)
+          .baselineValues(-69997L)
+          .go();
+    } finally {
+      FileUtils.deleteQuietly(small);
+      FileUtils.deleteQuietly(large);
+    }
+  }
+
+  @Test
+  public void testThresholdFilterPlan() throws Exception {
+    final String query = "select l_orderkey, l_linenumber from cp.`tpch/lineitem.parquet` order by l_orderkey %s limit 10";
+    assertTrue(getPlanInString("EXPLAIN PLAN for " + String.format(query, ""), JSON_FORMAT)
+        .contains(THRESHOLD_FILTER));
+    assertTrue(getPlanInString("EXPLAIN PLAN for " + String.format(query, "desc nulls last"), JSON_FORMAT)
+        .contains(THRESHOLD_FILTER));
+    // nulls first: the statistics of the row groups do not tell whether they hold nulls that make the top N
+    assertFalse(getPlanInString("EXPLAIN PLAN for " + String.format(query, "desc"), JSON_FORMAT)
+        .contains(THRESHOLD_FILTER));
+    try {
+      test("alter session set `%s` = false", PlannerSettings.TOPN_RUNTIME_FILTER_KEY);
+      assertFalse(getPlanInString("EXPLAIN PLAN for " + String.format(query, ""), JSON_FORMAT)
+          .contains(THRESHOLD_FILTER));
+    } finally {
+      test("alter session set `%s` = true", PlannerSettings.TOPN_RUNTIME_FILTER_KEY);
+    }
+  }
+
+  @Test
+  public void testThresholdFilterResults() throws Exception {
+    final String query = "select l_orderkey, l_linenumber, l_comment from cp.`tpch/lineitem.parquet` "
+        + "order by l_orderkey %s, l_linenumber limit 25";
+    compareWithFilterDisabled(String.format(query, ""));
+    compareWithFilterDisabled(String.format(query, "desc nulls last"));
+  }
+
+  private void compareWithFilterDisabled(String query) throws Exception {
+    try {
+      testBuilder()
+          .sqlQuery(query)
+          .optionSettingQueriesForTestQuery("alter session set `%s` = true", PlannerSettings.TOPN_RUNTIME_FILTER_KEY)
+          .ordered()
+          .sqlBaselineQuery(query)
+          .optionSettingQueriesForBaseline("alter session set `%s` = false", PlannerSettings.TOPN_RUNTIME_FILTER_KEY)
+          .go();
+    } finally {
+      test("alter session set `%s` = true", PlannerSettings.TOPN_RUNTIME_FILTER_KEY);
+    }
+  }
+
+  private interface Value {
+    int get(int i);
+  }
+
+  private static File writeValues(String name, int count, Value value) throws IOException {
+    final StringBuilder json = new StringBuilder();
+    for (int i = 0; i < count; i++) {
+      json.append("{\"a\": ").append(value.get(i)).append("}\n");
+    }
+    final File file = new File(getDfsTestTmpSchemaLocation(), name);
+    Files.write(json, file, Charsets.UTF_8);
+    return file;
+  }
+
+  private static long getTopNMetric(QueryProfile profile, TopNBatch.Metric metric) {
+    long total = 0;
+    for (MajorFragmentProfile major : profile.getFragmentProfileList()) {
+      for (MinorFragmentProfile minor : major.getMinorFragmentProfileList()) {
+        for (OperatorProfile operator : minor.getOperatorProfileList()) {
+          if (operator.getOperatorType() != CoreOperatorType.TOP_N_SORT_VALUE) {
+            continue;
+          }
+          for (MetricValue value : operator.getMetricList()) {
+            if (value.getMetricId() == metric.metricId()) {
+              total += value.getLongValue();
+            }
+          }
+        }
+      }
+    }
+    return total;
+  }
+}
@@ -19,6 +19,7 @@
 package org.apache.drill.exec.physical.impl.agg;
 
 import org.apache.drill.BaseTestQuery;
+import org.apache.drill.exec.ExecConstants;
 import org.junit.Ignore;
 import org.junit.Test;
 
@@ -57,4 +58,23 @@ public class TestHashAggr extends BaseTestQuery{
     testPhysicalFromFile("agg/hashagg/q8.json");
   }
 
+  @Test
+  public void testSingleIntKeyWithNulls() throws Exception {
+    // single INT key, nullable, grouped by the pre-compiled open-addressing hash table
+    final String query = "select k, count(*) as cnt, sum(l_quantity) as qty from (" +
+        "select case when l_linenumber = 1 then null else l_orderkey end as k, l_quantity " +
+        "from cp.`tpch/lineitem.parquet`) group by k";
+    try {
+      testBuilder()
+          .sqlQuery(query)
+          .unOrdered()
+          .sqlBaselineQuery(query)
+          .optionSettingQueriesForBaseline(
+              String.format("alter session set `%s` = false", ExecConstants.PRECOMPILED_KERNELS))
+          .go();
+    } finally {
+      test("alter session set `%s` = true", ExecConstants.PRECOMPILED_KERNELS);
+    }
+  }
+
 }
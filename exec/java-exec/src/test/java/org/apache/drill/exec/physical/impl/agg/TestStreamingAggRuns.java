@@ -0,0 +1,136 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.physical.impl.agg;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.drill.BaseTestQuery;
+import org.junit.After;
+import org.junit.Test;
+
+import com.google.common.base.Charsets;
+import com.google.common.io.Files;
+
+/**
+ * Checks the groups the streaming aggregate finds a run of rows at a time against those of the hash aggregate, over
+ * the two-byte selection vector of a filter on input already sorted by the key, and over a sort. The JSON reader
+ * reads 4096 rows per batch and the aggregate outputs at most 32K groups per batch.
+ */
+public class TestStreamingAggRuns extends BaseTestQuery {
+
+  private static final String HASH_AGG = "alter session set `planner.enable_hashagg` = true; " +
+      "alter session set `planner.enable_streamagg` = false";
+  private static final String STREAM_AGG = "alter session set `planner.enable_hashagg` = false; " +
+      "alter session set `planner.enable_streamagg` = true";
+
+  private File file;
+
+  @After
+  public void cleanup() throws Exception {
+    test("alter session set `planner.enable_hashagg` = true; alter session set `planner.enable_streamagg` = true");
+    FileUtils.deleteQuietly(file);
+  }
+
+  @Test
+  public void testRunsCrossingBatches() throws Exception {
+    file = writeKeys("streamingAggCrossing.json", 20000, new Key() {
+      @Override
+      public Long get(int i) {
+        return (long) (i / 7000);
+      }
+    });
+    compareWithHashAgg();
+  }
+
+  @Test
+  public void testAllDistinctKeys() throws Exception {
+    // more groups than an output batch holds, each of one row
+    file = writeKeys("streamingAggDistinct.json", 40000, new Key() {
+      @Override
+      public Long get(int i) {
+        return (long) i;
+      }
+    });
+    compareWithHashAgg();
+  }
+
+  @Test
+  public void testOutputFullMidRun() throws Exception {
+    // the output batch fills up when the row starting a run of three is reached
+    file = writeKeys("streamingAggOutputFull.json", 34000 * 3, new Key() {
+      @Override
+      public Long get(int i) {
+        return (long) (i / 3);
+      }
+    });
+    compareWithHashAgg();
+  }
+
+  @Test
+  public void testNullKeys() throws Exception {
+    // the null keys sort last and form a single group, across a batch boundary
+    file = writeKeys("streamingAggNulls.json", 12000, new Key() {
+      @Override
+      public Long get(int i) {
+        return i < 6000 ? Long.valueOf(i / 1000) : null;
+      }
+    });
+    compareWithHashAgg();
+  }
+
+  private void compareWithHashAgg() throws Exception {
+    final String query = String.format("select k, count(*) as cnt, sum(v) as s from %s.`%s` where mod(v, 7) <> 0 " +
+        "group by k", TEMP_SCHEMA, file.getName());
+
+    // streaming aggregate over the selection vector of the filter
+    testBuilder()
+        .physicalPlan(getFile("agg/streaming_runs.json").replace("#{TEST_FILE}", file.getAbsolutePath()))
+        .unOrdered()
+        .optionSettingQueriesForBaseline(HASH_AGG)
+        .sqlBaselineQuery(query)
+        .go();
+
+    // streaming aggregate over a sort
+    testBuilder()
+        .sqlQuery(query)
+        .unOrdered()
+        .optionSettingQueriesForTestQuery(STREAM_AGG)
+        .optionSettingQueriesForBaseline(HASH_AGG)
+        .sqlBaselineQuery(query)
+        .go();
+  }
+
+  private interface Key {
+    Long get(int i);
+  }
+
+  /**
+   * Writes rows sorted by their key k, with a BIGINT value v numbering them.
+   */
+  private static File writeKeys(String name, int count, Key key) throws IOException {
+    final StringBuilder json = new StringBuilder();
+    for (int i = 0; i < count; i++) {
+      json.append("{\"k\": ").append(key.get(i)).append(", \"v\": ").append(i).append("}\n");
+    }
+    final File file = new File(getDfsTestTmpSchemaLocation(), name);
+    Files.write(json, file, Charsets.UTF_8);
+    return file;
+  }
+}
@@ -0,0 +1,297 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.physical.impl.common;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.drill.common.config.DrillConfig;
+import org.apache.drill.common.expression.FieldReference;
+import org.apache.drill.common.expression.SchemaPath;
+import org.apache.drill.common.logical.data.NamedExpression;
+import org.apache.drill.common.types.TypeProtos.MajorType;
+import org.apache.drill.common.types.TypeProtos.MinorType;
+import org.apache.drill.common.types.Types;
+import org.apache.drill.exec.ExecTest;
+import org.apache.drill.exec.expr.TypeHelper;
+import org.apache.drill.exec.memory.BufferAllocator;
+import org.apache.drill.exec.memory.RootAllocatorFactory;
+import org.apache.drill.exec.physical.impl.TopN.TopNBatch.SimpleRecordBatch;
+import org.apache.drill.exec.record.BatchSchema.SelectionVectorMode;
+import org.apache.drill.exec.record.MaterializedField;
+import org.apache.drill.exec.record.VectorContainer;
+import org.apache.drill.exec.vector.AllocationHelper;
+import org.apache.drill.exec.vector.BigIntVector;
+import org.apache.drill.exec.vector.IntVector;
+import org.apache.drill.exec.vector.NullableBigIntVector;
+import org.apache.drill.exec.vector.NullableIntVector;
+import org.apache.drill.exec.vector.ValueVector;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+
+public class TestOpenAddressingHashTable extends ExecTest {
+
+  private static final SchemaPath KEY = SchemaPath.getSimplePath("key");
+
+  private final List<VectorContainer> containers = Lists.newArrayList();
+  private BufferAllocator allocator;
+
+  @Before
+  public void setupAllocator() {
+    allocator = RootAllocatorFactory.newRoot(DrillConfig.create());
+  }
+
+  @After
+  public void closeAllocator() {
+    for (VectorContainer container : containers) {
+      container.clear();
+    }
+    allocator.close();
+  }
+
+  @Test
+  public void testInsertAndFind() {
+    final MajorType type = Types.required(MinorType.INT);
+    final VectorContainer build = newContainer(type);
+    final VectorContainer probe = newContainer(type);
+    final Long[] buildKeys = new Long[4000];
+    for (int i = 0; i < buildKeys.length; i++) {
+      buildKeys[i] = (long) (i % 1000 - 500);
+    }
+    setKeys(build, buildKeys);
+
+    final HashTable ht = newTable(type, build, probe, newContainer(type), 1024, false);
+    try {
+      final IndexPointer htIdx = new IndexPointer();
+      for (int i = 0; i < buildKeys.length; i++) {
+        ht.put(i, htIdx, 1);
+        // entries are numbered in the order their keys are first seen
+        assertEquals(i % 1000, htIdx.value);
+        assertEquals(i % 1000, ht.containsKey(i, false));
+      }
+      assertEquals(1000, ht.size());
+
+      final Long[] probeKeys = new Long[2000];
+      for (int i = 0; i < probeKeys.length; i++) {
+        probeKeys[i] = (long) (i - 1000);
+      }
+      setKeys(probe, probeKeys);
+      ht.updateBatches();
+      for (int i = 0; i < probeKeys.length; i++) {
+        final long key = probeKeys[i];
+        assertEquals(key >= -500 && key < 500 ? (int) key + 500 : -1, ht.containsKey(i, true));
+      }
+    } finally {
+      ht.clear();
+    }
+  }
+
+  @Test
+  public void testResize() {
+    final MajorType type = Types.required(MinorType.BIGINT);
+    final VectorContainer build = newContainer(type);
+    final VectorContainer probe = newContainer(type);
+    final int batches = 3;
+    final int batchSize = 40000;
+
+    final HashTable ht = newTable(type, build, probe, newContainer(type), 16, false);
+    try {
+      final IndexPointer htIdx = new IndexPointer();
+      for (int b = 0; b < batches; b++) {
+        // keys that only differ in their high bits
+        setKeys(build, getWideKeys(b * batchSize, batchSize));
+        ht.updateBatches();
+        for (int i = 0; i < batchSize; i++) {
+          ht.put(i, htIdx, 1);
+          assertEquals(b * batchSize + i, htIdx.value);
+        }
+      }
+
+      // the entries span several batch holders, and the slots were resized a few times
+      final HashTableStats stats = new HashTableStats();
+      ht.getStats(stats);
+      assertEquals(batches * batchSize, stats.numEntries);
+      assertTrue(batches * batchSize > HashTable.BATCH_SIZE);
+      assertTrue(stats.numResizing > 0);
+      assertTrue(stats.numBuckets * 0.75 >= stats.numEntries);
+
+      for (int b = 0; b <= batches; b++) {
+        setKeys(probe, getWideKeys(b * batchSize, batchSize));
+        ht.updateBatches();
+        for (int i = 0; i < batchSize; i++) {
+          assertEquals(b < batches ? b * batchSize + i : -1, ht.containsKey(i, true));
+        }
+      }
+    } finally {
+      ht.clear();
+    }
+  }
+
+  @Test
+  public void testNullKeysEqual() {
+    final MajorType type = Types.optional(MinorType.INT);
+    final VectorContainer build = newContainer(type);
+    final VectorContainer probe = newContainer(type);
+    setKeys(build, null, 1L, null, 2L, null);
+
+    final HashTable ht = newTable(type, build, probe, newContainer(type), 16, true);
+    try {
+      assertArrayEquals(new int[] {0, 1, 0, 2, 0}, putAll(ht, 5));
+      assertEquals(3, ht.size());
+      assertEquals(0, ht.containsKey(4, false));
+
+      setKeys(probe, null, 2L, 3L);
+      ht.updateBatches();
+      assertEquals(0, ht.containsKey(0, true));
+      assertEquals(2, ht.containsKey(1, true));
+      assertEquals(-1, ht.containsKey(2, true));
+    } finally {
+      ht.clear();
+    }
+  }
+
+  @Test
+  public void testNullKeysNotEqual() {
+    final MajorType type = Types.optional(MinorType.INT);
+    final VectorContainer build = newContainer(type);
+    final VectorContainer probe = newContainer(type);
+    setKeys(build, null, 1L, null, 2L, null);
+
+    final HashTable ht = newTable(type, build, probe, newContainer(type), 16, false);
+    try {
+      // each null key gets an entry of its own
+      assertArrayEquals(new int[] {0, 1, 2, 3, 4}, putAll(ht, 5));
+      assertEquals(5, ht.size());
+      assertEquals(-1, ht.containsKey(4, false));
+
+      setKeys(probe, null, 2L, 3L);
+      ht.updateBatches();
+      assertEquals(-1, ht.containsKey(0, true));
+      assertEquals(3, ht.containsKey(1, true));
+      assertEquals(-1, ht.containsKey(2, true));
+    } finally {
+      ht.clear();
+    }
+  }
+
+  @Test
+  public void testOutputKeys() {
+    final MajorType type = Types.optional(MinorType.BIGINT);
+    final VectorContainer build = newContainer(type);
+    setKeys(build, 5L, null, 5L, -7L, null, 0L, Long.MAX_VALUE, Long.MIN_VALUE);
+
+    final HashTable ht = newTable(type, build, null, newContainer(type), 16, true);
+    try {
+      assertArrayEquals(new int[] {0, 1, 0, 2, 1, 3, 4, 5}, putAll(ht, 8));
+
+      final VectorContainer out = newContainer(type);
+      assertTrue(ht.outputKeys(0, out, 0, ht.size()));
+      final NullableBigIntVector.Accessor keys = ((NullableBigIntVector) getKeys(out)).getAccessor();
+      assertEquals(5L, keys.getObject(0).longValue());
+      assertTrue(keys.isNull(1));
+      assertEquals(-7L, keys.getObject(2).longValue());
+      assertEquals(0L, keys.getObject(3).longValue());
+      assertEquals(Long.MAX_VALUE, keys.getObject(4).longValue());
+      assertEquals(Long.MIN_VALUE, keys.getObject(5).longValue());
+    } finally {
+      ht.clear();
+    }
+  }
+
+  private HashTable newTable(MajorType type, VectorContainer build, VectorContainer probe,
+      VectorContainer htContainerOrig, int initialCapacity, boolean nullsEqual) {
+    final OpenAddressingHashTable ht;
+    if (type.getMinorType() == MinorType.INT) {
+      ht = new IntKeyHashTable(build.getValueVectorId(KEY), probe == null ? null : probe.getValueVectorId(KEY),
+          htContainerOrig.getValueVectorId(KEY), null, nullsEqual);
+    } else {
+      ht = new BigIntKeyHashTable(build.getValueVectorId(KEY), probe == null ? null : probe.getValueVectorId(KEY),
+          htContainerOrig.getValueVectorId(KEY), null, nullsEqual);
+    }
+    final List<NamedExpression> keyExprs = Collections.singletonList(new NamedExpression(KEY, new FieldReference(KEY)));
+    final HashTableConfig htConfig = new HashTableConfig(initialCapacity, HashTable.DEFAULT_LOAD_FACTOR, keyExprs,
+        probe == null ? null : keyExprs,
+        Collections.singletonList(nullsEqual ? Comparator.IS_NOT_DISTINCT_FROM : Comparator.EQUALS));
+    ht.setup(htConfig, null, allocator, new SimpleRecordBatch(build, null, null),
+        probe == null ? null : new SimpleRecordBatch(probe, null, null), null, htContainerOrig);
+    return ht;
+  }
+
+  private static int[] putAll(HashTable ht, int rows) {
+    final int[] indexes = new int[rows];
+    final IndexPointer htIdx = new IndexPointer();
+    for (int i = 0; i < rows; i++) {
+      ht.put(i, htIdx, 1);
+      indexes[i] = htIdx.value;
+    }
+    return indexes;
+  }
+
+  private static Long[] getWideKeys(int start, int count) {
+    final Long[] keys = new Long[count];
+    for (int i = 0; i < count; i++) {
+      keys[i] = (long) (start + i) << 32;
+    }
+    return keys;
+  }
+
+  private VectorContainer newContainer(MajorType type) {
+    final VectorContainer container = new VectorContainer();
+    container.add(TypeHelper.getNewVector(MaterializedField.create(KEY.getAsUnescapedPath(), type), allocator));
+    container.buildSchema(SelectionVectorMode.NONE);
+    containers.add(container);
+    return container;
+  }
+
+  private static ValueVector getKeys(VectorContainer container) {
+    return container.getValueAccessorById(ValueVector.class, container.getValueVectorId(KEY).getFieldIds())
+        .getValueVector();
+  }
+
+  // Replaces the keys of the container; a null stands for a null key
+  private static void setKeys(VectorContainer container, Long... keys) {
+    final ValueVector vector = getKeys(container);
+    AllocationHelper.allocateNew(vector, keys.length);
+    for (int i = 0; i < keys.length; i++) {
+      if (vector instanceof IntVector) {
+        ((IntVector) vector).getMutator().set(i, keys[i].intValue());
+      } else if (vector instanceof BigIntVector) {
+        ((BigIntVector) vector).getMutator().set(i, keys[i]);
+      } else if (vector instanceof NullableIntVector) {
+        if (keys[i] == null) {
+          ((NullableIntVector) vector).getMutator().setNull(i);
+        } else {
+          ((NullableIntVector) vector).getMutator().set(i, keys[i].intValue());
+        }
+      } else if (keys[i] == null) {
+        ((NullableBigIntVector) vector).getMutator().setNull(i);
+      } else {
+        ((NullableBigIntVector) vector).getMutator().set(i, keys[i]);
+      }
+    }
+    vector.getMutator().setValueCount(keys.length);
+    container.setRecordCount(keys.length);
+  }
+}
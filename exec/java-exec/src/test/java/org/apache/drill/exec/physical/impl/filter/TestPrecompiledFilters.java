@@ -0,0 +1,158 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.physical.impl.filter;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.drill.common.config.DrillConfig;
+import org.apache.drill.common.types.TypeProtos.MinorType;
+import org.apache.drill.common.types.Types;
+import org.apache.drill.exec.ExecTest;
+import org.apache.drill.exec.expr.ExpressionTreeMaterializer;
+import org.apache.drill.exec.expr.fn.FunctionImplementationRegistry;
+import org.apache.drill.exec.memory.BufferAllocator;
+import org.apache.drill.exec.memory.RootAllocatorFactory;
+import org.apache.drill.exec.physical.impl.TopN.TopNBatch.SimpleRecordBatch;
+import org.apache.drill.exec.record.BatchSchema.SelectionVectorMode;
+import org.apache.drill.exec.record.MaterializedField;
+import org.apache.drill.exec.record.VectorContainer;
+import org.apache.drill.exec.vector.BigIntVector;
+import org.apache.drill.exec.vector.NullableIntVector;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class TestPrecompiledFilters extends ExecTest {
+
+  private static final int ROWS = 7;
+
+  private static BufferAllocator allocator;
+  private static FunctionImplementationRegistry registry;
+  private static VectorContainer container;
+  private static SimpleRecordBatch incoming;
+
+  @BeforeClass
+  public static void setupBatch() {
+    final DrillConfig config = DrillConfig.create();
+    allocator = RootAllocatorFactory.newRoot(config);
+    registry = new FunctionImplementationRegistry(config);
+
+    // a: null, MIN, -1, 0, 5, 6, MAX
+    final NullableIntVector a = new NullableIntVector(MaterializedField.create("a", Types.optional(MinorType.INT)),
+        allocator);
+    a.allocateNew(ROWS);
+    a.getMutator().setNull(0);
+    a.getMutator().set(1, Integer.MIN_VALUE);
+    a.getMutator().set(2, -1);
+    a.getMutator().set(3, 0);
+    a.getMutator().set(4, 5);
+    a.getMutator().set(5, 6);
+    a.getMutator().set(6, Integer.MAX_VALUE);
+    a.getMutator().setValueCount(ROWS);
+
+    // b: MIN, -1, 0, 5, 6, 2^40, MAX
+    final BigIntVector b = new BigIntVector(MaterializedField.create("b", Types.required(MinorType.BIGINT)), allocator);
+    b.allocateNew(ROWS);
+    b.getMutator().set(0, Long.MIN_VALUE);
+    b.getMutator().set(1, -1);
+    b.getMutator().set(2, 0);
+    b.getMutator().set(3, 5);
+    b.getMutator().set(4, 6);
+    b.getMutator().set(5, 1L << 40);
+    b.getMutator().set(6, Long.MAX_VALUE);
+    b.getMutator().setValueCount(ROWS);
+
+    container = new VectorContainer();
+    container.add(a);
+    container.add(b);
+    container.buildSchema(SelectionVectorMode.NONE);
+    container.setRecordCount(ROWS);
+    incoming = new SimpleRecordBatch(container, null, null);
+  }
+
+  @AfterClass
+  public static void closeBatch() {
+    container.clear();
+    allocator.close();
+  }
+
+  @Test
+  public void testIntComparisons() throws Exception {
+    assertArrayEquals(new boolean[] {false, false, false, false, false, true, true}, eval("a > 5"));
+    assertArrayEquals(new boolean[] {false, false, false, false, true, true, true}, eval("a >= 5"));
+    assertArrayEquals(new boolean[] {false, true, true, false, false, false, false}, eval("a < 0"));
+    assertArrayEquals(new boolean[] {false, true, true, true, false, false, false}, eval("a <= 0"));
+    assertArrayEquals(new boolean[] {false, false, false, false, true, false, false}, eval("a == 5"));
+    // a null key fails the negated comparison too
+    assertArrayEquals(new boolean[] {false, true, true, true, false, true, true}, eval("a <> 5"));
+  }
+
+  @Test
+  public void testSwappedOperands() throws Exception {
+    assertArrayEquals(eval("a > 5"), eval("5 < a"));
+    assertArrayEquals(eval("a <= 0"), eval("0 >= a"));
+    assertArrayEquals(eval("a <> 5"), eval("5 <> a"));
+  }
+
+  @Test
+  public void testIntBoundaries() throws Exception {
+    assertArrayEquals(new boolean[] {false, false, false, false, false, false, true}, eval("a >= 2147483647"));
+    assertArrayEquals(new boolean[] {false, true, true, true, true, true, false}, eval("a < 2147483647"));
+    assertTrue(create("a > 2147483647") instanceof PrecompiledFilters.EmptyFilter);
+    assertArrayEquals(new boolean[ROWS], eval("a > 2147483647"));
+  }
+
+  @Test
+  public void testBigIntComparisons() throws Exception {
+    // the INT literal is cast to BIGINT
+    assertTrue(create("b > 5") instanceof PrecompiledFilters.BigIntRangeFilter);
+    assertArrayEquals(new boolean[] {false, false, false, false, true, true, true}, eval("b > 5"));
+    assertArrayEquals(new boolean[] {true, true, false, true, true, true, true}, eval("b <> 0"));
+    assertArrayEquals(new boolean[] {true, true, true, true, true, true, false}, eval("b <= 1099511627776"));
+    assertArrayEquals(new boolean[] {false, false, false, false, false, true, false}, eval("b == 1099511627776"));
+    assertTrue(create("b > 9223372036854775807") instanceof PrecompiledFilters.EmptyFilter);
+  }
+
+  @Test
+  public void testUnsupportedExpressions() throws Exception {
+    assertNull(create("a > b"));
+    assertNull(create("a + 1 > 5"));
+    assertNull(create("a > 5 && b > 5"));
+    assertNull(create("isnull(a)"));
+  }
+
+  private Filterer create(String expr) throws Exception {
+    return PrecompiledFilters.create(
+        ExpressionTreeMaterializer.materializeAndCheckErrors(parseExpr(expr), incoming, registry));
+  }
+
+  private boolean[] eval(String expr) throws Exception {
+    final Filterer filter = create(expr);
+    assertNotNull(expr, filter);
+    final FilterTemplate2 template = (FilterTemplate2) filter;
+    template.doSetup(null, incoming, null);
+    final boolean[] accepted = new boolean[ROWS];
+    for (int i = 0; i < ROWS; i++) {
+      accepted[i] = template.doEval(i, 0);
+    }
+    return accepted;
+  }
+}
@@ -20,11 +20,24 @@ package org.apache.drill.exec.physical.impl.join;
 
 
 import org.apache.drill.BaseTestQuery;
+import org.apache.drill.PlanTestBase;
+import org.apache.drill.common.util.TestTools;
+import org.apache.drill.exec.ExecConstants;
+import org.apache.drill.exec.planner.physical.PlannerSettings;
+import org.apache.drill.exec.proto.UserBitShared.CoreOperatorType;
+import org.apache.drill.exec.proto.UserBitShared.MajorFragmentProfile;
+import org.apache.drill.exec.proto.UserBitShared.MetricValue;
+import org.apache.drill.exec.proto.UserBitShared.MinorFragmentProfile;
+import org.apache.drill.exec.proto.UserBitShared.OperatorProfile;
+import org.apache.drill.exec.proto.UserBitShared.QueryProfile;
+import org.apache.drill.exec.proto.UserBitShared.StreamProfile;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
 import org.junit.Ignore;
 import org.junit.Test;
 
+import static org.junit.Assert.assertTrue;
+
 public class TestHashJoinAdvanced extends BaseTestQuery {
 
   // Have to disable merge join, if this testcase is to test "HASH-JOIN".
@@ -126,4 +139,108 @@ public class TestHashJoinAdvanced extends BaseTestQuery {
         .baselineValues(4l)
         .go();
   }
+
+  @Test
+  public void testJoinOnPartitionColumn() throws Exception {
+    final String table = TestTools.getWorkingPath() + "/src/test/resources/multilevel/parquet";
+    final String query = String.format("select count(*) cnt from dfs_test.`%s` t " +
+        "inner join (select distinct dir0 y from dfs_test.`%s` where dir0 = 1994) d on t.dir0 = d.y", table, table);
+
+    try {
+      final long[] recordsScanned = new long[2];
+      for (int i = 0; i < 2; i++) {
+        final boolean enabled = i == 0;
+        test(String.format("alter session set `%s` = %s", PlannerSettings.RUNTIME_PARTITION_PRUNING_KEY, enabled));
+        testBuilder()
+            .sqlQuery(query)
+            .unOrdered()
+            .baselineColumns("cnt")
+            .baselineValues(40L)
+            .go();
+        recordsScanned[i] = getRecordsScanned(getQueryProfile(query), CoreOperatorType.PARQUET_ROW_GROUP_SCAN);
+      }
+      // 12 files of 10 rows each on the probe side, of which the 8 outside 1994 are skipped, except
+      // possibly the first one, which is read before the build side
+      assertTrue(String.format("Scanned %d records with the filter, %d without", recordsScanned[0], recordsScanned[1]),
+          recordsScanned[1] - recordsScanned[0] >= 70);
+    } finally {
+      test(String.format("alter session set `%s` = true", PlannerSettings.RUNTIME_PARTITION_PRUNING_KEY));
+    }
+  }
+
+  @Test
+  public void testIntKeyJoinWithResize() throws Exception {
+    // single nullable INT key on both sides, in the pre-compiled open-addressing hash table
+    testSingleKeyJoinWithResize("select l.l_linenumber, o.o_custkey from " +
+        "(select case when l_linenumber = 1 then null else l_orderkey end as k, l_linenumber " +
+        "from cp.`tpch/lineitem.parquet`) l join " +
+        "(select case when o_custkey < 10 then null else o_orderkey end as k, o_custkey " +
+        "from cp.`tpch/orders.parquet`) o on l.k = o.k");
+  }
+
+  @Test
+  public void testBigIntKeyJoinWithResize() throws Exception {
+    testSingleKeyJoinWithResize("select l.l_linenumber, o.o_custkey from " +
+        "(select cast(l_orderkey as bigint) as k, l_linenumber from cp.`tpch/lineitem.parquet`) l join " +
+        "(select cast(o_orderkey as bigint) as k, o_custkey from cp.`tpch/orders.parquet`) o on l.k = o.k");
+  }
+
+  /**
+   * Compares the join with the generated hash table, starting the pre-compiled one at its smallest size so that the
+   * build side grows it several times.
+   */
+  private void testSingleKeyJoinWithResize(String query) throws Exception {
+    try {
+      test("alter session set `%s` = 16", ExecConstants.MIN_HASH_TABLE_SIZE_KEY);
+      testBuilder()
+          .sqlQuery(query)
+          .unOrdered()
+          .sqlBaselineQuery(query)
+          .optionSettingQueriesForBaseline(
+              String.format("alter session set `%s` = false", ExecConstants.PRECOMPILED_KERNELS))
+          .go();
+      test("alter session set `%s` = true", ExecConstants.PRECOMPILED_KERNELS);
+      final long resizes = getHashJoinMetric(getQueryProfile(query), HashJoinBatch.Metric.NUM_RESIZING);
+      assertTrue(String.format("Expected the hash table to grow, it was resized %d times", resizes), resizes > 0);
+    } finally {
+      test("alter session set `%s` = true", ExecConstants.PRECOMPILED_KERNELS);
+      test("alter session set `%s` = %d", ExecConstants.MIN_HASH_TABLE_SIZE_KEY,
+          ExecConstants.MIN_HASH_TABLE_SIZE.getDefault().num_val);
+    }
+  }
+
+  private static long getHashJoinMetric(QueryProfile profile, HashJoinBatch.Metric metric) {
+    long total = 0;
+    for (MajorFragmentProfile major : profile.getFragmentProfileList()) {
+      for (MinorFragmentProfile minor : major.getMinorFragmentProfileList()) {
+        for (OperatorProfile operator : minor.getOperatorProfileList()) {
+          if (operator.getOperatorType() != CoreOperatorType.HASH_JOIN_VALUE) {
+            continue;
+          }
+          for (MetricValue value : operator.getMetricList()) {
+            if (value.getMetricId() == metric.metricId()) {
+              total += value.getLongValue();
+            }
+          }
+        }
+      }
+    }
+    return total;
+  }
+
+  private static long getRecordsScanned(QueryProfile profile, CoreOperatorType scanType) {
+    long records = 0;
+    for (MajorFragmentProfile major : profile.getFragmentProfileList()) {
+      for (MinorFragmentProfile minor : major.getMinorFragmentProfileList()) {
+        for (OperatorProfile operator : minor.getOperatorProfileList()) {
+          if (operator.getOperatorType() == scanType.getNumber()) {
+            for (StreamProfile input : operator.getInputProfileList()) {
+              records += input.getRecords();
+            }
+          }
+        }
+      }
+    }
+    return records;
+  }
 }
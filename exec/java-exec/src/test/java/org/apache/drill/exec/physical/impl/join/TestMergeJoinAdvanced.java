@@ -176,6 +176,30 @@ public class TestMergeJoinAdvanced extends BaseTestQuery {
     testMultipleBatchJoin(5000l, 1000l, "right", 5000l*1000l + 3l);
   }
 
+  @Test
+  public void testMergeJoinSpilledDuplicates() throws Exception {
+    // with no memory to spare, the right side batches held for the run of equal keys are spilled and read back
+    final String leftSide = BaseTestQuery.getTempDir("merge-join-left.json");
+    final String rightSide = BaseTestQuery.getTempDir("merge-join-right.json");
+    final BufferedWriter leftWriter = new BufferedWriter(new FileWriter(new File(leftSide)));
+    final BufferedWriter rightWriter = new BufferedWriter(new FileWriter(new File(rightSide)));
+    generateData(leftWriter, rightWriter, 100, 10000);
+    final String query1 = String.format("select count(*) c1 from dfs_test.`%s` L left join dfs_test.`%s` R on L.k=R.k1",
+      leftSide, rightSide);
+    try {
+      testBuilder()
+        .sqlQuery(query1)
+        .optionSettingQueriesForTestQuery("alter session set `%s` = 0", ExecConstants.MERGE_JOIN_MEMORY_LIMIT)
+        .unOrdered()
+        .baselineColumns("c1")
+        .baselineValues(100l * 10000l + 2l)
+        .go();
+    } finally {
+      test("alter session set `%s` = %d", ExecConstants.MERGE_JOIN_MEMORY_LIMIT,
+        ExecConstants.MERGE_JOIN_MEMORY_LIMIT_VALIDATOR.getDefault().num_val);
+    }
+  }
+
   // Following tests can take some time.
   @Test
   @Ignore
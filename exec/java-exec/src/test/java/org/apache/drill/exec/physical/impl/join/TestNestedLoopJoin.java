@@ -203,6 +203,47 @@ public class TestNestedLoopJoin extends PlanTestBase {
         .go();
   }
 
+  @Test
+  public void testNlJoinCondition() throws Exception {
+    // the inequality condition is evaluated by the join rather than by a filter above it
+    try {
+      test(DISABLE_NLJ_SCALAR);
+      testPlanMatchingPatterns(testNlJoinInequality_2,
+          new String[]{"NestedLoopJoin\\(condition=\\[<\\("}, new String[]{"Filter\\(condition=\\[<\\("});
+      testBuilder()
+          .sqlQuery(testNlJoinInequality_2)
+          .unOrdered()
+          .sqlBaselineQuery(testNlJoinInequality_2)
+          .optionSettingQueriesForBaseline("alter session set `planner.enable_nljoin_condition` = false")
+          .go();
+    } finally {
+      test("alter session set `planner.enable_nljoin_condition` = true");
+      test(ENABLE_NLJ_SCALAR);
+    }
+  }
+
+  @Test
+  public void testNlJoinConditionOverBothSides() throws Exception {
+    // the condition reads fields of both sides, of several types and through functions, from the input records
+    // of the left batch and of a right side that spans several batches
+    final String query = "select n.n_name, l.l_orderkey, l.l_linenumber from cp.`tpch/nation.parquet` n " +
+        "inner join cp.`tpch/lineitem.parquet` l on l.l_linenumber < n.n_nationkey " +
+        "and substr(l.l_comment, 1, 1) >= substr(n.n_name, 1, 1) where n.n_nationkey < 4";
+    try {
+      test(DISABLE_NLJ_SCALAR);
+      testPlanMatchingPatterns(query, new String[]{"NestedLoopJoin\\(condition="}, new String[]{});
+      testBuilder()
+          .sqlQuery(query)
+          .unOrdered()
+          .sqlBaselineQuery(query)
+          .optionSettingQueriesForBaseline("alter session set `planner.enable_nljoin_condition` = false")
+          .go();
+    } finally {
+      test("alter session set `planner.enable_nljoin_condition` = true");
+      test(ENABLE_NLJ_SCALAR);
+    }
+  }
+
   @Test
   public void testNLJWithEmptyBatch() throws Exception {
     Long result = 0l;
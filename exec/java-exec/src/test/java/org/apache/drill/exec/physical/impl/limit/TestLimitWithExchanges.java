@@ -22,13 +22,21 @@ import org.apache.drill.PlanTestBase;
 import org.apache.drill.common.util.TestTools;
 import org.apache.drill.exec.ExecConstants;
 import org.apache.drill.exec.planner.physical.PlannerSettings;
+import org.apache.drill.exec.proto.UserBitShared.CoreOperatorType;
+import org.apache.drill.exec.proto.UserBitShared.MajorFragmentProfile;
+import org.apache.drill.exec.proto.UserBitShared.MinorFragmentProfile;
+import org.apache.drill.exec.proto.UserBitShared.OperatorProfile;
+import org.apache.drill.exec.proto.UserBitShared.QueryProfile;
+import org.apache.drill.exec.proto.UserBitShared.StreamProfile;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 public class TestLimitWithExchanges extends BaseTestQuery {
   final String WORKING_PATH = TestTools.getWorkingPath();
   final String TEST_RES_PATH = WORKING_PATH + "/src/test/resources";
+  private static final long LINEITEM_ROWS = 60175;
 
   @Test
   public void testLimitWithExchanges() throws Exception{
@@ -125,6 +133,44 @@ public class TestLimitWithExchanges extends BaseTestQuery {
     }
   }
 
+  @Test
+  public void testLimitStopsSenders() throws Exception {
+    // the limit is met while the senders, including the broadcast sender of the join, still have batches to send
+    try {
+      test("alter session set `planner.slice_target` = 1");
+
+      // the lineitem scan stops after its first batch, which has more than enough matches
+      final String sql = "select l.l_orderkey from cp.`tpch/lineitem.parquet` l, cp.`tpch/nation.parquet` n " +
+          "where l.l_suppkey = n.n_nationkey limit 5";
+      assertEquals(5, testSql(sql));
+      final long scanned = getRecordsScanned(getQueryProfile(sql));
+      assertTrue(String.format("Scanned %d of %d records", scanned, LINEITEM_ROWS), scanned < LINEITEM_ROWS);
+
+      // TopN needs all of its input, so the scan runs to the end
+      final String sql2 = "select l_orderkey from cp.`tpch/lineitem.parquet` order by l_extendedprice limit 3";
+      assertEquals(3, testSql(sql2));
+      assertEquals(LINEITEM_ROWS, getRecordsScanned(getQueryProfile(sql2)));
+    } finally {
+      test("alter session set `planner.slice_target` = " + ExecConstants.SLICE_TARGET_OPTION.getDefault().getValue());
+    }
+  }
+
+  private static long getRecordsScanned(QueryProfile profile) {
+    long records = 0;
+    for (MajorFragmentProfile major : profile.getFragmentProfileList()) {
+      for (MinorFragmentProfile minor : major.getMinorFragmentProfileList()) {
+        for (OperatorProfile operator : minor.getOperatorProfileList()) {
+          if (operator.getOperatorType() == CoreOperatorType.PARQUET_ROW_GROUP_SCAN.getNumber()) {
+            for (StreamProfile input : operator.getInputProfileList()) {
+              records += input.getRecords();
+            }
+          }
+        }
+      }
+    }
+    return records;
+  }
+
   private void testLimitHelper(final String sql, final String[] expectedPlan, final String[] excludedPattern, int expectedRecordCount) throws Exception {
     // Validate the plan
     PlanTestBase.testPlanMatchingPatterns(sql, expectedPlan, excludedPattern);
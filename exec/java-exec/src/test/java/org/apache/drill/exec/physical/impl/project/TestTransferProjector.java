@@ -0,0 +1,100 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.physical.impl.project;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Collections;
+
+import org.apache.drill.common.config.DrillConfig;
+import org.apache.drill.common.types.TypeProtos.MinorType;
+import org.apache.drill.common.types.Types;
+import org.apache.drill.exec.ExecTest;
+import org.apache.drill.exec.memory.BufferAllocator;
+import org.apache.drill.exec.memory.RootAllocatorFactory;
+import org.apache.drill.exec.physical.impl.TopN.TopNBatch.SimpleRecordBatch;
+import org.apache.drill.exec.record.BatchSchema.SelectionVectorMode;
+import org.apache.drill.exec.record.MaterializedField;
+import org.apache.drill.exec.record.TransferPair;
+import org.apache.drill.exec.record.VectorContainer;
+import org.apache.drill.exec.vector.BigIntVector;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestTransferProjector extends ExecTest {
+
+  private static final int ROWS = 10;
+
+  private BufferAllocator allocator;
+  private VectorContainer container;
+  private BigIntVector in;
+  private BigIntVector out;
+
+  @Before
+  public void setupVectors() {
+    allocator = RootAllocatorFactory.newRoot(DrillConfig.create());
+    final MaterializedField field = MaterializedField.create("a", Types.required(MinorType.BIGINT));
+    in = new BigIntVector(field, allocator);
+    in.allocateNew(ROWS);
+    for (int i = 0; i < ROWS; i++) {
+      in.getMutator().set(i, i * 10L);
+    }
+    in.getMutator().setValueCount(ROWS);
+    container = new VectorContainer();
+    container.add(in);
+    container.buildSchema(SelectionVectorMode.NONE);
+    container.setRecordCount(ROWS);
+    out = new BigIntVector(field, allocator);
+  }
+
+  @After
+  public void closeVectors() {
+    container.clear();
+    out.clear();
+    allocator.close();
+  }
+
+  @Test
+  public void testWholeBatch() throws Exception {
+    final Projector projector = newProjector();
+    assertEquals(ROWS, projector.projectRecords(0, ROWS, 0));
+    assertEquals(ROWS, out.getAccessor().getValueCount());
+    for (int i = 0; i < ROWS; i++) {
+      assertEquals(i * 10L, out.getAccessor().get(i));
+    }
+    assertEquals(0, in.getAccessor().getValueCount());
+  }
+
+  @Test
+  public void testPartialBatch() throws Exception {
+    final Projector projector = newProjector();
+    assertEquals(4, projector.projectRecords(3, 4, 0));
+    assertEquals(4, out.getAccessor().getValueCount());
+    for (int i = 0; i < 4; i++) {
+      assertEquals((i + 3) * 10L, out.getAccessor().get(i));
+    }
+  }
+
+  private Projector newProjector() throws Exception {
+    final TransferPair transfer = in.makeTransferPair(out);
+    final Projector projector = new TransferProjector();
+    projector.setup(null, new SimpleRecordBatch(container, null, null), null, Collections.singletonList(transfer));
+    return projector;
+  }
+}
@@ -0,0 +1,126 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.physical.impl.spool;
+
+import org.apache.drill.PlanTestBase;
+import org.apache.drill.exec.ExecConstants;
+import org.apache.drill.exec.planner.physical.PlannerSettings;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class TestSharedSpool extends PlanTestBase {
+
+  private static final String SELF_JOIN_QUERY =
+      "select a.n_name, b.n_name as other_name "
+      + "from (select n_nationkey, n_regionkey, n_name from cp.`tpch/nation.parquet` where n_nationkey < 20) a, "
+      + "(select n_nationkey, n_regionkey, n_name from cp.`tpch/nation.parquet` where n_nationkey < 20) b "
+      + "where a.n_regionkey = b.n_regionkey";
+
+  private static final String UNION_QUERY =
+      "select n_regionkey, count(*) as cnt from cp.`tpch/nation.parquet` group by n_regionkey "
+      + "union all "
+      + "select n_regionkey, count(*) as cnt from cp.`tpch/nation.parquet` group by n_regionkey";
+
+  @BeforeClass
+  public static void setupOptions() throws Exception {
+    test("alter session set `planner.disable_exchanges` = true");
+  }
+
+  @AfterClass
+  public static void resetOptions() throws Exception {
+    test("alter session set `planner.disable_exchanges` = false");
+  }
+
+  @Test
+  public void testSelfJoinPlan() throws Exception {
+    try {
+      test("alter session set `%s` = true", PlannerSettings.SHARED_SUBTREES_KEY);
+      testPlanMatchingPatterns(SELF_JOIN_QUERY, new String[] {"SharedSpool\\(spoolId=\\[0\\]", "SharedSpoolReader\\(spoolId=\\[0\\]"},
+          new String[] {});
+    } finally {
+      test("alter session set `%s` = false", PlannerSettings.SHARED_SUBTREES_KEY);
+    }
+  }
+
+  @Test
+  public void testSelfJoinPlanWithExchanges() throws Exception {
+    try {
+      test("alter session set `planner.disable_exchanges` = false");
+      test("alter session set `%s` = true", PlannerSettings.SHARED_SUBTREES_KEY);
+      // the whole join is one fragment
+      testPlanMatchingPatterns(SELF_JOIN_QUERY, new String[] {"SharedSpool\\(spoolId=\\[0\\]", "SharedSpoolReader\\(spoolId=\\[0\\]"},
+          new String[] {"HashToRandomExchange", "BroadcastExchange"});
+
+      // each scan is sent to the join by its own fragment, so there is nothing left to share
+      test("alter session set `%s` = 1", ExecConstants.SLICE_TARGET);
+      testPlanMatchingPatterns(SELF_JOIN_QUERY, new String[] {"Exchange"}, new String[] {"SharedSpool"});
+    } finally {
+      test("alter session set `%s` = %d", ExecConstants.SLICE_TARGET, ExecConstants.SLICE_TARGET_DEFAULT);
+      test("alter session set `%s` = false", PlannerSettings.SHARED_SUBTREES_KEY);
+      test("alter session set `planner.disable_exchanges` = true");
+    }
+  }
+
+  @Test
+  public void testSelfJoinWithExchanges() throws Exception {
+    try {
+      test("alter session set `planner.disable_exchanges` = false");
+      test("alter session set `%s` = 1", ExecConstants.SLICE_TARGET);
+      compareWithBaseline(SELF_JOIN_QUERY);
+    } finally {
+      test("alter session set `%s` = %d", ExecConstants.SLICE_TARGET, ExecConstants.SLICE_TARGET_DEFAULT);
+      test("alter session set `planner.disable_exchanges` = true");
+    }
+  }
+
+  @Test
+  public void testSelfJoin() throws Exception {
+    compareWithBaseline(SELF_JOIN_QUERY);
+  }
+
+  @Test
+  public void testUnionAll() throws Exception {
+    compareWithBaseline(UNION_QUERY);
+  }
+
+  @Test
+  public void testSpill() throws Exception {
+    try {
+      test("alter session set `%s` = 0", ExecConstants.SHARED_SPOOL_MEMORY_LIMIT);
+      compareWithBaseline(SELF_JOIN_QUERY);
+    } finally {
+      test("alter session set `%s` = %d", ExecConstants.SHARED_SPOOL_MEMORY_LIMIT,
+          ExecConstants.SHARED_SPOOL_MEMORY_LIMIT_VALIDATOR.getDefault().num_val);
+    }
+  }
+
+  private void compareWithBaseline(String query) throws Exception {
+    try {
+      testBuilder()
+          .sqlQuery(query)
+          .optionSettingQueriesForTestQuery("alter session set `%s` = true", PlannerSettings.SHARED_SUBTREES_KEY)
+          .unOrdered()
+          .sqlBaselineQuery(query)
+          .optionSettingQueriesForBaseline("alter session set `%s` = false", PlannerSettings.SHARED_SUBTREES_KEY)
+          .go();
+    } finally {
+      test("alter session set `%s` = false", PlannerSettings.SHARED_SUBTREES_KEY);
+    }
+  }
+}
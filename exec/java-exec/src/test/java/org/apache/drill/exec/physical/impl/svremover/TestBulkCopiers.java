@@ -0,0 +1,239 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.physical.impl.svremover;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import io.netty.buffer.DrillBuf;
+
+import java.util.List;
+
+import org.apache.drill.common.config.DrillConfig;
+import org.apache.drill.common.types.TypeProtos.MajorType;
+import org.apache.drill.common.types.TypeProtos.MinorType;
+import org.apache.drill.common.types.Types;
+import org.apache.drill.exec.ExecTest;
+import org.apache.drill.exec.exception.SchemaChangeException;
+import org.apache.drill.exec.expr.TypeHelper;
+import org.apache.drill.exec.memory.BufferAllocator;
+import org.apache.drill.exec.memory.RootAllocatorFactory;
+import org.apache.drill.exec.physical.impl.TopN.TopNBatch.SimpleRecordBatch;
+import org.apache.drill.exec.record.BatchSchema.SelectionVectorMode;
+import org.apache.drill.exec.record.ExpandableHyperContainer;
+import org.apache.drill.exec.record.MaterializedField;
+import org.apache.drill.exec.record.VectorContainer;
+import org.apache.drill.exec.record.VectorWrapper;
+import org.apache.drill.exec.record.selection.SelectionVector2;
+import org.apache.drill.exec.record.selection.SelectionVector4;
+import org.apache.drill.exec.vector.NullableIntVector;
+import org.apache.drill.exec.vector.ValueVector;
+import org.apache.drill.exec.vector.VarCharVector;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.Lists;
+
+public class TestBulkCopiers extends ExecTest {
+
+  private static final int ROWS = 100;
+  private static final MaterializedField A = MaterializedField.create("a", Types.optional(MinorType.INT));
+  private static final MaterializedField B = MaterializedField.create("b", Types.required(MinorType.VARCHAR));
+
+  private final List<VectorContainer> containers = Lists.newArrayList();
+  private BufferAllocator allocator;
+
+  @Before
+  public void setupAllocator() {
+    allocator = RootAllocatorFactory.newRoot(DrillConfig.create());
+  }
+
+  @After
+  public void closeAllocator() {
+    for (VectorContainer container : containers) {
+      container.clear();
+    }
+    allocator.close();
+  }
+
+  @Test
+  public void testCopySV2() throws Exception {
+    final VectorContainer incoming = newBatch(0, SelectionVectorMode.TWO_BYTE);
+    final int[] rows = {0, 1, 2, 3, 10, 12, 14, 99, 50, 7, 7};
+    final SelectionVector2 sv2 = new SelectionVector2(allocator);
+    try {
+      sv2.allocateNew(rows.length);
+      for (int i = 0; i < rows.length; i++) {
+        sv2.setIndex(i, rows[i]);
+      }
+      sv2.setRecordCount(rows.length);
+
+      final VectorContainer outgoing = newOutgoing(Types.optional(MinorType.INT));
+      final BulkCopier2 copier = new BulkCopier2();
+      copier.setupRemover(null, new SV2RecordBatch(incoming, sv2), new SimpleRecordBatch(outgoing, null, null));
+
+      assertEquals(rows.length, copier.copyRecords(0, rows.length));
+      assertValues(outgoing, rows, 0, rows.length);
+
+      // a later part of the selection, as copied once the outgoing batch was full
+      assertEquals(5, copier.copyRecords(3, 5));
+      assertValues(outgoing, rows, 3, 5);
+    } finally {
+      sv2.clear();
+    }
+  }
+
+  @Test
+  public void testCopySV4() throws Exception {
+    final VectorContainer first = newBatch(0, SelectionVectorMode.NONE);
+    final VectorContainer second = newBatch(ROWS, SelectionVectorMode.NONE);
+    final ExpandableHyperContainer hyper = new ExpandableHyperContainer(first);
+    hyper.addBatch(second);
+    hyper.buildSchema(SelectionVectorMode.FOUR_BYTE);
+
+    // runs within a batch, runs broken by a switch of batch, and single records
+    final int[] batches = {0, 0, 0, 0, 1, 1, 1, 0, 1, 0, 0, 1, 1};
+    final int[] records = {5, 6, 7, 8, 0, 1, 2, 9, 99, 99, 0, 3, 3};
+    final int[] values = new int[records.length];
+    final DrillBuf buffer = allocator.buffer(records.length * 4);
+    for (int i = 0; i < records.length; i++) {
+      buffer.setInt(i * 4, (batches[i] << 16) | records[i]);
+      values[i] = batches[i] * ROWS + records[i];
+    }
+    final SelectionVector4 sv4 = new SelectionVector4(buffer, records.length, records.length);
+    try {
+      final VectorContainer outgoing = newOutgoing(Types.optional(MinorType.INT));
+      final BulkCopier4 copier = new BulkCopier4();
+      copier.setupRemover(null, new SimpleRecordBatch(hyper, sv4, null), new SimpleRecordBatch(outgoing, null, null));
+
+      assertEquals(records.length, copier.copyRecords(0, records.length));
+      assertValues(outgoing, values, 0, records.length);
+
+      assertEquals(6, copier.copyRecords(2, 6));
+      assertValues(outgoing, values, 2, 6);
+    } finally {
+      sv4.clear();
+    }
+  }
+
+  @Test
+  public void testSV4TypeMismatch() throws Exception {
+    final VectorContainer first = newBatch(0, SelectionVectorMode.NONE);
+    final ExpandableHyperContainer hyper = new ExpandableHyperContainer(first);
+    hyper.buildSchema(SelectionVectorMode.FOUR_BYTE);
+    final SelectionVector4 sv4 = new SelectionVector4(allocator.buffer(4), 1, 1);
+    try {
+      // a required INT column cannot take the nullable values of the incoming batch
+      final VectorContainer outgoing = newOutgoing(Types.required(MinorType.INT));
+      try {
+        new BulkCopier4().setupRemover(null, new SimpleRecordBatch(hyper, sv4, null),
+            new SimpleRecordBatch(outgoing, null, null));
+        fail("Expected the mismatched column to be rejected");
+      } catch (SchemaChangeException e) {
+        assertTrue(e.getMessage().contains("a"));
+      }
+    } finally {
+      sv4.clear();
+    }
+  }
+
+  /**
+   * A batch with a nullable INT column a, null on every seventh row, and a VARCHAR column b, whose values
+   * get longer with the row number.
+   */
+  private VectorContainer newBatch(int firstValue, SelectionVectorMode mode) {
+    final NullableIntVector a = (NullableIntVector) TypeHelper.getNewVector(A, allocator);
+    final VarCharVector b = (VarCharVector) TypeHelper.getNewVector(B, allocator);
+    a.allocateNew(ROWS);
+    b.allocateNew();
+    for (int i = 0; i < ROWS; i++) {
+      final int value = firstValue + i;
+      if (value % 7 != 0) {
+        a.getMutator().set(i, value);
+      }
+      b.getMutator().setSafe(i, getString(value).getBytes(Charsets.UTF_8));
+    }
+    a.getMutator().setValueCount(ROWS);
+    b.getMutator().setValueCount(ROWS);
+
+    final VectorContainer container = new VectorContainer();
+    container.add(a);
+    container.add(b);
+    container.buildSchema(mode);
+    container.setRecordCount(ROWS);
+    containers.add(container);
+    return container;
+  }
+
+  private VectorContainer newOutgoing(MajorType typeOfA) {
+    final VectorContainer container = new VectorContainer();
+    container.add(TypeHelper.getNewVector(MaterializedField.create("a", typeOfA), allocator));
+    container.add(TypeHelper.getNewVector(B, allocator));
+    container.buildSchema(SelectionVectorMode.NONE);
+    containers.add(container);
+    return container;
+  }
+
+  private static String getString(int value) {
+    final StringBuilder s = new StringBuilder();
+    for (int i = 0; i <= value % 5; i++) {
+      s.append("v").append(value);
+    }
+    return s.toString();
+  }
+
+  private static void assertValues(VectorContainer outgoing, int[] values, int start, int count) {
+    for (VectorWrapper<?> w : outgoing) {
+      w.getValueVector().getMutator().setValueCount(count);
+    }
+    final ValueVector.Accessor a = outgoing.getValueAccessorById(ValueVector.class, 0).getValueVector().getAccessor();
+    final ValueVector.Accessor b = outgoing.getValueAccessorById(ValueVector.class, 1).getValueVector().getAccessor();
+    for (int i = 0; i < count; i++) {
+      final int value = values[start + i];
+      if (value % 7 == 0) {
+        assertNull(a.getObject(i));
+      } else {
+        assertEquals(value, a.getObject(i));
+      }
+      assertEquals(getString(value), b.getObject(i).toString());
+    }
+  }
+
+  private static class SV2RecordBatch extends SimpleRecordBatch {
+    private final SelectionVector2 sv2;
+
+    private SV2RecordBatch(VectorContainer container, SelectionVector2 sv2) {
+      super(container, null, null);
+      this.sv2 = sv2;
+    }
+
+    @Override
+    public SelectionVector2 getSelectionVector2() {
+      return sv2;
+    }
+
+    @Override
+    public int getRecordCount() {
+      return sv2.getCount();
+    }
+  }
+}
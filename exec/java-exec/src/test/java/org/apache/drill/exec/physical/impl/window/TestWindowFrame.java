@@ -193,6 +193,19 @@ public class TestWindowFrame extends BaseTestQuery {
     runTest("b4.p4", 4);
   }
 
+  /**
+   * Same as {@link #testB4P4()}, spilling every batch the window operator does not need right away
+   */
+  @Test
+  public void testB4P4Spilled() throws Exception {
+    try {
+      test("alter session set `%s` = 0", ExecConstants.WINDOW_MEMORY_LIMIT);
+      runTest("b4.p4", 4);
+    } finally {
+      test("alter session reset `%s`", ExecConstants.WINDOW_MEMORY_LIMIT);
+    }
+  }
+
   @Test // DRILL-1862
   public void testEmptyPartitionBy() throws Exception {
     test("SELECT employee_id, position_id, salary, SUM(salary) OVER(ORDER BY position_id) FROM cp.`employee.json` LIMIT 10");
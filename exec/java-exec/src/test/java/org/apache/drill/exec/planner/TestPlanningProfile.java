@@ -0,0 +1,87 @@
+/*******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.apache.drill.exec.planner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.drill.BaseTestQuery;
+import org.apache.drill.exec.proto.UserBitShared.QueryProfile;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.Maps;
+
+public class TestPlanningProfile extends BaseTestQuery {
+
+  private final ObjectMapper mapper = new ObjectMapper();
+
+  @Test
+  public void testJsonRoundTrip() throws Exception {
+    final PlanningProfile profile = new PlanningProfile();
+    profile.addPhase("Validation", 3, 0);
+    profile.addPhase("VOLCANO:Logical Planning", 120, 4500);
+    profile.addMetadataCacheReadNanos(TimeUnit.MILLISECONDS.toNanos(40));
+    profile.addMetadataCacheReadNanos(TimeUnit.MILLISECONDS.toNanos(2));
+
+    final PlanningProfile.Summary summary = mapper.readValue(profile.toJson(mapper), PlanningProfile.Summary.class);
+    assertEquals(2, summary.phases.size());
+    assertEquals("VOLCANO:Logical Planning", summary.phases.get(1).name);
+    assertEquals(120, summary.phases.get(1).millis);
+    assertEquals(4500, summary.phases.get(1).ruleCalls);
+    assertTrue(summary.rules.isEmpty());
+    assertEquals(42, summary.metadataCacheReadMillis);
+  }
+
+  @Test
+  public void testMissingFields() throws Exception {
+    final PlanningProfile.Summary summary = mapper.readValue("{}", PlanningProfile.Summary.class);
+    assertTrue(summary.phases.isEmpty());
+    assertTrue(summary.rules.isEmpty());
+    assertEquals(0, summary.metadataCacheReadMillis);
+  }
+
+  @Test
+  public void testQueryProfile() throws Exception {
+    final QueryProfile profile = getQueryProfile("select n_regionkey, count(*) as cnt from cp.`tpch/nation.parquet` "
+        + "where n_nationkey > 3 group by n_regionkey");
+    assertTrue(profile.hasPlanningJson());
+    final PlanningProfile.Summary summary = mapper.readValue(profile.getPlanningJson(), PlanningProfile.Summary.class);
+
+    final Map<String, PlanningProfile.Phase> phases = Maps.newHashMap();
+    for (PlanningProfile.Phase phase : summary.phases) {
+      phases.put(phase.name, phase);
+    }
+    assertNotNull(phases.get("Validation"));
+    assertNotNull(phases.get("Conversion to relational algebra"));
+    assertNotNull(phases.get("Physical plan rewrites"));
+    final PlanningProfile.Phase physical = phases.get("VOLCANO:" + PlannerPhase.PHYSICAL.description);
+    assertNotNull(physical);
+    assertTrue(physical.ruleCalls > 0);
+
+    assertTrue(!summary.rules.isEmpty() && summary.rules.size() <= PlanningProfile.TOP_RULE_COUNT);
+    for (PlanningProfile.RuleSummary rule : summary.rules) {
+      assertNotNull(rule.name);
+      assertTrue(rule.calls > 0);
+    }
+  }
+}
@@ -0,0 +1,184 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.planner.fragment;
+
+import static org.apache.drill.exec.ExecConstants.SLICE_TARGET_DEFAULT;
+import static org.apache.drill.exec.planner.fragment.SoftAffinityFragmentParallelizer.INSTANCE;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import mockit.Mocked;
+import mockit.NonStrictExpectations;
+
+import org.apache.drill.exec.physical.EndpointAffinity;
+import org.apache.drill.exec.physical.base.PhysicalOperator;
+import org.apache.drill.exec.proto.CoordinationProtos.DrillbitEndpoint;
+import org.apache.drill.exec.proto.UserBitShared.CoreOperatorType;
+import org.junit.Test;
+
+import com.google.common.collect.HashMultiset;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Multiset;
+
+public class TestAdaptiveParallelization {
+
+  private static final DrillbitEndpoint N1 = newDrillbitEndpoint("node1", 30010);
+  private static final DrillbitEndpoint N2 = newDrillbitEndpoint("node2", 30010);
+  private static final DrillbitEndpoint N3 = newDrillbitEndpoint("node3", 30010);
+  private static final List<DrillbitEndpoint> ENDPOINTS = ImmutableList.of(N1, N2, N3);
+
+  private static final long MB = 1024 * 1024;
+
+  @Mocked private Fragment fragment;
+  @Mocked private PhysicalOperator root;
+
+  private static DrillbitEndpoint newDrillbitEndpoint(String address, int port) {
+    return DrillbitEndpoint.newBuilder().setAddress(address).setControlPort(port).build();
+  }
+
+  private static ParallelizationParameters newParameters(final int maxWidthPerNode,
+      final AdaptiveParallelization adaptive) {
+    return new ParallelizationParameters() {
+      @Override
+      public long getSliceTarget() {
+        return SLICE_TARGET_DEFAULT;
+      }
+
+      @Override
+      public int getMaxWidthPerNode() {
+        return maxWidthPerNode;
+      }
+
+      @Override
+      public int getMaxGlobalWidth() {
+        return 1000;
+      }
+
+      @Override
+      public double getAffinityFactor() {
+        return 1.2;
+      }
+
+      @Override
+      public AdaptiveParallelization getAdaptiveParallelization() {
+        return adaptive;
+      }
+    };
+  }
+
+  private Wrapper newWrapper(double cost, int maxWidth) {
+    new NonStrictExpectations() {
+      {
+        fragment.getRoot(); result = root;
+      }
+    };
+
+    final Wrapper fragmentWrapper = new Wrapper(fragment, 1);
+    final Stats stats = fragmentWrapper.getStats();
+    stats.addCost(cost);
+    stats.addMaxWidth(maxWidth);
+    stats.addEndpointAffinities(Collections.<EndpointAffinity>emptyList());
+    return fragmentWrapper;
+  }
+
+  @Test
+  public void smallScan() throws Exception {
+    // a large row count estimate, but few bytes to read
+    final Wrapper wrapper = newWrapper(100 * SLICE_TARGET_DEFAULT, 100);
+    wrapper.getStats().addScanBytes(10 * MB);
+    final AdaptiveParallelization adaptive = new AdaptiveParallelization(256 * MB, 2000,
+        Collections.<DrillbitEndpoint, Integer>emptyMap(), new OperatorThroughput());
+
+    INSTANCE.parallelizeFragment(wrapper, newParameters(10, adaptive), ENDPOINTS);
+    assertEquals(1, wrapper.getWidth());
+  }
+
+  @Test
+  public void largeScan() throws Exception {
+    // a small row count estimate, but many bytes to read
+    final Wrapper wrapper = newWrapper(SLICE_TARGET_DEFAULT, 100);
+    wrapper.getStats().addScanBytes(2560 * MB);
+    final AdaptiveParallelization adaptive = new AdaptiveParallelization(256 * MB, 2000,
+        Collections.<DrillbitEndpoint, Integer>emptyMap(), new OperatorThroughput());
+
+    INSTANCE.parallelizeFragment(wrapper, newParameters(10, adaptive), ENDPOINTS);
+    assertEquals(10, wrapper.getWidth());
+  }
+
+  @Test
+  public void unknownScanBytes() throws Exception {
+    final Wrapper wrapper = newWrapper(5 * SLICE_TARGET_DEFAULT, 100);
+    wrapper.getStats().addScanBytes(10 * MB);
+    wrapper.getStats().addScanBytes(-1);
+    final AdaptiveParallelization adaptive = new AdaptiveParallelization(256 * MB, 2000,
+        Collections.<DrillbitEndpoint, Integer>emptyMap(), new OperatorThroughput());
+
+    // falls back to the cost
+    INSTANCE.parallelizeFragment(wrapper, newParameters(10, adaptive), ENDPOINTS);
+    assertEquals(5, wrapper.getWidth());
+  }
+
+  @Test
+  public void operatorThroughput() throws Exception {
+    final OperatorThroughput throughput = new OperatorThroughput();
+    throughput.add(CoreOperatorType.HASH_AGGREGATE_VALUE, 1000 * 1000);
+
+    // 12 seconds of aggregation, 2 seconds per fragment
+    final Wrapper wrapper = newWrapper(SLICE_TARGET_DEFAULT, 100);
+    wrapper.getStats().addOperatorInputRows(CoreOperatorType.HASH_AGGREGATE_VALUE, 12 * 1000 * 1000);
+    final AdaptiveParallelization adaptive = new AdaptiveParallelization(256 * MB, 2000,
+        Collections.<DrillbitEndpoint, Integer>emptyMap(), throughput);
+
+    INSTANCE.parallelizeFragment(wrapper, newParameters(10, adaptive), ENDPOINTS);
+    assertEquals(6, wrapper.getWidth());
+  }
+
+  @Test
+  public void busyNodes() throws Exception {
+    final Wrapper wrapper = newWrapper(SLICE_TARGET_DEFAULT, 100);
+    wrapper.getStats().addScanBytes(2560 * MB);
+    // node1 is fully busy, node2 has 2 free slots, node3 is idle
+    final Map<DrillbitEndpoint, Integer> running = ImmutableMap.of(N1, 10, N2, 2);
+    final AdaptiveParallelization adaptive = new AdaptiveParallelization(256 * MB, 2000, running,
+        new OperatorThroughput());
+
+    INSTANCE.parallelizeFragment(wrapper, newParameters(4, adaptive), ENDPOINTS);
+    // one slot is kept for busy nodes
+    assertEquals(1 + 2 + 4, wrapper.getWidth());
+
+    final Multiset<DrillbitEndpoint> assigned = HashMultiset.create(wrapper.getAssignedEndpoints());
+    // fragments go to the least loaded nodes, evening out their load
+    assertEquals(0, assigned.count(N1));
+    assertEquals(3, assigned.count(N2));
+    assertEquals(4, assigned.count(N3));
+  }
+
+  @Test
+  public void throughputAverage() {
+    final OperatorThroughput throughput = new OperatorThroughput();
+    assertEquals(-1, throughput.getRecordsPerSecond(CoreOperatorType.FILTER_VALUE), 0);
+    throughput.add(CoreOperatorType.FILTER_VALUE, 100);
+    throughput.add(CoreOperatorType.FILTER_VALUE, 200);
+    assertEquals(100 + OperatorThroughput.WEIGHT * 100, throughput.getRecordsPerSecond(CoreOperatorType.FILTER_VALUE),
+        1e-9);
+  }
+}
@@ -80,6 +80,11 @@ public class TestHardAffinityFragmentParallelizer {
       public double getAffinityFactor() {
         return 0.0f;
       }
+
+      @Override
+      public AdaptiveParallelization getAdaptiveParallelization() {
+        return null;
+      }
     };
   }
 
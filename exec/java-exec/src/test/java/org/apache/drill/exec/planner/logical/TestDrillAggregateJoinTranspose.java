@@ -0,0 +1,131 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.planner.logical;
+
+import java.io.File;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.drill.PlanTestBase;
+import org.apache.drill.exec.planner.physical.PlannerSettings;
+import org.junit.Test;
+
+import com.google.common.base.Charsets;
+import com.google.common.io.Files;
+
+public class TestDrillAggregateJoinTranspose extends PlanTestBase {
+
+  // an aggregate printed below a join in the text plan
+  private static final String AGG_BELOW_JOIN = "(?s)Join.*Agg";
+
+  private void compareWithTransposeDisabled(String query) throws Exception {
+    try {
+      testBuilder()
+          .sqlQuery(query)
+          .optionSettingQueriesForTestQuery("alter session set `%s` = true", PlannerSettings.AGGREGATE_JOIN_TRANSPOSE_KEY)
+          .unOrdered()
+          .sqlBaselineQuery(query)
+          .optionSettingQueriesForBaseline("alter session set `%s` = false", PlannerSettings.AGGREGATE_JOIN_TRANSPOSE_KEY)
+          .go();
+    } finally {
+      test("alter session set `%s` = true", PlannerSettings.AGGREGATE_JOIN_TRANSPOSE_KEY);
+    }
+  }
+
+  @Test
+  public void testRollupToDimension() throws Exception {
+    compareWithTransposeDisabled(
+        "select n.n_name, count(*) as cnt, sum(l.l_quantity) as qty, min(l.l_discount) as min_disc, "
+        + "max(l.l_extendedprice) as max_price "
+        + "from cp.`tpch/lineitem.parquet` l, cp.`tpch/supplier.parquet` s, cp.`tpch/nation.parquet` n "
+        + "where l.l_suppkey = s.s_suppkey and s.s_nationkey = n.n_nationkey "
+        + "group by n.n_name");
+  }
+
+  @Test
+  public void testGroupByKeysFromBothInputs() throws Exception {
+    compareWithTransposeDisabled(
+        "select s.s_nationkey, l.l_returnflag, count(l.l_orderkey) as cnt, sum(l.l_quantity) as qty "
+        + "from cp.`tpch/lineitem.parquet` l join cp.`tpch/supplier.parquet` s on l.l_suppkey = s.s_suppkey "
+        + "group by s.s_nationkey, l.l_returnflag");
+  }
+
+  @Test
+  public void testPartialAggregateBelowJoin() throws Exception {
+    final String query = "select n.n_name, sum(l.l_quantity) as qty "
+        + "from cp.`tpch/lineitem.parquet` l, cp.`tpch/supplier.parquet` s, cp.`tpch/nation.parquet` n "
+        + "where l.l_suppkey = s.s_suppkey and s.s_nationkey = n.n_nationkey "
+        + "group by n.n_name";
+    testPlanMatchingPatterns(query, new String[] {AGG_BELOW_JOIN}, null);
+    try {
+      test("alter session set `%s` = false", PlannerSettings.AGGREGATE_JOIN_TRANSPOSE_KEY);
+      testPlanMatchingPatterns(query, null, new String[] {AGG_BELOW_JOIN});
+    } finally {
+      test("alter session set `%s` = true", PlannerSettings.AGGREGATE_JOIN_TRANSPOSE_KEY);
+    }
+  }
+
+  @Test
+  public void testGroupRatioThreshold() throws Exception {
+    final String tableName = "aggJoinTransposeLineitem";
+    try {
+      test("create table %s.%s as select * from cp.`tpch/lineitem.parquet`", TEMP_SCHEMA, tableName);
+      test("analyze table %s.%s (l_orderkey, l_suppkey, l_linenumber) compute statistics", TEMP_SCHEMA, tableName);
+
+      // 100 suppliers for 60175 line items: the partial aggregate is well under half the rows
+      testPlanMatchingPatterns(String.format("select s.s_nationkey, sum(l.l_quantity) as qty "
+          + "from %s.%s l join cp.`tpch/supplier.parquet` s on l.l_suppkey = s.s_suppkey "
+          + "group by s.s_nationkey", TEMP_SCHEMA, tableName), new String[] {AGG_BELOW_JOIN}, null);
+
+      // every (order, line number) is distinct: grouping by it would not reduce the line items
+      testPlanMatchingPatterns(String.format("select o.o_orderpriority, l.l_linenumber, sum(l.l_quantity) as qty "
+          + "from %s.%s l join cp.`tpch/orders.parquet` o on l.l_orderkey = o.o_orderkey "
+          + "group by o.o_orderpriority, l.l_linenumber", TEMP_SCHEMA, tableName), null, new String[] {AGG_BELOW_JOIN});
+    } finally {
+      FileUtils.deleteQuietly(new File(getDfsTestTmpSchemaLocation(), tableName));
+    }
+  }
+
+  @Test
+  public void testCountOfNulls() throws Exception {
+    final File fact = new File(getDfsTestTmpSchemaLocation(), "aggJoinTransposeFact.json");
+    final File dim = new File(getDfsTestTmpSchemaLocation(), "aggJoinTransposeDim.json");
+    try {
+      Files.write("{\"k\": 2, \"v\": 5}\n{\"k\": 1, \"v\": null}\n{\"k\": 1, \"v\": 3}\n"
+          + "{\"k\": 1, \"v\": null}\n{\"k\": 3, \"v\": null}\n{\"k\": 3, \"v\": null}\n", fact, Charsets.UTF_8);
+      Files.write("{\"k\": 1, \"name\": \"a\"}\n{\"k\": 2, \"name\": \"b\"}\n{\"k\": 3, \"name\": \"c\"}\n"
+          + "{\"k\": 4, \"name\": \"d\"}\n", dim, Charsets.UTF_8);
+      final String query = String.format("select d.name, count(f.v) as cnt, count(*) as cnt_all, sum(f.v) as total "
+          + "from %s.`%s` f join %s.`%s` d on f.k = d.k group by d.name",
+          TEMP_SCHEMA, fact.getName(), TEMP_SCHEMA, dim.getName());
+
+      // the counts of the partial aggregate are summed with $SUM0, so a group of nulls counts 0
+      testPlanMatchingPatterns(query, new String[] {AGG_BELOW_JOIN, "\\$SUM0"}, null);
+      testBuilder()
+          .sqlQuery(query)
+          .unOrdered()
+          .baselineColumns("name", "cnt", "cnt_all", "total")
+          .baselineValues("a", 1L, 3L, 3L)
+          .baselineValues("b", 1L, 1L, 5L)
+          .baselineValues("c", 0L, 2L, null)
+          .go();
+    } finally {
+      FileUtils.deleteQuietly(fact);
+      FileUtils.deleteQuietly(dim);
+    }
+  }
+}
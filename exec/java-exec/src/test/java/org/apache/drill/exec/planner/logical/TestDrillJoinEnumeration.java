@@ -0,0 +1,233 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.planner.logical;
+
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+import java.util.Stack;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.drill.PlanTestBase;
+import org.apache.drill.exec.ExecConstants;
+import org.apache.drill.exec.planner.physical.PlannerSettings;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+
+public class TestDrillJoinEnumeration extends PlanTestBase {
+
+  private static final String SNOWFLAKE_QUERY =
+      "select r.r_name, n.n_name, count(*) as cnt "
+      + "from cp.`tpch/lineitem.parquet` l, cp.`tpch/orders.parquet` o, cp.`tpch/customer.parquet` c, "
+      + "cp.`tpch/supplier.parquet` s, cp.`tpch/nation.parquet` n, cp.`tpch/region.parquet` r "
+      + "where l.l_orderkey = o.o_orderkey and o.o_custkey = c.c_custkey and l.l_suppkey = s.s_suppkey "
+      + "and c.c_nationkey = s.s_nationkey and s.s_nationkey = n.n_nationkey and n.n_regionkey = r.r_regionkey "
+      + "and r.r_name in ('ASIA', 'EUROPE') "
+      + "group by r.r_name, n.n_name";
+
+  // lineitem-part and orders-customer each reduce well on their own, so the cheapest plan joins the two pairs
+  private static final String BUSHY_QUERY =
+      "select count(*) from cp.`tpch/lineitem.parquet` l, cp.`tpch/part.parquet` p, "
+      + "cp.`tpch/orders.parquet` o, cp.`tpch/customer.parquet` c "
+      + "where l.l_partkey = p.p_partkey and l.l_orderkey = o.o_orderkey and o.o_custkey = c.c_custkey";
+
+  private static final Pattern PLAN_LINE = Pattern.compile("^\\d+-\\d+( +)(\\w+)(.*)$");
+  private static final Pattern TABLE = Pattern.compile("tpch/(\\w+)\\.parquet");
+
+  @Test
+  public void testSnowflakeJoin() throws Exception {
+    try {
+      testBuilder()
+          .sqlQuery(SNOWFLAKE_QUERY)
+          .optionSettingQueriesForTestQuery("alter session set `%s` = true", PlannerSettings.JOIN_ENUMERATION_KEY)
+          .unOrdered()
+          .sqlBaselineQuery(SNOWFLAKE_QUERY)
+          .optionSettingQueriesForBaseline("alter session set `%s` = false", PlannerSettings.JOIN_ENUMERATION_KEY)
+          .go();
+    } finally {
+      test("alter session set `%s` = true", PlannerSettings.JOIN_ENUMERATION_KEY);
+    }
+  }
+
+  @Test
+  public void testGreedyJoinOrder() throws Exception {
+    try {
+      test("alter session set `%s` = 3", PlannerSettings.JOIN_ENUMERATION_DP_THRESHOLD_KEY);
+      testBuilder()
+          .sqlQuery(SNOWFLAKE_QUERY)
+          .optionSettingQueriesForTestQuery("alter session set `%s` = true", PlannerSettings.JOIN_ENUMERATION_KEY)
+          .unOrdered()
+          .sqlBaselineQuery(SNOWFLAKE_QUERY)
+          .optionSettingQueriesForBaseline("alter session set `%s` = false", PlannerSettings.JOIN_ENUMERATION_KEY)
+          .go();
+    } finally {
+      test("alter session set `%s` = 10", PlannerSettings.JOIN_ENUMERATION_DP_THRESHOLD_KEY);
+      test("alter session set `%s` = true", PlannerSettings.JOIN_ENUMERATION_KEY);
+    }
+  }
+
+  @Test
+  public void testBushyJoinOrder() throws Exception {
+    test("alter session set `%s` = true", PlannerSettings.JOIN_ENUMERATION_KEY);
+    testPlanMatchingPatterns(BUSHY_QUERY, new String[] {"HashJoin"}, new String[] {"NestedLoopJoin"});
+    assertJoinsPairs(getPlanInString("EXPLAIN PLAN for " + BUSHY_QUERY, OPTIQ_FORMAT),
+        ImmutableSet.of("lineitem", "part"), ImmutableSet.of("orders", "customer"));
+  }
+
+  @Test
+  public void testBushyJoinResults() throws Exception {
+    // the conditions of the orders-customer build side refer to its own inputs, not to those of the probe side
+    final String columnsQuery = "select c.c_mktsegment, o.o_orderpriority, sum(l.l_quantity) as qty, "
+        + "min(p.p_name) as name from cp.`tpch/lineitem.parquet` l, cp.`tpch/part.parquet` p, "
+        + "cp.`tpch/orders.parquet` o, cp.`tpch/customer.parquet` c "
+        + "where l.l_partkey = p.p_partkey and l.l_orderkey = o.o_orderkey and o.o_custkey = c.c_custkey "
+        + "group by c.c_mktsegment, o.o_orderpriority";
+    try {
+      for (int threshold : new int[] {10, 3}) {
+        test("alter session set `%s` = %d", PlannerSettings.JOIN_ENUMERATION_DP_THRESHOLD_KEY, threshold);
+        for (String query : new String[] {BUSHY_QUERY, columnsQuery}) {
+          testBuilder()
+              .sqlQuery(query)
+              .optionSettingQueriesForTestQuery("alter session set `%s` = true", PlannerSettings.JOIN_ENUMERATION_KEY)
+              .unOrdered()
+              .sqlBaselineQuery(query)
+              .optionSettingQueriesForBaseline("alter session set `%s` = false", PlannerSettings.JOIN_ENUMERATION_KEY)
+              .go();
+        }
+      }
+    } finally {
+      test("alter session set `%s` = 10", PlannerSettings.JOIN_ENUMERATION_DP_THRESHOLD_KEY);
+      test("alter session set `%s` = true", PlannerSettings.JOIN_ENUMERATION_KEY);
+    }
+  }
+
+  @Test
+  public void testBushyJoinExchanges() throws Exception {
+    try {
+      test("alter session set `%s` = 1", ExecConstants.SLICE_TARGET);
+      final int enumerated = countExchanges(getPlanInString("EXPLAIN PLAN for " + BUSHY_QUERY, OPTIQ_FORMAT));
+      test("alter session set `%s` = false", PlannerSettings.JOIN_ENUMERATION_KEY);
+      final int leftDeep = countExchanges(getPlanInString("EXPLAIN PLAN for " + BUSHY_QUERY, OPTIQ_FORMAT));
+      assertTrue(String.format("Expected no more than %d exchanges, got %d", leftDeep, enumerated),
+          enumerated <= leftDeep);
+    } finally {
+      test("alter session set `%s` = %d", ExecConstants.SLICE_TARGET, ExecConstants.SLICE_TARGET_DEFAULT);
+      test("alter session set `%s` = true", PlannerSettings.JOIN_ENUMERATION_KEY);
+    }
+  }
+
+  @Test
+  public void testGreedyJoinOrderShape() throws Exception {
+    try {
+      // four tables are over the threshold, so the greedy pass pairs the cheapest joins first
+      test("alter session set `%s` = 3", PlannerSettings.JOIN_ENUMERATION_DP_THRESHOLD_KEY);
+      testPlanMatchingPatterns(BUSHY_QUERY,
+          new String[] {"(?s)HashJoin.*HashJoin.*HashJoin"}, new String[] {"NestedLoopJoin"});
+      assertJoinsPairs(getPlanInString("EXPLAIN PLAN for " + BUSHY_QUERY, OPTIQ_FORMAT),
+          ImmutableSet.of("lineitem", "part"), ImmutableSet.of("orders", "customer"));
+    } finally {
+      test("alter session set `%s` = 10", PlannerSettings.JOIN_ENUMERATION_DP_THRESHOLD_KEY);
+    }
+  }
+
+  private static int countExchanges(String plan) {
+    int count = 0;
+    for (String line : plan.split("\n")) {
+      final Matcher m = PLAN_LINE.matcher(line);
+      if (m.matches() && m.group(2).endsWith("Exchange")) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Checks that some join of the text plan has one input reading exactly the tables of the
+   * first set and the other reading exactly those of the second.
+   */
+  private static void assertJoinsPairs(String plan, Set<String> first, Set<String> second) {
+    final PlanNode root = PlanNode.parse(plan);
+    assertTrue("Expected a join of " + first + " with " + second + " in\n" + plan,
+        root != null && root.joinsPairs(first, second));
+  }
+
+  /**
+   * A line of the text plan, with the lines indented below it as its inputs.
+   */
+  private static class PlanNode {
+    private final String operator;
+    private final int depth;
+    private final Set<String> tables = Sets.newHashSet();
+    private final List<PlanNode> inputs = Lists.newArrayList();
+
+    private PlanNode(String operator, int depth) {
+      this.operator = operator;
+      this.depth = depth;
+    }
+
+    static PlanNode parse(String plan) {
+      PlanNode root = null;
+      final Stack<PlanNode> parents = new Stack<>();
+      for (String line : plan.split("\n")) {
+        final Matcher m = PLAN_LINE.matcher(line);
+        if (!m.matches()) {
+          continue;
+        }
+        final PlanNode node = new PlanNode(m.group(2), m.group(1).length());
+        final Matcher table = TABLE.matcher(m.group(3));
+        if (node.operator.equals("Scan") && table.find()) {
+          node.tables.add(table.group(1));
+        }
+        while (!parents.isEmpty() && parents.peek().depth >= node.depth) {
+          parents.pop();
+        }
+        if (parents.isEmpty()) {
+          root = node;
+        } else {
+          parents.peek().inputs.add(node);
+        }
+        for (PlanNode parent : parents) {
+          parent.tables.addAll(node.tables);
+        }
+        parents.push(node);
+      }
+      return root;
+    }
+
+    boolean joinsPairs(Set<String> first, Set<String> second) {
+      if (operator.endsWith("Join") && inputs.size() == 2) {
+        final Set<String> left = inputs.get(0).tables;
+        final Set<String> right = inputs.get(1).tables;
+        if ((left.equals(first) && right.equals(second)) || (left.equals(second) && right.equals(first))) {
+          return true;
+        }
+      }
+      for (PlanNode input : inputs) {
+        if (input.joinsPairs(first, second)) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+}
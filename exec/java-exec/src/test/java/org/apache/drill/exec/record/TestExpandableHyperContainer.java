@@ -0,0 +1,136 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.record;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.List;
+
+import org.apache.drill.common.config.DrillConfig;
+import org.apache.drill.common.types.TypeProtos.MinorType;
+import org.apache.drill.common.types.Types;
+import org.apache.drill.exec.ExecTest;
+import org.apache.drill.exec.expr.TypeHelper;
+import org.apache.drill.exec.memory.BufferAllocator;
+import org.apache.drill.exec.memory.RootAllocatorFactory;
+import org.apache.drill.exec.record.BatchSchema.SelectionVectorMode;
+import org.apache.drill.exec.record.selection.SelectionVector4;
+import org.apache.drill.exec.vector.IntVector;
+import org.apache.drill.exec.vector.ValueVector;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+
+public class TestExpandableHyperContainer extends ExecTest {
+
+  private static final int ROWS = 10;
+  private static final MaterializedField A = MaterializedField.create("a", Types.required(MinorType.INT));
+
+  private final List<VectorContainer> containers = Lists.newArrayList();
+  private BufferAllocator allocator;
+
+  @Before
+  public void setupAllocator() {
+    allocator = RootAllocatorFactory.newRoot(DrillConfig.create());
+  }
+
+  @After
+  public void closeAllocator() {
+    for (VectorContainer container : containers) {
+      container.clear();
+    }
+    allocator.close();
+  }
+
+  @Test
+  public void testRemoveLastBatch() throws Exception {
+    final ExpandableHyperContainer hyper = new ExpandableHyperContainer(newBatch(0));
+    final VectorContainer rejected = newBatch(100);
+    hyper.addBatch(rejected);
+    hyper.removeLastBatch();
+    // the batch added next takes the index of the removed one
+    final VectorContainer next = newBatch(200);
+    hyper.addBatch(next);
+    hyper.buildSchema(SelectionVectorMode.FOUR_BYTE);
+
+    final ValueVector[] vectors = getVectors(hyper);
+    assertEquals(2, vectors.length);
+    assertSame(next.getValueAccessorById(ValueVector.class, 0).getValueVector(), vectors[1]);
+
+    // a selection vector over both batches reads the values of the batch added after the removal
+    final SelectionVector4 sv4 = new SelectionVector4(allocator.buffer(2 * ROWS * 4), 2 * ROWS, 2 * ROWS);
+    try {
+      for (int i = 0; i < ROWS; i++) {
+        sv4.set(2 * i, 0, i);
+        sv4.set(2 * i + 1, 1, ROWS - 1 - i);
+      }
+      for (int i = 0; i < ROWS; i++) {
+        assertEquals(i, getValue(vectors, sv4.get(2 * i)));
+        assertEquals(200 + ROWS - 1 - i, getValue(vectors, sv4.get(2 * i + 1)));
+      }
+    } finally {
+      sv4.clear();
+    }
+
+    // the removed batch is left to its owner, untouched
+    final IntVector removed = (IntVector) rejected.getValueAccessorById(ValueVector.class, 0).getValueVector();
+    assertEquals(ROWS, removed.getAccessor().getValueCount());
+    assertEquals(105, removed.getAccessor().get(5));
+  }
+
+  @Test
+  public void testRemoveOnlyBatchAdded() throws Exception {
+    final ExpandableHyperContainer hyper = new ExpandableHyperContainer(newBatch(0));
+    hyper.addBatch(newBatch(100));
+    hyper.addBatch(newBatch(200));
+    hyper.removeLastBatch();
+    hyper.removeLastBatch();
+    hyper.buildSchema(SelectionVectorMode.FOUR_BYTE);
+
+    final ValueVector[] vectors = getVectors(hyper);
+    assertEquals(1, vectors.length);
+    assertEquals(7, ((IntVector) vectors[0]).getAccessor().get(7));
+  }
+
+  private VectorContainer newBatch(int firstValue) {
+    final IntVector a = (IntVector) TypeHelper.getNewVector(A, allocator);
+    a.allocateNew(ROWS);
+    for (int i = 0; i < ROWS; i++) {
+      a.getMutator().set(i, firstValue + i);
+    }
+    a.getMutator().setValueCount(ROWS);
+
+    final VectorContainer container = new VectorContainer();
+    container.add(a);
+    container.buildSchema(SelectionVectorMode.NONE);
+    container.setRecordCount(ROWS);
+    containers.add(container);
+    return container;
+  }
+
+  private static ValueVector[] getVectors(ExpandableHyperContainer hyper) {
+    return hyper.getValueAccessorById(ValueVector.class, 0).getValueVectors();
+  }
+
+  private static int getValue(ValueVector[] vectors, int compoundIndex) {
+    return ((IntVector) vectors[compoundIndex >>> 16]).getAccessor().get(compoundIndex & 65535);
+  }
+}
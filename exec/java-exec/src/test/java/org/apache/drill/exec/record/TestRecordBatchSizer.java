@@ -0,0 +1,81 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.record;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.apache.drill.common.config.DrillConfig;
+import org.apache.drill.common.types.TypeProtos.MinorType;
+import org.apache.drill.common.types.Types;
+import org.apache.drill.exec.ExecTest;
+import org.apache.drill.exec.memory.BufferAllocator;
+import org.apache.drill.exec.memory.RootAllocatorFactory;
+import org.apache.drill.exec.record.BatchSchema.SelectionVectorMode;
+import org.apache.drill.exec.vector.IntVector;
+import org.apache.drill.exec.vector.VarCharVector;
+import org.junit.Test;
+
+import com.google.common.base.Charsets;
+
+public class TestRecordBatchSizer extends ExecTest {
+  private final DrillConfig drillConfig = DrillConfig.create();
+
+  @Test
+  public void testColumnWidths() throws Exception {
+    try (final BufferAllocator allocator = RootAllocatorFactory.newRoot(drillConfig)) {
+      final IntVector ints = new IntVector(MaterializedField.create("ints", Types.required(MinorType.INT)), allocator);
+      final VarCharVector chars = new VarCharVector(MaterializedField.create("Chars", Types.required(MinorType.VARCHAR)), allocator);
+      final VectorContainer container = new VectorContainer();
+      container.add(ints);
+      container.add(chars);
+      container.buildSchema(SelectionVectorMode.NONE);
+
+      final int rowCount = 100;
+      ints.allocateNew(rowCount);
+      chars.allocateNew(rowCount * 10, rowCount);
+      final byte[] value = "0123456789".getBytes(Charsets.UTF_8);
+      for (int i = 0; i < rowCount; i++) {
+        ints.getMutator().set(i, i);
+        chars.getMutator().setSafe(i, value);
+      }
+      ints.getMutator().setValueCount(rowCount);
+      chars.getMutator().setValueCount(rowCount);
+      container.setRecordCount(rowCount);
+
+      final RecordBatchSizer sizer = new RecordBatchSizer(container);
+      assertEquals(rowCount, sizer.getRowCount());
+      assertEquals(4, sizer.getColumn("ints").getEstimatedWidth());
+      // ten bytes of data plus a four byte offset per value (and one extra offset, rounded up)
+      assertEquals(15, sizer.getColumn("chars").getEstimatedWidth());
+      assertEquals(19, sizer.getNetRowWidth());
+      assertNull(sizer.getColumn("missing"));
+
+      container.clear();
+    }
+  }
+
+  @Test
+  public void testRowCountForTarget() {
+    assertEquals(100, RecordBatchSizer.getRowCountForTarget(1000, 10, RecordBatchSizer.MAX_ROW_COUNT));
+    assertEquals(1, RecordBatchSizer.getRowCountForTarget(1000, 10000, RecordBatchSizer.MAX_ROW_COUNT));
+    assertEquals(RecordBatchSizer.MAX_ROW_COUNT, RecordBatchSizer.getRowCountForTarget(1L << 40, 1, RecordBatchSizer.MAX_ROW_COUNT));
+    assertEquals(RecordBatchSizer.MAX_ROW_COUNT, RecordBatchSizer.getRowCountForTarget(1000, 0, RecordBatchSizer.MAX_ROW_COUNT));
+    assertEquals(0, RecordBatchSizer.getRowCountForTarget(1000, 10, 0));
+  }
+}
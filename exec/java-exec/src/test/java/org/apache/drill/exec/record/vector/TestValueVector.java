@@ -234,6 +234,76 @@ public class TestValueVector extends ExecTest {
     }
   }
 
+  @Test
+  public void testFixedVectorBulkCopy() {
+    final MaterializedField field = MaterializedField.create(EMPTY_SCHEMA_PATH, UInt4Holder.TYPE);
+
+    try (final UInt4Vector from = new UInt4Vector(field, allocator);
+         final UInt4Vector to = new UInt4Vector(field, allocator);
+         final DrillBuf selection = allocator.buffer(4 * 2)) {
+      from.allocateNew(1024);
+      for (int i = 0; i < 1024; i++) {
+        from.getMutator().set(i, i * 10);
+      }
+      from.getMutator().setValueCount(1024);
+
+      // the target starts out too small and must grow during the copies
+      to.allocateNew(16);
+      to.copyRangeSafe(100, 0, 500, from);
+
+      // one run of adjacent indexes followed by a lone index
+      selection.setChar(0, 7);
+      selection.setChar(2, 8);
+      selection.setChar(4, 9);
+      selection.setChar(6, 3);
+      to.copySelectionSafe(selection, 0, 4, 500, from);
+      to.getMutator().setValueCount(504);
+
+      final UInt4Vector.Accessor accessor = to.getAccessor();
+      for (int i = 0; i < 500; i++) {
+        assertEquals((100 + i) * 10, accessor.get(i));
+      }
+      assertEquals(70, accessor.get(500));
+      assertEquals(80, accessor.get(501));
+      assertEquals(90, accessor.get(502));
+      assertEquals(30, accessor.get(503));
+    }
+  }
+
+  @Test
+  public void testNullableVarCharBulkCopy() {
+    final MaterializedField field = MaterializedField.create(EMPTY_SCHEMA_PATH, NullableVarCharHolder.TYPE);
+
+    try (final NullableVarCharVector from = new NullableVarCharVector(field, allocator);
+         final NullableVarCharVector to = new NullableVarCharVector(field, allocator);
+         final DrillBuf selection = allocator.buffer(3 * 2)) {
+      from.allocateNew(1024, 16);
+      final NullableVarCharVector.Mutator m = from.getMutator();
+      m.set(0, STR1);
+      m.set(1, STR2);
+      // index 2 is null
+      m.set(3, STR3);
+      m.setValueCount(4);
+
+      to.allocateNew(4, 2);
+      to.copyRangeSafe(1, 0, 3, from);
+
+      selection.setChar(0, 3);
+      selection.setChar(2, 2);
+      selection.setChar(4, 0);
+      to.copySelectionSafe(selection, 0, 3, 3, from);
+      to.getMutator().setValueCount(6);
+
+      final NullableVarCharVector.Accessor accessor = to.getAccessor();
+      assertArrayEquals(STR2, accessor.get(0));
+      assertTrue(accessor.isNull(1));
+      assertArrayEquals(STR3, accessor.get(2));
+      assertArrayEquals(STR3, accessor.get(3));
+      assertTrue(accessor.isNull(4));
+      assertArrayEquals(STR1, accessor.get(5));
+    }
+  }
+
   private static DrillBuf combineBuffers(final BufferAllocator allocator, final DrillBuf[] buffers) {
     // find the total size we'll need
     int size = 0;
@@ -0,0 +1,148 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.sql;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.drill.BaseTestQuery;
+import org.apache.drill.exec.planner.common.DrillStatsTable;
+import org.apache.drill.exec.store.dfs.DrillFileSystem;
+import org.apache.hadoop.conf.Configuration;
+import org.junit.Test;
+
+import com.google.common.base.Charsets;
+import com.google.common.io.Files;
+
+public class TestAnalyzeTable extends BaseTestQuery {
+
+  @Test
+  public void analyzeColumns() throws Exception {
+    final String tableName = "analyzeColumns";
+    try {
+      test(String.format("CREATE TABLE %s.%s AS SELECT * FROM cp.`region.json`", TEMP_SCHEMA, tableName));
+      test(String.format("ANALYZE TABLE %s.%s (region_id, sales_country) COMPUTE STATISTICS", TEMP_SCHEMA, tableName));
+
+      final String tableRoot = new File(getDfsTestTmpSchemaLocation(), tableName).getAbsolutePath();
+      final DrillStatsTable stats = DrillStatsTable.read(new DrillFileSystem(new Configuration()), "file://" + tableRoot);
+      assertNotNull(stats);
+      assertEquals(110, stats.getRowCount(), 0);
+      assertEquals(110, stats.getNdv("region_id"), 0);
+      assertEquals(0, ((Number) stats.getColumn("REGION_ID").getMin()).intValue());
+      assertEquals(109, ((Number) stats.getColumn("region_id").getMax()).intValue());
+      assertEquals(0, stats.getNullFraction("region_id"), 0);
+      assertTrue(stats.getNdv("sales_country") > 0);
+      assertNull(stats.getColumn("sales_city"));
+
+      // the statistics directory is not part of the table
+      testBuilder()
+          .sqlQuery(String.format("SELECT COUNT(*) AS cnt FROM %s.%s", TEMP_SCHEMA, tableName))
+          .unOrdered()
+          .baselineColumns("cnt")
+          .baselineValues(110L)
+          .go();
+    } finally {
+      FileUtils.deleteQuietly(new File(getDfsTestTmpSchemaLocation(), tableName));
+    }
+  }
+
+  @Test
+  public void analyzeReplacesStatistics() throws Exception {
+    final String tableName = "analyzeReplaces";
+    final File tableRoot = new File(getDfsTestTmpSchemaLocation(), tableName);
+    try {
+      tableRoot.mkdirs();
+      Files.write("{\"a\": 1, \"b\": \"x\"}\n{\"a\": 2, \"b\": \"y\"}\n", new File(tableRoot, "0.json"),
+          Charsets.UTF_8);
+      test(String.format("ANALYZE TABLE %s.%s (a) COMPUTE STATISTICS", TEMP_SCHEMA, tableName));
+      test(String.format("ANALYZE TABLE %s.%s (b) COMPUTE STATISTICS", TEMP_SCHEMA, tableName));
+
+      final DrillStatsTable stats = readStats(tableRoot);
+      assertNotNull(stats);
+      assertEquals(2, stats.getRowCount(), 0);
+      assertNull(stats.getColumn("a"));
+      assertEquals(2, stats.getNdv("b"), 0);
+      assertNoStagedStatistics(tableRoot);
+    } finally {
+      FileUtils.deleteQuietly(tableRoot);
+    }
+  }
+
+  @Test
+  public void failedAnalyzeKeepsStatistics() throws Exception {
+    final String tableName = "analyzeFails";
+    final File tableRoot = new File(getDfsTestTmpSchemaLocation(), tableName);
+    try {
+      tableRoot.mkdirs();
+      Files.write("{\"a\": 1}\n{\"a\": 2}\n", new File(tableRoot, "0.json"), Charsets.UTF_8);
+      test(String.format("ANALYZE TABLE %s.%s (a) COMPUTE STATISTICS", TEMP_SCHEMA, tableName));
+
+      // a column that changes from a number to a map cannot be read
+      Files.write("{\"a\": {\"b\": 3}}\n", new File(tableRoot, "1.json"), Charsets.UTF_8);
+      try {
+        test(String.format("ANALYZE TABLE %s.%s (a) COMPUTE STATISTICS", TEMP_SCHEMA, tableName));
+        fail("Expected the table to fail to be read");
+      } catch (Exception e) {
+        // expected
+      }
+
+      final DrillStatsTable stats = readStats(tableRoot);
+      assertNotNull(stats);
+      assertEquals(2, stats.getRowCount(), 0);
+      assertEquals(2, stats.getNdv("a"), 0);
+      assertNoStagedStatistics(tableRoot);
+    } finally {
+      FileUtils.deleteQuietly(tableRoot);
+    }
+  }
+
+  @Test
+  public void analyzeWithoutColumns() throws Exception {
+    final String tableName = "analyzeWithoutColumns";
+    try {
+      test(String.format("CREATE TABLE %s.%s AS SELECT * FROM cp.`region.json`", TEMP_SCHEMA, tableName));
+      errorMsgTestHelper(String.format("ANALYZE TABLE %s.%s COMPUTE STATISTICS", TEMP_SCHEMA, tableName),
+          "needs the list of columns");
+    } finally {
+      FileUtils.deleteQuietly(new File(getDfsTestTmpSchemaLocation(), tableName));
+    }
+  }
+
+  @Test
+  public void analyzeUnsupportedTable() throws Exception {
+    errorMsgTestHelper("ANALYZE TABLE cp.`region.json` COMPUTE STATISTICS",
+        "does not support ANALYZE TABLE");
+  }
+
+  private static DrillStatsTable readStats(File tableRoot) throws Exception {
+    return DrillStatsTable.read(new DrillFileSystem(new Configuration()), "file://" + tableRoot.getAbsolutePath());
+  }
+
+  private static void assertNoStagedStatistics(File tableRoot) {
+    for (String name : tableRoot.list()) {
+      assertFalse(name, name.startsWith(DrillStatsTable.STATS_DIRECTORY + "_"));
+    }
+  }
+}
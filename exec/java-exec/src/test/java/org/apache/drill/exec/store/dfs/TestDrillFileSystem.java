@@ -20,7 +20,9 @@ package org.apache.drill.exec.store.dfs;
 import org.apache.drill.exec.ops.OpProfileDef;
 import org.apache.drill.exec.ops.OperatorStats;
 import org.apache.drill.exec.proto.UserBitShared.OperatorProfile;
+import org.apache.commons.io.FileUtils;
 import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.junit.AfterClass;
@@ -30,7 +32,13 @@ import org.junit.Test;
 import java.io.File;
 import java.io.InputStream;
 import java.io.PrintWriter;
+import java.util.List;
 
+import com.google.common.io.Files;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 public class TestDrillFileSystem {
@@ -96,6 +104,96 @@ public class TestDrillFileSystem {
     assertTrue("Expected wait time is non-zero, but got zero wait time", operatorProfile.getWaitNanos() > 0);
   }
 
+  @Test
+  public void testParallelCachedRecursiveList() throws Exception {
+    final File root = Files.createTempDir();
+    try {
+      final long past = System.currentTimeMillis() - 60 * 1000;
+      for (String dir : new String[] {"a/x", "a/y", "b", "c/z/w"}) {
+        final File d = new File(root, dir);
+        assertTrue(d.mkdirs());
+        assertTrue(new File(d, "f.json").createNewFile());
+        assertTrue(new File(d, "_hidden").createNewFile());
+      }
+      setModificationTimes(root, past);
+
+      Configuration conf = new Configuration();
+      conf.set(FileSystem.FS_DEFAULT_NAME_KEY, "file:///");
+      final FileListingCache cache = FileListingCache.create(conf);
+      assertNotNull(cache);
+      try (DrillFileSystem dfs = new DrillFileSystem(conf)) {
+        final Path rootPath = new Path(root.toURI().toString());
+        final List<FileStatus> serial = dfs.list(true, rootPath);
+        assertEquals(4, serial.size());
+        assertEquals(serial, dfs.list(true, 4, cache, 0, rootPath));
+        assertEquals(serial, dfs.list(true, 4, cache, 60 * 1000, rootPath));
+
+        // a new file in a directory with an unchanged modification time is served from the cache...
+        final File b = new File(root, "b");
+        assertTrue(new File(b, "g.json").createNewFile());
+        assertTrue(b.setLastModified(past));
+        assertEquals(4, dfs.list(true, 4, cache, 60 * 1000, rootPath).size());
+        // ...but not once the directory's modification time changes, nor when the cache is bypassed
+        assertEquals(5, dfs.list(true, 4, cache, 0, rootPath).size());
+        assertTrue(b.setLastModified(past + 1000));
+        assertEquals(5, dfs.list(true, 4, cache, 60 * 1000, rootPath).size());
+      }
+    } finally {
+      FileUtils.deleteQuietly(root);
+    }
+  }
+
+  @Test
+  public void testCachedListingOfNestedDirectoryChange() throws Exception {
+    final File root = Files.createTempDir();
+    try {
+      final long past = System.currentTimeMillis() - 60 * 1000;
+      for (String dir : new String[] {"t/2016/01", "t/2016/02"}) {
+        final File d = new File(root, dir);
+        assertTrue(d.mkdirs());
+        assertTrue(new File(d, "f.json").createNewFile());
+      }
+      setModificationTimes(root, past);
+
+      Configuration conf = new Configuration();
+      conf.set(FileSystem.FS_DEFAULT_NAME_KEY, "file:///");
+      final FileListingCache cache = FileListingCache.create(conf);
+      try (DrillFileSystem dfs = new DrillFileSystem(conf)) {
+        final Path rootPath = new Path(new File(root, "t").toURI().toString());
+        assertEquals(2, dfs.list(true, 4, cache, 60 * 1000, rootPath).size());
+
+        // the listing of t/2016 is still cached, but the status of t/2016/01 it holds is out of date
+        final File january = new File(root, "t/2016/01");
+        assertTrue(new File(january, "g.json").createNewFile());
+        assertTrue(january.setLastModified(past + 1000));
+        assertEquals(past, new File(root, "t/2016").lastModified());
+        assertEquals(3, dfs.list(true, 4, cache, 60 * 1000, rootPath).size());
+        assertEquals(3, dfs.list(true, 1, cache, 60 * 1000, rootPath).size());
+      }
+    } finally {
+      FileUtils.deleteQuietly(root);
+    }
+  }
+
+  @Test
+  public void testNoListingCacheForObjectStores() throws Exception {
+    final Configuration conf = new Configuration();
+    conf.set(FileSystem.FS_DEFAULT_NAME_KEY, "s3a://bucket");
+    assertNull(FileListingCache.create(conf));
+    conf.set(FileSystem.FS_DEFAULT_NAME_KEY, "hdfs://localhost:8020");
+    assertNotNull(FileListingCache.create(conf));
+  }
+
+  private static void setModificationTimes(File file, long time) {
+    final File[] children = file.listFiles();
+    if (children != null) {
+      for (File child : children) {
+        setModificationTimes(child, time);
+      }
+    }
+    assertTrue(file.setLastModified(time));
+  }
+
   @AfterClass
   public static void deleteTempFile() throws Exception {
     new File(tempFilePath).delete();
@@ -0,0 +1,98 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.store.ischema;
+
+import static org.apache.drill.exec.store.ischema.InfoSchemaConstants.SCHS_COL_SCHEMA_NAME;
+import static org.apache.drill.exec.store.ischema.InfoSchemaConstants.SHRD_COL_TABLE_NAME;
+import static org.junit.Assert.assertEquals;
+
+import org.apache.drill.exec.ExecTest;
+import org.apache.drill.exec.store.ischema.InfoSchemaFilter.ConstantExprNode;
+import org.apache.drill.exec.store.ischema.InfoSchemaFilter.ExprNode;
+import org.apache.drill.exec.store.ischema.InfoSchemaFilter.FieldExprNode;
+import org.apache.drill.exec.store.ischema.InfoSchemaFilter.FunctionExprNode;
+import org.apache.drill.exec.store.ischema.InfoSchemaFilter.Result;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+
+public class TestInfoSchemaFilter extends ExecTest {
+
+  private static InfoSchemaFilter filter(String function, String field, String... values) {
+    final ImmutableList.Builder<ExprNode> args = ImmutableList.builder();
+    args.add(new FieldExprNode(field));
+    for (String value : values) {
+      args.add(new ConstantExprNode(value));
+    }
+    return new InfoSchemaFilter(new FunctionExprNode(function, args.build()));
+  }
+
+  private static Result evaluateSchemaTree(InfoSchemaFilter filter, String schemaPath) {
+    return filter.evaluate(ImmutableMap.of(SCHS_COL_SCHEMA_NAME, schemaPath), ImmutableSet.of(SCHS_COL_SCHEMA_NAME));
+  }
+
+  @Test
+  public void testEqualOnSchemaTree() {
+    final InfoSchemaFilter filter = filter("equal", SCHS_COL_SCHEMA_NAME, "dfs.tmp");
+    assertEquals(Result.INCONCLUSIVE, evaluateSchemaTree(filter, "dfs"));
+    assertEquals(Result.INCONCLUSIVE, evaluateSchemaTree(filter, "dfs.tmp"));
+    assertEquals(Result.FALSE, evaluateSchemaTree(filter, "dfs.root"));
+    assertEquals(Result.FALSE, evaluateSchemaTree(filter, "df"));
+    assertEquals(Result.FALSE, evaluateSchemaTree(filter, "hive"));
+  }
+
+  @Test
+  public void testLikeOnSchemaTree() {
+    final InfoSchemaFilter filter = filter("like", SCHS_COL_SCHEMA_NAME, "dfs.t%");
+    assertEquals(Result.INCONCLUSIVE, evaluateSchemaTree(filter, "dfs"));
+    assertEquals(Result.INCONCLUSIVE, evaluateSchemaTree(filter, "dfs.tmp"));
+    assertEquals(Result.FALSE, evaluateSchemaTree(filter, "dfs.root"));
+    assertEquals(Result.FALSE, evaluateSchemaTree(filter, "dfsx"));
+    assertEquals(Result.FALSE, evaluateSchemaTree(filter, "hive"));
+
+    final InfoSchemaFilter anyFilter = filter("like", SCHS_COL_SCHEMA_NAME, "%tmp");
+    assertEquals(Result.INCONCLUSIVE, evaluateSchemaTree(anyFilter, "hive"));
+  }
+
+  @Test
+  public void testLikeWithEscapeOnSchemaTree() {
+    final InfoSchemaFilter filter = filter("like", SCHS_COL_SCHEMA_NAME, "my\\_schema%", "\\");
+    assertEquals(Result.INCONCLUSIVE, evaluateSchemaTree(filter, "my_schema"));
+    assertEquals(Result.FALSE, evaluateSchemaTree(filter, "myxschema"));
+  }
+
+  @Test
+  public void testInAndNotEqualOnSchemaTree() {
+    final InfoSchemaFilter in = filter("in", SCHS_COL_SCHEMA_NAME, "hive.default", "sys");
+    assertEquals(Result.INCONCLUSIVE, evaluateSchemaTree(in, "hive"));
+    assertEquals(Result.INCONCLUSIVE, evaluateSchemaTree(in, "sys"));
+    assertEquals(Result.FALSE, evaluateSchemaTree(in, "dfs"));
+
+    final InfoSchemaFilter notEqual = filter("not_equal", SCHS_COL_SCHEMA_NAME, "dfs");
+    assertEquals(Result.INCONCLUSIVE, evaluateSchemaTree(notEqual, "dfs"));
+  }
+
+  @Test
+  public void testTableNameOnSchemaTree() {
+    // table names are not known yet when visiting schemas
+    final InfoSchemaFilter filter = filter("equal", SHRD_COL_TABLE_NAME, "t1");
+    assertEquals(Result.INCONCLUSIVE, evaluateSchemaTree(filter, "dfs"));
+  }
+}
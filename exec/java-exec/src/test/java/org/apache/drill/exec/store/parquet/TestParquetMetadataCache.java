@@ -20,7 +20,11 @@ package org.apache.drill.exec.store.parquet;
 import com.google.common.base.Joiner;
 import org.apache.drill.PlanTestBase;
 import org.apache.drill.common.util.TestTools;
+import org.apache.drill.exec.planner.physical.PlannerSettings;
+import org.apache.drill.exec.store.dfs.MetadataContext;
 import org.apache.commons.io.FileUtils;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.junit.Assert;
 import org.junit.BeforeClass;
@@ -398,6 +402,50 @@ public class TestParquetMetadataCache extends PlanTestBase {
 
   }
 
+  @Test
+  public void testDirectorySummaryIndex() throws Exception {
+    test(String.format("refresh table metadata dfs_test.`%s/%s`", getDfsTestTmpSchemaLocation(), tableName1));
+    checkForMetadataFile(tableName1);
+
+    String dirsFile = Joiner.on("/").join(getDfsTestTmpSchemaLocation(), tableName1, Metadata.METADATA_DIRECTORIES_FILENAME);
+    FileSystem fs = FileSystem.getLocal(new Configuration());
+    Metadata.ParquetTableMetadataDirs dirs =
+        Metadata.readMetadataDirs(fs, dirsFile, new MetadataContext(), new ParquetFormatConfig());
+
+    // 3 year directories holding only quarter directories, 12 quarter directories holding one file each
+    assertEquals(15, dirs.getDirectories().size());
+    assertEquals(12, dirs.getPartitionDirectories().size());
+    for (String dir : dirs.getPartitionDirectories()) {
+      assertEquals(1, dirs.getFileCounts().get(dir).intValue());
+    }
+  }
+
+  @Test
+  public void testHierarchicalDirPruning() throws Exception {
+    test(String.format("refresh table metadata dfs_test.`%s/%s`", getDfsTestTmpSchemaLocation(), tableName1));
+    checkForMetadataFile(tableName1);
+    String query = String.format("select dir0, dir1, o_custkey, o_orderdate from dfs_test.`%s/%s` " +
+            " where dir0 in (1994, 1995) and dir1 = 'Q1'",
+        getDfsTestTmpSchemaLocation(), tableName1);
+    String numFilesPattern = "numFiles=2";
+    String usedMetaPattern = "usedMetadataFile=true";
+    String quarterQuery = String.format("select dir0, dir1, o_custkey from dfs_test.`%s/%s` where dir1 = 'Q2'",
+        getDfsTestTmpSchemaLocation(), tableName1);
+
+    try {
+      for (String enabled : new String[] {"true", "false"}) {
+        test(String.format("alter session set `%s` = %s", PlannerSettings.HIERARCHICAL_DIR_PRUNING_KEY, enabled));
+        assertEquals(20, testSql(query));
+        PlanTestBase.testPlanMatchingPatterns(query, new String[]{numFilesPattern, usedMetaPattern}, new String[] {});
+        // no condition on the first level, so every year directory is walked into
+        assertEquals(30, testSql(quarterQuery));
+        PlanTestBase.testPlanMatchingPatterns(quarterQuery, new String[]{"numFiles=3"}, new String[] {});
+      }
+    } finally {
+      test(String.format("alter session set `%s` = true", PlannerSettings.HIERARCHICAL_DIR_PRUNING_KEY));
+    }
+  }
+
   private void checkForMetadataFile(String table) throws Exception {
     String tmpDir = getDfsTestTmpSchemaLocation();
     String metaFile = Joiner.on("/").join(tmpDir, table, Metadata.METADATA_FILENAME);
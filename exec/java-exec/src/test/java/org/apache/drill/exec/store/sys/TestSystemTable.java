@@ -66,4 +66,14 @@ public class TestSystemTable extends BaseTestQuery {
   public void memoryTable() throws Exception {
     test("select * from sys.memory");
   }
+
+  @Test
+  public void querySharesTable() throws Exception {
+    try {
+      test("alter session set `%s` = true", ExecConstants.FRAGMENT_SCHEDULER_ENABLE_KEY);
+      test("select * from sys.query_shares");
+    } finally {
+      test("alter session set `%s` = false", ExecConstants.FRAGMENT_SCHEDULER_ENABLE_KEY);
+    }
+  }
 }
@@ -0,0 +1,113 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.work.fragment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.drill.BaseTestQuery;
+import org.apache.drill.exec.ExecConstants;
+import org.apache.drill.exec.physical.impl.unorderedreceiver.UnorderedReceiverBatch;
+import org.apache.drill.exec.proto.UserBitShared.CoreOperatorType;
+import org.apache.drill.exec.proto.UserBitShared.MajorFragmentProfile;
+import org.apache.drill.exec.proto.UserBitShared.MetricValue;
+import org.apache.drill.exec.proto.UserBitShared.MinorFragmentProfile;
+import org.apache.drill.exec.proto.UserBitShared.OperatorProfile;
+import org.apache.drill.exec.proto.UserBitShared.QueryProfile;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Runs queries with many exchanges while fragments give up their threads when they are blocked, and checks they
+ * return the same results as when fragments keep their threads.
+ */
+public class TestCooperativeScheduling extends BaseTestQuery {
+
+  @BeforeClass
+  public static void setupSliceTarget() throws Exception {
+    test("alter session set `planner.slice_target` = 1");
+  }
+
+  @AfterClass
+  public static void resetSliceTarget() throws Exception {
+    test("alter session set `planner.slice_target` = 100000");
+    test("alter session set `%s` = false", ExecConstants.FRAGMENT_COOPERATIVE_SCHEDULING_KEY);
+  }
+
+  private void testQuery(final String query) throws Exception {
+    testBuilder()
+        .sqlQuery(query)
+        .optionSettingQueriesForTestQuery("alter session set `%s` = true",
+            ExecConstants.FRAGMENT_COOPERATIVE_SCHEDULING_KEY)
+        .unOrdered()
+        .sqlBaselineQuery(query)
+        .optionSettingQueriesForBaseline("alter session set `%s` = false",
+            ExecConstants.FRAGMENT_COOPERATIVE_SCHEDULING_KEY)
+        .go();
+  }
+
+  @Test
+  public void testAggregateOverJoin() throws Exception {
+    testQuery("select o.o_orderpriority, count(*) as cnt, sum(l.l_quantity) as qty "
+        + "from cp.`tpch/lineitem.parquet` l, cp.`tpch/orders.parquet` o "
+        + "where l.l_orderkey = o.o_orderkey group by o.o_orderpriority");
+  }
+
+  @Test
+  public void testOrderedLimit() throws Exception {
+    testQuery("select l_orderkey, l_linenumber from cp.`tpch/lineitem.parquet` order by l_orderkey, l_linenumber limit 100");
+  }
+
+  @Test
+  public void testReceiverYieldsAndResumes() throws Exception {
+    // the aggregates send their schema first, then nothing until they have read all their input: the receiver of
+    // the root fragment finds its buffer empty meanwhile
+    final String query = "select l_suppkey, count(*) as cnt from cp.`tpch/lineitem.parquet` group by l_suppkey";
+    test("alter session set `%s` = true", ExecConstants.FRAGMENT_COOPERATIVE_SCHEDULING_KEY);
+    try {
+      final long yields = getReceiverYields(getQueryProfile(query));
+      assertTrue("Expected the receiver to return NOT_YET while waiting for the aggregates, got " + yields,
+          yields > 0);
+      // the fragment was resumed each time and the query completed with all its rows
+      testQuery(query);
+    } finally {
+      test("alter session set `%s` = false", ExecConstants.FRAGMENT_COOPERATIVE_SCHEDULING_KEY);
+    }
+    assertEquals(0, getReceiverYields(getQueryProfile(query)));
+  }
+
+  private static long getReceiverYields(final QueryProfile profile) {
+    long yields = 0;
+    for (final MajorFragmentProfile major : profile.getFragmentProfileList()) {
+      for (final MinorFragmentProfile minor : major.getMinorFragmentProfileList()) {
+        for (final OperatorProfile operator : minor.getOperatorProfileList()) {
+          if (operator.getOperatorType() != CoreOperatorType.UNORDERED_RECEIVER_VALUE) {
+            continue;
+          }
+          for (final MetricValue metric : operator.getMetricList()) {
+            if (metric.getMetricId() == UnorderedReceiverBatch.Metric.NUM_YIELDS.metricId()) {
+              yields += metric.getLongValue();
+            }
+          }
+        }
+      }
+    }
+    return yields;
+  }
+}
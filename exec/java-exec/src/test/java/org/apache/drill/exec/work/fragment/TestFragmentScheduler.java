@@ -0,0 +1,125 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.work.fragment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.drill.exec.ExecTest;
+import org.apache.drill.exec.proto.UserBitShared.QueryId;
+import org.apache.drill.exec.work.fragment.FragmentScheduler.QueryState;
+import org.apache.drill.exec.work.fragment.FragmentScheduler.Ticket;
+import org.junit.Test;
+
+public class TestFragmentScheduler extends ExecTest {
+
+  private static final QueryId QUERY_A = QueryId.newBuilder().setPart1(1).setPart2(1).build();
+  private static final QueryId QUERY_B = QueryId.newBuilder().setPart1(1).setPart2(2).build();
+  private static final QueryId QUERY_C = QueryId.newBuilder().setPart1(1).setPart2(3).build();
+
+  private static QueryState getState(FragmentScheduler scheduler, QueryId queryId) {
+    for (QueryState state : scheduler.getQueryStates()) {
+      if (state.queryId.equals(queryId)) {
+        return state;
+      }
+    }
+    return null;
+  }
+
+  private static Thread acquireInThread(final Ticket ticket) {
+    final Thread thread = new Thread() {
+      @Override
+      public void run() {
+        ticket.acquire();
+      }
+    };
+    thread.start();
+    return thread;
+  }
+
+  private static void awaitWaiting(FragmentScheduler scheduler, QueryId queryId) throws InterruptedException {
+    while (getState(scheduler, queryId).waitingFragments == 0) {
+      Thread.sleep(1);
+    }
+  }
+
+  @Test
+  public void testLeastServedQueryRunsFirst() throws Exception {
+    final FragmentScheduler scheduler = new FragmentScheduler(1, 100);
+
+    final Ticket a = scheduler.register(QUERY_A, "user", 1);
+    a.acquire();
+    final Ticket b = scheduler.register(QUERY_B, "user", 1);
+    Thread.sleep(10);
+    a.release();
+    assertTrue(getState(scheduler, QUERY_A).slotNanos > 0);
+
+    // hold the only slot while both queries wait for it
+    final Ticket c = scheduler.register(QUERY_C, "user", 1);
+    c.acquire();
+    final Thread waitingA = acquireInThread(a);
+    awaitWaiting(scheduler, QUERY_A);
+    final Thread waitingB = acquireInThread(b);
+    awaitWaiting(scheduler, QUERY_B);
+
+    // B used less slot time than A, so it gets the slot first although it waited for less time
+    c.release();
+    waitingB.join();
+    assertEquals(1, getState(scheduler, QUERY_B).runningFragments);
+    assertEquals(1, getState(scheduler, QUERY_A).waitingFragments);
+
+    b.release();
+    waitingA.join();
+    assertEquals(1, getState(scheduler, QUERY_A).runningFragments);
+
+    a.close();
+    b.close();
+    c.close();
+    assertTrue(scheduler.getQueryStates().isEmpty());
+  }
+
+  @Test
+  public void testPoolsShareBeforeQueries() throws Exception {
+    final FragmentScheduler scheduler = new FragmentScheduler(1, 100);
+
+    // alice runs two queries, bob one: bob's query gets as much as both of alice's
+    final Ticket a = scheduler.register(QUERY_A, "alice", 1);
+    final Ticket b = scheduler.register(QUERY_B, "alice", 1);
+    final Ticket c = scheduler.register(QUERY_C, "bob", 1);
+
+    a.acquire();
+    Thread.sleep(10);
+    a.release();
+
+    b.acquire();
+    final Thread waitingA = acquireInThread(a);
+    awaitWaiting(scheduler, QUERY_A);
+    final Thread waitingC = acquireInThread(c);
+    awaitWaiting(scheduler, QUERY_C);
+
+    b.release();
+    waitingC.join();
+    assertEquals(1, getState(scheduler, QUERY_C).runningFragments);
+
+    c.close();
+    waitingA.join();
+    a.close();
+    b.close();
+    assertTrue(scheduler.getQueryStates().isEmpty());
+  }
+}
@@ -152,7 +152,7 @@ public class TestMetadataProvider extends BaseTestQuery {
 
     assertEquals(RequestStatus.OK, resp.getStatus());
     List<TableMetadata> tables = resp.getTablesList();
-    assertEquals(11, tables.size());
+    assertEquals(12, tables.size());
 
     verifyTable("INFORMATION_SCHEMA", "CATALOGS", tables);
     verifyTable("INFORMATION_SCHEMA", "COLUMNS", tables);
@@ -163,6 +163,7 @@ public class TestMetadataProvider extends BaseTestQuery {
     verifyTable("sys", "drillbits", tables);
     verifyTable("sys", "memory", tables);
     verifyTable("sys", "options", tables);
+    verifyTable("sys", "query_shares", tables);
     verifyTable("sys", "threads", tables);
     verifyTable("sys", "version", tables);
   }
@@ -186,7 +187,7 @@ public class TestMetadataProvider extends BaseTestQuery {
 
     assertEquals(RequestStatus.OK, resp.getStatus());
     List<TableMetadata> tables = resp.getTablesList();
-    assertEquals(11, tables.size());
+    assertEquals(12, tables.size());
 
     verifyTable("INFORMATION_SCHEMA", "CATALOGS", tables);
     verifyTable("INFORMATION_SCHEMA", "COLUMNS", tables);
@@ -197,6 +198,7 @@ public class TestMetadataProvider extends BaseTestQuery {
     verifyTable("sys", "drillbits", tables);
     verifyTable("sys", "memory", tables);
     verifyTable("sys", "options", tables);
+    verifyTable("sys", "query_shares", tables);
     verifyTable("sys", "threads", tables);
     verifyTable("sys", "version", tables);
   }
@@ -242,7 +244,7 @@ public class TestMetadataProvider extends BaseTestQuery {
 
     assertEquals(RequestStatus.OK, resp.getStatus());
     List<ColumnMetadata> columns = resp.getColumnsList();
-    assertEquals(71, columns.size());
+    assertEquals(80, columns.size());
     // too many records to verify the output.
   }
 
@@ -255,12 +257,13 @@ public class TestMetadataProvider extends BaseTestQuery {
 
     assertEquals(RequestStatus.OK, resp.getStatus());
     List<ColumnMetadata> columns = resp.getColumnsList();
-    assertEquals(5, columns.size());
+    assertEquals(6, columns.size());
 
     verifyColumn("sys", "drillbits", "user_port", columns);
     verifyColumn("sys", "drillbits", "control_port", columns);
     verifyColumn("sys", "drillbits", "data_port", columns);
     verifyColumn("sys", "memory", "user_port", columns);
+    verifyColumn("sys", "query_shares", "user_port", columns);
     verifyColumn("sys", "threads", "user_port", columns);
   }
 
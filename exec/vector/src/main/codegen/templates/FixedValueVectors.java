@@ -40,7 +40,7 @@ package org.apache.drill.exec.vector;
  *
  * NB: this class is automatically generated from ${.template_name} and ValueVectorTypes.tdd using FreeMarker.
  */
-public final class ${minor.class}Vector extends BaseDataValueVector implements FixedWidthVector{
+public final class ${minor.class}Vector extends BaseDataValueVector implements FixedWidthVector, BulkCopyableVector{
   private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(${minor.class}Vector.class);
 
   private final FieldReader reader = new ${minor.class}ReaderImpl(${minor.class}Vector.this);
@@ -276,6 +276,41 @@ public final class ${minor.class}Vector extends BaseDataValueVector implements F
     copyFrom(fromIndex, thisIndex, from);
   }
 
+  @Override
+  public void copyRangeSafe(int fromIndex, int thisIndex, int count, ValueVector from){
+    final ${minor.class}Vector source = (${minor.class}Vector) from;
+    while(thisIndex + count > getValueCapacity()) {
+      reAlloc();
+    }
+    source.data.getBytes(fromIndex * ${type.width}, data, thisIndex * ${type.width}, count * ${type.width});
+  }
+
+  @Override
+  public void copySelectionSafe(DrillBuf selection, int selectionIndex, int count, int thisIndex, ValueVector from){
+    final ${minor.class}Vector source = (${minor.class}Vector) from;
+    while(thisIndex + count > getValueCapacity()) {
+      reAlloc();
+    }
+    // selected values are often adjacent (e.g. behind a selective filter), so move each run of
+    // consecutive indexes with a single copy
+    final int end = selectionIndex + count;
+    int i = selectionIndex;
+    while (i < end) {
+      final int runStart = selection.getChar(i * 2);
+      int runLength = 1;
+      while (i + runLength < end && selection.getChar((i + runLength) * 2) == runStart + runLength) {
+        runLength++;
+      }
+      if (runLength == 1) {
+        copyFrom(runStart, thisIndex, source);
+      } else {
+        source.data.getBytes(runStart * ${type.width}, data, thisIndex * ${type.width}, runLength * ${type.width});
+      }
+      thisIndex += runLength;
+      i += runLength;
+    }
+  }
+
   public void decrementAllocationMonitor() {
     if (allocationMonitor > 0) {
       allocationMonitor = 0;
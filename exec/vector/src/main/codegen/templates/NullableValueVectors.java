@@ -45,7 +45,7 @@ package org.apache.drill.exec.vector;
  * NB: this class is automatically generated from ${.template_name} and ValueVectorTypes.tdd using FreeMarker.
  */
 @SuppressWarnings("unused")
-public final class ${className} extends BaseDataValueVector implements <#if type.major == "VarLen">VariableWidth<#else>FixedWidth</#if>Vector, NullableVector{
+public final class ${className} extends BaseDataValueVector implements <#if type.major == "VarLen">VariableWidth<#else>FixedWidth</#if>Vector, NullableVector, BulkCopyableVector{
   private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(${className}.class);
 
   private final FieldReader reader = new Nullable${minor.class}ReaderImpl(Nullable${minor.class}Vector.this);
@@ -350,6 +350,32 @@ public final class ${className} extends BaseDataValueVector implements <#if type
     values.copyFromSafe(fromIndex, thisIndex, from.values);
   }
 
+  @Override
+  public void copyRangeSafe(int fromIndex, int thisIndex, int count, ValueVector from){
+    final ${className} source = (${className}) from;
+    <#if type.major == "VarLen">
+    mutator.fillEmpties(thisIndex);
+    </#if>
+    bits.copyRangeSafe(fromIndex, thisIndex, count, source.bits);
+    values.copyRangeSafe(fromIndex, thisIndex, count, source.values);
+    <#if type.major == "VarLen">
+    mutator.lastSet = thisIndex + count - 1;
+    </#if>
+  }
+
+  @Override
+  public void copySelectionSafe(DrillBuf selection, int selectionIndex, int count, int thisIndex, ValueVector from){
+    final ${className} source = (${className}) from;
+    <#if type.major == "VarLen">
+    mutator.fillEmpties(thisIndex);
+    </#if>
+    bits.copySelectionSafe(selection, selectionIndex, count, thisIndex, source.bits);
+    values.copySelectionSafe(selection, selectionIndex, count, thisIndex, source.values);
+    <#if type.major == "VarLen">
+    mutator.lastSet = thisIndex + count - 1;
+    </#if>
+  }
+
   public final class Accessor extends BaseDataValueVector.BaseAccessor <#if type.major = "VarLen">implements VariableWidthVector.VariableWidthAccessor</#if> {
     final UInt1Vector.Accessor bAccessor = bits.getAccessor();
     final ${valuesName}.Accessor vAccessor = values.getAccessor();
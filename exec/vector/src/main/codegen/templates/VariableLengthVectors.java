@@ -48,7 +48,7 @@ package org.apache.drill.exec.vector;
  *
  * NB: this class is automatically generated from ${.template_name} and ValueVectorTypes.tdd using FreeMarker.
  */
-public final class ${minor.class}Vector extends BaseDataValueVector implements VariableWidthVector{
+public final class ${minor.class}Vector extends BaseDataValueVector implements VariableWidthVector, BulkCopyableVector{
   private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(${minor.class}Vector.class);
 
   private static final int DEFAULT_RECORD_BYTE_COUNT = 8;
@@ -238,6 +238,59 @@ public final class ${minor.class}Vector extends BaseDataValueVector implements V
     return true;
   }
 
+  @Override
+  public void copyRangeSafe(int fromIndex, int thisIndex, int count, ValueVector from){
+    final ${minor.class}Vector source = (${minor.class}Vector) from;
+    final UInt${type.width}Vector.Accessor fromOffsetVectorAccessor = source.offsetVector.getAccessor();
+    final int start = fromOffsetVectorAccessor.get(fromIndex);
+    final int len = fromOffsetVectorAccessor.get(fromIndex + count) - start;
+    final int outputStart = offsetVector.data.get${(minor.javaType!type.javaType)?cap_first}(thisIndex * ${type.width});
+
+    while(data.capacity() < outputStart + len) {
+      reAlloc();
+    }
+    while(thisIndex + count >= offsetVector.getValueCapacity()) {
+      offsetVector.reAlloc();
+    }
+
+    // the values of a range are contiguous in the source, so copy them at once and shift their offsets
+    source.data.getBytes(start, data, outputStart, len);
+    final int delta = outputStart - start;
+    for (int i = 1; i <= count; i++) {
+      offsetVector.data.set${(minor.javaType!type.javaType)?cap_first}((thisIndex + i) * ${type.width}, fromOffsetVectorAccessor.get(fromIndex + i) + delta);
+    }
+  }
+
+  @Override
+  public void copySelectionSafe(DrillBuf selection, int selectionIndex, int count, int thisIndex, ValueVector from){
+    final ${minor.class}Vector source = (${minor.class}Vector) from;
+    final UInt${type.width}Vector.Accessor fromOffsetVectorAccessor = source.offsetVector.getAccessor();
+    final int end = selectionIndex + count;
+
+    // size the whole selection up front so the copy loop needs no capacity checks
+    int len = 0;
+    for (int i = selectionIndex; i < end; i++) {
+      final int fromIndex = selection.getChar(i * 2);
+      len += fromOffsetVectorAccessor.get(fromIndex + 1) - fromOffsetVectorAccessor.get(fromIndex);
+    }
+    int outputStart = offsetVector.data.get${(minor.javaType!type.javaType)?cap_first}(thisIndex * ${type.width});
+    while(data.capacity() < outputStart + len) {
+      reAlloc();
+    }
+    while(thisIndex + count >= offsetVector.getValueCapacity()) {
+      offsetVector.reAlloc();
+    }
+
+    for (int i = selectionIndex; i < end; i++) {
+      final int fromIndex = selection.getChar(i * 2);
+      final int start = fromOffsetVectorAccessor.get(fromIndex);
+      final int valueLength = fromOffsetVectorAccessor.get(fromIndex + 1) - start;
+      source.data.getBytes(start, data, outputStart, valueLength);
+      outputStart += valueLength;
+      offsetVector.data.set${(minor.javaType!type.javaType)?cap_first}((++thisIndex) * ${type.width}, outputStart);
+    }
+  }
+
   private class TransferImpl implements TransferPair{
     ${minor.class}Vector to;
 
@@ -0,0 +1,50 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.vector;
+
+import io.netty.buffer.DrillBuf;
+
+/**
+ * A vector that can copy many values from another vector of the same type in one call. Unlike a
+ * loop over {@code copyFromSafe()}, the bulk methods check (and if needed grow) the capacity of
+ * this vector once for the whole range, and fixed-width vectors move contiguous values with a
+ * single memory copy.
+ * <p>
+ * As with {@code copyFromSafe()}, values must be written in increasing order of {@code thisIndex},
+ * and the caller sets the value count of this vector once it is done copying.
+ */
+public interface BulkCopyableVector extends ValueVector {
+
+  /**
+   * Copy {@code count} consecutive values starting at {@code fromIndex} of {@code from} into this
+   * vector, starting at {@code thisIndex}.
+   *
+   * @param from vector of the same class as this vector
+   */
+  void copyRangeSafe(int fromIndex, int thisIndex, int count, ValueVector from);
+
+  /**
+   * Copy the values of {@code from} selected by {@code count} two-byte entries of a selection
+   * vector into this vector, starting at {@code thisIndex}.
+   *
+   * @param selection buffer of unsigned two-byte indexes into {@code from}, as held by a selection vector
+   * @param selectionIndex first entry of {@code selection} to copy
+   * @param from vector of the same class as this vector
+   */
+  void copySelectionSafe(DrillBuf selection, int selectionIndex, int count, int thisIndex, ValueVector from);
+}
@@ -1790,6 +1790,8 @@ public final class SchemaUserBitShared
                     output.writeString(16, message.getErrorNode(), false);
                 if(message.hasOptionsJson())
                     output.writeString(17, message.getOptionsJson(), false);
+                if(message.hasPlanningJson())
+                    output.writeString(18, message.getPlanningJson(), false);
             }
             public boolean isInitialized(org.apache.drill.exec.proto.UserBitShared.QueryProfile message)
             {
@@ -1883,6 +1885,9 @@ public final class SchemaUserBitShared
                         case 17:
                             builder.setOptionsJson(input.readString());
                             break;
+                        case 18:
+                            builder.setPlanningJson(input.readString());
+                            break;
                         default:
                             input.handleUnknownField(number, this);
                     }
@@ -1940,6 +1945,7 @@ public final class SchemaUserBitShared
                 case 15: return "errorId";
                 case 16: return "errorNode";
                 case 17: return "optionsJson";
+                case 18: return "planningJson";
                 default: return null;
             }
         }
@@ -1968,6 +1974,7 @@ public final class SchemaUserBitShared
             fieldMap.put("errorId", 15);
             fieldMap.put("errorNode", 16);
             fieldMap.put("optionsJson", 17);
+            fieldMap.put("planningJson", 18);
         }
     }
 
@@ -2127,6 +2134,8 @@ public final class SchemaUserBitShared
                     output.writeInt64(10, message.getLastUpdate(), false);
                 if(message.hasLastProgress())
                     output.writeInt64(11, message.getLastProgress(), false);
+                if(message.hasCompileNanos())
+                    output.writeInt64(12, message.getCompileNanos(), false);
             }
             public boolean isInitialized(org.apache.drill.exec.proto.UserBitShared.MinorFragmentProfile message)
             {
@@ -2202,6 +2211,9 @@ public final class SchemaUserBitShared
                         case 11:
                             builder.setLastProgress(input.readInt64());
                             break;
+                        case 12:
+                            builder.setCompileNanos(input.readInt64());
+                            break;
                         default:
                             input.handleUnknownField(number, this);
                     }
@@ -2253,6 +2265,7 @@ public final class SchemaUserBitShared
                 case 9: return "endpoint";
                 case 10: return "lastUpdate";
                 case 11: return "lastProgress";
+                case 12: return "compileNanos";
                 default: return null;
             }
         }
@@ -2275,6 +2288,7 @@ public final class SchemaUserBitShared
             fieldMap.put("endpoint", 9);
             fieldMap.put("lastUpdate", 10);
             fieldMap.put("lastProgress", 11);
+            fieldMap.put("compileNanos", 12);
         }
     }
 
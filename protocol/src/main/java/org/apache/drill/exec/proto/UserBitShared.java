@@ -513,6 +513,14 @@ public final class UserBitShared {
      * <code>AVRO_SUB_SCAN = 36;</code>
      */
     AVRO_SUB_SCAN(36, 36),
+    /**
+     * <code>SHARED_SPOOL = 37;</code>
+     */
+    SHARED_SPOOL(37, 37),
+    /**
+     * <code>SHARED_SPOOL_READER = 38;</code>
+     */
+    SHARED_SPOOL_READER(38, 38),
     ;
 
     /**
@@ -663,6 +671,14 @@ public final class UserBitShared {
      * <code>AVRO_SUB_SCAN = 36;</code>
      */
     public static final int AVRO_SUB_SCAN_VALUE = 36;
+    /**
+     * <code>SHARED_SPOOL = 37;</code>
+     */
+    public static final int SHARED_SPOOL_VALUE = 37;
+    /**
+     * <code>SHARED_SPOOL_READER = 38;</code>
+     */
+    public static final int SHARED_SPOOL_READER_VALUE = 38;
 
 
     public final int getNumber() { return value; }
@@ -706,6 +722,8 @@ public final class UserBitShared {
         case 34: return WINDOW;
         case 35: return NESTED_LOOP_JOIN;
         case 36: return AVRO_SUB_SCAN;
+        case 37: return SHARED_SPOOL;
+        case 38: return SHARED_SPOOL_READER;
         default: return null;
       }
     }
@@ -13314,6 +13332,21 @@ public final class UserBitShared {
      */
     com.google.protobuf.ByteString
         getOptionsJsonBytes();
+
+    // optional string planning_json = 18;
+    /**
+     * <code>optional string planning_json = 18;</code>
+     */
+    boolean hasPlanningJson();
+    /**
+     * <code>optional string planning_json = 18;</code>
+     */
+    java.lang.String getPlanningJson();
+    /**
+     * <code>optional string planning_json = 18;</code>
+     */
+    com.google.protobuf.ByteString
+        getPlanningJsonBytes();
   }
   /**
    * Protobuf type {@code exec.shared.QueryProfile}
@@ -13482,6 +13515,11 @@ public final class UserBitShared {
               optionsJson_ = input.readBytes();
               break;
             }
+            case 146: {
+              bitField0_ |= 0x00010000;
+              planningJson_ = input.readBytes();
+              break;
+            }
           }
         }
       } catch (com.google.protobuf.InvalidProtocolBufferException e) {
@@ -14045,6 +14083,49 @@ public final class UserBitShared {
       }
     }
 
+    // optional string planning_json = 18;
+    public static final int PLANNING_JSON_FIELD_NUMBER = 18;
+    private java.lang.Object planningJson_;
+    /**
+     * <code>optional string planning_json = 18;</code>
+     */
+    public boolean hasPlanningJson() {
+      return ((bitField0_ & 0x00010000) == 0x00010000);
+    }
+    /**
+     * <code>optional string planning_json = 18;</code>
+     */
+    public java.lang.String getPlanningJson() {
+      java.lang.Object ref = planningJson_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        if (bs.isValidUtf8()) {
+          planningJson_ = s;
+        }
+        return s;
+      }
+    }
+    /**
+     * <code>optional string planning_json = 18;</code>
+     */
+    public com.google.protobuf.ByteString
+        getPlanningJsonBytes() {
+      java.lang.Object ref = planningJson_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        planningJson_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
     private void initFields() {
       id_ = org.apache.drill.exec.proto.UserBitShared.QueryId.getDefaultInstance();
       type_ = org.apache.drill.exec.proto.UserBitShared.QueryType.SQL;
@@ -14063,6 +14144,7 @@ public final class UserBitShared {
       errorId_ = "";
       errorNode_ = "";
       optionsJson_ = "";
+      planningJson_ = "";
     }
     private byte memoizedIsInitialized = -1;
     public final boolean isInitialized() {
@@ -14127,6 +14209,9 @@ public final class UserBitShared {
       if (((bitField0_ & 0x00008000) == 0x00008000)) {
         output.writeBytes(17, getOptionsJsonBytes());
       }
+      if (((bitField0_ & 0x00010000) == 0x00010000)) {
+        output.writeBytes(18, getPlanningJsonBytes());
+      }
       getUnknownFields().writeTo(output);
     }
 
@@ -14204,6 +14289,10 @@ public final class UserBitShared {
         size += com.google.protobuf.CodedOutputStream
           .computeBytesSize(17, getOptionsJsonBytes());
       }
+      if (((bitField0_ & 0x00010000) == 0x00010000)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBytesSize(18, getPlanningJsonBytes());
+      }
       size += getUnknownFields().getSerializedSize();
       memoizedSerializedSize = size;
       return size;
@@ -14369,6 +14458,8 @@ public final class UserBitShared {
         bitField0_ = (bitField0_ & ~0x00008000);
         optionsJson_ = "";
         bitField0_ = (bitField0_ & ~0x00010000);
+        planningJson_ = "";
+        bitField0_ = (bitField0_ & ~0x00020000);
         return this;
       }
 
@@ -14478,6 +14569,10 @@ public final class UserBitShared {
           to_bitField0_ |= 0x00008000;
         }
         result.optionsJson_ = optionsJson_;
+        if (((from_bitField0_ & 0x00020000) == 0x00020000)) {
+          to_bitField0_ |= 0x00010000;
+        }
+        result.planningJson_ = planningJson_;
         result.bitField0_ = to_bitField0_;
         onBuilt();
         return result;
@@ -14584,6 +14679,11 @@ public final class UserBitShared {
           optionsJson_ = other.optionsJson_;
           onChanged();
         }
+        if (other.hasPlanningJson()) {
+          bitField0_ |= 0x00020000;
+          planningJson_ = other.planningJson_;
+          onChanged();
+        }
         this.mergeUnknownFields(other.getUnknownFields());
         return this;
       }
@@ -15881,6 +15981,80 @@ public final class UserBitShared {
         return this;
       }
 
+      // optional string planning_json = 18;
+      private java.lang.Object planningJson_ = "";
+      /**
+       * <code>optional string planning_json = 18;</code>
+       */
+      public boolean hasPlanningJson() {
+        return ((bitField0_ & 0x00020000) == 0x00020000);
+      }
+      /**
+       * <code>optional string planning_json = 18;</code>
+       */
+      public java.lang.String getPlanningJson() {
+        java.lang.Object ref = planningJson_;
+        if (!(ref instanceof java.lang.String)) {
+          java.lang.String s = ((com.google.protobuf.ByteString) ref)
+              .toStringUtf8();
+          planningJson_ = s;
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <code>optional string planning_json = 18;</code>
+       */
+      public com.google.protobuf.ByteString
+          getPlanningJsonBytes() {
+        java.lang.Object ref = planningJson_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          planningJson_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <code>optional string planning_json = 18;</code>
+       */
+      public Builder setPlanningJson(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00020000;
+        planningJson_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string planning_json = 18;</code>
+       */
+      public Builder clearPlanningJson() {
+        bitField0_ = (bitField0_ & ~0x00020000);
+        planningJson_ = getDefaultInstance().getPlanningJson();
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string planning_json = 18;</code>
+       */
+      public Builder setPlanningJsonBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00020000;
+        planningJson_ = value;
+        onChanged();
+        return this;
+      }
+
       // @@protoc_insertion_point(builder_scope:exec.shared.QueryProfile)
     }
 
@@ -16785,6 +16959,16 @@ public final class UserBitShared {
      * <code>optional int64 last_progress = 11;</code>
      */
     long getLastProgress();
+
+    // optional int64 compile_nanos = 12;
+    /**
+     * <code>optional int64 compile_nanos = 12;</code>
+     */
+    boolean hasCompileNanos();
+    /**
+     * <code>optional int64 compile_nanos = 12;</code>
+     */
+    long getCompileNanos();
   }
   /**
    * Protobuf type {@code exec.shared.MinorFragmentProfile}
@@ -16917,6 +17101,11 @@ public final class UserBitShared {
               lastProgress_ = input.readInt64();
               break;
             }
+            case 96: {
+              bitField0_ |= 0x00000400;
+              compileNanos_ = input.readInt64();
+              break;
+            }
           }
         }
       } catch (com.google.protobuf.InvalidProtocolBufferException e) {
@@ -17168,6 +17357,22 @@ public final class UserBitShared {
       return lastProgress_;
     }
 
+    // optional int64 compile_nanos = 12;
+    public static final int COMPILE_NANOS_FIELD_NUMBER = 12;
+    private long compileNanos_;
+    /**
+     * <code>optional int64 compile_nanos = 12;</code>
+     */
+    public boolean hasCompileNanos() {
+      return ((bitField0_ & 0x00000400) == 0x00000400);
+    }
+    /**
+     * <code>optional int64 compile_nanos = 12;</code>
+     */
+    public long getCompileNanos() {
+      return compileNanos_;
+    }
+
     private void initFields() {
       state_ = org.apache.drill.exec.proto.UserBitShared.FragmentState.SENDING;
       error_ = org.apache.drill.exec.proto.UserBitShared.DrillPBError.getDefaultInstance();
@@ -17180,6 +17385,7 @@ public final class UserBitShared {
       endpoint_ = org.apache.drill.exec.proto.CoordinationProtos.DrillbitEndpoint.getDefaultInstance();
       lastUpdate_ = 0L;
       lastProgress_ = 0L;
+      compileNanos_ = 0L;
     }
     private byte memoizedIsInitialized = -1;
     public final boolean isInitialized() {
@@ -17226,6 +17432,9 @@ public final class UserBitShared {
       if (((bitField0_ & 0x00000200) == 0x00000200)) {
         output.writeInt64(11, lastProgress_);
       }
+      if (((bitField0_ & 0x00000400) == 0x00000400)) {
+        output.writeInt64(12, compileNanos_);
+      }
       getUnknownFields().writeTo(output);
     }
 
@@ -17279,6 +17488,10 @@ public final class UserBitShared {
         size += com.google.protobuf.CodedOutputStream
           .computeInt64Size(11, lastProgress_);
       }
+      if (((bitField0_ & 0x00000400) == 0x00000400)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt64Size(12, compileNanos_);
+      }
       size += getUnknownFields().getSerializedSize();
       memoizedSerializedSize = size;
       return size;
@@ -17432,6 +17645,8 @@ public final class UserBitShared {
         bitField0_ = (bitField0_ & ~0x00000200);
         lastProgress_ = 0L;
         bitField0_ = (bitField0_ & ~0x00000400);
+        compileNanos_ = 0L;
+        bitField0_ = (bitField0_ & ~0x00000800);
         return this;
       }
 
@@ -17517,6 +17732,10 @@ public final class UserBitShared {
           to_bitField0_ |= 0x00000200;
         }
         result.lastProgress_ = lastProgress_;
+        if (((from_bitField0_ & 0x00000800) == 0x00000800)) {
+          to_bitField0_ |= 0x00000400;
+        }
+        result.compileNanos_ = compileNanos_;
         result.bitField0_ = to_bitField0_;
         onBuilt();
         return result;
@@ -17589,6 +17808,9 @@ public final class UserBitShared {
         if (other.hasLastProgress()) {
           setLastProgress(other.getLastProgress());
         }
+        if (other.hasCompileNanos()) {
+          setCompileNanos(other.getCompileNanos());
+        }
         this.mergeUnknownFields(other.getUnknownFields());
         return this;
       }
@@ -18357,6 +18579,39 @@ public final class UserBitShared {
         return this;
       }
 
+      // optional int64 compile_nanos = 12;
+      private long compileNanos_ ;
+      /**
+       * <code>optional int64 compile_nanos = 12;</code>
+       */
+      public boolean hasCompileNanos() {
+        return ((bitField0_ & 0x00000800) == 0x00000800);
+      }
+      /**
+       * <code>optional int64 compile_nanos = 12;</code>
+       */
+      public long getCompileNanos() {
+        return compileNanos_;
+      }
+      /**
+       * <code>optional int64 compile_nanos = 12;</code>
+       */
+      public Builder setCompileNanos(long value) {
+        bitField0_ |= 0x00000800;
+        compileNanos_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional int64 compile_nanos = 12;</code>
+       */
+      public Builder clearCompileNanos() {
+        bitField0_ = (bitField0_ & ~0x00000800);
+        compileNanos_ = 0L;
+        onChanged();
+        return this;
+      }
+
       // @@protoc_insertion_point(builder_scope:exec.shared.MinorFragmentProfile)
     }
 
@@ -22535,7 +22790,7 @@ public final class UserBitShared {
       "rt\030\002 \001(\003\0222\n\005state\030\003 \001(\0162#.exec.shared.Qu",
       "eryResult.QueryState\022\017\n\004user\030\004 \001(\t:\001-\022\'\n" +
       "\007foreman\030\005 \001(\0132\026.exec.DrillbitEndpoint\022\024" +
-      "\n\014options_json\030\006 \001(\t\"\320\003\n\014QueryProfile\022 \n" +
+      "\n\014options_json\030\006 \001(\t\"\347\003\n\014QueryProfile\022 \n" +
       "\002id\030\001 \001(\0132\024.exec.shared.QueryId\022$\n\004type\030" +
       "\002 \001(\0162\026.exec.shared.QueryType\022\r\n\005start\030\003" +
       " \001(\003\022\013\n\003end\030\004 \001(\003\022\r\n\005query\030\005 \001(\t\022\014\n\004plan" +
@@ -22547,58 +22802,60 @@ public final class UserBitShared {
       "agmentProfile\022\017\n\004user\030\014 \001(\t:\001-\022\r\n\005error\030" +
       "\r \001(\t\022\024\n\014verboseError\030\016 \001(\t\022\020\n\010error_id\030" +
       "\017 \001(\t\022\022\n\nerror_node\030\020 \001(\t\022\024\n\014options_jso" +
-      "n\030\021 \001(\t\"t\n\024MajorFragmentProfile\022\031\n\021major" +
-      "_fragment_id\030\001 \001(\005\022A\n\026minor_fragment_pro" +
-      "file\030\002 \003(\0132!.exec.shared.MinorFragmentPr" +
-      "ofile\"\350\002\n\024MinorFragmentProfile\022)\n\005state\030" +
-      "\001 \001(\0162\032.exec.shared.FragmentState\022(\n\005err" +
-      "or\030\002 \001(\0132\031.exec.shared.DrillPBError\022\031\n\021m",
-      "inor_fragment_id\030\003 \001(\005\0226\n\020operator_profi" +
-      "le\030\004 \003(\0132\034.exec.shared.OperatorProfile\022\022" +
-      "\n\nstart_time\030\005 \001(\003\022\020\n\010end_time\030\006 \001(\003\022\023\n\013" +
-      "memory_used\030\007 \001(\003\022\027\n\017max_memory_used\030\010 \001" +
-      "(\003\022(\n\010endpoint\030\t \001(\0132\026.exec.DrillbitEndp" +
-      "oint\022\023\n\013last_update\030\n \001(\003\022\025\n\rlast_progre" +
-      "ss\030\013 \001(\003\"\377\001\n\017OperatorProfile\0221\n\rinput_pr" +
-      "ofile\030\001 \003(\0132\032.exec.shared.StreamProfile\022" +
-      "\023\n\013operator_id\030\003 \001(\005\022\025\n\roperator_type\030\004 " +
-      "\001(\005\022\023\n\013setup_nanos\030\005 \001(\003\022\025\n\rprocess_nano",
-      "s\030\006 \001(\003\022#\n\033peak_local_memory_allocated\030\007" +
-      " \001(\003\022(\n\006metric\030\010 \003(\0132\030.exec.shared.Metri" +
-      "cValue\022\022\n\nwait_nanos\030\t \001(\003\"B\n\rStreamProf" +
-      "ile\022\017\n\007records\030\001 \001(\003\022\017\n\007batches\030\002 \001(\003\022\017\n" +
-      "\007schemas\030\003 \001(\003\"J\n\013MetricValue\022\021\n\tmetric_" +
-      "id\030\001 \001(\005\022\022\n\nlong_value\030\002 \001(\003\022\024\n\014double_v" +
-      "alue\030\003 \001(\001\")\n\010Registry\022\035\n\003jar\030\001 \003(\0132\020.ex" +
-      "ec.shared.Jar\"/\n\003Jar\022\014\n\004name\030\001 \001(\t\022\032\n\022fu" +
-      "nction_signature\030\002 \003(\t*5\n\nRpcChannel\022\017\n\013" +
-      "BIT_CONTROL\020\000\022\014\n\010BIT_DATA\020\001\022\010\n\004USER\020\002*V\n",
-      "\tQueryType\022\007\n\003SQL\020\001\022\013\n\007LOGICAL\020\002\022\014\n\010PHYS" +
-      "ICAL\020\003\022\r\n\tEXECUTION\020\004\022\026\n\022PREPARED_STATEM" +
-      "ENT\020\005*\207\001\n\rFragmentState\022\013\n\007SENDING\020\000\022\027\n\023" +
-      "AWAITING_ALLOCATION\020\001\022\013\n\007RUNNING\020\002\022\014\n\010FI" +
-      "NISHED\020\003\022\r\n\tCANCELLED\020\004\022\n\n\006FAILED\020\005\022\032\n\026C" +
-      "ANCELLATION_REQUESTED\020\006*\335\005\n\020CoreOperator" +
-      "Type\022\021\n\rSINGLE_SENDER\020\000\022\024\n\020BROADCAST_SEN" +
-      "DER\020\001\022\n\n\006FILTER\020\002\022\022\n\016HASH_AGGREGATE\020\003\022\r\n" +
-      "\tHASH_JOIN\020\004\022\016\n\nMERGE_JOIN\020\005\022\031\n\025HASH_PAR" +
-      "TITION_SENDER\020\006\022\t\n\005LIMIT\020\007\022\024\n\020MERGING_RE",
-      "CEIVER\020\010\022\034\n\030ORDERED_PARTITION_SENDER\020\t\022\013" +
-      "\n\007PROJECT\020\n\022\026\n\022UNORDERED_RECEIVER\020\013\022\020\n\014R" +
-      "ANGE_SENDER\020\014\022\n\n\006SCREEN\020\r\022\034\n\030SELECTION_V" +
-      "ECTOR_REMOVER\020\016\022\027\n\023STREAMING_AGGREGATE\020\017" +
-      "\022\016\n\nTOP_N_SORT\020\020\022\021\n\rEXTERNAL_SORT\020\021\022\t\n\005T" +
-      "RACE\020\022\022\t\n\005UNION\020\023\022\014\n\010OLD_SORT\020\024\022\032\n\026PARQU" +
-      "ET_ROW_GROUP_SCAN\020\025\022\021\n\rHIVE_SUB_SCAN\020\026\022\025" +
-      "\n\021SYSTEM_TABLE_SCAN\020\027\022\021\n\rMOCK_SUB_SCAN\020\030" +
-      "\022\022\n\016PARQUET_WRITER\020\031\022\023\n\017DIRECT_SUB_SCAN\020" +
-      "\032\022\017\n\013TEXT_WRITER\020\033\022\021\n\rTEXT_SUB_SCAN\020\034\022\021\n",
-      "\rJSON_SUB_SCAN\020\035\022\030\n\024INFO_SCHEMA_SUB_SCAN" +
-      "\020\036\022\023\n\017COMPLEX_TO_JSON\020\037\022\025\n\021PRODUCER_CONS" +
-      "UMER\020 \022\022\n\016HBASE_SUB_SCAN\020!\022\n\n\006WINDOW\020\"\022\024" +
-      "\n\020NESTED_LOOP_JOIN\020#\022\021\n\rAVRO_SUB_SCAN\020$B" +
-      ".\n\033org.apache.drill.exec.protoB\rUserBitS" +
-      "haredH\001"
+      "n\030\021 \001(\t\022\025\n\rplanning_json\030\022 \001(\t\"t\n\024MajorF" +
+      "ragmentProfile\022\031\n\021major_fragment_id\030\001 \001(" +
+      "\005\022A\n\026minor_fragment_profile\030\002 \003(\0132!.exec" +
+      ".shared.MinorFragmentProfile\"\377\002\n\024MinorFr" +
+      "agmentProfile\022)\n\005state\030\001 \001(\0162\032.exec.shar" +
+      "ed.FragmentState\022(\n\005error\030\002 \001(\0132\031.exec.s",
+      "hared.DrillPBError\022\031\n\021minor_fragment_id\030" +
+      "\003 \001(\005\0226\n\020operator_profile\030\004 \003(\0132\034.exec.s" +
+      "hared.OperatorProfile\022\022\n\nstart_time\030\005 \001(" +
+      "\003\022\020\n\010end_time\030\006 \001(\003\022\023\n\013memory_used\030\007 \001(\003" +
+      "\022\027\n\017max_memory_used\030\010 \001(\003\022(\n\010endpoint\030\t " +
+      "\001(\0132\026.exec.DrillbitEndpoint\022\023\n\013last_upda" +
+      "te\030\n \001(\003\022\025\n\rlast_progress\030\013 \001(\003\022\025\n\rcompi" +
+      "le_nanos\030\014 \001(\003\"\377\001\n\017OperatorProfile\0221\n\rin" +
+      "put_profile\030\001 \003(\0132\032.exec.shared.StreamPr" +
+      "ofile\022\023\n\013operator_id\030\003 \001(\005\022\025\n\roperator_t",
+      "ype\030\004 \001(\005\022\023\n\013setup_nanos\030\005 \001(\003\022\025\n\rproces" +
+      "s_nanos\030\006 \001(\003\022#\n\033peak_local_memory_alloc" +
+      "ated\030\007 \001(\003\022(\n\006metric\030\010 \003(\0132\030.exec.shared" +
+      ".MetricValue\022\022\n\nwait_nanos\030\t \001(\003\"B\n\rStre" +
+      "amProfile\022\017\n\007records\030\001 \001(\003\022\017\n\007batches\030\002 " +
+      "\001(\003\022\017\n\007schemas\030\003 \001(\003\"J\n\013MetricValue\022\021\n\tm" +
+      "etric_id\030\001 \001(\005\022\022\n\nlong_value\030\002 \001(\003\022\024\n\014do" +
+      "uble_value\030\003 \001(\001\")\n\010Registry\022\035\n\003jar\030\001 \003(" +
+      "\0132\020.exec.shared.Jar\"/\n\003Jar\022\014\n\004name\030\001 \001(\t" +
+      "\022\032\n\022function_signature\030\002 \003(\t*5\n\nRpcChann",
+      "el\022\017\n\013BIT_CONTROL\020\000\022\014\n\010BIT_DATA\020\001\022\010\n\004USE" +
+      "R\020\002*V\n\tQueryType\022\007\n\003SQL\020\001\022\013\n\007LOGICAL\020\002\022\014" +
+      "\n\010PHYSICAL\020\003\022\r\n\tEXECUTION\020\004\022\026\n\022PREPARED_" +
+      "STATEMENT\020\005*\207\001\n\rFragmentState\022\013\n\007SENDING" +
+      "\020\000\022\027\n\023AWAITING_ALLOCATION\020\001\022\013\n\007RUNNING\020\002" +
+      "\022\014\n\010FINISHED\020\003\022\r\n\tCANCELLED\020\004\022\n\n\006FAILED\020" +
+      "\005\022\032\n\026CANCELLATION_REQUESTED\020\006*\210\006\n\020CoreOp" +
+      "eratorType\022\021\n\rSINGLE_SENDER\020\000\022\024\n\020BROADCA" +
+      "ST_SENDER\020\001\022\n\n\006FILTER\020\002\022\022\n\016HASH_AGGREGAT" +
+      "E\020\003\022\r\n\tHASH_JOIN\020\004\022\016\n\nMERGE_JOIN\020\005\022\031\n\025HA",
+      "SH_PARTITION_SENDER\020\006\022\t\n\005LIMIT\020\007\022\024\n\020MERG" +
+      "ING_RECEIVER\020\010\022\034\n\030ORDERED_PARTITION_SEND" +
+      "ER\020\t\022\013\n\007PROJECT\020\n\022\026\n\022UNORDERED_RECEIVER\020" +
+      "\013\022\020\n\014RANGE_SENDER\020\014\022\n\n\006SCREEN\020\r\022\034\n\030SELEC" +
+      "TION_VECTOR_REMOVER\020\016\022\027\n\023STREAMING_AGGRE" +
+      "GATE\020\017\022\016\n\nTOP_N_SORT\020\020\022\021\n\rEXTERNAL_SORT\020" +
+      "\021\022\t\n\005TRACE\020\022\022\t\n\005UNION\020\023\022\014\n\010OLD_SORT\020\024\022\032\n" +
+      "\026PARQUET_ROW_GROUP_SCAN\020\025\022\021\n\rHIVE_SUB_SC" +
+      "AN\020\026\022\025\n\021SYSTEM_TABLE_SCAN\020\027\022\021\n\rMOCK_SUB_" +
+      "SCAN\020\030\022\022\n\016PARQUET_WRITER\020\031\022\023\n\017DIRECT_SUB",
+      "_SCAN\020\032\022\017\n\013TEXT_WRITER\020\033\022\021\n\rTEXT_SUB_SCA" +
+      "N\020\034\022\021\n\rJSON_SUB_SCAN\020\035\022\030\n\024INFO_SCHEMA_SU" +
+      "B_SCAN\020\036\022\023\n\017COMPLEX_TO_JSON\020\037\022\025\n\021PRODUCE" +
+      "R_CONSUMER\020 \022\022\n\016HBASE_SUB_SCAN\020!\022\n\n\006WIND" +
+      "OW\020\"\022\024\n\020NESTED_LOOP_JOIN\020#\022\021\n\rAVRO_SUB_S" +
+      "CAN\020$\022\020\n\014SHARED_SPOOL\020%\022\027\n\023SHARED_SPOOL_" +
+      "READER\020&B.\n\033org.apache.drill.exec.protoB" +
+      "\rUserBitSharedH\001"
     };
     com.google.protobuf.Descriptors.FileDescriptor.InternalDescriptorAssigner assigner =
       new com.google.protobuf.Descriptors.FileDescriptor.InternalDescriptorAssigner() {
@@ -22688,7 +22945,7 @@ public final class UserBitShared {
           internal_static_exec_shared_QueryProfile_fieldAccessorTable = new
             com.google.protobuf.GeneratedMessage.FieldAccessorTable(
               internal_static_exec_shared_QueryProfile_descriptor,
-              new java.lang.String[] { "Id", "Type", "Start", "End", "Query", "Plan", "Foreman", "State", "TotalFragments", "FinishedFragments", "FragmentProfile", "User", "Error", "VerboseError", "ErrorId", "ErrorNode", "OptionsJson", });
+              new java.lang.String[] { "Id", "Type", "Start", "End", "Query", "Plan", "Foreman", "State", "TotalFragments", "FinishedFragments", "FragmentProfile", "User", "Error", "VerboseError", "ErrorId", "ErrorNode", "OptionsJson", "PlanningJson", });
           internal_static_exec_shared_MajorFragmentProfile_descriptor =
             getDescriptor().getMessageTypes().get(14);
           internal_static_exec_shared_MajorFragmentProfile_fieldAccessorTable = new
@@ -22700,7 +22957,7 @@ public final class UserBitShared {
           internal_static_exec_shared_MinorFragmentProfile_fieldAccessorTable = new
             com.google.protobuf.GeneratedMessage.FieldAccessorTable(
               internal_static_exec_shared_MinorFragmentProfile_descriptor,
-              new java.lang.String[] { "State", "Error", "MinorFragmentId", "OperatorProfile", "StartTime", "EndTime", "MemoryUsed", "MaxMemoryUsed", "Endpoint", "LastUpdate", "LastProgress", });
+              new java.lang.String[] { "State", "Error", "MinorFragmentId", "OperatorProfile", "StartTime", "EndTime", "MemoryUsed", "MaxMemoryUsed", "Endpoint", "LastUpdate", "LastProgress", "CompileNanos", });
           internal_static_exec_shared_OperatorProfile_descriptor =
             getDescriptor().getMessageTypes().get(16);
           internal_static_exec_shared_OperatorProfile_fieldAccessorTable = new
@@ -60,6 +60,7 @@ public final class MinorFragmentProfile implements Externalizable, Message<Minor
     private DrillbitEndpoint endpoint;
     private long lastUpdate;
     private long lastProgress;
+    private long compileNanos;
 
     public MinorFragmentProfile()
     {
@@ -211,6 +212,19 @@ public final class MinorFragmentProfile implements Externalizable, Message<Minor
         return this;
     }
 
+    // compileNanos
+
+    public long getCompileNanos()
+    {
+        return compileNanos;
+    }
+
+    public MinorFragmentProfile setCompileNanos(long compileNanos)
+    {
+        this.compileNanos = compileNanos;
+        return this;
+    }
+
     // java serialization
 
     public void readExternal(ObjectInput in) throws IOException
@@ -303,6 +317,9 @@ public final class MinorFragmentProfile implements Externalizable, Message<Minor
                 case 11:
                     message.lastProgress = input.readInt64();
                     break;
+                case 12:
+                    message.compileNanos = input.readInt64();
+                    break;
                 default:
                     input.handleUnknownField(number, this);
             }   
@@ -353,6 +370,9 @@ public final class MinorFragmentProfile implements Externalizable, Message<Minor
 
         if(message.lastProgress != 0)
             output.writeInt64(11, message.lastProgress, false);
+
+        if(message.compileNanos != 0)
+            output.writeInt64(12, message.compileNanos, false);
     }
 
     public String getFieldName(int number)
@@ -370,6 +390,7 @@ public final class MinorFragmentProfile implements Externalizable, Message<Minor
             case 9: return "endpoint";
             case 10: return "lastUpdate";
             case 11: return "lastProgress";
+            case 12: return "compileNanos";
             default: return null;
         }
     }
@@ -394,6 +415,7 @@ public final class MinorFragmentProfile implements Externalizable, Message<Minor
         __fieldMap.put("endpoint", 9);
         __fieldMap.put("lastUpdate", 10);
         __fieldMap.put("lastProgress", 11);
+        __fieldMap.put("compileNanos", 12);
     }
     
 }
@@ -68,6 +68,7 @@ public final class QueryProfile implements Externalizable, Message<QueryProfile>
     private String errorId;
     private String errorNode;
     private String optionsJson;
+    private String planningJson;
 
     public QueryProfile()
     {
@@ -297,6 +298,19 @@ public final class QueryProfile implements Externalizable, Message<QueryProfile>
         return this;
     }
 
+    // planningJson
+
+    public String getPlanningJson()
+    {
+        return planningJson;
+    }
+
+    public QueryProfile setPlanningJson(String planningJson)
+    {
+        this.planningJson = planningJson;
+        return this;
+    }
+
     // java serialization
 
     public void readExternal(ObjectInput in) throws IOException
@@ -407,6 +421,9 @@ public final class QueryProfile implements Externalizable, Message<QueryProfile>
                 case 17:
                     message.optionsJson = input.readString();
                     break;
+                case 18:
+                    message.planningJson = input.readString();
+                    break;
                 default:
                     input.handleUnknownField(number, this);
             }   
@@ -475,6 +492,9 @@ public final class QueryProfile implements Externalizable, Message<QueryProfile>
 
         if(message.optionsJson != null)
             output.writeString(17, message.optionsJson, false);
+
+        if(message.planningJson != null)
+            output.writeString(18, message.planningJson, false);
     }
 
     public String getFieldName(int number)
@@ -498,6 +518,7 @@ public final class QueryProfile implements Externalizable, Message<QueryProfile>
             case 15: return "errorId";
             case 16: return "errorNode";
             case 17: return "optionsJson";
+            case 18: return "planningJson";
             default: return null;
         }
     }
@@ -528,6 +549,7 @@ public final class QueryProfile implements Externalizable, Message<QueryProfile>
         __fieldMap.put("errorId", 15);
         __fieldMap.put("errorNode", 16);
         __fieldMap.put("optionsJson", 17);
+        __fieldMap.put("planningJson", 18);
     }
     
 }